@@ -0,0 +1,131 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.io;
+
+/**
+The binary file format written by {@link BinaryWriter} and read by {@link BinaryReader}; a compact, versioned alternative to Java serialization for matrices, lists and maps.
+<p>
+A file (or any other byte stream) is a sequence of <i>records</i>, each holding one object.
+A record consists of a header of {@link #HEADER} bytes, all numbers big endian:
+<table>
+<tr><td>offset 0</td><td><tt>int</tt></td><td>the magic number {@link #MAGIC} (the characters <tt>COLT</tt>)</td></tr>
+<tr><td>offset 4</td><td><tt>int</tt></td><td>the format version, currently {@link #VERSION}</td></tr>
+<tr><td>offset 8</td><td><tt>int</tt></td><td>the type of the object, one of the type constants of this class</td></tr>
+<tr><td>offset 12</td><td><tt>int</tt></td><td>the byte order of the payload; <tt>0</tt> for big endian, <tt>1</tt> for little endian</td></tr>
+<tr><td>offset 16</td><td><tt>long</tt></td><td>the size (1-d), the rows (2-d) or the slices (3-d) of a matrix; <tt>0</tt> for lists and maps</td></tr>
+<tr><td>offset 24</td><td><tt>long</tt></td><td>the columns (2-d) or the rows (3-d) of a matrix; <tt>0</tt> otherwise</td></tr>
+<tr><td>offset 32</td><td><tt>long</tt></td><td>the columns of a 3-d matrix; <tt>0</tt> otherwise</td></tr>
+<tr><td>offset 40</td><td><tt>long</tt></td><td>the number of entries of the payload</td></tr>
+</table>
+followed by the payload, a sequence of entries of a fixed size each (see {@link #entrySize(int)}), in the given byte order and without any padding:
+<ul>
+<li>dense matrices: all cells as IEEE 754 doubles, in row major order (slice by slice for 3-d matrices).
+<li>sparse matrices: the non-zero cells, each as the <tt>long</tt> row major index of the cell (<tt>row*columns + column</tt>, <tt>(slice*rows + row)*columns + column</tt>) followed by its <tt>double</tt> value, in ascending order of the index.
+<li>lists: the elements, in order; a <tt>boolean</tt> takes one byte, <tt>0</tt> or <tt>1</tt>.
+<li>maps: the associations, in no particular order, each as the key followed by its value.
+</ul>
+Writers use the native byte order of the platform for the payload, so that the bulk of the data is copied without conversion; readers accept either byte order.
+<p>
+<b>Compatibility:</b>
+Readers accept all versions up to their own one.
+Version <tt>1</tt> is the header of the files of {@link cern.colt.matrix.impl.MappedDoubleMatrix1D} and {@link cern.colt.matrix.impl.MappedDoubleMatrix2D};
+it has 32 bytes (magic, version, rank, byte order, rows or size, columns or <tt>1</tt>) and is followed by the cells of a dense matrix, so that such files can be read as ordinary dense matrices.
+Future versions may add types and append fields to the header, but will not change the meaning of the existing ones.
+
+@version 1.0, 10/18/26
+*/
+public final class BinaryFormat {
+	/** the magic number starting each record; the characters <tt>COLT</tt> */
+	public static final int MAGIC = 0x434F4C54;
+
+	/** the current version of the format */
+	public static final int VERSION = 2;
+
+	/** the size of a record header in bytes */
+	public static final int HEADER = 48;
+
+	/** the size of a version 1 header in bytes */
+	static final int HEADER_1 = 32;
+
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix1D} stored densely */
+	public static final int DENSE_DOUBLE_1D = 1;
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix2D} stored densely */
+	public static final int DENSE_DOUBLE_2D = 2;
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix3D} stored densely */
+	public static final int DENSE_DOUBLE_3D = 3;
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix1D} stored sparsely */
+	public static final int SPARSE_DOUBLE_1D = 4;
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix2D} stored sparsely */
+	public static final int SPARSE_DOUBLE_2D = 5;
+	/** record type of a {@link cern.colt.matrix.DoubleMatrix3D} stored sparsely */
+	public static final int SPARSE_DOUBLE_3D = 6;
+
+	/** record type of a {@link cern.colt.list.BooleanArrayList} */
+	public static final int BOOLEAN_LIST = 16;
+	/** record type of a {@link cern.colt.list.ByteArrayList} */
+	public static final int BYTE_LIST = 17;
+	/** record type of a {@link cern.colt.list.CharArrayList} */
+	public static final int CHAR_LIST = 18;
+	/** record type of a {@link cern.colt.list.DoubleArrayList} */
+	public static final int DOUBLE_LIST = 19;
+	/** record type of a {@link cern.colt.list.FloatArrayList} */
+	public static final int FLOAT_LIST = 20;
+	/** record type of a {@link cern.colt.list.IntArrayList} */
+	public static final int INT_LIST = 21;
+	/** record type of a {@link cern.colt.list.LongArrayList} */
+	public static final int LONG_LIST = 22;
+	/** record type of a {@link cern.colt.list.ShortArrayList} */
+	public static final int SHORT_LIST = 23;
+
+	/** record type of a {@link cern.colt.map.AbstractDoubleIntMap} */
+	public static final int DOUBLE_INT_MAP = 32;
+	/** record type of a {@link cern.colt.map.AbstractIntDoubleMap} */
+	public static final int INT_DOUBLE_MAP = 33;
+	/** record type of a {@link cern.colt.map.AbstractIntFloatMap} */
+	public static final int INT_FLOAT_MAP = 34;
+	/** record type of a {@link cern.colt.map.AbstractIntIntMap} */
+	public static final int INT_INT_MAP = 35;
+	/** record type of a {@link cern.colt.map.AbstractLongDoubleMap} */
+	public static final int LONG_DOUBLE_MAP = 36;
+/**
+ * Makes this class non instantiable.
+ */
+private BinaryFormat() {}
+/**
+ * Returns the size in bytes of a payload entry of records of the given type.
+ * @throws IllegalArgumentException if the type is unknown.
+ */
+public static int entrySize(int type) {
+	switch (type) {
+		case DENSE_DOUBLE_1D: case DENSE_DOUBLE_2D: case DENSE_DOUBLE_3D: return 8;
+		case SPARSE_DOUBLE_1D: case SPARSE_DOUBLE_2D: case SPARSE_DOUBLE_3D: return 16;
+		case BOOLEAN_LIST: case BYTE_LIST: return 1;
+		case CHAR_LIST: case SHORT_LIST: return 2;
+		case FLOAT_LIST: case INT_LIST: return 4;
+		case DOUBLE_LIST: case LONG_LIST: return 8;
+		case DOUBLE_INT_MAP: return 12;
+		case INT_DOUBLE_MAP: return 12;
+		case INT_FLOAT_MAP: return 8;
+		case INT_INT_MAP: return 8;
+		case LONG_DOUBLE_MAP: return 16;
+	}
+	throw new IllegalArgumentException("unknown record type: "+type);
+}
+/**
+ * Returns the rank of a matrix record type; <tt>0</tt> for lists and maps.
+ */
+public static int rank(int type) {
+	switch (type) {
+		case DENSE_DOUBLE_1D: case SPARSE_DOUBLE_1D: return 1;
+		case DENSE_DOUBLE_2D: case SPARSE_DOUBLE_2D: return 2;
+		case DENSE_DOUBLE_3D: case SPARSE_DOUBLE_3D: return 3;
+	}
+	return 0;
+}
+}
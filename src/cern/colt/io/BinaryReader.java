@@ -0,0 +1,513 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+import cern.colt.list.BooleanArrayList;
+import cern.colt.list.ByteArrayList;
+import cern.colt.list.CharArrayList;
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.FloatArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.list.LongArrayList;
+import cern.colt.list.ShortArrayList;
+import cern.colt.map.OpenDoubleIntHashMap;
+import cern.colt.map.OpenIntDoubleHashMap;
+import cern.colt.map.OpenIntFloatHashMap;
+import cern.colt.map.OpenIntIntHashMap;
+import cern.colt.map.OpenLongDoubleHashMap;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.DoubleMatrix3D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix3D;
+/**
+Reads matrices, lists and maps in the {@link BinaryFormat binary format} from a channel, typically a {@link java.nio.channels.FileChannel}, in the order they were written by a {@link BinaryWriter}.
+<p>
+Data is read in large blocks into a direct buffer and copied from there straight into the cells of the new objects.
+Dense matrices are read into {@link DenseDoubleMatrix1D}, {@link DenseDoubleMatrix2D} and {@link DenseDoubleMatrix3D},
+sparse matrices into {@link cern.colt.matrix.impl.SparseDoubleMatrix1D}, {@link cern.colt.matrix.impl.SparseDoubleMatrix2D} and {@link cern.colt.matrix.impl.SparseDoubleMatrix3D}
+(or their <tt>LargeSparse</tt> counterparts if they have more than <tt>Integer.MAX_VALUE</tt> cells),
+lists into the corresponding <tt>ArrayList</tt>s and maps into the corresponding <tt>Open...HashMap</tt>s.
+<p>
+Matrices too large to be held in memory at once can be read in chunks of rows; the chunks of a matrix must be requested in ascending order:
+<pre>
+BinaryReader reader = new BinaryReader(new File("data.colt"));
+try {
+&nbsp;&nbsp;&nbsp;for (int row=0; row &lt; rows; row += 10000) {
+&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;DoubleMatrix2D chunk = reader.readRows(row, Math.min(rows, row+10000));
+&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;...
+&nbsp;&nbsp;&nbsp;}
+&nbsp;&nbsp;&nbsp;IntArrayList labels = (IntArrayList) reader.read(); // the next object
+}
+finally {
+&nbsp;&nbsp;&nbsp;reader.close();
+}
+</pre>
+Skipped rows and objects cost nothing but a change of the position if the channel is a {@link FileChannel}.
+A reader is not thread safe.
+
+@see BinaryWriter
+@version 1.0, 10/18/26
+*/
+public class BinaryReader {
+	protected ReadableByteChannel channel;
+	protected ByteBuffer buffer; // in read mode: the bytes between position and limit are pending
+	protected boolean closeChannel; // whether the channel was opened by this reader
+
+	// the current record; type == -1 if there is none
+	protected int type = -1;
+	protected long dim0, dim1, dim2, entries;
+	protected boolean started; // whether part of the payload has already been consumed
+	protected long consumed; // the number of entries consumed
+	protected long cell; // for 2-d matrices read in chunks: the first cell not yet read
+
+	// for sparse matrices read in chunks: the entry read ahead, if any
+	protected boolean lookahead;
+	protected long nextIndex;
+	protected double nextValue;
+/**
+ * Constructs a reader on the given file.
+ * @throws IOException if the file can not be opened.
+ */
+public BinaryReader(File file) throws IOException {
+	this(new FileInputStream(file).getChannel());
+	this.closeChannel = true;
+}
+/**
+ * Constructs a reader on the given channel, for example a {@link FileChannel}, starting at its current position.
+ * Closing the reader does not close the channel.
+ */
+public BinaryReader(ReadableByteChannel channel) {
+	this(channel, BinaryWriter.BUFFER_SIZE);
+}
+/**
+ * Constructs a reader on the given channel, using a buffer of the given size.
+ * Closing the reader does not close the channel.
+ * @throws IllegalArgumentException if <tt>bufferSize &lt; 64</tt>.
+ */
+public BinaryReader(ReadableByteChannel channel, int bufferSize) {
+	if (bufferSize < 64) throw new IllegalArgumentException("bufferSize must be at least 64: "+bufferSize);
+	this.channel = channel;
+	this.buffer = ByteBuffer.allocateDirect(bufferSize & ~7);
+	this.buffer.limit(0);
+}
+/**
+ * Closes the file if the reader was constructed on a file.
+ */
+public void close() throws IOException {
+	if (closeChannel) channel.close();
+}
+/**
+ * Ensures that at least <tt>bytes</tt> bytes are pending in the buffer, reading from the channel as needed.
+ * @return <tt>false</tt> if the channel ends before.
+ */
+protected boolean fill(int bytes) throws IOException {
+	if (buffer.remaining() >= bytes) return true;
+	buffer.compact();
+	while (buffer.position() < bytes && channel.read(buffer) >= 0);
+	buffer.flip();
+	return buffer.remaining() >= bytes;
+}
+/**
+ * Skips the rest of the current record, if any.
+ */
+protected void finish() throws IOException {
+	if (type == -1) return;
+	skip((entries - consumed) * BinaryFormat.entrySize(type));
+	type = -1;
+	lookahead = false;
+}
+/**
+ * Returns <tt>true</tt> if there is another object to read, i.e. if the channel has not yet ended.
+ */
+public boolean hasNext() throws IOException {
+	if (type != -1 && !started) return true;
+	finish();
+	return fill(1);
+}
+/**
+ * Returns a new dense or sparse 2-d matrix of the given shape.
+ */
+protected static DoubleMatrix2D matrix2D(boolean sparse, int rows, int columns, int capacity) {
+	if (!sparse) return new DenseDoubleMatrix2D(rows,columns);
+	if ((long) rows * columns > Integer.MAX_VALUE) return new cern.colt.matrix.impl.LargeSparseDoubleMatrix2D(rows,columns,capacity,0.2,0.5);
+	return new cern.colt.matrix.impl.SparseDoubleMatrix2D(rows,columns,capacity,0.2,0.5);
+}
+/**
+ * Ensures that at least <tt>bytes</tt> bytes are pending in the buffer.
+ * @throws EOFException if the channel ends before.
+ */
+protected void need(int bytes) throws IOException {
+	if (!fill(bytes)) throw new EOFException("unexpected end of data");
+}
+/**
+ * Reads the header of the next record, unless it has already been read, and returns the type of the record, one of the type constants of {@link BinaryFormat}.
+ * @return the type, or <tt>-1</tt> if the channel has ended.
+ * @throws IOException if the data is not in the binary format, or of a newer version.
+ */
+public int nextType() throws IOException {
+	if (type != -1 && !started) return type;
+	if (!hasNext()) return -1;
+	buffer.order(ByteOrder.BIG_ENDIAN);
+	need(16);
+	if (buffer.getInt() != BinaryFormat.MAGIC) throw new IOException("not in binary format");
+	int version = buffer.getInt();
+	int t = buffer.getInt();
+	ByteOrder order = buffer.getInt()==0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	if (version == 1) { // the header of mapped matrices; t is the rank
+		need(BinaryFormat.HEADER_1 - 16);
+		dim0 = buffer.getLong();
+		dim1 = buffer.getLong();
+		if (t == 1) {
+			t = BinaryFormat.DENSE_DOUBLE_1D;
+			dim1 = 0;
+		}
+		else if (t == 2) t = BinaryFormat.DENSE_DOUBLE_2D;
+		else throw new IOException("illegal rank: "+t);
+		dim2 = 0;
+		entries = t == BinaryFormat.DENSE_DOUBLE_1D ? dim0 : dim0 * dim1;
+	}
+	else if (version == BinaryFormat.VERSION) {
+		need(BinaryFormat.HEADER - 16);
+		dim0 = buffer.getLong();
+		dim1 = buffer.getLong();
+		dim2 = buffer.getLong();
+		entries = buffer.getLong();
+	}
+	else throw new IOException("unsupported version: "+version);
+
+	try { BinaryFormat.entrySize(t); }
+	catch (IllegalArgumentException exc) { throw new IOException(exc.getMessage()); }
+	if (dim0 < 0 || dim1 < 0 || dim2 < 0 || entries < 0) throw new IOException("illegal record header");
+	buffer.order(order);
+	type = t;
+	started = false;
+	consumed = 0;
+	cell = 0;
+	lookahead = false;
+	return type;
+}
+/**
+ * Reads the next object; a matrix, list or map, depending on its type.
+ * If the previous object has only partly been read via {@link #readRows(int,int)}, the rest of it is skipped.
+ * @throws EOFException if there is no next object.
+ * @throws IOException if the data is not in the binary format, or of a newer version.
+ */
+public Object read() throws IOException {
+	int t = nextType();
+	if (t == -1) throw new EOFException("no more objects");
+	Object result;
+	switch (BinaryFormat.rank(t)) {
+		case 1: result = read1D(); break;
+		case 2: result = readRows(0, toInt(dim0)); break;
+		case 3: result = read3D(); break;
+		default: result = readCollection(); break;
+	}
+	finish();
+	return result;
+}
+/**
+ * Reads the payload of a 1-d matrix record.
+ */
+protected DoubleMatrix1D read1D() throws IOException {
+	int size = toInt(dim0);
+	if (type == BinaryFormat.DENSE_DOUBLE_1D) {
+		DenseDoubleMatrix1D matrix = new DenseDoubleMatrix1D(size);
+		double[] chunk = new double[Math.min(size, buffer.capacity() / 8)];
+		for (int from=0; from<size; ) {
+			int to = Math.min(size, from + chunk.length);
+			readDoubles(chunk, 0, to - from);
+			for (int i=from; i<to; i++) matrix.setQuick(i, chunk[i-from]);
+			from = to;
+		}
+		return matrix;
+	}
+	int n = toInt(entries);
+	DoubleMatrix1D matrix = new cern.colt.matrix.impl.SparseDoubleMatrix1D(size,n,0.2,0.5);
+	for (int i=0; i<n; i++) {
+		need(16);
+		long index = buffer.getLong();
+		double value = buffer.getDouble();
+		consumed++;
+		if (index < 0 || index >= size) throw new IOException("illegal index: "+index);
+		matrix.setQuick((int) index, value);
+	}
+	return matrix;
+}
+/**
+ * Reads the payload of a 3-d matrix record.
+ */
+protected DoubleMatrix3D read3D() throws IOException {
+	int slices = toInt(dim0), rows = toInt(dim1), columns = toInt(dim2);
+	if (type == BinaryFormat.DENSE_DOUBLE_3D) {
+		DoubleMatrix3D matrix = new DenseDoubleMatrix3D(slices,rows,columns);
+		double[] row = new double[columns];
+		for (int s=0; s<slices; s++) {
+			for (int r=0; r<rows; r++) {
+				readDoubles(row, 0, columns);
+				for (int c=0; c<columns; c++) matrix.setQuick(s,r,c,row[c]);
+			}
+		}
+		return matrix;
+	}
+	int n = toInt(entries);
+	long cells = (long) slices * rows * columns;
+	DoubleMatrix3D matrix = cells > Integer.MAX_VALUE ?
+		(DoubleMatrix3D) new cern.colt.matrix.impl.LargeSparseDoubleMatrix3D(slices,rows,columns,n,0.2,0.5) :
+		(DoubleMatrix3D) new cern.colt.matrix.impl.SparseDoubleMatrix3D(slices,rows,columns,n,0.2,0.5);
+	long sliceSize = (long) rows * columns;
+	for (int i=0; i<n; i++) {
+		need(16);
+		long index = buffer.getLong();
+		double value = buffer.getDouble();
+		consumed++;
+		if (index < 0 || index >= cells) throw new IOException("illegal index: "+index);
+		long cell = index % sliceSize;
+		matrix.setQuick((int) (index / sliceSize), (int) (cell / columns), (int) (cell % columns), value);
+	}
+	return matrix;
+}
+/**
+ * Reads the payload of a list or map record.
+ */
+protected Object readCollection() throws IOException {
+	int n = toInt(entries);
+	switch (type) {
+		case BinaryFormat.BOOLEAN_LIST: {
+			boolean[] elements = new boolean[n];
+			for (int i=0; i<n; i++) { need(1); elements[i] = buffer.get() != 0; }
+			consumed = n;
+			return new BooleanArrayList(elements);
+		}
+		case BinaryFormat.BYTE_LIST: {
+			byte[] elements = new byte[n];
+			for (int from=0; from<n; ) {
+				need(1);
+				int k = Math.min(n - from, buffer.remaining());
+				buffer.get(elements, from, k);
+				from += k;
+			}
+			consumed = n;
+			return new ByteArrayList(elements);
+		}
+		case BinaryFormat.CHAR_LIST: {
+			char[] elements = new char[n];
+			for (int i=0; i<n; i++) { need(2); elements[i] = buffer.getChar(); }
+			consumed = n;
+			return new CharArrayList(elements);
+		}
+		case BinaryFormat.DOUBLE_LIST: {
+			double[] elements = new double[n];
+			readDoubles(elements, 0, n);
+			return new DoubleArrayList(elements);
+		}
+		case BinaryFormat.FLOAT_LIST: {
+			float[] elements = new float[n];
+			for (int i=0; i<n; i++) { need(4); elements[i] = buffer.getFloat(); }
+			consumed = n;
+			return new FloatArrayList(elements);
+		}
+		case BinaryFormat.INT_LIST: {
+			int[] elements = new int[n];
+			for (int i=0; i<n; i++) { need(4); elements[i] = buffer.getInt(); }
+			consumed = n;
+			return new IntArrayList(elements);
+		}
+		case BinaryFormat.LONG_LIST: {
+			long[] elements = new long[n];
+			for (int i=0; i<n; i++) { need(8); elements[i] = buffer.getLong(); }
+			consumed = n;
+			return new LongArrayList(elements);
+		}
+		case BinaryFormat.SHORT_LIST: {
+			short[] elements = new short[n];
+			for (int i=0; i<n; i++) { need(2); elements[i] = buffer.getShort(); }
+			consumed = n;
+			return new ShortArrayList(elements);
+		}
+		case BinaryFormat.DOUBLE_INT_MAP: {
+			OpenDoubleIntHashMap map = new OpenDoubleIntHashMap(n);
+			for (int i=0; i<n; i++) { need(12); map.put(buffer.getDouble(), buffer.getInt()); }
+			consumed = n;
+			return map;
+		}
+		case BinaryFormat.INT_DOUBLE_MAP: {
+			OpenIntDoubleHashMap map = new OpenIntDoubleHashMap(n);
+			for (int i=0; i<n; i++) { need(12); map.put(buffer.getInt(), buffer.getDouble()); }
+			consumed = n;
+			return map;
+		}
+		case BinaryFormat.INT_FLOAT_MAP: {
+			OpenIntFloatHashMap map = new OpenIntFloatHashMap(n);
+			for (int i=0; i<n; i++) { need(8); map.put(buffer.getInt(), buffer.getFloat()); }
+			consumed = n;
+			return map;
+		}
+		case BinaryFormat.INT_INT_MAP: {
+			OpenIntIntHashMap map = new OpenIntIntHashMap(n);
+			for (int i=0; i<n; i++) { need(8); map.put(buffer.getInt(), buffer.getInt()); }
+			consumed = n;
+			return map;
+		}
+		case BinaryFormat.LONG_DOUBLE_MAP: {
+			OpenLongDoubleHashMap map = new OpenLongDoubleHashMap(n);
+			for (int i=0; i<n; i++) { need(16); map.put(buffer.getLong(), buffer.getDouble()); }
+			consumed = n;
+			return map;
+		}
+	}
+	throw new IOException("unknown record type: "+type);
+}
+/**
+ * Reads the next object, which must be a 1-d matrix.
+ * @throws IOException if the next object is not a 1-d matrix.
+ */
+public DoubleMatrix1D readDoubleMatrix1D() throws IOException {
+	checkRank(1);
+	return (DoubleMatrix1D) read();
+}
+/**
+ * Reads the next object, which must be a 2-d matrix.
+ * @throws IOException if the next object is not a 2-d matrix.
+ */
+public DoubleMatrix2D readDoubleMatrix2D() throws IOException {
+	checkRank(2);
+	return (DoubleMatrix2D) read();
+}
+/**
+ * Reads the next object, which must be a 3-d matrix.
+ * @throws IOException if the next object is not a 3-d matrix.
+ */
+public DoubleMatrix3D readDoubleMatrix3D() throws IOException {
+	checkRank(3);
+	return (DoubleMatrix3D) read();
+}
+/**
+ * Checks that the next object is a matrix of the given rank.
+ */
+protected void checkRank(int rank) throws IOException {
+	int t = nextType();
+	if (t == -1) throw new EOFException("no more objects");
+	if (BinaryFormat.rank(t) != rank) throw new IOException("expected a matrix of rank "+rank+" but found record type "+t);
+}
+/**
+ * Reads <tt>length</tt> doubles into <tt>values</tt>, starting at <tt>offset</tt>.
+ */
+protected void readDoubles(double[] values, int offset, int length) throws IOException {
+	consumed += length;
+	while (length > 0) {
+		need(8);
+		int n = Math.min(length, buffer.remaining() / 8);
+		buffer.asDoubleBuffer().get(values, offset, n);
+		buffer.position(buffer.position() + 8*n);
+		offset += n;
+		length -= n;
+	}
+}
+/**
+ * Reads the rows <tt>[from,to)</tt> of a 2-d matrix; the matrix currently being read in chunks, or else the next object.
+ * Subsequent calls read further chunks of the same matrix, as long as they do not ask for rows preceding ones already read;
+ * the matrix is done with once its last row has been read, or any other object is read.
+ * Rows before <tt>from</tt> are skipped.
+ * @return a new <tt>(to-from) x columns</tt> matrix holding the rows; dense or sparse like the matrix stored.
+ * @throws EOFException if there is no next object.
+ * @throws IOException if the object is not a 2-d matrix.
+ * @throws IndexOutOfBoundsException if <tt>from &lt; 0 || from &gt; to || to &gt; rows</tt>, or rows at or after <tt>from</tt> have already been read.
+ */
+public DoubleMatrix2D readRows(int from, int to) throws IOException {
+	if (type == -1 || !started) checkRank(2); // else a matrix is being read in chunks
+	int rows = toInt(dim0), columns = toInt(dim1);
+	long first = (long) from * columns, last = (long) to * columns;
+	if (from < 0 || from > to || to > rows || first < cell) {
+		throw new IndexOutOfBoundsException("rows "+from+".."+to+" of a matrix with "+rows+" rows, of which the first "+(columns == 0 ? 0 : cell / columns)+" have been read");
+	}
+	started = true;
+	cell = last;
+	DoubleMatrix2D matrix;
+	if (type == BinaryFormat.DENSE_DOUBLE_2D) {
+		skip((first - consumed) * 8);
+		consumed = first;
+		matrix = matrix2D(false, to - from, columns, 0);
+		int perChunk = Math.max(1, Math.min(to - from, buffer.capacity() / 8 / Math.max(columns,1)));
+		double[] chunk = new double[perChunk * columns];
+		for (int r=from; r<to; ) {
+			int high = Math.min(to, r + perChunk);
+			readDoubles(chunk, 0, (high - r) * columns);
+			for (int i=r, k=0; i<high; i++) {
+				for (int c=0; c<columns; c++) matrix.setQuick(i-from, c, chunk[k++]);
+			}
+			r = high;
+		}
+	}
+	else {
+		matrix = matrix2D(true, to - from, columns, (int) Math.min(entries - consumed, Integer.MAX_VALUE / 2));
+		while (lookahead || consumed < entries) {
+			if (!lookahead) {
+				need(16);
+				nextIndex = buffer.getLong();
+				nextValue = buffer.getDouble();
+				consumed++;
+				lookahead = true;
+				if (nextIndex < 0 || nextIndex >= (long) rows * columns) throw new IOException("illegal index: "+nextIndex);
+			}
+			if (nextIndex >= last) break;
+			lookahead = false;
+			if (nextIndex >= first) matrix.setQuick((int) (nextIndex / columns) - from, (int) (nextIndex % columns), nextValue);
+		}
+	}
+	if (to == rows) finish();
+	return matrix;
+}
+/**
+ * Skips the next object, or the rest of the matrix currently being read in chunks.
+ * @throws EOFException if there is no next object.
+ */
+public void skip() throws IOException {
+	if (type == -1 && nextType() == -1) throw new EOFException("no more objects");
+	finish();
+}
+/**
+ * Skips the given number of bytes; without reading them if the channel is a {@link FileChannel}.
+ */
+protected void skip(long bytes) throws IOException {
+	int n = (int) Math.min(bytes, buffer.remaining());
+	buffer.position(buffer.position() + n);
+	bytes -= n;
+	if (bytes == 0) return;
+	if (channel instanceof FileChannel) {
+		FileChannel file = (FileChannel) channel;
+		if (file.position() + bytes > file.size()) throw new EOFException("unexpected end of data");
+		file.position(file.position() + bytes);
+		return;
+	}
+	while (bytes > 0) {
+		need(1);
+		n = (int) Math.min(bytes, buffer.remaining());
+		buffer.position(buffer.position() + n);
+		bytes -= n;
+	}
+}
+/**
+ * Returns the given dimension or number of entries, checking that it fits into an <tt>int</tt>.
+ */
+protected static int toInt(long value) throws IOException {
+	if (value > Integer.MAX_VALUE) throw new IOException("object too large: "+value);
+	return (int) value;
+}
+}
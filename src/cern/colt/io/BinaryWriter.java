@@ -0,0 +1,483 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+import cern.colt.list.BooleanArrayList;
+import cern.colt.list.ByteArrayList;
+import cern.colt.list.CharArrayList;
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.FloatArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.list.LongArrayList;
+import cern.colt.list.ShortArrayList;
+import cern.colt.map.AbstractDoubleIntMap;
+import cern.colt.map.AbstractIntDoubleMap;
+import cern.colt.map.AbstractIntFloatMap;
+import cern.colt.map.AbstractIntIntMap;
+import cern.colt.map.AbstractLongDoubleMap;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.DoubleMatrix3D;
+/**
+Writes matrices, lists and maps in the {@link BinaryFormat binary format} to a channel, typically a {@link java.nio.channels.FileChannel}.
+Objects are written one after the other, each as a record of its own, and can be read back in the same order by a {@link BinaryReader}.
+<p>
+Data is collected in a direct buffer and handed to the channel in large blocks, so that writing a dense matrix costs little more than copying its cells;
+in contrast to {@link java.io.ObjectOutputStream}, no object graph is built and nothing but the cells is held in memory.
+Example:
+<pre>
+BinaryWriter writer = new BinaryWriter(new File("data.colt"));
+try {
+&nbsp;&nbsp;&nbsp;writer.write(matrix);
+&nbsp;&nbsp;&nbsp;writer.write(labels); // an IntArrayList
+}
+finally {
+&nbsp;&nbsp;&nbsp;writer.close();
+}
+</pre>
+<p>
+Matrices are written densely or sparsely according to their implementation (see {@link #isSparse(DoubleMatrix2D)}), unless requested otherwise.
+A writer is not thread safe.
+
+@see BinaryReader
+@version 1.0, 10/18/26
+*/
+public class BinaryWriter {
+	/** the default size of the buffer in bytes */
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	protected WritableByteChannel channel;
+	protected ByteBuffer buffer;
+	protected boolean closeChannel; // whether the channel was opened by this writer
+/**
+ * Constructs a writer creating (or overwriting) the given file.
+ * @throws IOException if the file can not be opened.
+ */
+public BinaryWriter(File file) throws IOException {
+	this(new FileOutputStream(file).getChannel());
+	this.closeChannel = true;
+}
+/**
+ * Constructs a writer on the given channel, for example a {@link java.nio.channels.FileChannel}, starting at its current position.
+ * Closing the writer does not close the channel.
+ */
+public BinaryWriter(WritableByteChannel channel) {
+	this(channel, BUFFER_SIZE);
+}
+/**
+ * Constructs a writer on the given channel, using a buffer of the given size.
+ * Closing the writer does not close the channel.
+ * @throws IllegalArgumentException if <tt>bufferSize &lt; 64</tt>.
+ */
+public BinaryWriter(WritableByteChannel channel, int bufferSize) {
+	if (bufferSize < 64) throw new IllegalArgumentException("bufferSize must be at least 64: "+bufferSize);
+	this.channel = channel;
+	this.buffer = ByteBuffer.allocateDirect(bufferSize & ~7).order(ByteOrder.nativeOrder());
+}
+/**
+ * Flushes the writer and closes the file if the writer was constructed on a file.
+ */
+public void close() throws IOException {
+	flush();
+	if (closeChannel) channel.close();
+}
+/**
+ * Writes all buffered data to the channel.
+ */
+public void flush() throws IOException {
+	buffer.flip();
+	while (buffer.hasRemaining()) channel.write(buffer);
+	buffer.clear();
+}
+/**
+ * Returns whether {@link #write(DoubleMatrix1D)} writes the given matrix sparsely, i.e. whether it is a {@link cern.colt.matrix.impl.SparseDoubleMatrix1D}.
+ */
+public static boolean isSparse(DoubleMatrix1D matrix) {
+	return matrix instanceof cern.colt.matrix.impl.SparseDoubleMatrix1D;
+}
+/**
+ * Returns whether {@link #write(DoubleMatrix2D)} writes the given matrix sparsely,
+ * i.e. whether it is a {@link cern.colt.matrix.impl.SparseDoubleMatrix2D}, {@link cern.colt.matrix.impl.LargeSparseDoubleMatrix2D}, {@link cern.colt.matrix.impl.RCDoubleMatrix2D}
+ * or {@link cern.colt.matrix.impl.CompressedDoubleMatrix2D}.
+ */
+public static boolean isSparse(DoubleMatrix2D matrix) {
+	return matrix instanceof cern.colt.matrix.impl.SparseDoubleMatrix2D
+		|| matrix instanceof cern.colt.matrix.impl.LargeSparseDoubleMatrix2D
+		|| matrix instanceof cern.colt.matrix.impl.RCDoubleMatrix2D
+		|| matrix instanceof cern.colt.matrix.impl.CompressedDoubleMatrix2D;
+}
+/**
+ * Returns whether {@link #write(DoubleMatrix3D)} writes the given matrix sparsely,
+ * i.e. whether it is a {@link cern.colt.matrix.impl.SparseDoubleMatrix3D} or {@link cern.colt.matrix.impl.LargeSparseDoubleMatrix3D}.
+ */
+public static boolean isSparse(DoubleMatrix3D matrix) {
+	return matrix instanceof cern.colt.matrix.impl.SparseDoubleMatrix3D
+		|| matrix instanceof cern.colt.matrix.impl.LargeSparseDoubleMatrix3D;
+}
+/**
+ * Makes room for at least <tt>bytes</tt> bytes in the buffer.
+ */
+protected void need(int bytes) throws IOException {
+	if (buffer.remaining() < bytes) flush();
+}
+/**
+ * Writes a record header.
+ */
+protected void writeHeader(int type, long dim0, long dim1, long dim2, long entries) throws IOException {
+	need(BinaryFormat.HEADER);
+	buffer.order(ByteOrder.BIG_ENDIAN);
+	buffer.putInt(BinaryFormat.MAGIC).putInt(BinaryFormat.VERSION).putInt(type);
+	buffer.putInt(ByteOrder.nativeOrder()==ByteOrder.BIG_ENDIAN ? 0 : 1);
+	buffer.putLong(dim0).putLong(dim1).putLong(dim2).putLong(entries);
+	buffer.order(ByteOrder.nativeOrder());
+}
+/**
+ * Writes <tt>values[from..to-1]</tt>.
+ */
+protected void writeDoubles(double[] values, int from, int to) throws IOException {
+	while (from < to) {
+		need(8);
+		int n = Math.min(to - from, buffer.remaining() / 8);
+		buffer.asDoubleBuffer().put(values, from, n);
+		buffer.position(buffer.position() + 8*n);
+		from += n;
+	}
+}
+/**
+ * Writes the sparse entries <tt>(indexes[i],values[i])</tt> for all <tt>i &lt; size</tt>, sorted by index; sorts the arrays as a side effect.
+ */
+protected void writeEntries(final long[] indexes, final double[] values, int size) throws IOException {
+	boolean sorted = true;
+	for (int i=1; sorted && i<size; i++) sorted = indexes[i-1] < indexes[i];
+	if (!sorted) {
+		cern.colt.GenericSorting.quickSort(0, size,
+			new cern.colt.function.IntComparator() {
+				public int compare(int a, int b) {
+					return indexes[a] < indexes[b] ? -1 : (indexes[a] == indexes[b] ? 0 : 1);
+				}
+			},
+			new cern.colt.Swapper() {
+				public void swap(int a, int b) {
+					long i = indexes[a]; indexes[a] = indexes[b]; indexes[b] = i;
+					double v = values[a]; values[a] = values[b]; values[b] = v;
+				}
+			}
+		);
+	}
+	for (int i=0; i<size; i++) {
+		need(16);
+		buffer.putLong(indexes[i]).putDouble(values[i]);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(BooleanArrayList list) throws IOException {
+	boolean[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.BOOLEAN_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(1);
+		buffer.put(elements[i] ? (byte) 1 : (byte) 0);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(ByteArrayList list) throws IOException {
+	byte[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.BYTE_LIST, 0, 0, 0, size);
+	for (int from=0; from<size; ) {
+		need(1);
+		int n = Math.min(size - from, buffer.remaining());
+		buffer.put(elements, from, n);
+		from += n;
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(CharArrayList list) throws IOException {
+	char[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.CHAR_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(2);
+		buffer.putChar(elements[i]);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(DoubleArrayList list) throws IOException {
+	writeHeader(BinaryFormat.DOUBLE_LIST, 0, 0, 0, list.size());
+	writeDoubles(list.elements(), 0, list.size());
+}
+/**
+ * Writes the given list.
+ */
+public void write(FloatArrayList list) throws IOException {
+	float[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.FLOAT_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(4);
+		buffer.putFloat(elements[i]);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(IntArrayList list) throws IOException {
+	int[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.INT_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(4);
+		buffer.putInt(elements[i]);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(LongArrayList list) throws IOException {
+	long[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.LONG_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(8);
+		buffer.putLong(elements[i]);
+	}
+}
+/**
+ * Writes the given list.
+ */
+public void write(ShortArrayList list) throws IOException {
+	short[] elements = list.elements();
+	int size = list.size();
+	writeHeader(BinaryFormat.SHORT_LIST, 0, 0, 0, size);
+	for (int i=0; i<size; i++) {
+		need(2);
+		buffer.putShort(elements[i]);
+	}
+}
+/**
+ * Writes the given map.
+ */
+public void write(AbstractDoubleIntMap map) throws IOException {
+	writeHeader(BinaryFormat.DOUBLE_INT_MAP, 0, 0, 0, map.size());
+	final IOException[] error = new IOException[1];
+	map.forEachPair(
+		new cern.colt.function.DoubleIntProcedure() {
+			public boolean apply(double key, int value) {
+				try {
+					need(12);
+					buffer.putDouble(key).putInt(value);
+					return true;
+				}
+				catch (IOException exc) { error[0] = exc; return false; }
+			}
+		}
+	);
+	if (error[0] != null) throw error[0];
+}
+/**
+ * Writes the given map.
+ */
+public void write(AbstractIntDoubleMap map) throws IOException {
+	writeHeader(BinaryFormat.INT_DOUBLE_MAP, 0, 0, 0, map.size());
+	final IOException[] error = new IOException[1];
+	map.forEachPair(
+		new cern.colt.function.IntDoubleProcedure() {
+			public boolean apply(int key, double value) {
+				try {
+					need(12);
+					buffer.putInt(key).putDouble(value);
+					return true;
+				}
+				catch (IOException exc) { error[0] = exc; return false; }
+			}
+		}
+	);
+	if (error[0] != null) throw error[0];
+}
+/**
+ * Writes the given map.
+ */
+public void write(AbstractIntFloatMap map) throws IOException {
+	writeHeader(BinaryFormat.INT_FLOAT_MAP, 0, 0, 0, map.size());
+	final IOException[] error = new IOException[1];
+	map.forEachPair(
+		new cern.colt.function.IntFloatProcedure() {
+			public boolean apply(int key, float value) {
+				try {
+					need(8);
+					buffer.putInt(key).putFloat(value);
+					return true;
+				}
+				catch (IOException exc) { error[0] = exc; return false; }
+			}
+		}
+	);
+	if (error[0] != null) throw error[0];
+}
+/**
+ * Writes the given map.
+ */
+public void write(AbstractIntIntMap map) throws IOException {
+	writeHeader(BinaryFormat.INT_INT_MAP, 0, 0, 0, map.size());
+	final IOException[] error = new IOException[1];
+	map.forEachPair(
+		new cern.colt.function.IntIntProcedure() {
+			public boolean apply(int key, int value) {
+				try {
+					need(8);
+					buffer.putInt(key).putInt(value);
+					return true;
+				}
+				catch (IOException exc) { error[0] = exc; return false; }
+			}
+		}
+	);
+	if (error[0] != null) throw error[0];
+}
+/**
+ * Writes the given map.
+ */
+public void write(AbstractLongDoubleMap map) throws IOException {
+	writeHeader(BinaryFormat.LONG_DOUBLE_MAP, 0, 0, 0, map.size());
+	final IOException[] error = new IOException[1];
+	map.forEachPair(
+		new cern.colt.function.LongDoubleProcedure() {
+			public boolean apply(long key, double value) {
+				try {
+					need(16);
+					buffer.putLong(key).putDouble(value);
+					return true;
+				}
+				catch (IOException exc) { error[0] = exc; return false; }
+			}
+		}
+	);
+	if (error[0] != null) throw error[0];
+}
+/**
+ * Writes the given matrix, sparsely if {@link #isSparse(DoubleMatrix1D)}, otherwise densely.
+ */
+public void write(DoubleMatrix1D matrix) throws IOException {
+	write(matrix, isSparse(matrix));
+}
+/**
+ * Writes the given matrix, either sparsely (only its non-zero cells) or densely (all cells).
+ */
+public void write(DoubleMatrix1D matrix, boolean sparse) throws IOException {
+	int size = matrix.size();
+	if (sparse) {
+		IntArrayList indexList = new IntArrayList();
+		DoubleArrayList valueList = new DoubleArrayList();
+		matrix.getNonZeros(indexList, valueList);
+		int n = indexList.size();
+		long[] indexes = new long[n];
+		for (int i=0; i<n; i++) indexes[i] = indexList.getQuick(i);
+		writeHeader(BinaryFormat.SPARSE_DOUBLE_1D, size, 0, 0, n);
+		writeEntries(indexes, valueList.elements(), n);
+		return;
+	}
+	writeHeader(BinaryFormat.DENSE_DOUBLE_1D, size, 0, 0, size);
+	double[] chunk = new double[Math.min(size, buffer.capacity() / 8)];
+	for (int from=0; from<size; ) {
+		int to = Math.min(size, from + chunk.length);
+		for (int i=from; i<to; i++) chunk[i-from] = matrix.getQuick(i);
+		writeDoubles(chunk, 0, to - from);
+		from = to;
+	}
+}
+/**
+ * Writes the given matrix, sparsely if {@link #isSparse(DoubleMatrix2D)}, otherwise densely.
+ */
+public void write(DoubleMatrix2D matrix) throws IOException {
+	write(matrix, isSparse(matrix));
+}
+/**
+ * Writes the given matrix, either sparsely (only its non-zero cells) or densely (all cells).
+ */
+public void write(DoubleMatrix2D matrix, boolean sparse) throws IOException {
+	int rows = matrix.rows();
+	final int columns = matrix.columns();
+	if (sparse) {
+		int capacity = matrix.cardinality();
+		final long[][] indexes = { new long[capacity] };
+		final double[][] values = { new double[capacity] };
+		final int[] size = { 0 };
+		matrix.forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int row, int column, double value) {
+					int n = size[0]++;
+					if (n == indexes[0].length) {
+						int capacity = Math.max(16, 2*n);
+						indexes[0] = cern.colt.Arrays.ensureCapacity(indexes[0], capacity);
+						values[0] = cern.colt.Arrays.ensureCapacity(values[0], capacity);
+					}
+					indexes[0][n] = (long) row * columns + column;
+					values[0][n] = value;
+					return value;
+				}
+			}
+		);
+		writeHeader(BinaryFormat.SPARSE_DOUBLE_2D, rows, columns, 0, size[0]);
+		writeEntries(indexes[0], values[0], size[0]);
+		return;
+	}
+	writeHeader(BinaryFormat.DENSE_DOUBLE_2D, rows, columns, 0, (long) rows * columns);
+	double[] row = new double[columns];
+	for (int r=0; r<rows; r++) {
+		for (int c=0; c<columns; c++) row[c] = matrix.getQuick(r,c);
+		writeDoubles(row, 0, columns);
+	}
+}
+/**
+ * Writes the given matrix, sparsely if {@link #isSparse(DoubleMatrix3D)}, otherwise densely.
+ */
+public void write(DoubleMatrix3D matrix) throws IOException {
+	write(matrix, isSparse(matrix));
+}
+/**
+ * Writes the given matrix, either sparsely (only its non-zero cells) or densely (all cells).
+ */
+public void write(DoubleMatrix3D matrix, boolean sparse) throws IOException {
+	int slices = matrix.slices(), rows = matrix.rows(), columns = matrix.columns();
+	if (sparse) {
+		IntArrayList sliceList = new IntArrayList(), rowList = new IntArrayList(), columnList = new IntArrayList();
+		DoubleArrayList valueList = new DoubleArrayList();
+		matrix.getNonZeros(sliceList, rowList, columnList, valueList);
+		int n = valueList.size();
+		long[] indexes = new long[n];
+		for (int i=0; i<n; i++) indexes[i] = ((long) sliceList.getQuick(i) * rows + rowList.getQuick(i)) * columns + columnList.getQuick(i);
+		writeHeader(BinaryFormat.SPARSE_DOUBLE_3D, slices, rows, columns, n);
+		writeEntries(indexes, valueList.elements(), n);
+		return;
+	}
+	writeHeader(BinaryFormat.DENSE_DOUBLE_3D, slices, rows, columns, (long) slices * rows * columns);
+	double[] row = new double[columns];
+	for (int s=0; s<slices; s++) {
+		for (int r=0; r<rows; r++) {
+			for (int c=0; c<columns; c++) row[c] = matrix.getQuick(s,r,c);
+			writeDoubles(row, 0, columns);
+		}
+	}
+}
+}
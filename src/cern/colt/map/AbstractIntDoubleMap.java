@@ -31,6 +31,25 @@ public abstract class AbstractIntDoubleMap extends AbstractMap {
  * Makes this class non instantiable, but still let's others inherit from it.
  */
 protected AbstractIntDoubleMap() {}
+/**
+ * Adds an amount to the value associated with each key of a range; 
+ * associates the amount with the key if the key is not contained.
+ * That is, for <tt>i = from..to</tt>: <tt>put(keys[i], get(keys[i]) + deltas[i])</tt>.
+ * Keys occurring several times in the range are adjusted several times.
+ *
+ * @param keys the keys whose values shall be adjusted.
+ * @param deltas the amounts to add, <tt>deltas[i]</tt> belonging to <tt>keys[i]</tt>.
+ * @param from the index of the first key to adjust (inclusive).
+ * @param to the index of the last key to adjust (inclusive).
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=deltas.length)</tt>.
+ */
+public void adjustAll(int[] keys, double[] deltas, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, deltas.length));
+	for (int i = from; i <= to; i++) {
+		int key = keys[i];
+		put(key, get(key) + deltas[i]);
+	}
+}
 /**
 Assigns the result of a function to each value; <tt>v[i] = function(v[i])</tt>.
 
@@ -62,6 +81,27 @@ public void assign(AbstractIntDoubleMap other) {
 		}
 	);
 }
+/**
+ * Tells which keys of a range are contained in the receiver; 
+ * sets bit <tt>i</tt> of <tt>result</tt> to <tt>containsKey(keys[i])</tt> for <tt>i = from..to</tt>, leaving the other bits unchanged.
+ *
+ * @param keys the keys to be searched for.
+ * @param result the bit vector to be filled, must have a size of at least <tt>to+1</tt>.
+ * @param from the index of the first key to search (inclusive).
+ * @param to the index of the last key to search (inclusive).
+ * @return <tt>true</tt> if all keys of the range are contained, <tt>false</tt> otherwise.
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=result.size())</tt>.
+ */
+public boolean containsAll(int[] keys, cern.colt.bitvector.BitVector result, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, result.size()));
+	boolean all = true;
+	for (int i = from; i <= to; i++) {
+		boolean contained = containsKey(keys[i]);
+		result.putQuick(i, contained);
+		if (!contained) all = false;
+	}
+	return all;
+}
 /**
  * Returns <tt>true</tt> if the receiver contains the specified key.
  *
@@ -188,6 +228,22 @@ public boolean forEachPair(final IntDoubleProcedure procedure) {
  * @return the value associated with the specified key; <tt>0</tt> if no such key is present.
  */
 public abstract double get(int key);
+/**
+ * Fills the values associated with a range of keys into the specified array;
+ * <tt>values[i] = get(keys[i])</tt> for <tt>i = from..to</tt>, the other elements of <tt>values</tt> are left unchanged.
+ *
+ * @param keys the keys to be searched for.
+ * @param values the array to be filled; <tt>0</tt> for keys not contained.
+ * @param from the index of the first key to search (inclusive).
+ * @param to the index of the last key to search (inclusive).
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=values.length)</tt>.
+ */
+public void getAll(int[] keys, double[] values, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, values.length));
+	for (int i = from; i <= to; i++) {
+		values[i] = get(keys[i]);
+	}
+}
 /**
  * Returns the first key the given value is associated with.
  * It is often a good idea to first check with {@link #containsValue(double)} whether there exists an association from a key to this value.
@@ -363,6 +419,26 @@ public void pairsSortedByValue(final IntArrayList keyList, final DoubleArrayList
  *         <tt>false</tt> if the receiver did already contain such a key - the new value has now replaced the formerly associated value.
  */
 public abstract boolean put(int key, double value);
+/**
+ * Associates each key of a range with the value at the same index; <tt>put(keys[i], values[i])</tt> for <tt>i = from..to</tt>.
+ * Replaces any old <tt>(key,someOtherValue)</tt> association, if existing; the last value wins for keys occurring several times.
+ * <p>
+ * Makes room for all new associations before adding the first, so that the receiver grows at most once.
+ * This assumes the keys are mostly distinct and not already contained; if that is not the case, call {@link #trimToSize()} afterwards.
+ *
+ * @param keys the keys the values shall be associated with.
+ * @param values the values to be associated, <tt>values[i]</tt> with <tt>keys[i]</tt>.
+ * @param from the index of the first association to add (inclusive).
+ * @param to the index of the last association to add (inclusive).
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=values.length)</tt>.
+ */
+public void putAll(int[] keys, double[] values, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, values.length));
+	ensureCapacityForSize((long) size() + (to-from+1));
+	for (int i = from; i <= to; i++) {
+		put(keys[i], values[i]);
+	}
+}
 /**
  * Removes the given key with its associated element from the receiver, if present.
  *
@@ -0,0 +1,141 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.LongProcedure;
+import cern.colt.list.LongArrayList;
+/**
+Abstract base class for hash sets holding elements of type <tt>long</tt>.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation</b>:
+<p>
+Almost all methods are expressed in terms of {@link #forEachKey(LongProcedure)}. 
+As such they are fully functional, but inefficient. Override them in subclasses if necessary.
+Capacity and load factors are managed as for maps, see {@link AbstractMap}.
+
+@version 1.0, 10/18/26
+@see	    java.util.HashSet
+*/
+public abstract class AbstractLongSet extends AbstractMap {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected AbstractLongSet() {}
+/**
+ * Adds the specified element to the receiver, if not already present.
+ *
+ * @param key the element to be added.
+ * @return <tt>true</tt> if the receiver did not already contain the element.
+ */
+public abstract boolean add(long key);
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified element.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified element.
+ */
+public boolean contains(final long key) {
+	return ! forEachKey(
+		new LongProcedure() {
+			public boolean apply(long iterKey) {
+				return (key != iterKey);
+			}
+		}
+	);
+}
+/**
+ * Returns a deep copy of the receiver; uses <code>clone()</code> and casts the result.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public AbstractLongSet copy() {
+	return (AbstractLongSet) clone();
+}
+/**
+ * Compares the specified object with this set for equality.  Returns
+ * <tt>true</tt> if the given object is also a set of the same type and the two sets contain the same elements.
+ *
+ * @param obj object to be compared for equality with this set.
+ * @return <tt>true</tt> if the specified object is equal to this set.
+ */
+public boolean equals(Object obj) {
+	if (obj == this) return true;
+
+	if (!(obj instanceof AbstractLongSet)) return false;
+	final AbstractLongSet other = (AbstractLongSet) obj;
+	if (other.size() != size()) return false;
+
+	return 
+		forEachKey(
+			new LongProcedure() {
+				public boolean apply(long key) {
+					return other.contains(key);
+				}
+			}
+		);
+}
+/**
+ * Applies a procedure to each element of the receiver, if any.
+ * Note: Iterates over the elements in no particular order.
+ * All methods which <i>can</i> be expressed in terms of this method (most methods can) <i>must guarantee</i> to use the <i>same</i> order defined by this method, even if it is no particular order.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all elements where iterated over, <tt>true</tt> otherwise. 
+ */
+public abstract boolean forEachKey(LongProcedure procedure);
+/**
+ * Returns a list filled with all elements contained in the receiver.
+ * The returned list has a size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(LongProcedure)}.
+ * <p>
+ * This method can be used to iterate over the elements of the receiver.
+ *
+ * @return the elements.
+ */
+public LongArrayList keys() {
+	LongArrayList list = new LongArrayList(size());
+	keys(list);
+	return list;
+}
+/**
+ * Fills all elements contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(LongProcedure)}.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void keys(final LongArrayList list) {
+	list.clear();
+	forEachKey(
+		new LongProcedure() {
+			public boolean apply(long key) {
+				list.add(key);
+				return true;
+			}
+		}
+	);
+}
+/**
+ * Removes the specified element from the receiver, if present.
+ *
+ * @param key the element to be removed.
+ * @return <tt>true</tt> if the receiver contained the element, <tt>false</tt> otherwise.
+ */
+public abstract boolean remove(long key);
+/**
+ * Returns a string representation of the receiver, containing
+ * the String representation of each element, sorted ascending.
+ */
+public String toString() {
+	LongArrayList theKeys = keys();
+	theKeys.sort();
+	return theKeys.toString();
+}
+}
@@ -53,6 +53,15 @@ public abstract class AbstractMap extends cern.colt.PersistentObject {
  * Makes this class non instantiable, but still let's others inherit from it.
  */
 protected AbstractMap() {}
+/**
+ * Checks if the given range is within the contained array's bounds.
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 || from&lt;0 || from&gt;to || to&gt;=theSize</tt>.
+ */
+protected static void checkRangeFromTo(int from, int to, int theSize) {
+	if (to==from-1) return;
+	if (from<0 || from>to || to>=theSize)
+		throw new IndexOutOfBoundsException("from: "+from+", to: "+to+", size="+theSize);
+}
 /**
  * Chooses a new prime table capacity optimized for growing that (approximately) satisfies the invariant
  * <tt>c * minLoadFactor <= size <= c * maxLoadFactor</tt>
@@ -109,6 +118,17 @@ public abstract void clear();
  * @param   minCapacity   the desired minimum capacity.
  */
 public void ensureCapacity(int minCapacity) {}
+/**
+ * Ensures that the receiver can hold the specified number of associations without rehashing;
+ * calls <tt>ensureCapacity</tt> with the capacity at which that many associations reach the maximum load factor.
+ * Used by bulk operations, so that the table is allocated once, instead of growing step by step while the associations are added.
+ *
+ * @param   size   the number of associations the receiver is about to hold.
+ */
+protected void ensureCapacityForSize(long size) {
+	if (maxLoadFactor <= 0) return; // not a hash table
+	ensureCapacity((int) Math.min(Integer.MAX_VALUE, size / maxLoadFactor + 2));
+}
 /**
  * Returns <tt>true</tt> if the receiver contains no (key,value) associations.
  *
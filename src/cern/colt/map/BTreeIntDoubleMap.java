@@ -0,0 +1,619 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.IntDoubleProcedure;
+import cern.colt.function.IntProcedure;
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+/**
+Sorted map holding (key,value) associations of type <tt>(int-->double)</tt>; Implemented as a B+tree over primitive arrays.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+Unlike the hash maps, this map keeps its keys in ascending order: <tt>get</tt>, <tt>put</tt> and <tt>removeKey</tt> take <tt>O(log n)</tt> time,
+all iterations (<tt>forEachKey</tt>, <tt>forEachPair</tt>, <tt>keys</tt>, <tt>values</tt>, ...) visit the keys in ascending order,
+the neighbours of a key are found with {@link #floorKey(int)}, {@link #ceilingKey(int)}, {@link #lowerKey(int)} and {@link #higherKey(int)},
+and ranges of keys are scanned with {@link #forEachPairFromTo(int,int,IntDoubleProcedure)} without sorting or boxing anything.
+<p>
+Each node of the tree holds up to {@link #nodeCapacity} keys in a primitive array, leaves holding the values in a parallel array,
+so a lookup touches a few contiguous blocks of memory rather than one object per key.
+Maps with known contents are built fastest by the constructor taking sorted arrays.
+<p>
+Keys for which no neighbour exists are reported as <tt>Integer.MIN_VALUE</tt>, which is ambiguous if that key itself is contained.
+
+@version 1.0, 10/18/26
+@see	    java.util.TreeMap
+*/
+public class BTreeIntDoubleMap extends AbstractIntDoubleMap {
+	/**
+	 * The root of the tree; a leaf while the map holds no more than <tt>nodeCapacity</tt> associations.
+	 * @serial
+	 */
+	protected Node root;
+
+	/**
+	 * The separator key pushed up by the last split during <tt>put</tt>.
+	 */
+	private transient int splitKey;
+
+	/**
+	 * The maximum number of keys of a node; all nodes but the root hold at least half as many.
+	 */
+	public static final int nodeCapacity = 64;
+	protected static final int minNodeSize = nodeCapacity / 2;
+
+	/**
+	 * A node of the tree.
+	 * A leaf holds <tt>size</tt> associations in <tt>keys</tt> and <tt>values</tt>.
+	 * An inner node holds <tt>size</tt> separator keys and <tt>size+1</tt> children,
+	 * such that all keys of <tt>children[i]</tt> are <tt>&lt; keys[i] &lt;=</tt> all keys of <tt>children[i+1]</tt>.
+	 * The arrays have room for one element more than <tt>nodeCapacity</tt>, so that a node can overflow before it is split.
+	 */
+	protected static class Node implements java.io.Serializable {
+		int size;
+		int[] keys;
+		double[] values; // leaves only
+		Node[] children; // inner nodes only
+
+		Node(boolean leaf) {
+			this.keys = new int[nodeCapacity+1];
+			if (leaf) this.values = new double[nodeCapacity+1];
+			else this.children = new Node[nodeCapacity+2];
+		}
+		Node copy() {
+			Node copy = new Node(children == null);
+			copy.size = size;
+			System.arraycopy(keys, 0, copy.keys, 0, size);
+			if (children == null) System.arraycopy(values, 0, copy.values, 0, size);
+			else for (int i = 0; i <= size; i++) copy.children[i] = children[i].copy();
+			return copy;
+		}
+	}
+
+/**
+ * Constructs an empty map.
+ */
+public BTreeIntDoubleMap() {
+	clear();
+}
+/**
+ * Constructs a map holding the given associations; <tt>keys[i]</tt> is associated with <tt>values[i]</tt>.
+ * Builds the tree bottom-up in linear time, with all nodes filled as far as possible.
+ *
+ * @param keys the keys, sorted ascending and distinct.
+ * @param values the values.
+ * @throws	IllegalArgumentException if <tt>keys.length != values.length</tt> or the keys are not sorted ascending and distinct.
+ */
+public BTreeIntDoubleMap(int[] keys, double[] values) {
+	if (keys.length != values.length) throw new IllegalArgumentException("keys and values must have the same length: "+keys.length+", "+values.length);
+	for (int i = 1; i < keys.length; i++) {
+		if (keys[i-1] >= keys[i]) throw new IllegalArgumentException("keys must be sorted ascending and distinct: keys["+(i-1)+"]="+keys[i-1]+", keys["+i+"]="+keys[i]);
+	}
+	int n = keys.length;
+	
+	// the leaves, their sizes spread evenly, so that each holds at least minNodeSize associations.
+	int count = Math.max(1, (n + nodeCapacity - 1) / nodeCapacity);
+	Node[] level = new Node[count];
+	for (int j = 0, from = 0; j < count; j++) {
+		int to = (int) ((long) n * (j+1) / count);
+		Node leaf = new Node(true);
+		leaf.size = to - from;
+		System.arraycopy(keys, from, leaf.keys, 0, leaf.size);
+		System.arraycopy(values, from, leaf.values, 0, leaf.size);
+		level[j] = leaf;
+		from = to;
+	}
+	
+	// the inner levels, each node having up to nodeCapacity+1 children.
+	while (count > 1) {
+		int parents = (count + nodeCapacity) / (nodeCapacity+1);
+		Node[] up = new Node[parents];
+		for (int j = 0, from = 0; j < parents; j++) {
+			int to = (int) ((long) count * (j+1) / parents);
+			Node node = new Node(false);
+			node.size = to - from - 1;
+			for (int c = from; c < to; c++) {
+				node.children[c-from] = level[c];
+				if (c > from) node.keys[c-from-1] = firstKey(level[c]);
+			}
+			up[j] = node;
+			from = to;
+		}
+		level = up;
+		count = parents;
+	}
+	this.root = level[0];
+	this.distinct = n;
+}
+/**
+ * Returns the least key greater than or equal to the given key.
+ *
+ * @param key the key to search from.
+ * @return the least key <tt>&gt;= key</tt>; <tt>Integer.MIN_VALUE</tt> if there is no such key.
+ */
+public int ceilingKey(int key) {
+	return nearest(key, false, true);
+}
+/**
+ * Returns the index of the child of an inner node whose subtree may contain the given key.
+ */
+protected static int childIndex(Node node, int key) {
+	int i = search(node.keys, node.size, key);
+	return i >= 0 ? i+1 : -i-1;
+}
+/**
+ * Removes all (key,value) associations from the receiver.
+ */
+public void clear() {
+	this.root = new Node(true);
+	this.distinct = 0;
+}
+/**
+ * Returns a deep copy of the receiver.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public Object clone() {
+	BTreeIntDoubleMap copy = (BTreeIntDoubleMap) super.clone();
+	copy.root = root.copy();
+	return copy;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified key.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified key.
+ */
+public boolean containsKey(int key) {
+	Node leaf = leafOf(key);
+	return search(leaf.keys, leaf.size, key) >= 0;
+}
+/**
+ * Copies the keys and values of a subtree, in ascending order, into the given arrays (if not <tt>null</tt>), starting at the given index.
+ * @return the index following the last element copied.
+ */
+protected static int fill(Node node, int[] keys, double[] values, int index) {
+	if (node.children == null) {
+		if (keys != null) System.arraycopy(node.keys, 0, keys, index, node.size);
+		if (values != null) System.arraycopy(node.values, 0, values, index, node.size);
+		return index + node.size;
+	}
+	for (int i = 0; i <= node.size; i++) {
+		index = fill(node.children[i], keys, values, index);
+	}
+	return index;
+}
+/**
+ * Returns the smallest key of a subtree.
+ */
+protected static int firstKey(Node node) {
+	while (node.children != null) node = node.children[0];
+	return node.keys[0];
+}
+/**
+ * Returns the smallest key contained in the receiver.
+ *
+ * @return the smallest key.
+ * @throws java.util.NoSuchElementException if the receiver is empty.
+ */
+public int firstKey() {
+	if (distinct == 0) throw new java.util.NoSuchElementException("map is empty");
+	return firstKey(root);
+}
+/**
+ * Returns the greatest key less than or equal to the given key.
+ *
+ * @param key the key to search from.
+ * @return the greatest key <tt>&lt;= key</tt>; <tt>Integer.MIN_VALUE</tt> if there is no such key.
+ */
+public int floorKey(int key) {
+	return nearest(key, true, true);
+}
+/**
+ * Applies a procedure to each key of the receiver, if any.
+ * Iterates over the keys in ascending order.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachKey(IntProcedure procedure) {
+	return forEachKey(root, procedure);
+}
+/**
+ * Applies a procedure to each key of a subtree, in ascending order.
+ */
+protected static boolean forEachKey(Node node, IntProcedure procedure) {
+	if (node.children == null) {
+		for (int i = 0; i < node.size; i++) {
+			if (! procedure.apply(node.keys[i])) return false;
+		}
+	}
+	else {
+		for (int i = 0; i <= node.size; i++) {
+			if (! forEachKey(node.children[i], procedure)) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Applies a procedure to each (key,value) pair of the receiver, if any.
+ * Iterates over the keys in ascending order, the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachPair(final IntDoubleProcedure procedure) {
+	return forEachPair(root, procedure);
+}
+/**
+ * Applies a procedure to each (key,value) pair of a subtree, in ascending order.
+ */
+protected static boolean forEachPair(Node node, IntDoubleProcedure procedure) {
+	if (node.children == null) {
+		for (int i = 0; i < node.size; i++) {
+			if (! procedure.apply(node.keys[i], node.values[i])) return false;
+		}
+	}
+	else {
+		for (int i = 0; i <= node.size; i++) {
+			if (! forEachPair(node.children[i], procedure)) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Applies a procedure to each (key,value) pair whose key lies within the given range, if any.
+ * Iterates over the keys in ascending order, visiting only the nodes overlapping the range.
+ *
+ * @param from the smallest key to visit (inclusive).
+ * @param to the greatest key to visit (inclusive).
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys of the range where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachPairFromTo(int from, int to, IntDoubleProcedure procedure) {
+	if (from > to) return true;
+	return forEachPairFromTo(root, from, to, procedure);
+}
+/**
+ * Applies a procedure to each (key,value) pair of a subtree whose key lies within the given range, in ascending order.
+ */
+protected static boolean forEachPairFromTo(Node node, int from, int to, IntDoubleProcedure procedure) {
+	if (node.children == null) {
+		int i = search(node.keys, node.size, from);
+		if (i < 0) i = -i-1;
+		for ( ; i < node.size && node.keys[i] <= to; i++) {
+			if (! procedure.apply(node.keys[i], node.values[i])) return false;
+		}
+	}
+	else {
+		int last = childIndex(node, to);
+		for (int c = childIndex(node, from); c <= last; c++) {
+			if (! forEachPairFromTo(node.children[c], from, to, procedure)) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Returns the value associated with the specified key.
+ * It is often a good idea to first check with {@link #containsKey(int)} whether the given key has a value associated or not, i.e. whether there exists an association for the given key or not.
+ *
+ * @param key the key to be searched for.
+ * @return the value associated with the specified key; <tt>0</tt> if no such key is present.
+ */
+public double get(int key) {
+	Node leaf = leafOf(key);
+	int i = search(leaf.keys, leaf.size, key);
+	if (i < 0) return 0; //not contained
+	return leaf.values[i];
+}
+/**
+ * Returns the least key strictly greater than the given key.
+ *
+ * @param key the key to search from.
+ * @return the least key <tt>&gt; key</tt>; <tt>Integer.MIN_VALUE</tt> if there is no such key.
+ */
+public int higherKey(int key) {
+	return nearest(key, false, false);
+}
+/**
+ * Fills all keys contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * The keys are sorted ascending, the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void keys(IntArrayList list) {
+	list.setSize(distinct);
+	fill(root, list.elements(), null, 0);
+}
+/**
+ * Returns the greatest key contained in the receiver.
+ *
+ * @return the greatest key.
+ * @throws java.util.NoSuchElementException if the receiver is empty.
+ */
+public int lastKey() {
+	if (distinct == 0) throw new java.util.NoSuchElementException("map is empty");
+	Node node = root;
+	while (node.children != null) node = node.children[node.size];
+	return node.keys[node.size-1];
+}
+/**
+ * Returns the leaf whose range contains the given key.
+ */
+protected Node leafOf(int key) {
+	Node node = root;
+	while (node.children != null) node = node.children[childIndex(node, key)];
+	return node;
+}
+/**
+ * Returns the greatest key strictly less than the given key.
+ *
+ * @param key the key to search from.
+ * @return the greatest key <tt>&lt; key</tt>; <tt>Integer.MIN_VALUE</tt> if there is no such key.
+ */
+public int lowerKey(int key) {
+	return nearest(key, true, false);
+}
+/**
+ * Merges <tt>children[i+1]</tt> of an inner node into <tt>children[i]</tt>, removing separator <tt>i</tt>.
+ */
+protected static void merge(Node parent, int i) {
+	Node left = parent.children[i];
+	Node right = parent.children[i+1];
+	if (left.children == null) {
+		System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+		System.arraycopy(right.values, 0, left.values, left.size, right.size);
+		left.size += right.size;
+	}
+	else {
+		left.keys[left.size] = parent.keys[i];
+		System.arraycopy(right.keys, 0, left.keys, left.size+1, right.size);
+		System.arraycopy(right.children, 0, left.children, left.size+1, right.size+1);
+		left.size += right.size+1;
+	}
+	System.arraycopy(parent.keys, i+1, parent.keys, i, parent.size-i-1);
+	System.arraycopy(parent.children, i+2, parent.children, i+1, parent.size-i-1);
+	parent.children[parent.size] = null;
+	parent.size--;
+}
+/**
+ * Returns the key nearest to the given key in the given direction.
+ *
+ * @param key the key to search from.
+ * @param below whether to search the greatest key below <tt>key</tt>, rather than the least key above it.
+ * @param inclusive whether <tt>key</tt> itself qualifies.
+ * @return the key found; <tt>Integer.MIN_VALUE</tt> if there is no such key.
+ */
+protected int nearest(int key, boolean below, boolean inclusive) {
+	Node node = root;
+	Node beyond = null; // the nearest subtree next to the search path, in the search direction
+	while (node.children != null) {
+		int c = childIndex(node, key);
+		if (below && c > 0) beyond = node.children[c-1];
+		if (!below && c < node.size) beyond = node.children[c+1];
+		node = node.children[c];
+	}
+	int i = search(node.keys, node.size, key);
+	int j;
+	if (i >= 0) j = inclusive ? i : (below ? i-1 : i+1);
+	else j = below ? -i-2 : -i-1;
+	if (j >= 0 && j < node.size) return node.keys[j];
+	
+	if (beyond == null) return Integer.MIN_VALUE;
+	if (!below) return firstKey(beyond);
+	while (beyond.children != null) beyond = beyond.children[beyond.size];
+	return beyond.keys[beyond.size-1];
+}
+/**
+ * Fills all keys and values <i>sorted ascending by key</i> into the specified lists.
+ * Fills into the lists, starting at index 0.
+ * After this call returns the specified lists both have a new size that equals <tt>this.size()</tt>.
+ * Overrides the default implementation for performance only: the keys are already sorted.
+ *
+ * @param keyList the list to be filled with keys, can have any size.
+ * @param valueList the list to be filled with values, can have any size.
+ */
+public void pairsSortedByKey(IntArrayList keyList, DoubleArrayList valueList) {
+	keyList.setSize(distinct);
+	valueList.setSize(distinct);
+	fill(root, keyList.elements(), valueList.elements(), 0);
+}
+/**
+ * Associates the given key with the given value.
+ * Replaces any old <tt>(key,someOtherValue)</tt> association, if existing.
+ *
+ * @param key the key the value shall be associated with.
+ * @param value the value to be associated.
+ * @return <tt>true</tt> if the receiver did not already contain such a key;
+ *         <tt>false</tt> if the receiver did already contain such a key - the new value has now replaced the formerly associated value.
+ */
+public boolean put(int key, double value) {
+	int size = this.distinct;
+	Node sibling = put(root, key, value);
+	if (sibling != null) { // the root was split, grow a new root
+		Node newRoot = new Node(false);
+		newRoot.size = 1;
+		newRoot.keys[0] = this.splitKey;
+		newRoot.children[0] = root;
+		newRoot.children[1] = sibling;
+		this.root = newRoot;
+	}
+	return this.distinct > size;
+}
+/**
+ * Inserts an association into a subtree.
+ * @return the new right sibling of <tt>node</tt> if <tt>node</tt> was split, its separator key left in <tt>splitKey</tt>; <tt>null</tt> otherwise.
+ */
+protected Node put(Node node, int key, double value) {
+	if (node.children == null) {
+		int i = search(node.keys, node.size, key);
+		if (i >= 0) { // already contained
+			node.values[i] = value;
+			return null;
+		}
+		i = -i-1;
+		System.arraycopy(node.keys, i, node.keys, i+1, node.size-i);
+		System.arraycopy(node.values, i, node.values, i+1, node.size-i);
+		node.keys[i] = key;
+		node.values[i] = value;
+		node.size++;
+		this.distinct++;
+		return node.size > nodeCapacity ? split(node) : null;
+	}
+
+	int c = childIndex(node, key);
+	Node sibling = put(node.children[c], key, value);
+	if (sibling == null) return null;
+	System.arraycopy(node.keys, c, node.keys, c+1, node.size-c);
+	System.arraycopy(node.children, c+1, node.children, c+2, node.size-c);
+	node.keys[c] = this.splitKey;
+	node.children[c+1] = sibling;
+	node.size++;
+	return node.size > nodeCapacity ? split(node) : null;
+}
+/**
+ * Removes the given key with its associated element from the receiver, if present.
+ *
+ * @param key the key to be removed from the receiver.
+ * @return <tt>true</tt> if the receiver contained the specified key, <tt>false</tt> otherwise.
+ */
+public boolean removeKey(int key) {
+	if (! removeKey(root, key)) return false;
+	if (root.children != null && root.size == 0) this.root = root.children[0]; // shrink the tree
+	this.distinct--;
+	return true;
+}
+/**
+ * Removes a key from a subtree, rebalancing the child it was removed from if that child became less than half full.
+ * @return <tt>true</tt> if the subtree contained the key.
+ */
+protected static boolean removeKey(Node node, int key) {
+	if (node.children == null) {
+		int i = search(node.keys, node.size, key);
+		if (i < 0) return false; // key not contained
+		System.arraycopy(node.keys, i+1, node.keys, i, node.size-i-1);
+		System.arraycopy(node.values, i+1, node.values, i, node.size-i-1);
+		node.size--;
+		return true;
+	}
+
+	int c = childIndex(node, key);
+	if (! removeKey(node.children[c], key)) return false;
+	if (node.children[c].size < minNodeSize) {
+		if (c > 0 && node.children[c-1].size > minNodeSize) rotateRight(node, c-1);
+		else if (c < node.size && node.children[c+1].size > minNodeSize) rotateLeft(node, c);
+		else if (c > 0) merge(node, c-1);
+		else merge(node, c);
+	}
+	return true;
+}
+/**
+ * Moves the first element of <tt>children[i+1]</tt> of an inner node to the end of <tt>children[i]</tt>.
+ */
+protected static void rotateLeft(Node parent, int i) {
+	Node left = parent.children[i];
+	Node right = parent.children[i+1];
+	if (left.children == null) {
+		left.keys[left.size] = right.keys[0];
+		left.values[left.size] = right.values[0];
+		System.arraycopy(right.keys, 1, right.keys, 0, right.size-1);
+		System.arraycopy(right.values, 1, right.values, 0, right.size-1);
+		parent.keys[i] = right.keys[0];
+	}
+	else {
+		left.keys[left.size] = parent.keys[i];
+		left.children[left.size+1] = right.children[0];
+		parent.keys[i] = right.keys[0];
+		System.arraycopy(right.keys, 1, right.keys, 0, right.size-1);
+		System.arraycopy(right.children, 1, right.children, 0, right.size);
+		right.children[right.size] = null;
+	}
+	left.size++;
+	right.size--;
+}
+/**
+ * Moves the last element of <tt>children[i]</tt> of an inner node to the front of <tt>children[i+1]</tt>.
+ */
+protected static void rotateRight(Node parent, int i) {
+	Node left = parent.children[i];
+	Node right = parent.children[i+1];
+	if (left.children == null) {
+		System.arraycopy(right.keys, 0, right.keys, 1, right.size);
+		System.arraycopy(right.values, 0, right.values, 1, right.size);
+		right.keys[0] = left.keys[left.size-1];
+		right.values[0] = left.values[left.size-1];
+		parent.keys[i] = right.keys[0];
+	}
+	else {
+		System.arraycopy(right.keys, 0, right.keys, 1, right.size);
+		System.arraycopy(right.children, 0, right.children, 1, right.size+1);
+		right.keys[0] = parent.keys[i];
+		right.children[0] = left.children[left.size];
+		parent.keys[i] = left.keys[left.size-1];
+		left.children[left.size] = null;
+	}
+	left.size--;
+	right.size++;
+}
+/**
+ * Searches the first <tt>size</tt> elements of a sorted array for the given key.
+ * @return the index of the key if it is contained; otherwise <tt>(-(insertion point) - 1)</tt>, as in {@link java.util.Arrays#binarySearch(int[],int)}.
+ */
+protected static int search(int[] keys, int size, int key) {
+	int low = 0;
+	int high = size-1;
+	while (low <= high) {
+		int mid = (low + high) >>> 1;
+		int midKey = keys[mid];
+		if (midKey < key) low = mid+1;
+		else if (midKey > key) high = mid-1;
+		else return mid; // found
+	}
+	return -(low+1); // not found
+}
+/**
+ * Splits an overflowing node, keeping the lower half and moving the upper half to a new right sibling.
+ * @return the new sibling; its separator key is left in <tt>splitKey</tt>.
+ */
+protected Node split(Node node) {
+	int half = node.size / 2;
+	Node sibling;
+	if (node.children == null) {
+		sibling = new Node(true);
+		sibling.size = node.size - half;
+		System.arraycopy(node.keys, half, sibling.keys, 0, sibling.size);
+		System.arraycopy(node.values, half, sibling.values, 0, sibling.size);
+		node.size = half;
+		this.splitKey = sibling.keys[0];
+	}
+	else { // the middle key moves up
+		sibling = new Node(false);
+		sibling.size = node.size - half - 1;
+		System.arraycopy(node.keys, half+1, sibling.keys, 0, sibling.size);
+		System.arraycopy(node.children, half+1, sibling.children, 0, sibling.size+1);
+		java.util.Arrays.fill(node.children, half+1, node.size+1, null);
+		this.splitKey = node.keys[half];
+		node.size = half;
+	}
+	return sibling;
+}
+/**
+ * Fills all values contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * The values are in ascending order of their keys, the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void values(DoubleArrayList list) {
+	list.setSize(distinct);
+	fill(root, null, list.elements(), 0);
+}
+}
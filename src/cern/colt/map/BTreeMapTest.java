@@ -0,0 +1,206 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.list.LongArrayList;
+/**
+Checks {@link BTreeLongLongMap} and {@link BTreeIntDoubleMap} against {@link java.util.TreeMap}: random insertions and removals
+that split and merge nodes, ordered iteration, range iteration, neighbour queries and the bulk constructor.
+
+@version 1.0, 10/18/26
+*/
+class BTreeMapTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected BTreeMapTest() {}
+/**
+ * Runs all checks.
+ */
+public static void main(String[] args) {
+	int[] sizes = {0, 1, 63, 64, 65, 2080, 4161, 50000};
+	for (int i=0; i<sizes.length; i++) testBulk(sizes[i]);
+	testRandomly(16, 200000);      // few keys: a single leaf or root split back and forth
+	testRandomly(5000, 400000);    // a few levels
+	testRandomly(1000000, 400000); // sparse keys
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Builds maps of the given size with the bulk constructor, checks them, and then mutates them randomly.
+ */
+public static void testBulk(int size) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(size+1));
+	java.util.TreeMap ref = new java.util.TreeMap();
+	while (ref.size() < size) {
+		long key = gen.nextIntFromTo(-10*size, 10*size);
+		ref.put(new Long(key), new Long(key*3));
+	}
+	long[] keys = new long[size], values = new long[size];
+	int[] intKeys = new int[size];
+	double[] doubleValues = new double[size];
+	java.util.Iterator it = ref.entrySet().iterator();
+	for (int i=0; it.hasNext(); i++) {
+		java.util.Map.Entry entry = (java.util.Map.Entry) it.next();
+		keys[i] = ((Long) entry.getKey()).longValue();
+		values[i] = ((Long) entry.getValue()).longValue();
+		intKeys[i] = (int) keys[i];
+		doubleValues[i] = values[i];
+	}
+	BTreeLongLongMap longs = new BTreeLongLongMap(keys, values);
+	BTreeIntDoubleMap doubles = new BTreeIntDoubleMap(intKeys, doubleValues);
+	String what = "bulk "+size+": ";
+	check(longs, doubles, ref, gen, what);
+
+	for (int op=0; op<10000; op++) {
+		long key = gen.nextIntFromTo(-10*size-10, 10*size+10);
+		if (gen.nextBoolean()) {
+			longs.put(key, key*3);
+			doubles.put((int) key, key*3);
+			ref.put(new Long(key), new Long(key*3));
+		}
+		else {
+			longs.removeKey(key);
+			doubles.removeKey((int) key);
+			ref.remove(new Long(key));
+		}
+	}
+	check(longs, doubles, ref, gen, what+"mutated: ");
+
+	boolean thrown = false;
+	try {
+		if (size > 1) { keys[1] = keys[0]; new BTreeLongLongMap(keys, values); }
+		else thrown = true;
+	}
+	catch (IllegalArgumentException exc) { thrown = true; }
+	if (!thrown) throw new InternalError(what+"duplicate keys accepted");
+	System.out.println(what+"ok");
+}
+/**
+ * Applies the same random insertions and removals to both maps and a {@link java.util.TreeMap}, checking every result,
+ * and now and then the whole contents.
+ */
+public static void testRandomly(int keyRange, int ops) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(keyRange));
+	BTreeLongLongMap longs = new BTreeLongLongMap();
+	BTreeIntDoubleMap doubles = new BTreeIntDoubleMap();
+	java.util.TreeMap ref = new java.util.TreeMap();
+	for (int op=0; op<ops; op++) {
+		long key = gen.nextIntFromTo(-keyRange/2, keyRange/2);
+		Long boxed = new Long(key);
+		boolean contained = ref.containsKey(boxed);
+		String what = "range "+keyRange+", op "+op+", key "+key+": ";
+		// grow during the first half, shrink during the second half
+		boolean insert = gen.nextIntFromTo(0,9) < (op < ops/2 ? 7 : 3);
+		if (insert) {
+			long value = gen.nextIntFromTo(Integer.MIN_VALUE, Integer.MAX_VALUE);
+			if (longs.put(key, value) == contained || doubles.put((int) key, value) == contained) throw new InternalError(what+"put returned "+contained);
+			ref.put(boxed, new Long(value));
+		}
+		else {
+			if (longs.removeKey(key) != contained || doubles.removeKey((int) key) != contained) throw new InternalError(what+"removeKey returned "+!contained);
+			ref.remove(boxed);
+		}
+		if (longs.size() != ref.size() || doubles.size() != ref.size()) throw new InternalError(what+"size "+longs.size()+", "+doubles.size()+", expected "+ref.size());
+		if (op % 25000 == 0 || op == ops-1) check(longs, doubles, ref, gen, what);
+	}
+	System.out.println("range "+keyRange+": ok");
+}
+/**
+ * Returns the key of the given entry of the reference map, or <tt>Long.MIN_VALUE</tt> if there is none (the convention of the neighbour queries).
+ */
+private static long keyOf(Object key) {
+	return key == null ? Long.MIN_VALUE : ((Long) key).longValue();
+}
+/**
+ * Returns the given key of a neighbour query as an <tt>int</tt>, mapping "no such key" from <tt>Long.MIN_VALUE</tt> to <tt>Integer.MIN_VALUE</tt>.
+ */
+private static int intKey(long key) {
+	return key == Long.MIN_VALUE ? Integer.MIN_VALUE : (int) key;
+}
+/**
+ * Checks that both maps hold exactly the associations of <tt>ref</tt>, in ascending order,
+ * and that neighbour queries and range iterations agree with <tt>ref</tt> for random probes.
+ */
+private static void check(BTreeLongLongMap longs, BTreeIntDoubleMap doubles, java.util.TreeMap ref, cern.jet.random.Uniform gen, String what) {
+	int size = ref.size();
+	if (longs.size() != size || doubles.size() != size) throw new InternalError(what+"size");
+
+	// contents, in order
+	LongArrayList keys = new LongArrayList();
+	LongArrayList values = new LongArrayList();
+	IntArrayList intKeys = new IntArrayList();
+	DoubleArrayList doubleValues = new DoubleArrayList();
+	longs.pairsSortedByKey(keys, values);
+	doubles.pairsSortedByKey(intKeys, doubleValues);
+	if (keys.size() != size || intKeys.size() != size) throw new InternalError(what+"pairsSortedByKey size");
+	java.util.Iterator it = ref.entrySet().iterator();
+	for (int i=0; it.hasNext(); i++) {
+		java.util.Map.Entry entry = (java.util.Map.Entry) it.next();
+		long key = ((Long) entry.getKey()).longValue();
+		long value = ((Long) entry.getValue()).longValue();
+		if (keys.get(i) != key || values.get(i) != value) throw new InternalError(what+"entry "+i+": "+keys.get(i)+"->"+values.get(i)+", expected "+key+"->"+value);
+		if (intKeys.get(i) != key || doubleValues.get(i) != value) throw new InternalError(what+"int entry "+i+": "+intKeys.get(i)+"->"+doubleValues.get(i)+", expected "+key+"->"+value);
+		if (!longs.containsKey(key) || longs.get(key) != value || doubles.get((int) key) != value) throw new InternalError(what+"lost "+key);
+	}
+
+	if (size == 0) {
+		boolean thrown = false;
+		try { longs.firstKey(); } catch (java.util.NoSuchElementException exc) { thrown = true; }
+		if (!thrown) throw new InternalError(what+"firstKey of an empty map");
+	}
+	else {
+		if (longs.firstKey() != keyOf(ref.firstKey()) || longs.lastKey() != keyOf(ref.lastKey())) throw new InternalError(what+"firstKey/lastKey");
+		if (doubles.firstKey() != keyOf(ref.firstKey()) || doubles.lastKey() != keyOf(ref.lastKey())) throw new InternalError(what+"int firstKey/lastKey");
+	}
+
+	long low = size == 0 ? -100 : keyOf(ref.firstKey()) - 3;
+	long high = size == 0 ? 100 : keyOf(ref.lastKey()) + 3;
+	for (int probe=0; probe<200; probe++) {
+		long key = low + (long) (gen.nextDouble() * (high - low + 1));
+		Long boxed = new Long(key);
+		long floor = keyOf(ref.floorKey(boxed)), ceiling = keyOf(ref.ceilingKey(boxed));
+		long lower = keyOf(ref.lowerKey(boxed)), higher = keyOf(ref.higherKey(boxed));
+		if (longs.floorKey(key) != floor || longs.ceilingKey(key) != ceiling || longs.lowerKey(key) != lower || longs.higherKey(key) != higher) {
+			throw new InternalError(what+"neighbours of "+key+": "+longs.floorKey(key)+" "+longs.ceilingKey(key)+" "+longs.lowerKey(key)+" "+longs.higherKey(key)
+				+", expected "+floor+" "+ceiling+" "+lower+" "+higher);
+		}
+		int k = (int) key;
+		if (doubles.floorKey(k) != intKey(floor) || doubles.ceilingKey(k) != intKey(ceiling) || doubles.lowerKey(k) != intKey(lower) || doubles.higherKey(k) != intKey(higher)) {
+			throw new InternalError(what+"int neighbours of "+key);
+		}
+	}
+
+	for (int probe=0; probe<20; probe++) {
+		long a = low + (long) (gen.nextDouble() * (high - low + 1));
+		long b = low + (long) (gen.nextDouble() * (high - low + 1));
+		final long from = Math.min(a,b), to = Math.max(a,b);
+		final java.util.Iterator expected = ref.subMap(new Long(from), true, new Long(to), true).entrySet().iterator();
+		final String range = what+"range ["+from+","+to+"]: ";
+		longs.forEachPairFromTo(from, to, new cern.colt.function.LongLongProcedure() {
+			public boolean apply(long key, long value) {
+				if (!expected.hasNext()) throw new InternalError(range+"visited extra key "+key);
+				java.util.Map.Entry entry = (java.util.Map.Entry) expected.next();
+				if (((Long) entry.getKey()).longValue() != key || ((Long) entry.getValue()).longValue() != value) throw new InternalError(range+"visited "+key+", expected "+entry.getKey());
+				return true;
+			}
+		});
+		if (expected.hasNext()) throw new InternalError(range+"missed key "+((java.util.Map.Entry) expected.next()).getKey());
+
+		final int[] count = new int[1];
+		final int limit = 3;
+		boolean completed = longs.forEachPairFromTo(from, to, new cern.colt.function.LongLongProcedure() {
+			public boolean apply(long key, long value) { return ++count[0] < limit; }
+		});
+		int expectedCount = ref.subMap(new Long(from), true, new Long(to), true).size();
+		if (completed != (expectedCount < limit) || count[0] != Math.min(expectedCount, limit)) throw new InternalError(range+"stopping early");
+	}
+}
+}
@@ -0,0 +1,204 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.DoubleDoubleFunction;
+import cern.colt.function.LongLongFunction;
+/**
+Checks the concurrent hash maps against {@link java.util.HashMap}: atomic updates under contention, and segments resizing concurrently.
+
+@version 1.0, 10/18/26
+*/
+class ConcurrentOpenHashMapTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected ConcurrentOpenHashMapTest() {}
+/**
+ * Runs all checks.
+ */
+public static void main(String[] args) {
+	int threads = 8;
+	testContention(threads, 16, 200000);       // few keys: all threads hammer the same entries
+	testContention(threads, 1000000, 200000);  // many keys: segments grow while being updated
+	testResize(threads, 50000);
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Starts one thread per task, all at once, and waits until all have finished; rethrows the first failure of any task.
+ */
+private static void runConcurrently(final Runnable[] tasks) {
+	final java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+	final Throwable[] failure = new Throwable[1];
+	Thread[] threads = new Thread[tasks.length];
+	for (int t=0; t<tasks.length; t++) {
+		final Runnable task = tasks[t];
+		threads[t] = new Thread() {
+			public void run() {
+				try {
+					start.await();
+					task.run();
+				}
+				catch (Throwable exc) {
+					synchronized (failure) { if (failure[0]==null) failure[0] = exc; }
+				}
+			}
+		};
+		threads[t].start();
+	}
+	start.countDown();
+	for (int t=0; t<threads.length; t++) {
+		try { threads[t].join(); } catch (InterruptedException exc) { throw new InternalError(); }
+	}
+	if (failure[0] != null) throw new InternalError("task failed: "+failure[0]);
+}
+/**
+ * Lets all threads apply <tt>addTo</tt>, <tt>adjustOrPutValue</tt> and <tt>merge</tt> to random keys of the given range, 
+ * and compares the maps with the sequential replay of all updates into a {@link java.util.HashMap}.
+ */
+public static void testContention(int threads, int keyRange, final int ops) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(keyRange));
+	final int[][] keys = new int[threads][ops];
+	for (int t=0; t<threads; t++) {
+		for (int i=0; i<ops; i++) keys[t][i] = gen.nextIntFromTo(0,keyRange-1);
+	}
+
+	// start tiny, so that the segments grow under contention
+	final ConcurrentOpenIntIntHashMap counts = new ConcurrentOpenIntIntHashMap(1, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor, threads);
+	final ConcurrentOpenIntIntHashMap adjusted = new ConcurrentOpenIntIntHashMap(1, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor, threads);
+	final ConcurrentOpenIntDoubleHashMap sums = new ConcurrentOpenIntDoubleHashMap(1, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor, threads);
+	final ConcurrentOpenLongLongHashMap maxima = new ConcurrentOpenLongLongHashMap(1, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor, threads);
+	final DoubleDoubleFunction plus = new DoubleDoubleFunction() {
+		public double apply(double a, double b) { return a + b; }
+	};
+	final LongLongFunction max = new LongLongFunction() {
+		public long apply(long a, long b) { return Math.max(a,b); }
+	};
+
+	Runnable[] tasks = new Runnable[threads];
+	for (int t=0; t<threads; t++) {
+		final int[] k = keys[t];
+		final long stamp = (long) t * ops;
+		tasks[t] = new Runnable() {
+			public void run() {
+				for (int i=0; i<ops; i++) {
+					int key = k[i];
+					counts.addTo(key, 1);
+					adjusted.adjustOrPutValue(key, 100, 1);
+					sums.merge(key, key % 7 - 3, plus);
+					maxima.merge(longKey(key), stamp + i, max);
+				}
+			}
+		};
+	}
+	runConcurrently(tasks);
+
+	// sequential reference: number of updates and largest stamp per key
+	java.util.HashMap refCounts = new java.util.HashMap();
+	java.util.HashMap refMaxima = new java.util.HashMap();
+	for (int t=0; t<threads; t++) {
+		for (int i=0; i<ops; i++) {
+			Integer key = new Integer(keys[t][i]);
+			Integer count = (Integer) refCounts.get(key);
+			refCounts.put(key, new Integer(count==null ? 1 : count.intValue()+1));
+			Long stamp = (Long) refMaxima.get(key);
+			refMaxima.put(key, new Long(Math.max(stamp==null ? Long.MIN_VALUE : stamp.longValue(), (long) t*ops + i)));
+		}
+	}
+
+	int size = refCounts.size();
+	if (counts.size()!=size || adjusted.size()!=size || sums.size()!=size || maxima.size()!=size) {
+		throw new InternalError("size: "+size+" expected, got "+counts.size()+", "+adjusted.size()+", "+sums.size()+", "+maxima.size());
+	}
+	java.util.Iterator it = refCounts.entrySet().iterator();
+	while (it.hasNext()) {
+		java.util.Map.Entry entry = (java.util.Map.Entry) it.next();
+		int key = ((Integer) entry.getKey()).intValue();
+		int count = ((Integer) entry.getValue()).intValue();
+		long stamp = ((Long) refMaxima.get(entry.getKey())).longValue();
+		if (counts.get(key) != count) throw new InternalError("addTo("+key+"): "+count+" expected, got "+counts.get(key));
+		if (adjusted.get(key) != 100 + count - 1) throw new InternalError("adjustOrPutValue("+key+"): "+(100+count-1)+" expected, got "+adjusted.get(key));
+		if (sums.get(key) != (double) count * (key % 7 - 3)) throw new InternalError("merge("+key+"): "+((double) count * (key % 7 - 3))+" expected, got "+sums.get(key));
+		if (maxima.get(longKey(key)) != stamp) throw new InternalError("merge("+longKey(key)+"): "+stamp+" expected, got "+maxima.get(longKey(key)));
+	}
+	System.out.println("contention on "+keyRange+" keys: ok");
+}
+/**
+ * Lets all threads insert, adjust and remove disjoint ranges of keys of a map with fewer segments than threads,
+ * so that segments grow and shrink concurrently, and compares with a {@link java.util.HashMap} after each phase.
+ */
+public static void testResize(int threads, final int keysPerThread) {
+	final ConcurrentOpenIntIntHashMap map = new ConcurrentOpenIntIntHashMap(1, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor, Math.max(1,threads/4));
+	final int[][] keys = new int[threads][keysPerThread];
+	final int[][] deltas = new int[threads][keysPerThread];
+	java.util.HashMap ref = new java.util.HashMap();
+	for (int t=0; t<threads; t++) {
+		for (int i=0; i<keysPerThread; i++) {
+			keys[t][i] = (t*keysPerThread + i) * 31; // disjoint across threads
+			deltas[t][i] = i % 5;
+			ref.put(new Integer(keys[t][i]), new Integer(keys[t][i] + i % 5));
+		}
+	}
+
+	// grow: put, then adjustAll
+	Runnable[] tasks = new Runnable[threads];
+	for (int t=0; t<threads; t++) {
+		final int[] k = keys[t];
+		final int[] d = deltas[t];
+		tasks[t] = new Runnable() {
+			public void run() {
+				for (int i=0; i<k.length; i++) map.put(k[i], k[i]);
+				map.adjustAll(k, d, 0, k.length-1);
+			}
+		};
+	}
+	runConcurrently(tasks);
+	check(map, ref, "grow");
+
+	// shrink: remove every key but one in eight
+	for (int t=0; t<threads; t++) {
+		final int[] k = keys[t];
+		for (int i=0; i<k.length; i++) if (i % 8 != 0) ref.remove(new Integer(k[i]));
+		tasks[t] = new Runnable() {
+			public void run() {
+				for (int i=0; i<k.length; i++) {
+					if (i % 8 != 0 && !map.removeKey(k[i])) throw new InternalError("removeKey("+k[i]+") missed");
+				}
+			}
+		};
+	}
+	runConcurrently(tasks);
+	check(map, ref, "shrink");
+	System.out.println("resize: ok");
+}
+/**
+ * Checks that <tt>map</tt> holds exactly the associations of <tt>ref</tt>.
+ */
+private static void check(ConcurrentOpenIntIntHashMap map, java.util.HashMap ref, String phase) {
+	if (map.size() != ref.size()) throw new InternalError(phase+": size "+ref.size()+" expected, got "+map.size());
+	java.util.Iterator it = ref.entrySet().iterator();
+	while (it.hasNext()) {
+		java.util.Map.Entry entry = (java.util.Map.Entry) it.next();
+		int key = ((Integer) entry.getKey()).intValue();
+		int value = ((Integer) entry.getValue()).intValue();
+		if (!map.containsKey(key) || map.get(key) != value) throw new InternalError(phase+": "+key+"->"+value+" expected, got "+map.get(key));
+	}
+	final int[] visited = new int[1];
+	map.forEachKey(new cern.colt.function.IntProcedure() {
+		public boolean apply(int key) { visited[0]++; return true; }
+	});
+	if (visited[0] != ref.size()) throw new InternalError(phase+": forEachKey visited "+visited[0]+" keys, "+ref.size()+" expected");
+}
+/**
+ * Spreads an int key over the whole long range, beyond 32 bits.
+ */
+private static long longKey(int key) {
+	return ((long) key << 33) ^ key;
+}
+}
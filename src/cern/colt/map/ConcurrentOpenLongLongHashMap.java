@@ -0,0 +1,377 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.LongLongFunction;
+import cern.colt.function.LongLongProcedure;
+import cern.colt.function.LongProcedure;
+/**
+Hash map holding (key,value) associations of type <tt>(long-->long)</tt> that may be read and modified by many threads at once; Automatically grows and shrinks as needed; Implemented using lock striping over open addressing hash maps.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+The keys are spread over a fixed number of <i>segments</i>, each an {@link OpenLongLongHashMap} guarded by its own lock.
+Threads operating on keys of different segments never wait for each other, and each segment grows and shrinks independently, 
+so a resize blocks only the threads touching that segment.
+The <i>concurrency level</i> given upon instance construction is the number of segments (rounded up to a power of two);
+it should be about the number of threads expected to update the map simultaneously.
+<p>
+Besides the usual operations, the methods {@link #addTo(long,long)}, {@link #adjustOrPutValue(long,long,long)} and {@link #merge(long,long,LongLongFunction)}
+atomically update the value associated with a key, as needed for accumulating (key,value) pairs from many threads,
+for example sparse gradient updates or co-occurrence counts:
+<pre>
+final ConcurrentOpenLongLongHashMap counts = new ConcurrentOpenLongLongHashMap();
+// from any thread
+counts.addTo(key, 1);
+</pre>
+Single operations are atomic. 
+Bulk operations such as <tt>forEachPair</tt>, <tt>size</tt> or <tt>clear</tt> visit one segment after the other, 
+each segment in a consistent state, but do not see the whole map at a single point in time while other threads modify it.
+A procedure passed to <tt>forEachKey</tt> or <tt>forEachPair</tt> may replace the value of the key it is applied to, but should not add or remove keys.
+
+@version 1.0, 10/18/26
+@see	    OpenLongLongHashMap
+*/
+public class ConcurrentOpenLongLongHashMap extends AbstractLongLongMap {
+	/**
+	 * The segments; each is used only while holding its own lock.
+	 * @serial
+	 */
+	protected OpenLongLongHashMap segments[];
+
+	/**
+	 * The number of segments minus one; the number of segments is a power of two.
+	 * @serial
+	 */
+	protected int segmentMask;
+
+	protected static final int defaultConcurrencyLevel = 16;
+	protected static final int maxConcurrencyLevel = 1 << 16;
+
+/**
+ * Constructs an empty map with default capacity, default load factors and default concurrency level.
+ */
+public ConcurrentOpenLongLongHashMap() {
+	this(defaultCapacity);
+}
+/**
+ * Constructs an empty map with the specified initial capacity, default load factors and default concurrency level.
+ *
+ * @param      initialCapacity   the initial capacity of the map.
+ * @throws     IllegalArgumentException if the initial capacity is less
+ *             than zero.
+ */
+public ConcurrentOpenLongLongHashMap(int initialCapacity) {
+	this(initialCapacity, defaultMinLoadFactor, defaultMaxLoadFactor);
+}
+/**
+ * Constructs an empty map with
+ * the specified initial capacity, the specified minimum and maximum load factor and default concurrency level.
+ *
+ * @param      initialCapacity   the initial capacity.
+ * @param      minLoadFactor        the minimum load factor.
+ * @param      maxLoadFactor        the maximum load factor.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+public ConcurrentOpenLongLongHashMap(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	this(initialCapacity, minLoadFactor, maxLoadFactor, defaultConcurrencyLevel);
+}
+/**
+ * Constructs an empty map with
+ * the specified initial capacity, the specified minimum and maximum load factor and the specified concurrency level.
+ *
+ * @param      initialCapacity   the initial capacity.
+ * @param      minLoadFactor        the minimum load factor.
+ * @param      maxLoadFactor        the maximum load factor.
+ * @param      concurrencyLevel     the estimated number of threads updating the map simultaneously.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ * @throws	IllegalArgumentException if <tt>concurrencyLevel <= 0</tt>.
+ */
+public ConcurrentOpenLongLongHashMap(int initialCapacity, double minLoadFactor, double maxLoadFactor, int concurrencyLevel) {
+	setUp(initialCapacity,minLoadFactor,maxLoadFactor,concurrencyLevel);
+}
+/**
+ * Atomically adds the given amount to the value associated with the given key;
+ * associates the amount with the key if the key is not contained.
+ * Equivalent to <tt>adjustOrPutValue(key, delta, delta)</tt>.
+ *
+ * @param key the key whose value shall be incremented.
+ * @param delta the amount to add.
+ * @return the new value associated with the key.
+ */
+public long addTo(long key, long delta) {
+	return adjustOrPutValue(key, delta, delta);
+}
+/**
+ * Atomically adds <tt>adjustAmount</tt> to the value associated with the given key, 
+ * or associates <tt>putValue</tt> with the key if the key is not contained.
+ *
+ * @param key the key whose value shall be adjusted.
+ * @param putValue the value to associate if the key is not contained.
+ * @param adjustAmount the amount to add to the value if the key is contained.
+ * @return the new value associated with the key.
+ */
+public long adjustOrPutValue(long key, long putValue, long adjustAmount) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		int i = segment.indexOfKey(key);
+		if (i<0) {
+			segment.put(key, putValue);
+			return putValue;
+		}
+		return segment.values[i] += adjustAmount;
+	}
+}
+/**
+ * Removes all (key,value) associations from the receiver.
+ * Implicitly calls <tt>trimToSize()</tt>.
+ */
+public void clear() {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			segment.clear();
+		}
+	}
+}
+/**
+ * Returns a deep copy of the receiver.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public Object clone() {
+	ConcurrentOpenLongLongHashMap copy = (ConcurrentOpenLongLongHashMap) super.clone();
+	copy.segments = (OpenLongLongHashMap[]) copy.segments.clone();
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			copy.segments[s] = (OpenLongLongHashMap) segment.clone();
+		}
+	}
+	return copy;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified key.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified key.
+ */
+public boolean containsKey(long key) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		return segment.containsKey(key);
+	}
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified value.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified value.
+ */
+public boolean containsValue(long value) {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			if (segment.containsValue(value)) return true;
+		}
+	}
+	return false;
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of associations without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * The capacity is divided evenly among the segments.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ * Calling this method before <tt>put()</tt>ing a large number of associations boosts performance,
+ * because the receiver will grow only once instead of potentially many times and hash collisions get less probable.
+ *
+ * @param   minCapacity   the desired minimum capacity.
+ */
+public void ensureCapacity(int minCapacity) {
+	int perSegment = (int) (((long) minCapacity + segments.length - 1) / segments.length);
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			segment.ensureCapacity(perSegment);
+		}
+	}
+}
+/**
+ * Applies a procedure to each key of the receiver, if any.
+ * Note: Iterates over the keys in no particular order.
+ * All methods which <i>can</i> be expressed in terms of this method (most methods can) <i>must guarantee</i> to use the <i>same</i> order defined by this method, even if it is no particular order.
+ * This is necessary so that, for example, methods <tt>keys</tt> and <tt>values</tt> will yield association pairs, not two uncorrelated lists.
+ * <p>
+ * Holds the lock of one segment at a time while applying the procedure to the keys of that segment.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachKey(LongProcedure procedure) {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			if (! segment.forEachKey(procedure)) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Applies a procedure to each (key,value) pair of the receiver, if any.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(LongProcedure)}.
+ * <p>
+ * Holds the lock of one segment at a time while applying the procedure to the pairs of that segment.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachPair(final LongLongProcedure procedure) {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			if (! segment.forEachPair(procedure)) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Returns the value associated with the specified key.
+ * It is often a good idea to first check with {@link #containsKey(long)} whether the given key has a value associated or not, i.e. whether there exists an association for the given key or not.
+ *
+ * @param key the key to be searched for.
+ * @return the value associated with the specified key; <tt>0</tt> if no such key is present.
+ */
+public long get(long key) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		return segment.get(key);
+	}
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains no (key,value) associations.
+ * @return <tt>true</tt> if the receiver contains no (key,value) associations.
+ */
+public boolean isEmpty() {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			if (! segment.isEmpty()) return false;
+		}
+	}
+	return true;
+}
+/**
+ * Atomically combines the value associated with the given key with the given value;
+ * associates <tt>function.apply(oldValue, value)</tt> with the key if the key is contained, 
+ * and <tt>value</tt> otherwise.
+ * The function is evaluated while holding the lock of the key's segment, so it should be quick and must not access the receiver.
+ *
+ * @param key the key whose value shall be combined.
+ * @param value the value to combine with.
+ * @param function a function object taking as first argument the current value and as second argument <tt>value</tt>.
+ * @return the new value associated with the key.
+ */
+public long merge(long key, long value, LongLongFunction function) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		int i = segment.indexOfKey(key);
+		if (i<0) {
+			segment.put(key, value);
+			return value;
+		}
+		return segment.values[i] = function.apply(segment.values[i], value);
+	}
+}
+/**
+ * Associates the given key with the given value.
+ * Replaces any old <tt>(key,someOtherValue)</tt> association, if existing.
+ *
+ * @param key the key the value shall be associated with.
+ * @param value the value to be associated.
+ * @return <tt>true</tt> if the receiver did not already contain such a key;
+ *         <tt>false</tt> if the receiver did already contain such a key - the new value has now replaced the formerly associated value.
+ */
+public boolean put(long key, long value) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		return segment.put(key, value);
+	}
+}
+/**
+ * Removes the given key with its associated element from the receiver, if present.
+ *
+ * @param key the key to be removed from the receiver.
+ * @return <tt>true</tt> if the receiver contained the specified key, <tt>false</tt> otherwise.
+ */
+public boolean removeKey(long key) {
+	OpenLongLongHashMap segment = segmentFor(key);
+	synchronized (segment) {
+		return segment.removeKey(key);
+	}
+}
+/**
+ * Returns the segment holding the given key.
+ * The segment is selected by the low bits of a thoroughly mixed hash,
+ * which are independent of the slot the key occupies within its segment.
+ */
+protected OpenLongLongHashMap segmentFor(long key) {
+	return segments[HashFunctions.mix(HashFunctions.hash(key)) & segmentMask];
+}
+/**
+ * Initializes the receiver.
+ *
+ * @param      initialCapacity   the initial capacity of the receiver.
+ * @param      minLoadFactor        the minLoadFactor of the receiver.
+ * @param      maxLoadFactor        the maxLoadFactor of the receiver.
+ * @param      concurrencyLevel     the estimated number of threads updating the receiver simultaneously.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ * @throws	IllegalArgumentException if <tt>concurrencyLevel <= 0</tt>.
+ */
+protected void setUp(int initialCapacity, double minLoadFactor, double maxLoadFactor, int concurrencyLevel) {
+	super.setUp(initialCapacity, minLoadFactor, maxLoadFactor);
+	if (concurrencyLevel <= 0) throw new IllegalArgumentException("Illegal concurrencyLevel: "+ concurrencyLevel);
+	
+	int n = 1;
+	while (n < concurrencyLevel && n < maxConcurrencyLevel) n <<= 1;
+	
+	this.minLoadFactor = minLoadFactor;
+	this.maxLoadFactor = maxLoadFactor;
+	this.segmentMask = n-1;
+	this.segments = new OpenLongLongHashMap[n];
+	int perSegment = (initialCapacity + n - 1) / n;
+	for (int s = 0; s < n; s++) {
+		this.segments[s] = new OpenLongLongHashMap(perSegment, minLoadFactor, maxLoadFactor);
+	}
+}
+/**
+ * Returns the number of (key,value) associations currently contained.
+ * @return the number of (key,value) associations currently contained.
+ */
+public int size() {
+	int size = 0;
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			size += segment.size();
+		}
+	}
+	return size;
+}
+/**
+ * Trims the capacity of the receiver to be the receiver's current 
+ * size. Releases any superfluous internal memory. An application can use this operation to minimize the 
+ * storage of the receiver.
+ */
+public void trimToSize() {
+	for (int s = 0; s < segments.length; s++) {
+		OpenLongLongHashMap segment = segments[s];
+		synchronized (segment) {
+			segment.trimToSize();
+		}
+	}
+}
+}
@@ -107,4 +107,19 @@ public static int hash(short value) {
 public static int hash(boolean value) {
 	return value ? 1231 : 1237;
 }
+/**
+ * Returns a hashcode for the specified value whose bits are thoroughly mixed (the finalizer of MurmurHash3).
+ * Every input bit affects every output bit, so the low bits alone are a good hash,
+ * as needed by tables with power-of-two capacities that select a slot by masking.
+ *
+ * @return  a hash code value for the specified value. 
+ */
+public static int mix(int value) {
+	value ^= value >>> 16;
+	value *= 0x85EBCA6B;
+	value ^= value >>> 13;
+	value *= 0xC2B2AE35;
+	value ^= value >>> 16;
+	return value;
+}
 }
@@ -0,0 +1,135 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+/**
+Checks {@link LinearIntIntHashMap} and {@link LinearIntDoubleHashMap} against {@link java.util.HashMap} with long random sequences of
+<tt>put</tt>, <tt>removeKey</tt> and lookups, over key distributions that provoke long probe sequences and many backward shifts on removal.
+
+@version 1.0, 10/18/26
+*/
+class LinearHashMapTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected LinearHashMapTest() {}
+/**
+ * Runs all checks.
+ */
+public static void main(String[] args) {
+	for (int distribution=0; distribution<4; distribution++) {
+		testRandomly(distribution, 300000, AbstractMap.defaultMinLoadFactor, AbstractMap.defaultMaxLoadFactor);
+		testRandomly(distribution, 300000, 0.05, 0.9); // long clusters
+	}
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Returns a random key of the given distribution.
+ */
+private static int nextKey(cern.jet.random.Uniform gen, int distribution) {
+	switch (distribution) {
+		case 0: return gen.nextIntFromTo(-50,50); // few keys, including 0
+		case 1: return gen.nextIntFromTo(0,2000) << 12; // multiples of a power of two
+		case 2: return gen.nextIntFromTo(0,5000); // consecutive keys
+		default:
+			int k = gen.nextIntFromTo(0,7);
+			if (k == 0) return Integer.MIN_VALUE + gen.nextIntFromTo(0,3);
+			if (k == 1) return Integer.MAX_VALUE - gen.nextIntFromTo(0,3);
+			return gen.nextIntFromTo(Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+}
+/**
+ * Applies the same random operations to both maps and a {@link java.util.HashMap}, checking every result, 
+ * and now and then the whole contents, a clone and the state after <tt>trimToSize</tt>.
+ */
+public static void testRandomly(int distribution, int ops, double minLoadFactor, double maxLoadFactor) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(distribution+1));
+	LinearIntIntHashMap ints = new LinearIntIntHashMap(1, minLoadFactor, maxLoadFactor);
+	LinearIntDoubleHashMap doubles = new LinearIntDoubleHashMap(1, minLoadFactor, maxLoadFactor);
+	java.util.HashMap ref = new java.util.HashMap();
+
+	for (int op=0; op<ops; op++) {
+		int key = nextKey(gen, distribution);
+		Integer boxed = new Integer(key);
+		Integer old = (Integer) ref.get(boxed);
+		String what = "distribution "+distribution+", op "+op+", key "+key+": ";
+		int action = gen.nextIntFromTo(0,9);
+		if (op > ops/2) action = action < 6 ? 9 : action; // second half: mostly removals, so that the tables shrink
+
+		if (action < 5) { // put
+			int value = gen.nextIntFromTo(Integer.MIN_VALUE, Integer.MAX_VALUE);
+			boolean added = old == null;
+			if (ints.put(key, value) != added || doubles.put(key, value) != added) throw new InternalError(what+"put returned "+!added);
+			ref.put(boxed, new Integer(value));
+		}
+		else if (action < 8) { // lookup
+			int expected = old == null ? 0 : old.intValue();
+			if (ints.containsKey(key) != (old != null) || doubles.containsKey(key) != (old != null)) throw new InternalError(what+"containsKey");
+			if (ints.get(key) != expected || doubles.get(key) != expected) throw new InternalError(what+"get "+ints.get(key)+", "+doubles.get(key)+", expected "+expected);
+		}
+		else { // remove
+			boolean removed = old != null;
+			if (ints.removeKey(key) != removed || doubles.removeKey(key) != removed) throw new InternalError(what+"removeKey returned "+!removed);
+			ref.remove(boxed);
+		}
+		if (ints.size() != ref.size() || doubles.size() != ref.size()) throw new InternalError(what+"size "+ints.size()+", "+doubles.size()+", expected "+ref.size());
+
+		if (op % 20000 == 0 || op == ops-1) {
+			check(ints, doubles, ref, what);
+			check((LinearIntIntHashMap) ints.clone(), (LinearIntDoubleHashMap) doubles.clone(), ref, what+"clone: ");
+			ints.trimToSize();
+			doubles.trimToSize();
+			check(ints, doubles, ref, what+"trimToSize: ");
+		}
+	}
+	ints.clear();
+	doubles.clear();
+	ref.clear();
+	check(ints, doubles, ref, "distribution "+distribution+", clear: ");
+	System.out.println("distribution "+distribution+", load factors "+minLoadFactor+".."+maxLoadFactor+": ok");
+}
+/**
+ * Checks that both maps hold exactly the associations of <tt>ref</tt>, via lookups, <tt>keys</tt>, <tt>values</tt> and <tt>forEachPair</tt>.
+ */
+private static void check(LinearIntIntHashMap ints, LinearIntDoubleHashMap doubles, final java.util.HashMap ref, final String what) {
+	if (ints.size() != ref.size() || doubles.size() != ref.size()) throw new InternalError(what+"size");
+	java.util.Iterator it = ref.entrySet().iterator();
+	while (it.hasNext()) {
+		java.util.Map.Entry entry = (java.util.Map.Entry) it.next();
+		int key = ((Integer) entry.getKey()).intValue();
+		int value = ((Integer) entry.getValue()).intValue();
+		if (ints.get(key) != value || doubles.get(key) != value) throw new InternalError(what+"lost "+key+"->"+value);
+	}
+
+	IntArrayList keys = new IntArrayList();
+	IntArrayList intValues = new IntArrayList();
+	DoubleArrayList doubleValues = new DoubleArrayList();
+	ints.keys(keys);
+	ints.values(intValues);
+	doubles.values(doubleValues);
+	if (keys.size() != ref.size() || intValues.size() != ref.size() || doubleValues.size() != ref.size()) throw new InternalError(what+"keys/values size");
+	java.util.HashSet distinct = new java.util.HashSet();
+	for (int i=0; i<keys.size(); i++) {
+		if (!ref.containsKey(new Integer(keys.get(i))) || !distinct.add(new Integer(keys.get(i)))) throw new InternalError(what+"keys() holds a wrong or duplicate key "+keys.get(i));
+	}
+
+	final int[] visited = new int[1];
+	doubles.forEachPair(new cern.colt.function.IntDoubleProcedure() {
+		public boolean apply(int key, double value) {
+			Integer expected = (Integer) ref.get(new Integer(key));
+			if (expected == null || expected.intValue() != value) throw new InternalError(what+"forEachPair visited "+key+"->"+value);
+			visited[0]++;
+			return true;
+		}
+	});
+	if (visited[0] != ref.size()) throw new InternalError(what+"forEachPair visited "+visited[0]+" pairs, expected "+ref.size());
+}
+}
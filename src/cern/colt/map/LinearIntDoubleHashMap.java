@@ -0,0 +1,504 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.IntDoubleProcedure;
+import cern.colt.function.IntProcedure;
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+/**
+Hash map holding (key,value) associations of type <tt>(int-->double)</tt>; Automatically grows and shrinks as needed; Implemented using open addressing with linear probing.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+A drop-in alternative to {@link OpenIntDoubleHashMap}, tuned for lookup latency rather than memory.
+Each key is stored right next to its value in a single array, so a successful lookup usually touches one cache line,
+and collisions are resolved by probing the adjacent slots, which are most likely in the same or the next cache line.
+The capacity is a power of two and slots are selected by masking a thoroughly mixed hash ({@link HashFunctions#mix(int)}).
+Removals shift the following entries of the probe sequence back instead of leaving "removed" markers behind,
+so lookups never slow down after many removals.
+<p>
+A slot takes 16 bytes, against 13 bytes for {@link OpenIntDoubleHashMap}, and since the capacity is rounded up to a power of two,
+the load factor actually in effect may be lower than the one requested. 
+The maximum load factor should be kept at or below the default <tt>0.5</tt>, because linear probing degrades quickly beyond that point.
+
+Overrides many methods for performance reasons only.
+
+@version 1.0, 10/18/26
+@see	    OpenIntDoubleHashMap
+@see	    java.util.HashMap
+*/
+public class LinearIntDoubleHashMap extends AbstractIntDoubleMap {
+	/**
+	 * The hash table; slot <tt>i</tt> holds its key at <tt>2*i</tt> and the bits of its value at <tt>2*i+1</tt>.
+	 * A key is stored as <tt>FULL | (key & 0xFFFFFFFFL)</tt>, a free slot holds <tt>0</tt>.
+	 * @serial
+	 */
+	protected long table[];
+
+	/**
+	 * The number of slots minus one; the number of slots is a power of two.
+	 * @serial
+	 */
+	protected int mask;
+
+	protected static final long FULL = 1L << 32;
+	protected static final int largestCapacity = 1 << 30;
+
+/**
+ * Constructs an empty map with default capacity and default load factors.
+ */
+public LinearIntDoubleHashMap() {
+	this(defaultCapacity);
+}
+/**
+ * Constructs an empty map with the specified initial capacity and default load factors.
+ *
+ * @param      initialCapacity   the initial capacity of the map.
+ * @throws     IllegalArgumentException if the initial capacity is less
+ *             than zero.
+ */
+public LinearIntDoubleHashMap(int initialCapacity) {
+	this(initialCapacity, defaultMinLoadFactor, defaultMaxLoadFactor);
+}
+/**
+ * Constructs an empty map with
+ * the specified initial capacity and the specified minimum and maximum load factor.
+ *
+ * @param      initialCapacity   the initial capacity.
+ * @param      minLoadFactor        the minimum load factor.
+ * @param      maxLoadFactor        the maximum load factor.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+public LinearIntDoubleHashMap(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	setUp(initialCapacity,minLoadFactor,maxLoadFactor);
+}
+/**
+Assigns the result of a function to each value; <tt>v[i] = function(v[i])</tt>.
+
+@param function a function object taking as argument the current association's value.
+*/
+public void assign(cern.colt.function.DoubleFunction function) {
+	final long[] tab = table;
+	// specialization for speed
+	if (function instanceof cern.jet.math.Mult) { // x[i] = mult*x[i]
+		double multiplicator = ((cern.jet.math.Mult)function).multiplicator;
+		if (multiplicator==1) return;
+		if (multiplicator==0) {
+			clear();
+			return;
+		}
+		for (int i = tab.length ; (i -= 2) >= 0 ;) {
+			if (tab[i]!=0) tab[i+1] = Double.doubleToRawLongBits(Double.longBitsToDouble(tab[i+1]) * multiplicator);
+		}
+	}
+	else { // the general case x[i] = f(x[i])
+		for (int i = tab.length ; (i -= 2) >= 0 ;) {
+			if (tab[i]!=0) tab[i+1] = Double.doubleToRawLongBits(function.apply(Double.longBitsToDouble(tab[i+1])));
+		}
+	}
+}
+/**
+ * Clears the receiver, then adds all (key,value) pairs of <tt>other</tt>values to it.
+ *
+ * @param other the other map to be copied into the receiver.
+ */
+public void assign(AbstractIntDoubleMap other) {
+	if (!(other instanceof LinearIntDoubleHashMap)) {
+		super.assign(other);
+		return;
+	}
+	LinearIntDoubleHashMap source = (LinearIntDoubleHashMap) other;
+	LinearIntDoubleHashMap copy = (LinearIntDoubleHashMap) source.copy();
+	this.table = copy.table;
+	this.mask = copy.mask;
+	this.distinct = copy.distinct;
+	this.lowWaterMark = copy.lowWaterMark;
+	this.highWaterMark = copy.highWaterMark;
+	this.minLoadFactor = copy.minLoadFactor;
+	this.maxLoadFactor = copy.maxLoadFactor;
+}
+/**
+ * Removes all (key,value) associations from the receiver.
+ * Implicitly calls <tt>trimToSize()</tt>.
+ */
+public void clear() {
+	java.util.Arrays.fill(this.table, 0L);
+	this.distinct = 0;
+	trimToSize();
+}
+/**
+ * Returns a deep copy of the receiver.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public Object clone() {
+	LinearIntDoubleHashMap copy = (LinearIntDoubleHashMap) super.clone();
+	copy.table = (long[]) copy.table.clone();
+	return copy;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified key.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified key.
+ */
+public boolean containsKey(int key) {
+	return indexOfKey(key) >= 0;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified value.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified value.
+ */
+public boolean containsValue(double value) {
+	return indexOfValue(value) >= 0;
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of associations without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ * Calling this method before <tt>put()</tt>ing a large number of associations boosts performance,
+ * because the receiver will grow only once instead of potentially many times and hash collisions get less probable.
+ *
+ * @param   minCapacity   the desired minimum capacity.
+ */
+public void ensureCapacity(int minCapacity) {
+	if (mask+1 < minCapacity) {
+		int newCapacity = nextPrime(minCapacity);
+		rehash(newCapacity);
+	}
+}
+/**
+ * Applies a procedure to each key of the receiver, if any.
+ * Note: Iterates over the keys in no particular order.
+ * Subclasses can define a particular order, for example, "sorted by key".
+ * All methods which <i>can</i> be expressed in terms of this method (most methods can) <i>must guarantee</i> to use the <i>same</i> order defined by this method, even if it is no particular order.
+ * This is necessary so that, for example, methods <tt>keys</tt> and <tt>values</tt> will yield association pairs, not two uncorrelated lists.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachKey(IntProcedure procedure) {
+	final long[] tab = table;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0) if (! procedure.apply((int) tab[i])) return false;
+	}
+	return true;
+}
+/**
+ * Applies a procedure to each (key,value) pair of the receiver, if any.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachPair(final IntDoubleProcedure procedure) {
+	final long[] tab = table;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0) if (! procedure.apply((int) tab[i], Double.longBitsToDouble(tab[i+1]))) return false;
+	}
+	return true;
+}
+/**
+ * Returns the value associated with the specified key.
+ * It is often a good idea to first check with {@link #containsKey(int)} whether the given key has a value associated or not, i.e. whether there exists an association for the given key or not.
+ *
+ * @param key the key to be searched for.
+ * @return the value associated with the specified key; <tt>0</tt> if no such key is present.
+ */
+public double get(int key) {
+	// inlined indexOfKey(key), this is the hot path of sparse matrices.
+	final long[] tab = table;
+	final int m = mask;
+	final long k = FULL | (key & 0xFFFFFFFFL);
+	int i = HashFunctions.mix(key) & m;
+	long entry;
+	while ((entry = tab[i << 1]) != k) {
+		if (entry == 0) return 0; //not contained
+		i = (i+1) & m;
+	}
+	return Double.longBitsToDouble(tab[(i << 1) + 1]);
+}
+/**
+ * @param key the key to be added to the receiver.
+ * @return the index where the key would need to be inserted, if it is not already contained.
+ * Returns -index-1 if the key is already contained at slot index.
+ * Therefore, if the returned index < 0, then it is already contained at slot -index-1.
+ * If the returned index >= 0, then it is NOT already contained and should be inserted at slot index.
+ */
+protected int indexOfInsertion(int key) {
+	final long[] tab = table;
+	final int m = mask;
+	final long k = FULL | (key & 0xFFFFFFFFL);
+	int i = HashFunctions.mix(key) & m;
+
+	// stop if we find a free slot, or if we find the key itself.
+	// assertion: there is at least one free slot.
+	long entry;
+	while ((entry = tab[i << 1]) != 0) {
+		if (entry == k) return -i-1; // already contained at slot i.
+		i = (i+1) & m;
+	}
+	return i; // not already contained, should be inserted at slot i.
+}
+/**
+ * @param key the key to be searched in the receiver.
+ * @return the index where the key is contained in the receiver, else returns -1.
+ */
+protected int indexOfKey(int key) {
+	int i = indexOfInsertion(key);
+	return i < 0 ? -i-1 : -1;
+}
+/**
+ * @param value the value to be searched in the receiver.
+ * @return the index where the value is contained in the receiver, returns -1 if the value was not found.
+ */
+protected int indexOfValue(double value) {
+	final long[] tab = table;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0 && Double.longBitsToDouble(tab[i+1])==value) return i >> 1;
+	}
+	return -1; // not found
+}
+/**
+ * Returns the first key the given value is associated with.
+ * It is often a good idea to first check with {@link #containsValue(double)} whether there exists an association from a key to this value.
+ * Search order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param value the value to search for.
+ * @return the first key for which holds <tt>get(key) == value</tt>; 
+ *		   returns <tt>Integer.MIN_VALUE</tt> if no such key exists.
+ */
+public int keyOf(double value) {
+	//returns the first key found; there may be more matching keys, however.
+	int i = indexOfValue(value);
+	if (i<0) return Integer.MIN_VALUE;
+	return (int) table[i << 1];
+}
+/**
+ * Fills all keys contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ * <p>
+ * This method can be used to iterate over the keys of the receiver.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void keys(IntArrayList list) {
+	list.setSize(distinct);
+	int[] elements = list.elements();
+	
+	long[] tab = table;
+	
+	int j=0;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0) elements[j++]=(int) tab[i];
+	}
+}
+/**
+ * Returns a power of two which is <code>&gt;= desiredCapacity</code>, the capacity this class uses instead of a prime.
+ * Linear probing with a thoroughly mixed hash does not need prime capacities, 
+ * and a power of two lets a slot be selected by masking rather than by a division.
+ * @param desiredCapacity the capacity desired by the user.
+ * @return the capacity which should be used for the hashtable.
+ */
+protected int nextPrime(int desiredCapacity) {
+	if (desiredCapacity >= largestCapacity) return largestCapacity;
+	int capacity = 1;
+	while (capacity < desiredCapacity) capacity <<= 1;
+	return capacity;
+}
+/**
+Fills all pairs satisfying a given condition into the specified lists.
+Fills into the lists, starting at index 0.
+After this call returns the specified lists both have a new size, the number of pairs satisfying the condition.
+Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+<p>
+<b>Example:</b>
+<br>
+<pre>
+IntDoubleProcedure condition = new IntDoubleProcedure() { // match even keys only
+	public boolean apply(int key, double value) { return key%2==0; }
+}
+keys = (8,7,6), values = (1,2,2) --> keyList = (6,8), valueList = (2,1)</tt>
+</pre>
+
+@param condition    the condition to be matched. Takes the current key as first and the current value as second argument.
+@param keyList the list to be filled with keys, can have any size.
+@param valueList the list to be filled with values, can have any size.
+*/
+public void pairsMatching(final IntDoubleProcedure condition, final IntArrayList keyList, final DoubleArrayList valueList) {
+	keyList.clear();
+	valueList.clear();
+	
+	final long[] tab = table;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0) {
+			int key = (int) tab[i];
+			double value = Double.longBitsToDouble(tab[i+1]);
+			if (condition.apply(key,value)) {
+				keyList.add(key);
+				valueList.add(value);
+			}
+		}
+	}
+}
+/**
+ * Associates the given key with the given value.
+ * Replaces any old <tt>(key,someOtherValue)</tt> association, if existing.
+ *
+ * @param key the key the value shall be associated with.
+ * @param value the value to be associated.
+ * @return <tt>true</tt> if the receiver did not already contain such a key;
+ *         <tt>false</tt> if the receiver did already contain such a key - the new value has now replaced the formerly associated value.
+ */
+public boolean put(int key, double value) {
+	int i = indexOfInsertion(key);	
+	if (i<0) { //already contained
+		i = -i -1;
+		this.table[(i << 1) + 1]=Double.doubleToRawLongBits(value);
+		return false;
+	}
+
+	if (this.distinct > this.highWaterMark) {
+		int newCapacity = chooseGrowCapacity(this.distinct+1,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+		return put(key, value);
+	}
+
+	this.table[i << 1]=FULL | (key & 0xFFFFFFFFL);
+	this.table[(i << 1) + 1]=Double.doubleToRawLongBits(value);
+	this.distinct++;
+	return true;
+}
+/**
+ * Rehashes the contents of the receiver into a new table
+ * with a smaller or larger capacity.
+ * This method is called automatically when the
+ * number of keys in the receiver exceeds the high water mark or falls below the low water mark.
+ */
+protected void rehash(int newCapacity) {
+	if (newCapacity<=this.distinct) throw new InternalError();	
+
+	long oldTable[] = table;
+	long newTable[] = new long[2*newCapacity];
+
+	this.lowWaterMark  = chooseLowWaterMark(newCapacity,this.minLoadFactor);
+	this.highWaterMark = chooseHighWaterMark(newCapacity,this.maxLoadFactor);
+
+	this.table = newTable;
+	this.mask = newCapacity-1;
+	
+	for (int i = oldTable.length ; (i -= 2) >= 0 ;) {
+		if (oldTable[i]!=0) {
+			int index = indexOfInsertion((int) oldTable[i]) << 1;
+			newTable[index]=oldTable[i];
+			newTable[index+1]=oldTable[i+1];
+		}
+	}
+}
+/**
+ * Removes the given key with its associated element from the receiver, if present.
+ *
+ * @param key the key to be removed from the receiver.
+ * @return <tt>true</tt> if the receiver contained the specified key, <tt>false</tt> otherwise.
+ */
+public boolean removeKey(int key) {
+	int i = indexOfKey(key);
+	if (i<0) return false; // key not contained
+
+	// close the gap by shifting back the entries that follow in the same probe sequence (backward shift deletion).
+	// an entry at slot j may move into the gap at slot i unless its home slot lies cyclically within (i,j].
+	final long[] tab = table;
+	final int m = mask;
+	int j = i;
+	while (true) {
+		j = (j+1) & m;
+		long entry = tab[j << 1];
+		if (entry == 0) break;
+		int home = HashFunctions.mix((int) entry) & m;
+		if (((j - home) & m) >= ((j - i) & m)) {
+			tab[i << 1] = entry;
+			tab[(i << 1) + 1] = tab[(j << 1) + 1];
+			i = j;
+		}
+	}
+	tab[i << 1] = 0;
+	tab[(i << 1) + 1] = 0;
+	this.distinct--;
+
+	if (this.distinct < this.lowWaterMark) {
+		int newCapacity = chooseShrinkCapacity(this.distinct,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+	}
+	
+	return true;	
+}
+/**
+ * Initializes the receiver.
+ *
+ * @param      initialCapacity   the initial capacity of the receiver.
+ * @param      minLoadFactor        the minLoadFactor of the receiver.
+ * @param      maxLoadFactor        the maxLoadFactor of the receiver.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+protected void setUp(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	int capacity = initialCapacity;
+	super.setUp(capacity, minLoadFactor, maxLoadFactor);
+	capacity = nextPrime(capacity); // open addressing needs at least one free slot at any time, nextPrime(0) yields 1.
+	
+	this.table = new long[2*capacity];
+	this.mask = capacity-1;
+
+	this.minLoadFactor = minLoadFactor;
+	this.maxLoadFactor = maxLoadFactor;
+
+	this.distinct = 0;
+	
+	// lowWaterMark will be established upon first expansion.
+	// establishing it now (upon instance construction) would immediately make the table shrink upon first put(...).
+	// See ensureCapacity(...)
+	this.lowWaterMark = 0; 
+	this.highWaterMark = chooseHighWaterMark(capacity, this.maxLoadFactor);
+}
+/**
+ * Trims the capacity of the receiver to be the receiver's current 
+ * size. Releases any superfluous internal memory. An application can use this operation to minimize the 
+ * storage of the receiver.
+ */
+public void trimToSize() {
+	// unlike double hashing, linear probing must stay below the maximum load factor, so keep the table at least that sparse.
+	int newCapacity = nextPrime((int)(1 + size()/this.maxLoadFactor));
+	if (mask+1 > newCapacity) {
+		rehash(newCapacity);
+	}
+}
+/**
+ * Fills all values contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ * <p>
+ * This method can be used to iterate over the values of the receiver.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void values(DoubleArrayList list) {
+	list.setSize(distinct);
+	double[] elements = list.elements();
+	
+	long[] tab = table;
+	
+	int j=0;
+	for (int i = tab.length ; (i -= 2) >= 0 ;) {
+		if (tab[i]!=0) elements[j++]=Double.longBitsToDouble(tab[i+1]);
+	}
+}
+}
@@ -0,0 +1,493 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.IntIntProcedure;
+import cern.colt.function.IntProcedure;
+import cern.colt.list.IntArrayList;
+/**
+Hash map holding (key,value) associations of type <tt>(int-->int)</tt>; Automatically grows and shrinks as needed; Implemented using open addressing with linear probing.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+A drop-in alternative to {@link OpenIntIntHashMap}, tuned for lookup latency.
+Each association is packed into a single <tt>long</tt>, the key in the upper and the value in the lower 32 bits,
+so a lookup reads one array element per probe and consecutive probes stay within the same cache line.
+The capacity is a power of two and slots are selected by masking a thoroughly mixed hash ({@link HashFunctions#mix(int)}).
+Removals shift the following entries of the probe sequence back instead of leaving "removed" markers behind,
+so lookups never slow down after many removals.
+A slot holding <tt>0</tt> in its upper half is free; the association of key <tt>0</tt>, if any, is therefore kept outside the table.
+<p>
+A slot takes 8 bytes, against 9 bytes for {@link OpenIntIntHashMap}, but since the capacity is rounded up to a power of two,
+the load factor actually in effect may be lower than the one requested. 
+The maximum load factor should be kept at or below the default <tt>0.5</tt>, because linear probing degrades quickly beyond that point.
+
+Overrides many methods for performance reasons only.
+
+@version 1.0, 10/18/26
+@see	    OpenIntIntHashMap
+@see	    java.util.HashMap
+*/
+public class LinearIntIntHashMap extends AbstractIntIntMap {
+	/**
+	 * The hash table; each slot holds <tt>((long) key << 32) | (value & 0xFFFFFFFFL)</tt>, a free slot holds <tt>0</tt>.
+	 * @serial
+	 */
+	protected long table[];
+
+	/**
+	 * The number of slots minus one; the number of slots is a power of two.
+	 * @serial
+	 */
+	protected int mask;
+
+	/**
+	 * Whether the receiver contains key <tt>0</tt>, which cannot be stored in the table.
+	 * @serial
+	 */
+	protected boolean hasZeroKey;
+
+	/**
+	 * The value associated with key <tt>0</tt>, if <tt>hasZeroKey</tt>.
+	 * @serial
+	 */
+	protected int zeroValue;
+
+	protected static final int largestCapacity = 1 << 30;
+
+/**
+ * Constructs an empty map with default capacity and default load factors.
+ */
+public LinearIntIntHashMap() {
+	this(defaultCapacity);
+}
+/**
+ * Constructs an empty map with the specified initial capacity and default load factors.
+ *
+ * @param      initialCapacity   the initial capacity of the map.
+ * @throws     IllegalArgumentException if the initial capacity is less
+ *             than zero.
+ */
+public LinearIntIntHashMap(int initialCapacity) {
+	this(initialCapacity, defaultMinLoadFactor, defaultMaxLoadFactor);
+}
+/**
+ * Constructs an empty map with
+ * the specified initial capacity and the specified minimum and maximum load factor.
+ *
+ * @param      initialCapacity   the initial capacity.
+ * @param      minLoadFactor        the minimum load factor.
+ * @param      maxLoadFactor        the maximum load factor.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+public LinearIntIntHashMap(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	setUp(initialCapacity,minLoadFactor,maxLoadFactor);
+}
+/**
+ * Removes all (key,value) associations from the receiver.
+ * Implicitly calls <tt>trimToSize()</tt>.
+ */
+public void clear() {
+	java.util.Arrays.fill(this.table, 0L);
+	this.hasZeroKey = false;
+	this.zeroValue = 0;
+	this.distinct = 0;
+	trimToSize();
+}
+/**
+ * Returns a deep copy of the receiver.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public Object clone() {
+	LinearIntIntHashMap copy = (LinearIntIntHashMap) super.clone();
+	copy.table = (long[]) copy.table.clone();
+	return copy;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified key.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified key.
+ */
+public boolean containsKey(int key) {
+	if (key == 0) return hasZeroKey;
+	return indexOfKey(key) >= 0;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified value.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified value.
+ */
+public boolean containsValue(int value) {
+	if (hasZeroKey && zeroValue == value) return true;
+	return indexOfValue(value) >= 0;
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of associations without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ * Calling this method before <tt>put()</tt>ing a large number of associations boosts performance,
+ * because the receiver will grow only once instead of potentially many times and hash collisions get less probable.
+ *
+ * @param   minCapacity   the desired minimum capacity.
+ */
+public void ensureCapacity(int minCapacity) {
+	if (mask+1 < minCapacity) {
+		int newCapacity = nextPrime(minCapacity);
+		rehash(newCapacity);
+	}
+}
+/**
+ * Applies a procedure to each key of the receiver, if any.
+ * Note: Iterates over the keys in no particular order.
+ * Subclasses can define a particular order, for example, "sorted by key".
+ * All methods which <i>can</i> be expressed in terms of this method (most methods can) <i>must guarantee</i> to use the <i>same</i> order defined by this method, even if it is no particular order.
+ * This is necessary so that, for example, methods <tt>keys</tt> and <tt>values</tt> will yield association pairs, not two uncorrelated lists.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachKey(IntProcedure procedure) {
+	final long[] tab = table;
+	for (int i = tab.length ; i-- > 0 ;) {
+		if (tab[i]>>>32 != 0) if (! procedure.apply((int) (tab[i]>>>32))) return false;
+	}
+	if (hasZeroKey) return procedure.apply(0);
+	return true;
+}
+/**
+ * Applies a procedure to each (key,value) pair of the receiver, if any.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all keys where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachPair(final IntIntProcedure procedure) {
+	final long[] tab = table;
+	for (int i = tab.length ; i-- > 0 ;) {
+		long entry = tab[i];
+		if (entry>>>32 != 0) if (! procedure.apply((int) (entry>>>32), (int) entry)) return false;
+	}
+	if (hasZeroKey) return procedure.apply(0, zeroValue);
+	return true;
+}
+/**
+ * Returns the value associated with the specified key.
+ * It is often a good idea to first check with {@link #containsKey(int)} whether the given key has a value associated or not, i.e. whether there exists an association for the given key or not.
+ *
+ * @param key the key to be searched for.
+ * @return the value associated with the specified key; <tt>0</tt> if no such key is present.
+ */
+public int get(int key) {
+	if (key == 0) return zeroValue;
+	final long[] tab = table;
+	final int m = mask;
+	int i = HashFunctions.mix(key) & m;
+	long entry;
+	int k;
+	while ((k = (int) ((entry = tab[i])>>>32)) != key) {
+		if (k == 0) return 0; //not contained
+		i = (i+1) & m;
+	}
+	return (int) entry;
+}
+/**
+ * @param key the key to be added to the receiver; must not be <tt>0</tt>.
+ * @return the index where the key would need to be inserted, if it is not already contained.
+ * Returns -index-1 if the key is already contained at slot index.
+ * Therefore, if the returned index < 0, then it is already contained at slot -index-1.
+ * If the returned index >= 0, then it is NOT already contained and should be inserted at slot index.
+ */
+protected int indexOfInsertion(int key) {
+	final long[] tab = table;
+	final int m = mask;
+	int i = HashFunctions.mix(key) & m;
+
+	// stop if we find a free slot, or if we find the key itself.
+	// assertion: there is at least one free slot.
+	int k;
+	while ((k = (int) (tab[i]>>>32)) != 0) {
+		if (k == key) return -i-1; // already contained at slot i.
+		i = (i+1) & m;
+	}
+	return i; // not already contained, should be inserted at slot i.
+}
+/**
+ * @param key the key to be searched in the receiver; must not be <tt>0</tt>.
+ * @return the index where the key is contained in the receiver, else returns -1.
+ */
+protected int indexOfKey(int key) {
+	int i = indexOfInsertion(key);
+	return i < 0 ? -i-1 : -1;
+}
+/**
+ * @param value the value to be searched in the receiver.
+ * @return the index where the value is contained in the receiver, returns -1 if the value was not found.
+ * Does not consider the association of key <tt>0</tt>.
+ */
+protected int indexOfValue(int value) {
+	final long[] tab = table;
+	for (int i = tab.length ; i-- > 0 ;) {
+		if (tab[i]>>>32 != 0 && (int) tab[i]==value) return i;
+	}
+	return -1; // not found
+}
+/**
+ * Returns the first key the given value is associated with.
+ * It is often a good idea to first check with {@link #containsValue(int)} whether there exists an association from a key to this value.
+ * Search order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ *
+ * @param value the value to search for.
+ * @return the first key for which holds <tt>get(key) == value</tt>; 
+ *		   returns <tt>Integer.MIN_VALUE</tt> if no such key exists.
+ */
+public int keyOf(int value) {
+	//returns the first key found; there may be more matching keys, however.
+	int i = indexOfValue(value);
+	if (i>=0) return (int) (table[i]>>>32);
+	if (hasZeroKey && zeroValue == value) return 0;
+	return Integer.MIN_VALUE;
+}
+/**
+ * Fills all keys contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ * <p>
+ * This method can be used to iterate over the keys of the receiver.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void keys(IntArrayList list) {
+	list.setSize(distinct);
+	int[] elements = list.elements();
+	
+	long[] tab = table;
+	
+	int j=0;
+	for (int i = tab.length ; i-- > 0 ;) {
+		if (tab[i]>>>32 != 0) elements[j++]=(int) (tab[i]>>>32);
+	}
+	if (hasZeroKey) elements[j++]=0;
+}
+/**
+ * Returns a power of two which is <code>&gt;= desiredCapacity</code>, the capacity this class uses instead of a prime.
+ * Linear probing with a thoroughly mixed hash does not need prime capacities, 
+ * and a power of two lets a slot be selected by masking rather than by a division.
+ * @param desiredCapacity the capacity desired by the user.
+ * @return the capacity which should be used for the hashtable.
+ */
+protected int nextPrime(int desiredCapacity) {
+	if (desiredCapacity >= largestCapacity) return largestCapacity;
+	int capacity = 1;
+	while (capacity < desiredCapacity) capacity <<= 1;
+	return capacity;
+}
+/**
+Fills all pairs satisfying a given condition into the specified lists.
+Fills into the lists, starting at index 0.
+After this call returns the specified lists both have a new size, the number of pairs satisfying the condition.
+Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+<p>
+<b>Example:</b>
+<br>
+<pre>
+IntIntProcedure condition = new IntIntProcedure() { // match even keys only
+	public boolean apply(int key, int value) { return key%2==0; }
+}
+keys = (8,7,6), values = (1,2,2) --> keyList = (6,8), valueList = (2,1)</tt>
+</pre>
+
+@param condition    the condition to be matched. Takes the current key as first and the current value as second argument.
+@param keyList the list to be filled with keys, can have any size.
+@param valueList the list to be filled with values, can have any size.
+*/
+public void pairsMatching(final IntIntProcedure condition, final IntArrayList keyList, final IntArrayList valueList) {
+	keyList.clear();
+	valueList.clear();
+	
+	final long[] tab = table;
+	for (int i = tab.length ; i-- > 0 ;) {
+		long entry = tab[i];
+		if (entry>>>32 != 0 && condition.apply((int) (entry>>>32), (int) entry)) {
+			keyList.add((int) (entry>>>32));
+			valueList.add((int) entry);
+		}
+	}
+	if (hasZeroKey && condition.apply(0, zeroValue)) {
+		keyList.add(0);
+		valueList.add(zeroValue);
+	}
+}
+/**
+ * Associates the given key with the given value.
+ * Replaces any old <tt>(key,someOtherValue)</tt> association, if existing.
+ *
+ * @param key the key the value shall be associated with.
+ * @param value the value to be associated.
+ * @return <tt>true</tt> if the receiver did not already contain such a key;
+ *         <tt>false</tt> if the receiver did already contain such a key - the new value has now replaced the formerly associated value.
+ */
+public boolean put(int key, int value) {
+	if (key == 0) {
+		boolean added = !hasZeroKey;
+		this.zeroValue = value;
+		if (added) {
+			this.hasZeroKey = true;
+			this.distinct++;
+		}
+		return added;
+	}
+
+	int i = indexOfInsertion(key);	
+	if (i<0) { //already contained
+		i = -i -1;
+		this.table[i]=((long) key << 32) | (value & 0xFFFFFFFFL);
+		return false;
+	}
+
+	if (this.distinct > this.highWaterMark) {
+		int newCapacity = chooseGrowCapacity(this.distinct+1,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+		return put(key, value);
+	}
+
+	this.table[i]=((long) key << 32) | (value & 0xFFFFFFFFL);
+	this.distinct++;
+	return true;
+}
+/**
+ * Rehashes the contents of the receiver into a new table
+ * with a smaller or larger capacity.
+ * This method is called automatically when the
+ * number of keys in the receiver exceeds the high water mark or falls below the low water mark.
+ */
+protected void rehash(int newCapacity) {
+	if (newCapacity<=this.distinct) throw new InternalError();	
+
+	long oldTable[] = table;
+	long newTable[] = new long[newCapacity];
+
+	this.lowWaterMark  = chooseLowWaterMark(newCapacity,this.minLoadFactor);
+	this.highWaterMark = chooseHighWaterMark(newCapacity,this.maxLoadFactor);
+
+	this.table = newTable;
+	this.mask = newCapacity-1;
+	
+	for (int i = oldTable.length ; i-- > 0 ;) {
+		long entry = oldTable[i];
+		if (entry>>>32 != 0) newTable[indexOfInsertion((int) (entry>>>32))]=entry;
+	}
+}
+/**
+ * Removes the given key with its associated element from the receiver, if present.
+ *
+ * @param key the key to be removed from the receiver.
+ * @return <tt>true</tt> if the receiver contained the specified key, <tt>false</tt> otherwise.
+ */
+public boolean removeKey(int key) {
+	if (key == 0) {
+		if (!hasZeroKey) return false;
+		this.hasZeroKey = false;
+		this.zeroValue = 0;
+	}
+	else {
+		int i = indexOfKey(key);
+		if (i<0) return false; // key not contained
+
+		// close the gap by shifting back the entries that follow in the same probe sequence (backward shift deletion).
+		// an entry at slot j may move into the gap at slot i unless its home slot lies cyclically within (i,j].
+		final long[] tab = table;
+		final int m = mask;
+		int j = i;
+		while (true) {
+			j = (j+1) & m;
+			long entry = tab[j];
+			if (entry>>>32 == 0) break;
+			int home = HashFunctions.mix((int) (entry>>>32)) & m;
+			if (((j - home) & m) >= ((j - i) & m)) {
+				tab[i] = entry;
+				i = j;
+			}
+		}
+		tab[i] = 0;
+	}
+	this.distinct--;
+
+	if (this.distinct < this.lowWaterMark) {
+		int newCapacity = chooseShrinkCapacity(this.distinct,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+	}
+	
+	return true;	
+}
+/**
+ * Initializes the receiver.
+ *
+ * @param      initialCapacity   the initial capacity of the receiver.
+ * @param      minLoadFactor        the minLoadFactor of the receiver.
+ * @param      maxLoadFactor        the maxLoadFactor of the receiver.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+protected void setUp(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	int capacity = initialCapacity;
+	super.setUp(capacity, minLoadFactor, maxLoadFactor);
+	capacity = nextPrime(capacity); // open addressing needs at least one free slot at any time, nextPrime(0) yields 1.
+	
+	this.table = new long[capacity];
+	this.mask = capacity-1;
+	this.hasZeroKey = false;
+	this.zeroValue = 0;
+
+	this.minLoadFactor = minLoadFactor;
+	this.maxLoadFactor = maxLoadFactor;
+
+	this.distinct = 0;
+	
+	// lowWaterMark will be established upon first expansion.
+	// establishing it now (upon instance construction) would immediately make the table shrink upon first put(...).
+	// See ensureCapacity(...)
+	this.lowWaterMark = 0; 
+	this.highWaterMark = chooseHighWaterMark(capacity, this.maxLoadFactor);
+}
+/**
+ * Trims the capacity of the receiver to be the receiver's current 
+ * size. Releases any superfluous internal memory. An application can use this operation to minimize the 
+ * storage of the receiver.
+ */
+public void trimToSize() {
+	// unlike double hashing, linear probing must stay below the maximum load factor, so keep the table at least that sparse.
+	int newCapacity = nextPrime((int)(1 + size()/this.maxLoadFactor));
+	if (mask+1 > newCapacity) {
+		rehash(newCapacity);
+	}
+}
+/**
+ * Fills all values contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(IntProcedure)}.
+ * <p>
+ * This method can be used to iterate over the values of the receiver.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void values(IntArrayList list) {
+	list.setSize(distinct);
+	int[] elements = list.elements();
+	
+	long[] tab = table;
+	
+	int j=0;
+	for (int i = tab.length ; i-- > 0 ;) {
+		if (tab[i]>>>32 != 0) elements[j++]=(int) tab[i];
+	}
+	if (hasZeroKey) elements[j++]=zeroValue;
+}
+}
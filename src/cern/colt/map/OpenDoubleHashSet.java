@@ -0,0 +1,344 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.map;
+
+import cern.colt.function.DoubleProcedure;
+import cern.colt.list.ByteArrayList;
+import cern.colt.list.DoubleArrayList;
+/**
+Hash set holding elements of type <tt>double</tt>; Automatically grows and shrinks as needed; Implemented using open addressing with double hashing.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+Uses a single primitive table and no per element objects, so that it needs a fraction of the memory of a <tt>java.util.HashSet</tt> of wrapper objects.
+
+@version 1.0, 10/18/26
+@see	    java.util.HashSet
+*/
+public class OpenDoubleHashSet extends AbstractDoubleSet {
+	/**
+	 * The hash table elements.
+	 * @serial
+	 */
+	protected double table[];
+
+	/**
+	 * The state of each hash table entry (FREE, FULL, REMOVED).
+	 * @serial
+	 */
+	protected byte state[];
+	
+	/**
+	 * The number of table entries in state==FREE.
+	 * @serial
+	 */
+	protected int freeEntries;
+
+	
+	protected static final byte FREE = 0;
+	protected static final byte FULL = 1;
+	protected static final byte REMOVED = 2;
+
+/**
+ * Constructs an empty set with default capacity and default load factors.
+ */
+public OpenDoubleHashSet() {
+	this(defaultCapacity);
+}
+/**
+ * Constructs an empty set with the specified initial capacity and default load factors.
+ *
+ * @param      initialCapacity   the initial capacity of the set.
+ * @throws     IllegalArgumentException if the initial capacity is less
+ *             than zero.
+ */
+public OpenDoubleHashSet(int initialCapacity) {
+	this(initialCapacity, defaultMinLoadFactor, defaultMaxLoadFactor);
+}
+/**
+ * Constructs an empty set with
+ * the specified initial capacity and the specified minimum and maximum load factor.
+ *
+ * @param      initialCapacity   the initial capacity.
+ * @param      minLoadFactor        the minimum load factor.
+ * @param      maxLoadFactor        the maximum load factor.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+public OpenDoubleHashSet(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	setUp(initialCapacity,minLoadFactor,maxLoadFactor);
+}
+/**
+ * Adds the specified element to the receiver, if not already present.
+ *
+ * @param key the element to be added.
+ * @return <tt>true</tt> if the receiver did not already contain the element.
+ */
+public boolean add(double key) {
+	int i = indexOfInsertion(key);	
+	if (i<0) return false; //already contained
+
+	if (this.distinct > this.highWaterMark) {
+		int newCapacity = chooseGrowCapacity(this.distinct+1,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+		return add(key);
+	}
+
+	this.table[i]=key;
+	if (this.state[i]==FREE) this.freeEntries--;
+	this.state[i]=FULL;
+	this.distinct++;
+
+	if (this.freeEntries < 1) { //delta
+		int newCapacity = chooseGrowCapacity(this.distinct+1,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+	}
+	
+	return true;
+}
+/**
+ * Removes all elements from the receiver.
+ * Implicitly calls <tt>trimToSize()</tt>.
+ */
+public void clear() {
+	new ByteArrayList(this.state).fillFromToWith(0, this.state.length-1, FREE);
+
+	this.distinct = 0;
+	this.freeEntries = table.length; // delta
+	trimToSize();
+}
+/**
+ * Returns a deep copy of the receiver.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public Object clone() {
+	OpenDoubleHashSet copy = (OpenDoubleHashSet) super.clone();
+	copy.table = (double[]) copy.table.clone();
+	copy.state = (byte[]) copy.state.clone();
+	return copy;
+}
+/**
+ * Returns <tt>true</tt> if the receiver contains the specified element.
+ *
+ * @return <tt>true</tt> if the receiver contains the specified element.
+ */
+public boolean contains(double key) {
+	return indexOfKey(key) >= 0;
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of elements without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ *
+ * @param   minCapacity   the desired minimum capacity.
+ */
+public void ensureCapacity(int minCapacity) {
+	if (table.length < minCapacity) {
+		int newCapacity = nextPrime(minCapacity);
+		rehash(newCapacity);
+	}
+}
+/**
+ * Applies a procedure to each element of the receiver, if any.
+ * Note: Iterates over the elements in no particular order.
+ *
+ * @param procedure    the procedure to be applied. Stops iteration if the procedure returns <tt>false</tt>, otherwise continues. 
+ * @return <tt>false</tt> if the procedure stopped before all elements where iterated over, <tt>true</tt> otherwise. 
+ */
+public boolean forEachKey(DoubleProcedure procedure) {
+	for (int i = table.length ; i-- > 0 ;) {
+		if (state[i]==FULL) if (! procedure.apply(table[i])) return false;
+	}
+	return true;
+}
+/**
+ * @param key the element to be added to the receiver.
+ * @return the index where the element would need to be inserted, if it is not already contained.
+ * Returns -index-1 if the element is already contained at slot index.
+ */
+protected int indexOfInsertion(double key) {
+	final double tab[] = table;
+	final byte stat[] = state;
+	final int length = tab.length;
+
+	final int hash = HashFunctions.hash(key) & 0x7FFFFFFF;
+	int i = hash % length;
+	int decrement = hash % (length-2); // double hashing, see http://www.eece.unm.edu/faculty/heileman/hash/node4.html
+	if (decrement == 0) decrement = 1;
+
+	// stop if we find a removed or free slot, or if we find the key itself
+	// do NOT skip over removed slots (yes, open addressing is like that...)
+	while (stat[i] == FULL && tab[i] != key) {
+		i -= decrement;
+		if (i<0) i+=length;
+	}
+	
+	if (stat[i] == REMOVED) {
+		// stop if we find a free slot, or if we find the key itself.
+		// do skip over removed slots (yes, open addressing is like that...)
+		// assertion: there is at least one FREE slot.
+		int j = i;
+		while (stat[i] != FREE && (stat[i] == REMOVED || tab[i] != key)) {
+			i -= decrement;
+			if (i<0) i+=length;
+		}
+		if (stat[i] == FREE) i = j;
+	}
+	
+	
+	if (stat[i] == FULL) {
+		// key already contained at slot i.
+		// return a negative number identifying the slot.
+		return -i-1;
+	}
+	// not already contained, should be inserted at slot i.
+	// return a number >= 0 identifying the slot.
+	return i; 
+}
+/**
+ * @param key the element to be searched in the receiver.
+ * @return the index where the element is contained in the receiver, else returns -1.
+ */
+protected int indexOfKey(double key) {
+	final double tab[] = table;
+	final byte stat[] = state;
+	final int length = tab.length;
+
+	final int hash = HashFunctions.hash(key) & 0x7FFFFFFF;
+	int i = hash % length;
+	int decrement = hash % (length-2); // double hashing, see http://www.eece.unm.edu/faculty/heileman/hash/node4.html
+	if (decrement == 0) decrement = 1;
+
+	// stop if we find a free slot, or if we find the key itself.
+	// do skip over removed slots (yes, open addressing is like that...)
+	// assertion: there is at least one FREE slot.
+	while (stat[i] != FREE && (stat[i] == REMOVED || tab[i] != key)) {
+		i -= decrement;
+		if (i<0) i+=length;
+	}
+	
+	if (stat[i] == FREE) return -1; // not found
+	return i; //found, return index where key is contained
+}
+/**
+ * Fills all elements contained in the receiver into the specified list.
+ * Fills the list, starting at index 0.
+ * After this call returns the specified list has a new size that equals <tt>this.size()</tt>.
+ * Iteration order is guaranteed to be <i>identical</i> to the order used by method {@link #forEachKey(DoubleProcedure)}.
+ *
+ * @param list the list to be filled, can have any size.
+ */
+public void keys(DoubleArrayList list) {
+	list.setSize(distinct);
+	double[] elements = list.elements();
+	
+	double[] tab = table;
+	byte[] stat = state;
+	
+	int j=0;
+	for (int i = tab.length ; i-- > 0 ;) {
+		if (stat[i]==FULL) elements[j++]=tab[i];
+	}
+}
+/**
+ * Rehashes the contents of the receiver into a new table
+ * with a smaller or larger capacity.
+ * This method is called automatically when the
+ * number of elements in the receiver exceeds the high water mark or falls below the low water mark.
+ */
+protected void rehash(int newCapacity) {
+	int oldCapacity = table.length;
+
+	if (newCapacity<=this.distinct) throw new InternalError();	
+
+	double oldTable[] = table;
+	byte oldState[] = state;
+
+	double newTable[] = new double[newCapacity];
+	byte newState[] = new byte[newCapacity];
+
+	this.lowWaterMark  = chooseLowWaterMark(newCapacity,this.minLoadFactor);
+	this.highWaterMark = chooseHighWaterMark(newCapacity,this.maxLoadFactor);
+
+	this.table = newTable;
+	this.state = newState;
+	this.freeEntries = newCapacity-this.distinct; // delta
+	
+	for (int i = oldCapacity ; i-- > 0 ;) {
+		if (oldState[i]==FULL) {
+			double element = oldTable[i];
+			int index = indexOfInsertion(element);
+			newTable[index]=element;
+			newState[index]=FULL;
+		}
+	}
+}
+/**
+ * Removes the specified element from the receiver, if present.
+ *
+ * @param key the element to be removed.
+ * @return <tt>true</tt> if the receiver contained the element, <tt>false</tt> otherwise.
+ */
+public boolean remove(double key) {
+	int i = indexOfKey(key);
+	if (i<0) return false; // key not contained
+
+	this.state[i]=REMOVED;
+	this.distinct--;
+
+	if (this.distinct < this.lowWaterMark) {
+		int newCapacity = chooseShrinkCapacity(this.distinct,this.minLoadFactor, this.maxLoadFactor);
+		rehash(newCapacity);
+	}
+	
+	return true;	
+}
+/**
+ * Initializes the receiver.
+ *
+ * @param      initialCapacity   the initial capacity of the receiver.
+ * @param      minLoadFactor        the minLoadFactor of the receiver.
+ * @param      maxLoadFactor        the maxLoadFactor of the receiver.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ */
+protected void setUp(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	int capacity = initialCapacity;
+	super.setUp(capacity, minLoadFactor, maxLoadFactor);
+	capacity = nextPrime(capacity);
+	if (capacity==0) capacity=1; // open addressing needs at least one FREE slot at any time.
+	
+	this.table = new double[capacity];
+	this.state = new byte[capacity];
+
+	// memory will be exhausted long before this pathological case happens, anyway.
+	this.minLoadFactor = minLoadFactor;
+	if (capacity == PrimeFinder.largestPrime) this.maxLoadFactor = 1.0;
+	else this.maxLoadFactor = maxLoadFactor;
+
+	this.distinct = 0;
+	this.freeEntries = capacity; // delta
+	
+	// lowWaterMark will be established upon first expansion, see the maps.
+	this.lowWaterMark = 0; 
+	this.highWaterMark = chooseHighWaterMark(capacity, this.maxLoadFactor);
+}
+/**
+ * Trims the capacity of the receiver to be the receiver's current 
+ * size. Releases any superfluous internal memory. An application can use this operation to minimize the 
+ * storage of the receiver.
+ */
+public void trimToSize() {
+	// * 1.2 because open addressing's performance exponentially degrades beyond that point
+	// so that even rehashing the table can take very long
+	int newCapacity = nextPrime((int)(1 + 1.2*size()));
+	if (table.length > newCapacity) {
+		rehash(newCapacity);
+	}
+}
+}
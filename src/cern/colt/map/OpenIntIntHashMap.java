@@ -52,6 +52,11 @@ public class OpenIntIntHashMap extends AbstractIntIntMap {
 	protected static final byte FULL = 1;
 	protected static final byte REMOVED = 2;
 
+	/**
+	 * The number of keys whose home slots are probed together by the bulk lookups.
+	 */
+	protected static final int batchSize = 32;
+
 /**
  * Constructs an empty map with default capacity and default load factors.
  */
@@ -80,6 +85,27 @@ public OpenIntIntHashMap(int initialCapacity) {
 public OpenIntIntHashMap(int initialCapacity, double minLoadFactor, double maxLoadFactor) {
 	setUp(initialCapacity,minLoadFactor,maxLoadFactor);
 }
+/**
+ * Adds an amount to the value associated with each key of a range; 
+ * associates the amount with the key if the key is not contained.
+ * That is, for <tt>i = from..to</tt>: <tt>put(keys[i], get(keys[i]) + deltas[i])</tt>.
+ * Keys occurring several times in the range are adjusted several times.
+ * Overrides the default implementation for performance only: a contained key is looked up once, not twice.
+ *
+ * @param keys the keys whose values shall be adjusted.
+ * @param deltas the amounts to add, <tt>deltas[i]</tt> belonging to <tt>keys[i]</tt>.
+ * @param from the index of the first key to adjust (inclusive).
+ * @param to the index of the last key to adjust (inclusive).
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=deltas.length)</tt>.
+ */
+public void adjustAll(int[] keys, int[] deltas, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, deltas.length));
+	for (int j = from; j <= to; j++) {
+		int i = indexOfKey(keys[j]);
+		if (i >= 0) this.values[i] += deltas[j];
+		else put(keys[j], deltas[j]);
+	}
+}
 /**
  * Removes all (key,value) associations from the receiver.
  * Implicitly calls <tt>trimToSize()</tt>.
@@ -104,6 +130,47 @@ public Object clone() {
 	copy.state = (byte[]) copy.state.clone();
 	return copy;
 }
+/**
+ * Tells which keys of a range are contained in the receiver; 
+ * sets bit <tt>i</tt> of <tt>result</tt> to <tt>containsKey(keys[i])</tt> for <tt>i = from..to</tt>, leaving the other bits unchanged.
+ * Overrides the default implementation for performance only, see {@link #getAll(int[],int[],int,int)}.
+ *
+ * @param keys the keys to be searched for.
+ * @param result the bit vector to be filled, must have a size of at least <tt>to+1</tt>.
+ * @param from the index of the first key to search (inclusive).
+ * @param to the index of the last key to search (inclusive).
+ * @return <tt>true</tt> if all keys of the range are contained, <tt>false</tt> otherwise.
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=result.size())</tt>.
+ */
+public boolean containsAll(int[] keys, cern.colt.bitvector.BitVector result, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, result.size()));
+	final int tab[] = table;
+	final byte stat[] = state;
+	final int length = tab.length;
+	final int[] slots = new int[batchSize];
+	final int[] found = new int[batchSize];
+
+	boolean all = true;
+	for (int first = from; first <= to; first += batchSize) {
+		int last = Math.min(to, first + batchSize - 1);
+		// see getAll(...)
+		for (int j = first; j <= last; j++) {
+			int i = (HashFunctions.hash(keys[j]) & 0x7FFFFFFF) % length;
+			slots[j-first] = i;
+			found[j-first] = tab[i];
+		}
+		for (int j = first; j <= last; j++) {
+			int i = slots[j-first];
+			boolean contained;
+			if (found[j-first] == keys[j] && stat[i] == FULL) contained = true;
+			else if (stat[i] == FREE) contained = false;
+			else contained = indexOfKey(keys[j]) >= 0;
+			result.putQuick(j, contained);
+			if (!contained) all = false;
+		}
+	}
+	return all;
+}
 /**
  * Returns <tt>true</tt> if the receiver contains the specified key.
  *
@@ -177,6 +244,47 @@ public int get(int key) {
 	if (i<0) return 0; //not contained
 	return values[i];
 }
+/**
+ * Fills the values associated with a range of keys into the specified array;
+ * <tt>values[i] = get(keys[i])</tt> for <tt>i = from..to</tt>, the other elements of <tt>values</tt> are left unchanged.
+ * <p>
+ * Overrides the default implementation for performance only.
+ * Looking up one key after the other, each lookup waits for its own cache misses before the next one starts.
+ * Instead, the keys are processed in batches: first the home slots of all keys of a batch are computed, 
+ * along with the keys they hold, and only then the keys are compared. 
+ * The loads of a batch are independent of each other and not separated by branches, so the processor can have
+ * their cache misses in flight at the same time. Only keys not resolved by their home slot take the usual probing path.
+ *
+ * @param keys the keys to be searched for.
+ * @param values the array to be filled; <tt>0</tt> for keys not contained.
+ * @param from the index of the first key to search (inclusive).
+ * @param to the index of the last key to search (inclusive).
+ * @throws IndexOutOfBoundsException if <tt>to!=from-1 && (from&lt;0 || from&gt;to || to&gt;=keys.length || to&gt;=values.length)</tt>.
+ */
+public void getAll(int[] keys, int[] values, int from, int to) {
+	checkRangeFromTo(from, to, Math.min(keys.length, values.length));
+	final int tab[] = table;
+	final byte stat[] = state;
+	final int val[] = this.values;
+	final int length = tab.length;
+	final int[] slots = new int[batchSize];
+	final int[] found = new int[batchSize];
+
+	for (int first = from; first <= to; first += batchSize) {
+		int last = Math.min(to, first + batchSize - 1);
+		for (int j = first; j <= last; j++) {
+			int i = (HashFunctions.hash(keys[j]) & 0x7FFFFFFF) % length;
+			slots[j-first] = i;
+			found[j-first] = tab[i];
+		}
+		for (int j = first; j <= last; j++) {
+			int i = slots[j-first];
+			if (found[j-first] == keys[j] && stat[i] == FULL) values[j] = val[i];
+			else if (stat[i] == FREE) values[j] = 0;
+			else values[j] = get(keys[j]);
+		}
+	}
+}
 /**
  * @param key the key to be added to the receiver.
  * @return the index where the key would need to be inserted, if it is not already contained.
@@ -8,6 +8,7 @@ It is provided "as is" without expressed or implied warranty.
 */
 package cern.colt.matrix;
 
+import cern.colt.matrix.impl.BlockDoubleMatrix2D;
 import cern.colt.matrix.impl.DenseDoubleMatrix2D;
 import cern.colt.matrix.impl.RCDoubleMatrix2D;
 import cern.colt.matrix.impl.SparseDoubleMatrix2D;
@@ -39,6 +40,13 @@ Factory for convenient construction of 2-d matrices holding <tt>double</tt>
 	<td>Use methods {@link #compose(DoubleMatrix2D[][]) compose} and {@link #decompose(DoubleMatrix2D[][],DoubleMatrix2D) 
 	  decompose} to work with general block matrices. </td>
   </tr>
+  <tr align="left" valign="top"> 
+	<td><i> Block matrix views </i></td>
+	<td>Use methods {@link #composeView(DoubleMatrix2D[][]) composeView}, {@link #appendColumnsView(DoubleMatrix2D,DoubleMatrix2D) appendColumnsView}, 
+	  {@link #appendRowsView(DoubleMatrix2D,DoubleMatrix2D) appendRowsView}, {@link #composeDiagonalView(DoubleMatrix2D,DoubleMatrix2D) composeDiagonalView} 
+	  and {@link #repeatView(DoubleMatrix2D,int,int) repeatView} to combine matrices without copying any cell; 
+	  see {@link cern.colt.matrix.impl.BlockDoubleMatrix2D}. </td>
+  </tr>
   <tr align="left" valign="top"> 
 	<td><i> Diagonal matrices </i></td>
 	<td>Use methods {@link #diagonal(DoubleMatrix1D) diagonal(vector)}, {@link 
@@ -126,6 +134,18 @@ public DoubleMatrix2D appendColumns(DoubleMatrix2D A, DoubleMatrix2D B) {
 	return matrix;
 }
 /**
+C = A||B; Constructs a block matrix view which is the column-wise concatenation of two other matrices, without copying any cell.
+Like {@link #appendColumns(DoubleMatrix2D,DoubleMatrix2D)}, but the result is backed by <tt>A</tt> and <tt>B</tt>,
+so changes in the result are reflected in <tt>A</tt> and <tt>B</tt>, and vice-versa.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D appendColumnsView(DoubleMatrix2D A, DoubleMatrix2D B) {
+	// force both to have maximal shared number of rows.
+	if (B.rows() > A.rows()) B = B.viewPart(0,0,A.rows(),B.columns());
+	else if (B.rows() < A.rows()) A = A.viewPart(0,0,B.rows(),A.columns());
+	return new BlockDoubleMatrix2D(new DoubleMatrix2D[][] {{A,B}});
+}
+/**
 C = A||B; Constructs a new matrix which is the row-wise concatenation of two other matrices.
 <pre>
 0 1 
@@ -157,6 +177,18 @@ public DoubleMatrix2D appendRows(DoubleMatrix2D A, DoubleMatrix2D B) {
 	return matrix;
 }
 /**
+C = A||B; Constructs a block matrix view which is the row-wise concatenation of two other matrices, without copying any cell.
+Like {@link #appendRows(DoubleMatrix2D,DoubleMatrix2D)}, but the result is backed by <tt>A</tt> and <tt>B</tt>,
+so changes in the result are reflected in <tt>A</tt> and <tt>B</tt>, and vice-versa.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D appendRowsView(DoubleMatrix2D A, DoubleMatrix2D B) {
+	// force both to have maximal shared number of columns.
+	if (B.columns() > A.columns()) B = B.viewPart(0,0,B.rows(),A.columns());
+	else if (B.columns() < A.columns()) A = A.viewPart(0,0,A.rows(),B.columns());
+	return new BlockDoubleMatrix2D(new DoubleMatrix2D[][] {{A},{B}});
+}
+/**
 Constructs a matrix with cells having ascending values.
 For debugging purposes.
 Example:
@@ -360,6 +392,18 @@ public DoubleMatrix2D compose(DoubleMatrix2D[][] parts) {
 	return matrix;
 }
 /**
+Constructs a block matrix view made from the given parts, without copying any cell.
+Like {@link #compose(DoubleMatrix2D[][])}, but the result is backed by the parts, so changes in the result are reflected in the parts, and vice-versa.
+The cells of <tt>null</tt> parts are zero and can not be changed to non-zero values.
+Operations such as <tt>assign</tt> and <tt>zMult</tt> are carried out part by part, each part using its own implementation;
+<tt>copy()</tt> materializes the result into an ordinary matrix.
+@throws IllegalArgumentException subject to the conditions outlined in {@link #compose(DoubleMatrix2D[][])}.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D composeView(DoubleMatrix2D[][] parts) {
+	return new BlockDoubleMatrix2D(parts);
+}
+/**
 Constructs a diagonal block matrix from the given parts (the <i>direct sum</i> of two matrices).
 That is the concatenation
 <pre>
@@ -397,6 +441,24 @@ public DoubleMatrix2D composeDiagonal(DoubleMatrix2D A, DoubleMatrix2D B, Double
 	return diag;
 }
 /**
+Constructs a block matrix view which is the direct sum of two matrices, without copying any cell.
+Like {@link #composeDiagonal(DoubleMatrix2D,DoubleMatrix2D)}, but the result is backed by <tt>A</tt> and <tt>B</tt>;
+its off-diagonal blocks are empty: zero and unmodifiable.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D composeDiagonalView(DoubleMatrix2D A, DoubleMatrix2D B) {
+	return new BlockDoubleMatrix2D(new DoubleMatrix2D[][] {{A,null},{null,B}});
+}
+/**
+Constructs a block diagonal matrix view of three matrices, without copying any cell.
+Like {@link #composeDiagonal(DoubleMatrix2D,DoubleMatrix2D,DoubleMatrix2D)}, but the result is backed by <tt>A</tt>, <tt>B</tt> and <tt>C</tt>;
+its off-diagonal blocks are empty: zero and unmodifiable.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D composeDiagonalView(DoubleMatrix2D A, DoubleMatrix2D B, DoubleMatrix2D C) {
+	return new BlockDoubleMatrix2D(new DoubleMatrix2D[][] {{A,null,null},{null,B,null},{null,null,C}});
+}
+/**
 Splits a block matrix into its constituent blocks; Copies blocks of a matrix into the given parts.
 The inverse to method {@link #compose(DoubleMatrix2D[][])}.
 <p>
@@ -792,6 +854,19 @@ public DoubleMatrix2D repeat(DoubleMatrix2D A, int rowRepeat, int columnRepeat)
 	}
 	return matrix;
 }
+/**
+C = A||A||..||A; Constructs a block matrix view which is <tt>A</tt> duplicated both along the row and column dimension, without copying any cell.
+Like {@link #repeat(DoubleMatrix2D,int,int)}, but all blocks of the result are <tt>A</tt> itself,
+so changing a cell of the result changes the corresponding cell of <tt>A</tt>, and hence of all its repetitions.
+@see cern.colt.matrix.impl.BlockDoubleMatrix2D
+*/
+public DoubleMatrix2D repeatView(DoubleMatrix2D A, int rowRepeat, int columnRepeat) {
+	DoubleMatrix2D[][] parts = new DoubleMatrix2D[rowRepeat][columnRepeat];
+	for (int i=rowRepeat; --i >= 0; ) {
+		for (int j=columnRepeat; --j >= 0; ) parts[i][j] = A;
+	}
+	return new BlockDoubleMatrix2D(parts);
+}
 /**
  * Constructs a randomly sampled matrix with the given shape.
  * Randomly picks exactly <tt>Math.round(rows*columns*nonZeroFraction)</tt> cells and initializes them to <tt>value</tt>, all the rest will be initialized to zero.
@@ -13,6 +13,7 @@ import cern.colt.list.IntArrayList;
 import cern.colt.matrix.impl.AbstractMatrix2D;
 import cern.colt.matrix.impl.DenseDoubleMatrix1D;
 import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
 /**
 Abstract base class for 2-d matrices holding <tt>double</tt> elements.
 First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
@@ -54,11 +55,26 @@ For further examples, see the <a href="package-summary.html#FunctionObjects">pac
 @return the aggregated measure.
 @see cern.jet.math.Functions
 */
-public double aggregate(cern.colt.function.DoubleDoubleFunction aggr, cern.colt.function.DoubleFunction f) {
+public double aggregate(final cern.colt.function.DoubleDoubleFunction aggr, final cern.colt.function.DoubleFunction f) {
 	if (size()==0) return Double.NaN;
-	double a = f.apply(getQuick(rows-1,columns-1));
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(f) ? parallelPool(size()) : null;
+	if (pool != null) {
+		return Parallel.run(pool, rows, size(),
+			new Parallel.Body() {
+				public double apply(int from, int to) { return aggregateRows(from,to,aggr,f); }
+				public double combine(double left, double right) { return aggr.apply(right,left); } // rows are aggregated last to first
+			}
+		);
+	}
+	return aggregateRows(0,rows,aggr,f);
+}
+/**
+ * Aggregates the rows <tt>[from,to)</tt>, last cell first, as in {@link #aggregate(cern.colt.function.DoubleDoubleFunction,cern.colt.function.DoubleFunction)}; the range must not be empty.
+ */
+private double aggregateRows(int from, int to, cern.colt.function.DoubleDoubleFunction aggr, cern.colt.function.DoubleFunction f) {
+	double a = f.apply(getQuick(to-1,columns-1));
 	int d = 1; // last cell already done
-	for (int row=rows; --row >= 0; ) {
+	for (int row=to; --row >= from; ) {
 		for (int column=columns-d; --column >= 0; ) {
 			a = aggr.apply(a, f.apply(getQuick(row,column)));
 		}
@@ -97,12 +113,27 @@ For further examples, see the <a href="package-summary.html#FunctionObjects">pac
 @throws	IllegalArgumentException if <tt>columns() != other.columns() || rows() != other.rows()</tt>
 @see cern.jet.math.Functions
 */
-public double aggregate(DoubleMatrix2D other, cern.colt.function.DoubleDoubleFunction aggr, cern.colt.function.DoubleDoubleFunction f) {
+public double aggregate(final DoubleMatrix2D other, final cern.colt.function.DoubleDoubleFunction aggr, final cern.colt.function.DoubleDoubleFunction f) {
 	checkShape(other);
 	if (size()==0) return Double.NaN;
-	double a = f.apply(getQuick(rows-1,columns-1),other.getQuick(rows-1,columns-1));
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(f) ? parallelPool(size()) : null;
+	if (pool != null) {
+		return Parallel.run(pool, rows, size(),
+			new Parallel.Body() {
+				public double apply(int from, int to) { return aggregateRows(other,from,to,aggr,f); }
+				public double combine(double left, double right) { return aggr.apply(right,left); } // rows are aggregated last to first
+			}
+		);
+	}
+	return aggregateRows(other,0,rows,aggr,f);
+}
+/**
+ * Aggregates the rows <tt>[from,to)</tt>, last cell first, as in {@link #aggregate(DoubleMatrix2D,cern.colt.function.DoubleDoubleFunction,cern.colt.function.DoubleDoubleFunction)}; the range must not be empty.
+ */
+private double aggregateRows(DoubleMatrix2D other, int from, int to, cern.colt.function.DoubleDoubleFunction aggr, cern.colt.function.DoubleDoubleFunction f) {
+	double a = f.apply(getQuick(to-1,columns-1),other.getQuick(to-1,columns-1));
 	int d = 1; // last cell already done
-	for (int row=rows; --row >= 0; ) {
+	for (int row=to; --row >= from; ) {
 		for (int column=columns-d; --column >= 0; ) {
 			a = aggr.apply(a, f.apply(getQuick(row,column), other.getQuick(row,column)));
 		}
@@ -244,13 +275,19 @@ public DoubleMatrix2D assign(DoubleMatrix2D y, cern.colt.function.DoubleDoubleFu
  * Returns the number of cells having non-zero values; ignores tolerance.
  */
 public int cardinality() {
-	int cardinality = 0;
-	for (int row=rows; --row >= 0;) {
-		for (int column=columns; --column >= 0;) {
-			if (getQuick(row,column) != 0) cardinality++;
+	return (int) Parallel.run(parallelPool(size()), rows, size(),
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int cardinality = 0;
+				for (int row=to; --row >= from;) {
+					for (int column=columns; --column >= 0;) {
+						if (getQuick(row,column) != 0) cardinality++;
+					}
+				}
+				return cardinality;
+			}
 		}
-	}
-	return cardinality;
+	);
 }
 /**
  * Constructs and returns a deep copy of the receiver.
@@ -66,6 +66,42 @@ protected static void bench_dgemm(String[] args) {
 	title = title + " dgemm("+params+")";
 	run(minSecs,title,fun,types,sizes,densities);
 }
+/**
+ * Benchmarks the blocked GEMM kernel behind <tt>DenseDoubleMatrix2D.zMult</tt>; reports Gflops/sec.
+ */
+protected static void bench_gemm(String[] args) {
+	String[] types;
+	double minSecs;
+	boolean transposeA;
+	boolean transposeB;
+	double[] densities;
+	int[] sizes;
+	
+	try { // parse
+		int k = 1;
+		types = new String[] {args[k++]};
+		k++; // cpus: ignored, zMult is sequential
+		minSecs = new Double(args[k++]).doubleValue();
+		densities = new double[] {new Double(args[k++]).doubleValue()};
+		transposeA = new Boolean(args[k++]).booleanValue();
+		transposeB = new Boolean(args[k++]).booleanValue();
+		
+		sizes = new int[args.length - k];
+		for (int i=0; k<args.length; k++, i++) sizes[i] = Integer.parseInt(args[k]);
+	}
+	catch (Exception exc) {
+		System.out.println(usage(args[0]));
+		System.out.println("Ignoring command...\n");
+		return;
+	}
+
+	Double2DProcedure fun = fun_gemm(transposeA,transposeB);
+	int[] blocks = cern.colt.matrix.impl.Gemm.getBlockSizes();
+	String title = fun.toString();
+	String params = "B, C, 1, 0, "+transposeA +", "+transposeB;
+	title = title + " A.zMult("+params+") with MR="+blocks[0]+", NR="+blocks[1]+", KC="+blocks[2]+", MC="+blocks[3]+", NC="+blocks[4];
+	run(minSecs,title,fun,types,sizes,densities);
+}
 /**
  * Not yet documented.
  */
@@ -170,7 +206,7 @@ protected static void benchGeneric(Double2DProcedure fun, String[] args) {
  * 
  */
 protected static String commands() {
-	return "dgemm, dgemv, pow, assign, assignGetSet, assignGetSetQuick, assignLog, assignPlusMult, elementwiseMult, elementwiseMultB, SOR5, SOR8, LUDecompose, LUSolve";
+	return "dgemm, gemm, dgemv, pow, assign, assignGetSet, assignGetSetQuick, assignLog, assignPlusMult, elementwiseMult, elementwiseMultB, SOR5, SOR8, LUDecompose, LUSolve";
 }
 /**
  * Linear algebrax matrix-matrix multiply.
@@ -196,6 +232,30 @@ protected static Double2DProcedure fun_dgemm(final boolean transposeA, final boo
 		}
 	};
 }
+/**
+ * Linear algebrax matrix-matrix multiply via <tt>zMult</tt>, measured in Gflops.
+ */
+protected static Double2DProcedure fun_gemm(final boolean transposeA, final boolean transposeB) {
+	return new Double2DProcedure() {
+		public String toString() { return "Blocked matrix-matrix mult [Gflops/sec]";	}
+		public void setParameters(DoubleMatrix2D G, DoubleMatrix2D H) {
+			super.setParameters(G,H);
+			D = new cern.colt.matrix.impl.DenseDoubleMatrix2D(A.rows(),A.columns()).assign(0.5);
+			C = D.copy();
+			B = D.copy();
+		}
+		public void init() { C.assign(D); }
+		public void apply(cern.colt.Timer timer) { 
+			A.zMult(B,C,1,0,transposeA,transposeB); 
+		}
+		public double operations() { // Gflops
+			double m = A.rows();
+			double n = A.columns();
+			double p = B.columns();
+			return 2.0*m*n*p / 1.0E9; 
+		}
+	};
+}
 /**
  * Linear algebrax matrix-matrix multiply.
  */
@@ -618,6 +678,7 @@ protected static DoubleFactory2D getFactory(String type) {
  */
 protected static Double2DProcedure getGenericFunction(String cmd) {
 	if (cmd.equals("dgemm")) return fun_dgemm(false,false);
+	else if (cmd.equals("gemm")) return fun_gemm(false,false);
 	else if (cmd.equals("dgemv")) return fun_dgemv(false);
 	else if (cmd.equals("pow")) return fun_pow(2);
 	else if (cmd.equals("assign")) return funAssign();
@@ -644,6 +705,7 @@ protected static boolean handle(String[] params) {
 	boolean success = true;
 	String cmd = params[0];
 	if (cmd.equals("dgemm")) bench_dgemm(params);
+	else if (cmd.equals("gemm")) bench_gemm(params);
 	else if (cmd.equals("dgemv")) bench_dgemv(params);
 	else if (cmd.equals("pow")) bench_pow(params);
 	else {
@@ -920,7 +982,7 @@ protected static String usage(String cmd) {
 		//"\te.g. "+cmd+" dense 2 2.0 false 0.999 10 30 50 100 250 500 1000\n"+
 		"\t<operation> <type> <cpus> <minSecs> <density>";
 	if (cmd.equals("dgemv")) usage = usage +	" <transposeA>";
-	if (cmd.equals("dgemm")) usage = usage +	" <transposeA> <transposeB>";
+	if (cmd.equals("dgemm") || cmd.equals("gemm")) usage = usage +	" <transposeA> <transposeB>";
 	if (cmd.equals("pow")) usage = usage +	" <exponent>";
 	usage = usage +
 		" {sizes}\n" +
@@ -932,7 +994,7 @@ protected static String usage(String cmd) {
 		"\tdensity = the density of the matrices to be benchmarked; e.g. 0.999 is very dense, 0.001 is very sparse\n";
 		
 	if (cmd.equals("dgemv")) usage = usage +	"\ttransposeA = false or true\n";
-	if (cmd.equals("dgemm")) usage = usage +	"\ttransposeA = false or true\n\ttransposeB = false or true\n";
+	if (cmd.equals("dgemm") || cmd.equals("gemm")) usage = usage +	"\ttransposeA = false or true\n\ttransposeB = false or true\n";
 	if (cmd.equals("pow")) usage = usage +	"\texponent = the number of times to multiply; e.g. 1000\n";
 	usage = usage +
 		"\tsizes = a list of problem sizes; e.g. 100 200 benchmarks squared 100x100 and 200x200 matrices";
@@ -0,0 +1,533 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.doublealgo;
+
+import cern.colt.function.DoubleDoubleFunction;
+import cern.colt.function.DoubleFunction;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+/**
+Lazily evaluated element-by-element expression over {@link DoubleMatrix1D} or {@link DoubleMatrix2D} operands, evaluated in a single fused pass when assigned to a target.
+<p>
+Chaining {@link Transform} operations or <tt>assign</tt> calls walks the memory of the matrices once per operator, and often needs copies to leave operands unaffected.
+An expression instead records the operations as a tree, and {@link #assignTo(DoubleMatrix2D)} computes each cell of the result from the cells of the operands in one sweep,
+reading every operand and writing the target exactly once.
+For example, <tt>A = (A - B) * s + C</tt>, computed with a single pass over <tt>A</tt>, <tt>B</tt> and <tt>C</tt> and without temporary matrices:
+<table>
+<td class="PRE"> 
+<pre>
+Expression.of(A).minus(Expression.of(B)).mult(s).plus(Expression.of(C)).assignTo(A);
+
+// same, with function objects
+cern.jet.math.Functions F = cern.jet.math.Functions.functions;
+Expression.of(A).apply(F.minus, Expression.of(B)).apply(F.mult(s)).apply(F.plus, Expression.of(C)).assignTo(A);
+
+// standardize the columns of X, given row vectors of means and reciprocal standard deviations
+Expression.of(X).minus(Expression.of(means)).mult(Expression.of(scales)).assignTo(X);
+</pre>
+</td>
+</table>
+Expressions are immutable; each operation returns a new expression, leaving the receiver unaffected, so subexpressions can be shared.
+Nothing is computed before <tt>assignTo</tt> is called, and changes to the operands made until then are reflected in the result.
+The values of function objects like {@link cern.jet.math.Functions#plusMult(double)} and {@link cern.jet.math.Functions#mult(double)} are taken when the expression is built.
+<p>
+<b>Shapes:</b> all matrix operands of an expression must have the same shape, as must the target.
+Scalars, as well as the operands made with {@link #of(DoubleMatrix1D)} from vectors, are broadcast over a 2-d expression:
+a vector of size <tt>columns()</tt> is taken as a row repeated for each row, as in the example above.
+Use {@link #ofColumn(DoubleMatrix1D)} to broadcast a vector of size <tt>rows()</tt> as a column repeated for each column instead.
+<p>
+<b>Aliasing:</b> the target may be an operand; evaluation reads all operand cells of a block before writing the block.
+The target must not otherwise share cells with an operand, for example be a dice or part view of it; copy such an operand first.
+<p>
+<b>Implementation:</b>
+<p>
+Evaluation proceeds row by row, in blocks of a few hundred cells.
+Each node of the tree computes a block into a small buffer that stays in the L1 cache, so intermediate results never travel to main memory.
+The functions of {@link cern.jet.math.Functions} for <tt>plus</tt>, <tt>minus</tt>, <tt>mult</tt>, <tt>div</tt>, <tt>plusMult</tt>, <tt>min</tt>, <tt>max</tt>, <tt>pow</tt>, <tt>greater</tt>, <tt>less</tt>, 
+<tt>abs</tt>, <tt>neg</tt>, <tt>square</tt>, <tt>sqrt</tt>, <tt>exp</tt> and <tt>log</tt> are recognized and run as tight loops over a block;
+any other function object is applied cell by cell.
+If the target is dense and all function objects are thread safe, the rows are evaluated in parallel on the pool of the target; see {@link Parallel}.
+
+@version 1.0, 10/18/26
+*/
+public abstract class Expression extends cern.colt.PersistentObject {
+	/** the number of cells of a row evaluated at once; small enough for the buffers of all nodes to stay in the L1 cache. */
+	protected static final int BLOCK = 256;
+
+	// operations with a tight loop; GENERIC applies a function object
+	private static final int GENERIC = 0, PLUS = 1, MULT = 2, DIV = 3, PLUS_MULT = 4, MIN = 5, MAX = 6, POW = 7, GREATER = 8, LESS = 9;
+	private static final int ABS = 10, NEG = 11, SQUARE = 12, SQRT = 13, EXP = 14, LOG = 15;
+
+	/** <tt>0</tt> for scalars, <tt>1</tt> for vectors, <tt>2</tt> for matrices. */
+	protected int rank;
+
+	/** the shape; the number of cells for vectors, with <tt>columns==1</tt>. */
+	protected int rows, columns;
+
+	/** for vectors, <tt>true</tt> if broadcast as a column over matrices, <tt>false</tt> if as a row. */
+	protected boolean isColumn;
+
+	/** the number of temporary block buffers needed for evaluation. */
+	protected int buffers;
+
+	/** <tt>false</tt> if some function object of the tree is not thread safe. */
+	protected boolean threadSafe = true;
+
+/**
+ * A scalar.
+ */
+private static class Constant extends Expression {
+	final double value;
+	Constant(double value) {
+		this.value = value;
+	}
+	void eval(int row, int from, int length, double[] out, double[][] temps, int depth) {
+		for (int k=0; k<length; k++) out[k] = value;
+	}
+}
+/**
+ * A vector operand, indexed by the position within a row, or for columns, by the row.
+ */
+private static class Vector extends Expression {
+	final DoubleMatrix1D A;
+	Vector(DoubleMatrix1D A, boolean isColumn) {
+		this.A = A;
+		this.isColumn = isColumn;
+		this.rank = 1;
+		this.rows = A.size();
+		this.columns = 1;
+	}
+	void eval(int row, int from, int length, double[] out, double[][] temps, int depth) {
+		if (isColumn && row >= 0) {
+			double value = A.getQuick(row);
+			for (int k=0; k<length; k++) out[k] = value;
+		}
+		else {
+			DoubleMatrix1D a = A;
+			for (int k=0; k<length; k++) out[k] = a.getQuick(from+k);
+		}
+	}
+}
+/**
+ * A matrix operand.
+ */
+private static class Matrix extends Expression {
+	final DoubleMatrix2D A;
+	Matrix(DoubleMatrix2D A) {
+		this.A = A;
+		this.rank = 2;
+		this.rows = A.rows();
+		this.columns = A.columns();
+	}
+	void eval(int row, int from, int length, double[] out, double[][] temps, int depth) {
+		DoubleMatrix2D a = A;
+		for (int k=0; k<length; k++) out[k] = a.getQuick(row,from+k);
+	}
+}
+/**
+ * A function of one expression.
+ */
+private static class Unary extends Expression {
+	final Expression x;
+	final int op;
+	final DoubleFunction f;
+	Unary(Expression x, int op, DoubleFunction f) {
+		this.x = x;
+		this.op = op;
+		this.f = f;
+		this.rank = x.rank;
+		this.rows = x.rows;
+		this.columns = x.columns;
+		this.isColumn = x.isColumn;
+		this.buffers = x.buffers;
+		this.threadSafe = x.threadSafe && (f==null || Parallel.isThreadSafe(f));
+	}
+	void eval(int row, int from, int length, double[] out, double[][] temps, int depth) {
+		x.eval(row,from,length,out,temps,depth);
+		switch (op) {
+			case ABS:    for (int k=0; k<length; k++) out[k] = Math.abs(out[k]); break;
+			case NEG:    for (int k=0; k<length; k++) out[k] = -out[k]; break;
+			case SQUARE: for (int k=0; k<length; k++) out[k] *= out[k]; break;
+			case SQRT:   for (int k=0; k<length; k++) out[k] = Math.sqrt(out[k]); break;
+			case EXP:    for (int k=0; k<length; k++) out[k] = Math.exp(out[k]); break;
+			case LOG:    for (int k=0; k<length; k++) out[k] = Math.log(out[k]); break;
+			default:
+				DoubleFunction g = f;
+				for (int k=0; k<length; k++) out[k] = g.apply(out[k]);
+		}
+	}
+}
+/**
+ * A function of two expressions.
+ */
+private static class Binary extends Expression {
+	final Expression x, y;
+	final int op;
+	final double multiplicator; // for PLUS_MULT
+	final DoubleDoubleFunction f;
+	Binary(Expression x, Expression y, int op, double multiplicator, DoubleDoubleFunction f) {
+		if (x.rank > 0 && y.rank > 0 && !(x.rank==y.rank ? x.rows==y.rows && x.columns==y.columns && x.isColumn==y.isColumn : x.rank==2 ? broadcasts(y,x) : broadcasts(x,y))) {
+			throw new IllegalArgumentException("Incompatible shapes: "+x.shape()+", "+y.shape());
+		}
+		this.x = x;
+		this.y = y;
+		this.op = op;
+		this.multiplicator = multiplicator;
+		this.f = f;
+		Expression larger = x.rank >= y.rank ? x : y;
+		this.rank = larger.rank;
+		this.rows = larger.rows;
+		this.columns = larger.columns;
+		this.isColumn = larger.isColumn;
+		this.buffers = y instanceof Constant ? x.buffers : Math.max(x.buffers, 1 + y.buffers);
+		this.threadSafe = x.threadSafe && y.threadSafe && (f==null || Parallel.isThreadSafe(f));
+	}
+	void eval(int row, int from, int length, double[] out, double[][] temps, int depth) {
+		x.eval(row,from,length,out,temps,depth);
+		if (y instanceof Constant) {
+			apply(out, ((Constant) y).value, length);
+		}
+		else {
+			double[] b = temps[depth];
+			y.eval(row,from,length,b,temps,depth+1);
+			apply(out, b, length);
+		}
+	}
+	private void apply(double[] a, double[] b, int length) {
+		switch (op) {
+			case PLUS:      for (int k=0; k<length; k++) a[k] += b[k]; break;
+			case MULT:      for (int k=0; k<length; k++) a[k] *= b[k]; break;
+			case DIV:       for (int k=0; k<length; k++) a[k] /= b[k]; break;
+			case PLUS_MULT: { double s = multiplicator; for (int k=0; k<length; k++) a[k] += b[k]*s; break; }
+			case MIN:       for (int k=0; k<length; k++) a[k] = Math.min(a[k],b[k]); break;
+			case MAX:       for (int k=0; k<length; k++) a[k] = Math.max(a[k],b[k]); break;
+			case POW:       for (int k=0; k<length; k++) a[k] = Math.pow(a[k],b[k]); break;
+			case GREATER:   for (int k=0; k<length; k++) a[k] = a[k] > b[k] ? 1 : 0; break;
+			case LESS:      for (int k=0; k<length; k++) a[k] = a[k] < b[k] ? 1 : 0; break;
+			default:
+				DoubleDoubleFunction g = f;
+				for (int k=0; k<length; k++) a[k] = g.apply(a[k],b[k]);
+		}
+	}
+	private void apply(double[] a, double b, int length) {
+		switch (op) {
+			case PLUS:      for (int k=0; k<length; k++) a[k] += b; break;
+			case MULT:      for (int k=0; k<length; k++) a[k] *= b; break;
+			case DIV:       for (int k=0; k<length; k++) a[k] /= b; break;
+			case PLUS_MULT: { double s = b*multiplicator; for (int k=0; k<length; k++) a[k] += s; break; }
+			case MIN:       for (int k=0; k<length; k++) a[k] = Math.min(a[k],b); break;
+			case MAX:       for (int k=0; k<length; k++) a[k] = Math.max(a[k],b); break;
+			case POW:       for (int k=0; k<length; k++) a[k] = Math.pow(a[k],b); break;
+			case GREATER:   for (int k=0; k<length; k++) a[k] = a[k] > b ? 1 : 0; break;
+			case LESS:      for (int k=0; k<length; k++) a[k] = a[k] < b ? 1 : 0; break;
+			default:
+				DoubleDoubleFunction g = f;
+				for (int k=0; k<length; k++) a[k] = g.apply(a[k],b);
+		}
+	}
+}
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected Expression() {}
+/**
+ * Returns the expression <tt>abs(this)</tt>.
+ */
+public Expression abs() {
+	return new Unary(this, ABS, null);
+}
+/**
+ * Returns the expression <tt>f(this)</tt>, cell by cell.
+ * @param f a function object, for example one of {@link cern.jet.math.Functions}.
+ */
+public Expression apply(DoubleFunction f) {
+	if (f instanceof cern.jet.math.Mult) return mult(((cern.jet.math.Mult) f).multiplicator);
+	int op = GENERIC;
+	if (f==cern.jet.math.Functions.abs) op = ABS;
+	else if (f==cern.jet.math.Functions.neg) op = NEG;
+	else if (f==cern.jet.math.Functions.square) op = SQUARE;
+	else if (f==cern.jet.math.Functions.sqrt) op = SQRT;
+	else if (f==cern.jet.math.Functions.exp) op = EXP;
+	else if (f==cern.jet.math.Functions.log) op = LOG;
+	return new Unary(this, op, op==GENERIC ? f : null);
+}
+/**
+ * Returns the expression <tt>f(this,value)</tt>, cell by cell.
+ * @param f a function object, for example one of {@link cern.jet.math.Functions}.
+ */
+public Expression apply(DoubleDoubleFunction f, double value) {
+	return apply(f, new Constant(value));
+}
+/**
+ * Returns the expression <tt>f(this,other)</tt>, cell by cell.
+ * @param f a function object, for example one of {@link cern.jet.math.Functions}.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression apply(DoubleDoubleFunction f, Expression other) {
+	if (f instanceof cern.jet.math.PlusMult) {
+		double s = ((cern.jet.math.PlusMult) f).multiplicator;
+		return new Binary(this, other, s==1 ? PLUS : PLUS_MULT, s, null);
+	}
+	int op = GENERIC;
+	if (f==cern.jet.math.Functions.mult) op = MULT;
+	else if (f==cern.jet.math.Functions.div) op = DIV;
+	else if (f==cern.jet.math.Functions.min) op = MIN;
+	else if (f==cern.jet.math.Functions.max) op = MAX;
+	else if (f==cern.jet.math.Functions.pow) op = POW;
+	else if (f==cern.jet.math.Functions.greater) op = GREATER;
+	else if (f==cern.jet.math.Functions.less) op = LESS;
+	return new Binary(this, other, op, 0, op==GENERIC ? f : null);
+}
+/**
+ * Evaluates the expression into the given vector, in a single pass; <tt>target[i] = this[i]</tt>.
+ * @param target the vector to fill; may be an operand of the expression.
+ * @return <tt>target</tt> (for convenience only).
+ * @throws IllegalArgumentException if the expression is a matrix expression or the sizes differ.
+ */
+public DoubleMatrix1D assignTo(final DoubleMatrix1D target) {
+	if (rank==2 || (rank==1 && rows != target.size())) {
+		throw new IllegalArgumentException("Incompatible shapes: "+shape()+", "+target.toStringShort());
+	}
+	final int size = target.size();
+	int blocks = (size + BLOCK - 1) / BLOCK;
+	java.util.concurrent.ForkJoinPool pool = threadSafe && target instanceof cern.colt.matrix.impl.DenseDoubleMatrix1D ? Parallel.pool(target.getPool(), size) : null;
+	Parallel.run(pool, blocks, size,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] out = new double[BLOCK];
+				double[][] temps = new double[buffers][BLOCK];
+				for (int block=from; block<to; block++) {
+					int first = block*BLOCK;
+					int length = Math.min(BLOCK, size - first);
+					eval(-1, first, length, out, temps, 0);
+					for (int k=0; k<length; k++) target.setQuick(first+k, out[k]);
+				}
+				return 0;
+			}
+		}
+	);
+	return target;
+}
+/**
+ * Evaluates the expression into the given matrix, in a single pass; <tt>target[row,col] = this[row,col]</tt>.
+ * @param target the matrix to fill; may be an operand of the expression.
+ * @return <tt>target</tt> (for convenience only).
+ * @throws IllegalArgumentException if the expression is a vector expression, or the shapes differ.
+ */
+public DoubleMatrix2D assignTo(final DoubleMatrix2D target) {
+	if (rank==1 || (rank==2 && (rows != target.rows() || columns != target.columns()))) {
+		throw new IllegalArgumentException("Incompatible shapes: "+shape()+", "+target.toStringShort());
+	}
+	final int width = target.columns();
+	long cells = (long) target.rows() * width;
+	java.util.concurrent.ForkJoinPool pool = threadSafe && target instanceof cern.colt.matrix.impl.DenseDoubleMatrix2D ? Parallel.pool(target.getPool(), cells) : null;
+	Parallel.run(pool, target.rows(), cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] out = new double[BLOCK];
+				double[][] temps = new double[buffers][BLOCK];
+				for (int row=from; row<to; row++) {
+					for (int first=0; first<width; first += BLOCK) {
+						int length = Math.min(BLOCK, width - first);
+						eval(row, first, length, out, temps, 0);
+						for (int k=0; k<length; k++) target.setQuick(row, first+k, out[k]);
+					}
+				}
+				return 0;
+			}
+		}
+	);
+	return target;
+}
+/**
+ * Returns <tt>true</tt> if <tt>vector</tt> can be broadcast over <tt>matrix</tt>.
+ */
+private static boolean broadcasts(Expression vector, Expression matrix) {
+	return vector.rows == (vector.isColumn ? matrix.rows : matrix.columns);
+}
+/**
+ * Returns a scalar expression, broadcast over the shape of the expressions it is combined with.
+ */
+public static Expression constant(double value) {
+	return new Constant(value);
+}
+/**
+ * Returns the expression <tt>this / value</tt>.
+ */
+public Expression div(double value) {
+	return new Binary(this, new Constant(value), DIV, 0, null);
+}
+/**
+ * Returns the expression <tt>this / other</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression div(Expression other) {
+	return new Binary(this, other, DIV, 0, null);
+}
+/**
+ * Computes the cells <tt>[from,from+length)</tt> of the given row into <tt>out</tt>.
+ * Vector expressions take the cell within the row, or for columns the row; <tt>row==-1</tt> evaluates a vector expression as such.
+ * @param temps at least <tt>depth+buffers</tt> buffers; those from <tt>depth</tt> on may be used as scratch space.
+ */
+abstract void eval(int row, int from, int length, double[] out, double[][] temps, int depth);
+/**
+ * Returns the expression <tt>this &gt; value ? 1 : 0</tt>.
+ */
+public Expression greater(double value) {
+	return new Binary(this, new Constant(value), GREATER, 0, null);
+}
+/**
+ * Returns the expression <tt>this &gt; other ? 1 : 0</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression greater(Expression other) {
+	return new Binary(this, other, GREATER, 0, null);
+}
+/**
+ * Returns the expression <tt>this &lt; value ? 1 : 0</tt>.
+ */
+public Expression less(double value) {
+	return new Binary(this, new Constant(value), LESS, 0, null);
+}
+/**
+ * Returns the expression <tt>this &lt; other ? 1 : 0</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression less(Expression other) {
+	return new Binary(this, other, LESS, 0, null);
+}
+/**
+ * Returns the expression <tt>max(this,value)</tt>.
+ */
+public Expression max(double value) {
+	return new Binary(this, new Constant(value), MAX, 0, null);
+}
+/**
+ * Returns the expression <tt>max(this,other)</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression max(Expression other) {
+	return new Binary(this, other, MAX, 0, null);
+}
+/**
+ * Returns the expression <tt>min(this,value)</tt>.
+ */
+public Expression min(double value) {
+	return new Binary(this, new Constant(value), MIN, 0, null);
+}
+/**
+ * Returns the expression <tt>min(this,other)</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression min(Expression other) {
+	return new Binary(this, other, MIN, 0, null);
+}
+/**
+ * Returns the expression <tt>this - value</tt>.
+ */
+public Expression minus(double value) {
+	return new Binary(this, new Constant(-value), PLUS, 0, null);
+}
+/**
+ * Returns the expression <tt>this - other</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression minus(Expression other) {
+	return new Binary(this, other, PLUS_MULT, -1, null);
+}
+/**
+ * Returns the expression <tt>this - other*s</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression minusMult(Expression other, double s) {
+	return new Binary(this, other, PLUS_MULT, -s, null);
+}
+/**
+ * Returns the expression <tt>this * value</tt>.
+ */
+public Expression mult(double value) {
+	return new Binary(this, new Constant(value), MULT, 0, null);
+}
+/**
+ * Returns the expression <tt>this * other</tt>, cell by cell.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression mult(Expression other) {
+	return new Binary(this, other, MULT, 0, null);
+}
+/**
+ * Returns the expression <tt>-this</tt>.
+ */
+public Expression negate() {
+	return new Unary(this, NEG, null);
+}
+/**
+ * Returns an expression for the cells of the given vector.
+ * Combined with a matrix expression, the vector is broadcast as a row, i.e. its size must equal the number of columns.
+ */
+public static Expression of(DoubleMatrix1D A) {
+	return new Vector(A, false);
+}
+/**
+ * Returns an expression for the cells of the given matrix.
+ */
+public static Expression of(DoubleMatrix2D A) {
+	return new Matrix(A);
+}
+/**
+ * Returns an expression for the cells of the given vector, broadcast as a column over matrix expressions, i.e. its size must equal the number of rows.
+ * Column and row vectors can not be combined with each other.
+ */
+public static Expression ofColumn(DoubleMatrix1D A) {
+	return new Vector(A, true);
+}
+/**
+ * Returns the expression <tt>this + value</tt>.
+ */
+public Expression plus(double value) {
+	return new Binary(this, new Constant(value), PLUS, 0, null);
+}
+/**
+ * Returns the expression <tt>this + other</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression plus(Expression other) {
+	return new Binary(this, other, PLUS, 0, null);
+}
+/**
+ * Returns the expression <tt>this + other*s</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression plusMult(Expression other, double s) {
+	return new Binary(this, other, PLUS_MULT, s, null);
+}
+/**
+ * Returns the expression <tt>Math.pow(this,value)</tt>.
+ */
+public Expression pow(double value) {
+	if (value==2) return new Unary(this, SQUARE, null);
+	return new Binary(this, new Constant(value), POW, 0, null);
+}
+/**
+ * Returns the expression <tt>Math.pow(this,other)</tt>.
+ * @throws IllegalArgumentException if the shapes of both expressions are incompatible.
+ */
+public Expression pow(Expression other) {
+	return new Binary(this, other, POW, 0, null);
+}
+/**
+ * Returns a string representation of the receiver's shape.
+ */
+private String shape() {
+	if (rank==0) return "scalar";
+	if (rank==1) return "vector of size "+rows;
+	return rows+" x "+columns+" matrix";
+}
+}
@@ -15,6 +15,7 @@ import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
 import cern.colt.matrix.DoubleMatrix3D;
 import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.Parallel;
 /**
 Matrix quicksorts and mergesorts.
 Use idioms like <tt>Sorting.quickSort.sort(...)</tt> and <tt>Sorting.mergeSort.sort(...)</tt>.
@@ -40,6 +41,9 @@ by multiple columns. It preserves the relative position of equal elements.
 @version 1.1, 25/May/2000
 */
 public class Sorting extends cern.colt.PersistentObject {
+	/** the number of bits of a digit of the radix sort of rows. */
+	private static final int RADIX_BITS = 11;
+
 	/**
 	 * A prefabricated quicksort.
 	 */
@@ -70,6 +74,85 @@ private static final int compareNaN(double a, double b) {
 	}
 	return -1; // e.g. 5 < NaN
 }
+/**
+ * Returns a key such that keys compare like the values, in the given direction, with <tt>NaN</tt> first or last.
+ */
+private static long sortKey(double value, boolean descending, boolean nanFirst) {
+	if (value != value) return nanFirst ? Long.MIN_VALUE : Long.MAX_VALUE;
+	long bits = Double.doubleToLongBits(value + 0.0); // -0.0 + 0.0 == 0.0
+	bits ^= (bits >> 63) & Long.MAX_VALUE; // reverse the order of negative values
+	return descending ? ~bits : bits; // never MIN_VALUE or MAX_VALUE
+}
+/**
+ * Stably sorts <tt>keys</tt> into ascending order by a least significant digit radix sort, permuting <tt>indexes</tt> along, and returns the permuted indexes.
+ * The arrays passed are used as buffers; their contents are undefined afterwards.
+ * Digits which are the same for all keys are skipped.
+ * Each pass counts the digits of contiguous chunks of the keys in parallel and then moves the chunks in parallel, each to its own precomputed positions.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+private static int[] radixSort(long[] keys, int[] indexes, java.util.concurrent.ForkJoinPool pool) {
+	final int size = keys.length;
+	final int buckets = 1 << RADIX_BITS;
+	final int chunks = pool == null ? 1 : (int) Math.max(1, Math.min(4L * pool.getParallelism(), size / Parallel.getThreshold()));
+	final int[][] counts = new int[chunks][buckets];
+	long[] keys2 = new long[size];
+	int[] indexes2 = new int[size];
+
+	for (int shift=0; shift<64; shift += RADIX_BITS) {
+		final long[] fromKeys = keys, toKeys = keys2;
+		final int[] fromIndexes = indexes, toIndexes = indexes2;
+		final int bits = shift;
+
+		// count digits per chunk; the sign bit is flipped so that unsigned digits order like signed keys
+		Parallel.run(pool, chunks, size,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					for (int c=from; c<to; c++) {
+						int[] count = counts[c];
+						java.util.Arrays.fill(count,0);
+						for (int i=(int) ((long) size*c/chunks), end=(int) ((long) size*(c+1)/chunks); i<end; i++) {
+							count[(int) ((fromKeys[i] ^ Long.MIN_VALUE) >>> bits) & (buckets-1)]++;
+						}
+					}
+					return 0;
+				}
+			}
+		);
+
+		// turn counts into start positions, digit by digit, chunk by chunk; skip the pass if all keys have the same digit
+		boolean trivial = false;
+		int position = 0;
+		for (int d=0; d<buckets && !trivial; d++) {
+			for (int c=0; c<chunks; c++) {
+				int count = counts[c][d];
+				if (count == size) trivial = true;
+				counts[c][d] = position;
+				position += count;
+			}
+		}
+		if (trivial) continue;
+
+		Parallel.run(pool, chunks, size,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					for (int c=from; c<to; c++) {
+						int[] next = counts[c];
+						for (int i=(int) ((long) size*c/chunks), end=(int) ((long) size*(c+1)/chunks); i<end; i++) {
+							long key = fromKeys[i];
+							int j = next[(int) ((key ^ Long.MIN_VALUE) >>> bits) & (buckets-1)]++;
+							toKeys[j] = key;
+							toIndexes[j] = fromIndexes[i];
+						}
+					}
+					return 0;
+				}
+			}
+		);
+		keys2 = keys; keys = toKeys;
+		indexes2 = indexes; indexes = toIndexes;
+	}
+	return indexes;
+}
 protected void runSort(int[] a, int fromIndex, int toIndex, IntComparator c) {
 	cern.colt.Sorting.quickSort(a,fromIndex,toIndex,c);
 }
@@ -298,21 +381,68 @@ To sort ranges use sub-ranging views. To sort columns by rows, use dice views. T
 */
 public DoubleMatrix2D sort(DoubleMatrix2D matrix, int column) {
 	if (column < 0 || column >= matrix.columns()) throw new IndexOutOfBoundsException("column="+column+", matrix="+Formatter.shape(matrix));
+	return sort(matrix, new int[] {column}, null, null);
+}
+/**
+Sorts the matrix rows by several columns; rows equal in the first column are ordered by the second column, and so on.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+To sort ranges use sub-ranging views. To sort columns by rows, use dice views.
+<p>
+The sort is <i>stable</i>: rows equal in all given columns keep their relative order, no matter whether called on <tt>quickSort</tt> or <tt>mergeSort</tt>.
+<tt>-0.0</tt> and <tt>0.0</tt> are considered equal.
+<p>
+<b>Example:</b>
+<pre>
+// by column 2 descending, then by column 0 ascending, NaNs of column 2 coming first
+view = Sorting.quickSort.sort(matrix, new int[] {2,0}, new boolean[] {true,false}, new boolean[] {true,false});
+</pre>
+<p>
+<b>Implementation:</b>
+The values of each sort column are converted into <tt>long</tt> keys ordering like the values, and the rows are sorted by a stable radix sort on the keys,
+one column after the other, the last column first.
+Hence the comparison of rows never reads the matrix, each sort column is read just once, and the time grows linearly with the number of rows.
+Large matrices are sorted in parallel if parallel mode is switched on; see {@link Parallel}.
 
-	int[] rowIndexes = new int[matrix.rows()]; // row indexes to reorder instead of matrix itself
-	for (int i=rowIndexes.length; --i >= 0; ) rowIndexes[i] = i;
-
-	final DoubleMatrix1D col = matrix.viewColumn(column);
-	IntComparator comp = new IntComparator() {  
-		public int compare(int a, int b) {
-			double av = col.getQuick(a);
-			double bv = col.getQuick(b);
-			if (av!=av || bv!=bv) return compareNaN(av,bv); // swap NaNs to the end
-			return av<bv ? -1 : (av==bv ? 0 : 1);
-		}
-	};
+@param matrix the matrix to be sorted.
+@param columns the indexes of the columns inducing the order, the most significant first.
+@param descending whether each column shall be sorted into descending order; <tt>null</tt> sorts all columns into ascending order.
+@param nansFirst whether <tt>NaN</tt> values of each column shall come before all other values; otherwise they come after all other values, no matter whether the column is sorted ascending or descending.
+	<tt>null</tt> puts the <tt>NaN</tt>s of all columns last.
+@return a new matrix view having rows sorted by the given columns.
+		<b>Note that the original matrix is left unaffected.</b>
+@throws IndexOutOfBoundsException if <tt>columns[i] < 0 || columns[i] >= matrix.columns()</tt> for any <tt>i</tt>.
+@throws IllegalArgumentException if <tt>descending</tt> or <tt>nansFirst</tt> are not <tt>null</tt> and their length differs from <tt>columns.length</tt>.
+*/
+public DoubleMatrix2D sort(DoubleMatrix2D matrix, int[] columns, final boolean[] descending, final boolean[] nansFirst) {
+	for (int k=0; k<columns.length; k++) {
+		if (columns[k] < 0 || columns[k] >= matrix.columns()) throw new IndexOutOfBoundsException("column="+columns[k]+", matrix="+Formatter.shape(matrix));
+	}
+	if ((descending != null && descending.length != columns.length) || (nansFirst != null && nansFirst.length != columns.length)) {
+		throw new IllegalArgumentException("columns, descending and nansFirst must have the same length");
+	}
 
-	runSort(rowIndexes,0,rowIndexes.length,comp);
+	final int rows = matrix.rows();
+	int[] rowIndexes = new int[rows]; // row indexes to reorder instead of matrix itself
+	for (int i=rows; --i >= 0; ) rowIndexes[i] = i;
+	java.util.concurrent.ForkJoinPool pool = Parallel.pool(matrix.getPool(), rows);
+
+	// sorting stably by the least significant column first leaves rows ordered by all columns
+	for (int k=columns.length; --k >= 0; ) {
+		final DoubleMatrix1D col = matrix.viewColumn(columns[k]);
+		final boolean desc = descending != null && descending[k];
+		final boolean nanFirst = nansFirst != null && nansFirst[k];
+		final int[] order = rowIndexes;
+		final long[] keys = new long[rows];
+		Parallel.run(pool, rows, rows,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					for (int i=from; i<to; i++) keys[i] = sortKey(col.getQuick(order[i]), desc, nanFirst);
+					return 0;
+				}
+			}
+		);
+		rowIndexes = radixSort(keys, rowIndexes, pool);
+	}
 
 	// view the matrix according to the reordered row indexes
 	// take all columns in the original order
@@ -15,6 +15,7 @@ import cern.colt.matrix.DoubleFactory2D;
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
 import cern.colt.matrix.DoubleMatrix3D;
+import cern.colt.matrix.impl.Parallel;
 import cern.jet.random.engine.RandomEngine;
 /**
 Basic statistics operations on matrices.
@@ -60,6 +61,12 @@ Examples:
 */
 public class Statistic extends Object {
 	private static final cern.jet.math.Functions F = cern.jet.math.Functions.functions;
+
+	/** the number of columns per side of the tiles of the blocked distance kernel. */
+	private static final int TILE = 32;
+
+	/** the number of rows of a tile's columns processed at a time by the blocked distance kernel; <tt>2*TILE</tt> such column pieces fit into the L2 cache. */
+	private static final int CHUNK = 1024;
 	/**
 	 * Euclidean distance function; <tt>Sqrt(Sum( (x[i]-y[i])^2 ))</tt>.
 	 */ 
@@ -92,6 +99,15 @@ public class Statistic extends Object {
 		}
 	};
 
+	/**
+	 * Cosine distance function; <tt>1 - Sum( x[i]*y[i] ) / Sqrt(Sum( x[i]^2 ) * Sum( y[i]^2 ))</tt>.
+	 */ 
+	public static final VectorVectorFunction COSINE = new VectorVectorFunction() {
+		public final double apply(DoubleMatrix1D a, DoubleMatrix1D b) {	
+			return 1 - a.zDotProduct(b) / Math.sqrt(a.zDotProduct(a) * b.zDotProduct(b));
+		}
+	};
+
 	/**
 	 * Maximum distance function; <tt>Max( abs(x[i]-y[i]) )</tt>.
 	 */ 
@@ -232,10 +248,13 @@ public static DynamicBin1D bin(DoubleMatrix1D vector) {
  * @return the modified covariance, now correlation matrix (for convenience only).
  */
 public static DoubleMatrix2D correlation(DoubleMatrix2D covariance) {
+	double[] stdDevs = new double[covariance.columns()];
+	for (int i=stdDevs.length; --i >= 0; ) stdDevs[i] = Math.sqrt(covariance.getQuick(i,i));
+
 	for (int i=covariance.columns(); --i >= 0; ) {
 		for (int j=i; --j >= 0; ) {
-			double stdDev1 = Math.sqrt(covariance.getQuick(i,i));
-			double stdDev2 = Math.sqrt(covariance.getQuick(j,j));
+			double stdDev1 = stdDevs[i];
+			double stdDev2 = stdDevs[j];
 			double cov = covariance.getQuick(i,j);
 			double corr = cov / (stdDev1*stdDev2);
 			
@@ -255,6 +274,9 @@ public static DoubleMatrix2D correlation(DoubleMatrix2D covariance) {
  * The covariance of two column vectors x and y is given by <tt>cov(x,y) = (1/n) * Sum((x[i]-mean(x)) * (y[i]-mean(y)))</tt>.
  * See the <A HREF="http://www.cquest.utoronto.ca/geog/ggr270y/notes/not05efg.html"> math definition</A>.
  * Compares two column vectors at a time. Use dice views to compare two row vectors at a time.
+ * <p>
+ * Computed as <tt>X'X / n</tt>, where <tt>X</tt> is a dense copy of the matrix with the column means subtracted,
+ * by cache-blocked matrix multiplication (in parallel if parallel mode is switched on, see {@link cern.colt.matrix.impl.Parallel}).
  * 
  * @param matrix any matrix; a column holds the values of a given variable.
  * @return the covariance matrix (<tt>n x n, n=matrix.columns</tt>).
@@ -262,6 +284,11 @@ public static DoubleMatrix2D correlation(DoubleMatrix2D covariance) {
 public static DoubleMatrix2D covariance(DoubleMatrix2D matrix) {
 	int rows = matrix.rows();
 	int columns = matrix.columns();
+	if (rows > 0 && (long) rows*columns <= Integer.MAX_VALUE) {
+		DoubleMatrix2D covariance = crossProducts(matrix, true);
+		covariance.assign(F.mult(1.0/rows));
+		return covariance;
+	}
 	DoubleMatrix2D covariance = new cern.colt.matrix.impl.DenseDoubleMatrix2D(columns,columns);
 	
 	double[] sums = new double[columns];
@@ -281,6 +308,31 @@ public static DoubleMatrix2D covariance(DoubleMatrix2D matrix) {
 	}
 	return covariance;	
 }
+/**
+ * Returns <tt>X'X</tt>, the inner products of all column pairs of <tt>X</tt>, where <tt>X</tt> is a dense copy of the given matrix, with the column means subtracted if <tt>center==true</tt>.
+ * The result is exactly symmetric.
+ */
+private static DoubleMatrix2D crossProducts(DoubleMatrix2D matrix, boolean center) {
+	int rows = matrix.rows();
+	int columns = matrix.columns();
+	DoubleMatrix2D X = new cern.colt.matrix.impl.DenseDoubleMatrix2D(rows,columns);
+	X.setPool(matrix.getPool());
+	X.assign(matrix);
+	if (center) {
+		for (int j=columns; --j >= 0; ) {
+			DoubleMatrix1D column = X.viewColumn(j);
+			column.assign(F.minus(column.zSum() / rows));
+		}
+	}
+	DoubleMatrix2D products = new cern.colt.matrix.impl.DenseDoubleMatrix2D(columns,columns);
+	X.zMult(X, products, 1, 0, true, false);
+	for (int i=columns; --i >= 0; ) {
+		for (int j=i; --j >= 0; ) {
+			products.setQuick(j,i,products.getQuick(i,j));
+		}
+	}
+	return products;
+}
 /**
 2-d OLAP cube operator; Fills all cells of the given vectors into the given histogram.
 If you use hep.aida.ref.Converter.toString(histo) on the result, the OLAP cube of x-"column" vs. y-"column" , summing the weights "column" will be printed.
@@ -465,29 +517,89 @@ System.out.println("\ndist="+distance(A,norm).viewDice());
  * The rows and the columns represent the variables, the cells represent distance coefficients. 
  * The diagonal cells (i.e. the distance between a variable and itself) will be zero.
  * Compares two column vectors at a time. Use dice views to compare two row vectors at a time.
+ * <p>
+ * Each distance is computed once and mirrored.
+ * {@link #EUCLID} and {@link #COSINE} are derived from the inner products of all column pairs, <tt>X'X</tt>, computed by cache-blocked matrix multiplication;
+ * e.g. <tt>||x-y||^2 = ||x||^2 + ||y||^2 - 2 x.y</tt>.
+ * This is much faster, but less accurate for the Euclidean distance of nearly equal columns (absolute error around <tt>1.0e-8 * ||x||</tt>).
+ * {@link #MANHATTAN} is computed tile by tile, comparing a few dozen columns with a few dozen others piece by piece while the pieces stay in the cache.
+ * If parallel mode is switched on (see {@link cern.colt.matrix.impl.Parallel}), column pairs are compared in parallel; user defined functions must then be thread safe.
  * 
  * @param matrix any matrix; a column holds the values of a given variable (vector).
  * @param distanceFunction (EUCLID, CANBERRA, ..., or any user defined distance function operating on two vectors).
  * @return the distance matrix (<tt>n x n, n=matrix.columns</tt>).
  */
-public static DoubleMatrix2D distance(DoubleMatrix2D matrix, VectorVectorFunction distanceFunction) {
-	int columns = matrix.columns();
-	DoubleMatrix2D distance = new cern.colt.matrix.impl.DenseDoubleMatrix2D(columns,columns);
+public static DoubleMatrix2D distance(DoubleMatrix2D matrix, final VectorVectorFunction distanceFunction) {
+	final int columns = matrix.columns();
+	final int rows = matrix.rows();
+	boolean fits = (long) rows*columns <= Integer.MAX_VALUE;
+	if (fits && rows > 0 && (distanceFunction==EUCLID || distanceFunction==COSINE)) {
+		DoubleMatrix2D distance = crossProducts(matrix, false);
+		double[] norms = new double[columns];
+		for (int i=columns; --i >= 0; ) norms[i] = distance.getQuick(i,i);
+		boolean euclid = distanceFunction==EUCLID;
+		for (int i=columns; --i >= 0; ) {
+			for (int j=i; --j >= 0; ) {
+				double dot = distance.getQuick(i,j);
+				double d = euclid ? Math.sqrt(Math.max(0, norms[i] + norms[j] - 2*dot)) : 1 - dot / Math.sqrt(norms[i]*norms[j]);
+				distance.setQuick(i,j,d);
+				distance.setQuick(j,i,d); // symmetric
+			}
+		}
+		for (int i=columns; --i >= 0; ) distance.setQuick(i,i,0);
+		return distance;
+	}
+
+	final DoubleMatrix2D distance = new cern.colt.matrix.impl.DenseDoubleMatrix2D(columns,columns);
+	long cells = (long) columns*columns/2 * Math.max(rows,1);
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(distanceFunction) ? Parallel.pool(matrix.getPool(), cells) : null;
+
+	if (fits && distanceFunction==MANHATTAN) {
+		final double[][] cols = matrix.viewDice().toArray(); // columns in contiguous memory
+		final int tiles = (columns + TILE - 1) / TILE;
+		// the tile rows t and tiles-1-t together hold tiles+1 tiles, which balances the work of the range
+		Parallel.run(pool, (tiles+1)/2, cells,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					double[] sums = new double[TILE*TILE];
+					for (int t=from; t<to; t++) {
+						for (int u=0; u<=t; u++) manhattan(cols, rows, t, u, sums, distance);
+						int t2 = tiles-1-t;
+						if (t2 != t) for (int u=0; u<=t2; u++) manhattan(cols, rows, t2, u, sums, distance);
+					}
+					return 0;
+				}
+			}
+		);
+		return distance;
+	}
 
 	// cache views
-	DoubleMatrix1D[] cols = new DoubleMatrix1D[columns];
+	final DoubleMatrix1D[] cols = new DoubleMatrix1D[columns];
 	for (int i=columns; --i >= 0; ) {
 		cols[i] = matrix.viewColumn(i);
 	}
 
 	// work out all permutations
-	for (int i=columns; --i >= 0; ) {
-		for (int j=i; --j >= 0; ) {
-			double d = distanceFunction.apply(cols[i], cols[j]);
-			distance.setQuick(i,j,d);
-			distance.setQuick(j,i,d); // symmetric
+	// the rows k and columns-1-k of the triangle together hold columns-1 pairs, which balances the work of the range
+	Parallel.run(pool, (columns+1)/2, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int k=from; k<to; k++) {
+					int i = k;
+					for (int j=i; --j >= 0; ) set(i,j);
+					i = columns-1-k;
+					if (i != k) for (int j=i; --j >= 0; ) set(i,j);
+				}
+				return 0;
+			}
+			private void set(int i, int j) {
+				double d = distanceFunction.apply(cols[i], cols[j]);
+				distance.setQuick(i,j,d);
+				distance.setQuick(j,i,d); // symmetric
+			}
 		}
-	}
+	);
 	return distance;
 }
 /**
@@ -545,6 +657,38 @@ public static void main(String[] args) {
 	boolean print = args[2].equals("print");
 	demo2(rows,columns,print);
 }
+/**
+ * Computes the Manhattan distances between the columns of tile <tt>t</tt> and those of tile <tt>u</tt>, <tt>u &lt;= t</tt>, and stores them and their mirror images.
+ * The columns are compared <tt>CHUNK</tt> rows at a time, so that the pieces of the columns of both tiles stay in the cache.
+ * @param cols the columns of the matrix, each in a contiguous array.
+ * @param sums a buffer of at least <tt>TILE*TILE</tt> cells.
+ */
+private static void manhattan(double[][] cols, int rows, int t, int u, double[] sums, DoubleMatrix2D distance) {
+	int i0 = t*TILE, i1 = Math.min(i0+TILE, cols.length);
+	int j0 = u*TILE, j1 = Math.min(j0+TILE, cols.length);
+	java.util.Arrays.fill(sums, 0);
+	for (int from=0; from<rows; from += CHUNK) {
+		int to = Math.min(from+CHUNK, rows);
+		for (int i=i0; i<i1; i++) {
+			double[] x = cols[i];
+			int jEnd = t==u ? i : j1; // only below the diagonal
+			for (int j=j0; j<jEnd; j++) {
+				double[] y = cols[j];
+				double sum = 0;
+				for (int k=from; k<to; k++) sum += Math.abs(x[k]-y[k]);
+				sums[(i-i0)*TILE + j-j0] += sum;
+			}
+		}
+	}
+	for (int i=i0; i<i1; i++) {
+		int jEnd = t==u ? i : j1;
+		for (int j=j0; j<jEnd; j++) {
+			double d = sums[(i-i0)*TILE + j-j0];
+			distance.setQuick(i,j,d);
+			distance.setQuick(j,i,d); // symmetric
+		}
+	}
+}
 /**
 Constructs and returns a sampling view with a size of <tt>round(matrix.size() * fraction)</tt>.
 Samples "without replacement" from the uniform distribution.
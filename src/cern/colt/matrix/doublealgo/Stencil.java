@@ -12,6 +12,8 @@ import cern.colt.matrix.DoubleMatrix2D;
 import cern.colt.matrix.DoubleMatrix2DProcedure;
 import cern.colt.matrix.DoubleMatrix3D;
 import cern.colt.matrix.DoubleMatrix3DProcedure;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix3D;
 /**
 Stencil operations. For efficient finite difference operations.
 Applies a function to a moving <tt>3 x 3</tt> or <tt>3 x 3 x 3</tt> window.
@@ -19,15 +21,30 @@ Build on top of <tt>matrix.zAssignXXXNeighbors(...)</tt>.
 You can specify how many iterations shall at most be done, a convergence condition when iteration shall be terminated, and how many iterations shall pass between convergence checks.
 Always does two iterations at a time for efficiency.
 These class is for convencience and efficiency.
+<p>
+Dense matrices are processed with <tt>DenseDoubleMatrix2D.zAssign8Neighbors(B,function,sweeps)</tt> and <tt>DenseDoubleMatrix3D.zAssign27Neighbors(B,function,sweeps)</tt>,
+which apply up to {@link #BLOCKING} iterations tile by tile while the tile stays in the cache (temporal blocking), and in parallel if parallel mode is switched on (see {@link cern.colt.matrix.impl.Parallel}).
+Iterations are blocked only up to the next convergence check, so check rarely if possible.
 
 @author wolfgang.hoschek@cern.ch
 @version 1.0, 01/02/2000
 */
 public class Stencil extends Object {
+	/** the maximum number of iterations applied to dense matrices in a single pass over memory; always even. */
+	public static final int BLOCKING = 8;
+
 /**
  * Makes this class non instantiable, but still let's others inherit from it.
  */
 protected Stencil() {}
+/**
+ * Returns the number of iterations to do in one step, starting after iteration <tt>i</tt>: even, at most {@link #BLOCKING}, and not beyond the next convergence check.
+ */
+private static int blockSize(int i, int maxIterations, boolean checks, int convergenceIterations) {
+	int steps = Math.min(BLOCKING, maxIterations - i + (maxIterations - i) % 2);
+	if (checks) steps = Math.min(steps, convergenceIterations - i % convergenceIterations);
+	return steps;
+}
 /**
 27 point stencil operation.
 Applies a function to a moving <tt>3 x 3 x 3</tt> window.
@@ -48,9 +65,17 @@ public static int stencil27(DoubleMatrix3D A, cern.colt.function.Double27Functio
 
 	int i=0;
 	while (i<maxIterations) { // do two steps at a time for efficiency
-		A.zAssign27Neighbors(B,function);
-		B.zAssign27Neighbors(A,function);
-		i=i+2;
+		if (A instanceof DenseDoubleMatrix3D) { // several steps per pass over memory, until the next convergence check
+			int steps = blockSize(i,maxIterations,hasConverged!=null,convergenceIterations);
+			((DenseDoubleMatrix3D) A).zAssign27Neighbors(B,function,steps/2);
+			((DenseDoubleMatrix3D) B).zAssign27Neighbors(A,function,steps/2);
+			i=i+steps;
+		}
+		else {
+			A.zAssign27Neighbors(B,function);
+			B.zAssign27Neighbors(A,function);
+			i=i+2;
+		}
 		if (i%convergenceIterations == 0 && hasConverged!=null) {
 			if (hasConverged.apply(A)) return i;
 		}
@@ -77,9 +102,17 @@ public static int stencil9(DoubleMatrix2D A, cern.colt.function.Double9Function
 
 	int i=0;
 	while (i<maxIterations) { // do two steps at a time for efficiency
-		A.zAssign8Neighbors(B,function);
-		B.zAssign8Neighbors(A,function);
-		i=i+2;
+		if (A instanceof DenseDoubleMatrix2D) { // several steps per pass over memory, until the next convergence check
+			int steps = blockSize(i,maxIterations,hasConverged!=null,convergenceIterations);
+			((DenseDoubleMatrix2D) A).zAssign8Neighbors(B,function,steps/2);
+			((DenseDoubleMatrix2D) B).zAssign8Neighbors(A,function,steps/2);
+			i=i+steps;
+		}
+		else {
+			A.zAssign8Neighbors(B,function);
+			B.zAssign8Neighbors(A,function);
+			i=i+2;
+		}
 		if (i%convergenceIterations == 0 && hasConverged!=null) {
 			if (hasConverged.apply(A)) return i;
 		}
@@ -0,0 +1,312 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+/**
+Plan of a complex discrete Fourier transform of a fixed size <tt>n</tt>, on interleaved data (<tt>re0, im0, re1, im1, ...</tt>) in a <tt>double[]</tt>.
+<p>
+Sizes whose prime factors are all at most {@link #MAX_RADIX} are transformed by a self sorting mixed radix (Stockham) algorithm,
+with specialized butterflies for the radices 2, 3 and 4; other sizes by Bluestein's algorithm, i.e. by a convolution computed with power of two transforms.
+Either way the cost is <tt>O(n log n)</tt>.
+All tables are computed once, on construction; a plan is immutable and may be used by several threads at once, each with its own work array.
+
+@version 1.0, 10/18/26
+*/
+class ComplexFFT {
+	/** the largest radix handled directly; sizes with larger prime factors use Bluestein's algorithm. */
+	static final int MAX_RADIX = 31;
+
+	final int n;
+
+	// mixed radix
+	int[] radices;
+	double[][] twiddles; // per stage: w^(p*k) for p < m, 0 < k < radix, w = exp(-2 pi i / length)
+	double[][] roots; // per stage: exp(-2 pi i j / radix) for j < radix, for generic radices
+
+	// Bluestein
+	ComplexFFT inner; // power of two plan of size m >= 2n-1
+	double[] chirp; // exp(-pi i k^2 / n)
+	double[] kernel; // transform of the conjugate chirp, wrapped around
+/**
+ * Constructs a plan for transforms of size <tt>n</tt>.
+ * @throws IllegalArgumentException if <tt>n &lt; 1</tt>.
+ */
+ComplexFFT(int n) {
+	if (n < 1) throw new IllegalArgumentException("size must be positive: "+n);
+	this.n = n;
+	int[] factors = factor(n);
+	if (factors == null) {
+		setUpBluestein();
+		return;
+	}
+	this.radices = factors;
+	this.twiddles = new double[factors.length][];
+	this.roots = new double[factors.length][];
+	int length = n;
+	for (int s=0; s<factors.length; s++) {
+		int r = factors[s], m = length / r;
+		double[] tw = new double[2*m*(r-1)];
+		for (int p=0, i=0; p<m; p++) {
+			for (int k=1; k<r; k++) {
+				double angle = -2*Math.PI * (((long) p*k) % length) / length;
+				tw[i++] = Math.cos(angle);
+				tw[i++] = Math.sin(angle);
+			}
+		}
+		twiddles[s] = tw;
+		if (r > 4) roots[s] = unitRoots(r);
+		length = m;
+	}
+}
+/**
+ * Returns the radices of <tt>n</tt>, fours first; or <tt>null</tt> if <tt>n</tt> has a prime factor larger than {@link #MAX_RADIX}.
+ */
+static int[] factor(int n) {
+	cern.colt.list.IntArrayList factors = new cern.colt.list.IntArrayList();
+	while (n % 4 == 0) { factors.add(4); n /= 4; }
+	for (int p=2; p <= MAX_RADIX && n > 1; p++) {
+		while (n % p == 0) { factors.add(p); n /= p; }
+	}
+	if (n > 1) return null;
+	factors.trimToSize();
+	return factors.elements();
+}
+/**
+ * Transforms the <tt>n</tt> complex numbers at <tt>a[offset..offset+2n-1]</tt> in place; <tt>A[k] = Sum(a[j] * exp(-2 pi i j k / n))</tt>.
+ * @param work a work array of at least {@link #workSize()} elements.
+ */
+void forward(double[] a, int offset, double[] work) {
+	forward(a, offset, work, 0);
+}
+/**
+ * Transforms in place, using <tt>work[workOffset..workOffset+workSize()-1]</tt>.
+ */
+protected void forward(double[] a, int offset, double[] work, int workOffset) {
+	if (n == 1) return;
+	if (radices == null) {
+		bluestein(a, offset, work, workOffset);
+		return;
+	}
+	stockham(a, offset, work, workOffset);
+}
+/**
+ * Transforms the <tt>n</tt> complex numbers at <tt>a[offset..offset+2n-1]</tt> in place; <tt>a[j] = Sum(A[k] * exp(2 pi i j k / n))</tt>, divided by <tt>n</tt> if <tt>scale</tt>.
+ * @param work a work array of at least {@link #workSize()} elements.
+ */
+void inverse(double[] a, int offset, double[] work, boolean scale) {
+	inverse(a, offset, work, 0, scale);
+}
+/**
+ * Transforms back in place, using <tt>work[workOffset..workOffset+workSize()-1]</tt>.
+ */
+protected void inverse(double[] a, int offset, double[] work, int workOffset, boolean scale) {
+	// conj(forward(conj(a)))
+	int end = offset + 2*n;
+	for (int i=offset+1; i<end; i+=2) a[i] = -a[i];
+	forward(a, offset, work, workOffset);
+	double f = scale ? 1.0 / n : 1;
+	for (int i=offset; i<end; i+=2) {
+		a[i] *= f;
+		a[i+1] *= -f;
+	}
+}
+/**
+ * Bluestein's algorithm: <tt>A[k] = c[k] * Sum(a[j] c[j] * conj(c[k-j]))</tt>, with the chirp <tt>c[k] = exp(-pi i k^2 / n)</tt>; the sum is a cyclic convolution of size <tt>m</tt>.
+ */
+protected void bluestein(double[] a, int offset, double[] work, int wo) {
+	int m = inner.n;
+	double[] c = chirp, K = kernel;
+	java.util.Arrays.fill(work, wo + 2*n, wo + 2*m, 0);
+	for (int k=0; k<n; k++) {
+		double re = a[offset+2*k], im = a[offset+2*k+1];
+		work[wo+2*k] = re*c[2*k] - im*c[2*k+1];
+		work[wo+2*k+1] = re*c[2*k+1] + im*c[2*k];
+	}
+	// the convolution occupies work[wo..wo+2m-1], the inner plan works behind it
+	inner.forward(work, wo, work, wo + 2*m);
+	for (int k=0; k<m; k++) {
+		double re = work[wo+2*k], im = work[wo+2*k+1];
+		work[wo+2*k] = re*K[2*k] - im*K[2*k+1];
+		work[wo+2*k+1] = re*K[2*k+1] + im*K[2*k];
+	}
+	inner.inverse(work, wo, work, wo + 2*m, true);
+	for (int k=0; k<n; k++) {
+		double re = work[wo+2*k], im = work[wo+2*k+1];
+		a[offset+2*k] = re*c[2*k] - im*c[2*k+1];
+		a[offset+2*k+1] = re*c[2*k+1] + im*c[2*k];
+	}
+}
+/**
+ * Computes the tables of Bluestein's algorithm.
+ */
+protected void setUpBluestein() {
+	int m = Integer.highestOneBit(2*n - 1);
+	if (m < 2*n - 1) m <<= 1;
+	this.inner = new ComplexFFT(m);
+	this.chirp = new double[2*n];
+	long modulus = 2L * n;
+	for (int k=0; k<n; k++) {
+		double angle = -Math.PI * (((long) k*k) % modulus) / n;
+		chirp[2*k] = Math.cos(angle);
+		chirp[2*k+1] = Math.sin(angle);
+	}
+	this.kernel = new double[2*m];
+	kernel[0] = chirp[0];
+	kernel[1] = -chirp[1];
+	for (int k=1; k<n; k++) {
+		kernel[2*k] = kernel[2*(m-k)] = chirp[2*k];
+		kernel[2*k+1] = kernel[2*(m-k)+1] = -chirp[2*k+1];
+	}
+	inner.forward(kernel, 0, new double[inner.workSize()]);
+}
+/**
+ * Self sorting mixed radix transform; stage <tt>s</tt> maps <tt>x[q + stride*(p + j*m)]</tt> to <tt>y[q + stride*(r*p + k)]</tt>.
+ */
+protected void stockham(double[] a, int offset, double[] work, int workOffset) {
+	double[] x = a, y = work;
+	int xo = offset, yo = workOffset;
+	int length = n, stride = 1;
+	boolean swapped = false; // a and work may be the same array
+	for (int s=0; s<radices.length; s++) {
+		int r = radices[s], m = length / r;
+		double[] tw = twiddles[s];
+		switch (r) {
+			case 2: radix2(x, xo, y, yo, m, stride, tw); break;
+			case 3: radix3(x, xo, y, yo, m, stride, tw); break;
+			case 4: radix4(x, xo, y, yo, m, stride, tw); break;
+			default: radixGeneric(x, xo, y, yo, r, m, stride, tw, roots[s]); break;
+		}
+		double[] t = x; x = y; y = t;
+		int to = xo; xo = yo; yo = to;
+		swapped = !swapped;
+		length = m;
+		stride *= r;
+	}
+	if (swapped) System.arraycopy(x, xo, a, offset, 2*n);
+}
+/**
+ * A radix 2 stage.
+ */
+protected static void radix2(double[] x, int xo, double[] y, int yo, int m, int s, double[] tw) {
+	for (int p=0; p<m; p++) {
+		double wr = tw[2*p], wi = tw[2*p+1];
+		int i0 = xo + 2*s*p, i1 = i0 + 2*s*m;
+		int o0 = yo + 2*s*2*p, o1 = o0 + 2*s;
+		for (int q=0; q<2*s; q+=2) {
+			double ar = x[i0+q], ai = x[i0+q+1], br = x[i1+q], bi = x[i1+q+1];
+			y[o0+q] = ar + br;
+			y[o0+q+1] = ai + bi;
+			double dr = ar - br, di = ai - bi;
+			y[o1+q] = dr*wr - di*wi;
+			y[o1+q+1] = dr*wi + di*wr;
+		}
+	}
+}
+/**
+ * A radix 3 stage.
+ */
+protected static void radix3(double[] x, int xo, double[] y, int yo, int m, int s, double[] tw) {
+	final double h = Math.sqrt(0.75);
+	for (int p=0; p<m; p++) {
+		double w1r = tw[4*p], w1i = tw[4*p+1], w2r = tw[4*p+2], w2i = tw[4*p+3];
+		int i0 = xo + 2*s*p, i1 = i0 + 2*s*m, i2 = i1 + 2*s*m;
+		int o0 = yo + 2*s*3*p, o1 = o0 + 2*s, o2 = o1 + 2*s;
+		for (int q=0; q<2*s; q+=2) {
+			double a0r = x[i0+q], a0i = x[i0+q+1], a1r = x[i1+q], a1i = x[i1+q+1], a2r = x[i2+q], a2i = x[i2+q+1];
+			double tr = a1r + a2r, ti = a1i + a2i;
+			double ur = h*(a1r - a2r), ui = h*(a1i - a2i);
+			double cr = a0r - 0.5*tr, ci = a0i - 0.5*ti;
+			y[o0+q] = a0r + tr;
+			y[o0+q+1] = a0i + ti;
+			double b1r = cr + ui, b1i = ci - ur;
+			double b2r = cr - ui, b2i = ci + ur;
+			y[o1+q] = b1r*w1r - b1i*w1i;
+			y[o1+q+1] = b1r*w1i + b1i*w1r;
+			y[o2+q] = b2r*w2r - b2i*w2i;
+			y[o2+q+1] = b2r*w2i + b2i*w2r;
+		}
+	}
+}
+/**
+ * A radix 4 stage.
+ */
+protected static void radix4(double[] x, int xo, double[] y, int yo, int m, int s, double[] tw) {
+	for (int p=0; p<m; p++) {
+		double w1r = tw[6*p], w1i = tw[6*p+1], w2r = tw[6*p+2], w2i = tw[6*p+3], w3r = tw[6*p+4], w3i = tw[6*p+5];
+		int i0 = xo + 2*s*p, i1 = i0 + 2*s*m, i2 = i1 + 2*s*m, i3 = i2 + 2*s*m;
+		int o0 = yo + 2*s*4*p, o1 = o0 + 2*s, o2 = o1 + 2*s, o3 = o2 + 2*s;
+		for (int q=0; q<2*s; q+=2) {
+			double a0r = x[i0+q], a0i = x[i0+q+1], a1r = x[i1+q], a1i = x[i1+q+1];
+			double a2r = x[i2+q], a2i = x[i2+q+1], a3r = x[i3+q], a3i = x[i3+q+1];
+			double t0r = a0r + a2r, t0i = a0i + a2i, t1r = a0r - a2r, t1i = a0i - a2i;
+			double t2r = a1r + a3r, t2i = a1i + a3i, t3r = a1r - a3r, t3i = a1i - a3i;
+			y[o0+q] = t0r + t2r;
+			y[o0+q+1] = t0i + t2i;
+			double b1r = t1r + t3i, b1i = t1i - t3r; // t1 - i t3
+			double b2r = t0r - t2r, b2i = t0i - t2i;
+			double b3r = t1r - t3i, b3i = t1i + t3r; // t1 + i t3
+			y[o1+q] = b1r*w1r - b1i*w1i;
+			y[o1+q+1] = b1r*w1i + b1i*w1r;
+			y[o2+q] = b2r*w2r - b2i*w2i;
+			y[o2+q+1] = b2r*w2i + b2i*w2r;
+			y[o3+q] = b3r*w3r - b3i*w3i;
+			y[o3+q+1] = b3r*w3i + b3i*w3r;
+		}
+	}
+}
+/**
+ * A stage of any radix, by direct summation.
+ */
+protected static void radixGeneric(double[] x, int xo, double[] y, int yo, int r, int m, int s, double[] tw, double[] roots) {
+	double[] b = new double[2*r];
+	for (int p=0; p<m; p++) {
+		for (int q=0; q<2*s; q+=2) {
+			for (int k=0; k<r; k++) {
+				double sr = 0, si = 0;
+				for (int j=0, jk=0; j<r; j++, jk += k) {
+					if (jk >= r) jk -= r;
+					int i = xo + 2*s*(p + j*m) + q;
+					double cr = roots[2*jk], ci = roots[2*jk+1];
+					sr += x[i]*cr - x[i+1]*ci;
+					si += x[i]*ci + x[i+1]*cr;
+				}
+				b[2*k] = sr;
+				b[2*k+1] = si;
+			}
+			int o = yo + 2*s*r*p + q;
+			y[o] = b[0];
+			y[o+1] = b[1];
+			for (int k=1; k<r; k++) {
+				double wr = tw[2*(p*(r-1) + k-1)], wi = tw[2*(p*(r-1) + k-1)+1];
+				y[o+2*s*k] = b[2*k]*wr - b[2*k+1]*wi;
+				y[o+2*s*k+1] = b[2*k]*wi + b[2*k+1]*wr;
+			}
+		}
+	}
+}
+/**
+ * Returns <tt>exp(-2 pi i j / r)</tt> for <tt>j &lt; r</tt>, interleaved.
+ */
+static double[] unitRoots(int r) {
+	double[] roots = new double[2*r];
+	for (int j=0; j<r; j++) {
+		double angle = -2*Math.PI * j / r;
+		roots[2*j] = Math.cos(angle);
+		roots[2*j+1] = Math.sin(angle);
+	}
+	return roots;
+}
+/**
+ * Returns the minimum length of the work array passed to the transforms.
+ */
+int workSize() {
+	if (radices == null) return 4*inner.n;
+	return 2*n;
+}
+}
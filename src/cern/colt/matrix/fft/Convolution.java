@@ -0,0 +1,151 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.DoubleMatrix3D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix3D;
+import cern.colt.matrix.impl.Parallel;
+/**
+Linear convolution and correlation of real data via fast Fourier transforms, in time <tt>O(N log N)</tt> for <tt>N</tt> cells, whatever the size of the kernel.
+<p>
+All methods compute the <i>full</i> result, which has, along each dimension, the size <tt>n+m-1</tt> of data of size <tt>n</tt> and a kernel of size <tt>m</tt>:
+<pre>
+convolve(a,b)[k]  = Sum(a[j] * b[k-j])
+correlate(a,b)[k] = Sum(a[j+k-(m-1)] * b[j])    (lag k-(m-1))
+</pre>
+summing over all indexes within range; data outside of the matrices counts as zero.
+The part of the same size as the data, centered as usual for filters and stencils, is a view of the result; e.g. <tt>convolve(A,K).viewPart(K.rows()/2, K.columns()/2, A.rows(), A.columns())</tt>.
+<p>
+The data is padded with zeros to sizes with small prime factors only, see {@link DoubleFFT1D#goodSize(int)}.
+Direct summation is cheaper for kernels of a few cells only.
+Results are new dense matrices; the arguments are left unchanged.
+
+@version 1.0, 10/18/26
+*/
+public final class Convolution {
+/**
+ * Makes this class non instantiable.
+ */
+private Convolution() {}
+/**
+ * Returns the full linear convolution of <tt>a</tt> and <tt>b</tt>, of size <tt>a.size()+b.size()-1</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> or <tt>b</tt> is empty.
+ */
+public static DoubleMatrix1D convolve(DoubleMatrix1D a, DoubleMatrix1D b) {
+	if (a.size() == 0 || b.size() == 0) throw new IllegalArgumentException("empty argument: "+a.toStringShort()+", "+b.toStringShort());
+	int size = a.size() + b.size() - 1;
+	RealFFT plan = new RealFFT(DoubleFFT1D.goodSize(size));
+	int n = plan.n;
+	double[] x = new double[n], y = new double[n], work = new double[plan.workSize()];
+	a.toArray(x);
+	b.toArray(y);
+	plan.forward(x, 0, work, 0);
+	plan.forward(y, 0, work, 0);
+	// multiply the half complex spectra
+	x[0] *= y[0];
+	for (int k=1; 2*k<n; k++) {
+		double re = x[k]*y[k] - x[n-k]*y[n-k];
+		x[n-k] = x[k]*y[n-k] + x[n-k]*y[k];
+		x[k] = re;
+	}
+	if (n % 2 == 0) x[n/2] *= y[n/2];
+	plan.inverse(x, 0, work, 0, true);
+	DoubleMatrix1D result = new DenseDoubleMatrix1D(size);
+	for (int i=0; i<size; i++) result.setQuick(i, x[i]);
+	return result;
+}
+/**
+ * Returns the full linear convolution of <tt>A</tt> and <tt>B</tt>, of shape <tt>(A.rows()+B.rows()-1) x (A.columns()+B.columns()-1)</tt>.
+ * @throws IllegalArgumentException if <tt>A</tt> or <tt>B</tt> is empty.
+ */
+public static DoubleMatrix2D convolve(DoubleMatrix2D A, DoubleMatrix2D B) {
+	if (A.size() == 0 || B.size() == 0) throw new IllegalArgumentException("empty argument: "+A.toStringShort()+", "+B.toStringShort());
+	int rows = A.rows() + B.rows() - 1, columns = A.columns() + B.columns() - 1;
+	DoubleFFT2D fft = new DoubleFFT2D(DoubleFFT1D.goodSize(rows), DoubleFFT1D.goodSize(columns));
+	DoubleMatrix2D X = fft.realForward(pad(A, fft.rows(), fft.columns()));
+	DoubleMatrix2D Y = fft.realForward(pad(B, fft.rows(), fft.columns()));
+	multiply(X, Y);
+	return fft.realInverse(X, true).viewPart(0,0,rows,columns).copy();
+}
+/**
+ * Returns the full linear convolution of <tt>A</tt> and <tt>B</tt>, of shape <tt>(A.slices()+B.slices()-1) x (A.rows()+B.rows()-1) x (A.columns()+B.columns()-1)</tt>.
+ * @throws IllegalArgumentException if <tt>A</tt> or <tt>B</tt> is empty.
+ */
+public static DoubleMatrix3D convolve(DoubleMatrix3D A, DoubleMatrix3D B) {
+	if (A.size() == 0 || B.size() == 0) throw new IllegalArgumentException("empty argument: "+A.toStringShort()+", "+B.toStringShort());
+	int slices = A.slices() + B.slices() - 1, rows = A.rows() + B.rows() - 1, columns = A.columns() + B.columns() - 1;
+	DoubleFFT3D fft = new DoubleFFT3D(DoubleFFT1D.goodSize(slices), DoubleFFT1D.goodSize(rows), DoubleFFT1D.goodSize(columns));
+	DoubleMatrix3D X = fft.realForward(pad(A, fft.slices(), fft.rows(), fft.columns()));
+	DoubleMatrix3D Y = fft.realForward(pad(B, fft.slices(), fft.rows(), fft.columns()));
+	for (int s=0; s<X.slices(); s++) multiply(X.viewSlice(s), Y.viewSlice(s));
+	return fft.realInverse(X, true).viewPart(0,0,0,slices,rows,columns).copy();
+}
+/**
+ * Returns the full linear correlation of <tt>a</tt> and <tt>b</tt>, of size <tt>a.size()+b.size()-1</tt>; element <tt>k</tt> corresponds to the lag <tt>k-(b.size()-1)</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> or <tt>b</tt> is empty.
+ */
+public static DoubleMatrix1D correlate(DoubleMatrix1D a, DoubleMatrix1D b) {
+	return convolve(a, b.viewFlip());
+}
+/**
+ * Returns the full linear correlation of <tt>A</tt> and <tt>B</tt>; the convolution of <tt>A</tt> with <tt>B</tt> flipped along both dimensions.
+ * @throws IllegalArgumentException if <tt>A</tt> or <tt>B</tt> is empty.
+ */
+public static DoubleMatrix2D correlate(DoubleMatrix2D A, DoubleMatrix2D B) {
+	return convolve(A, B.viewRowFlip().viewColumnFlip());
+}
+/**
+ * Returns the full linear correlation of <tt>A</tt> and <tt>B</tt>; the convolution of <tt>A</tt> with <tt>B</tt> flipped along all three dimensions.
+ * @throws IllegalArgumentException if <tt>A</tt> or <tt>B</tt> is empty.
+ */
+public static DoubleMatrix3D correlate(DoubleMatrix3D A, DoubleMatrix3D B) {
+	return convolve(A, B.viewSliceFlip().viewRowFlip().viewColumnFlip());
+}
+/**
+ * Multiplies the interleaved complex numbers of <tt>X</tt> by those of <tt>Y</tt>, in place.
+ */
+private static void multiply(final DoubleMatrix2D X, final DoubleMatrix2D Y) {
+	final int columns = X.columns();
+	long cells = X.size();
+	Parallel.run(Parallel.pool(X.getPool(),cells), X.rows(), cells, new Parallel.Body() {
+		public double apply(int from, int to) {
+			for (int r=from; r<to; r++) {
+				for (int c=0; c<columns; c+=2) {
+					double xr = X.getQuick(r,c), xi = X.getQuick(r,c+1), yr = Y.getQuick(r,c), yi = Y.getQuick(r,c+1);
+					X.setQuick(r, c, xr*yr - xi*yi);
+					X.setQuick(r, c+1, xr*yi + xi*yr);
+				}
+			}
+			return 0;
+		}
+	});
+}
+/**
+ * Returns a new dense matrix of the given shape, holding <tt>A</tt> in its upper left corner, and zeros elsewhere.
+ */
+private static DoubleMatrix2D pad(DoubleMatrix2D A, int rows, int columns) {
+	DoubleMatrix2D padded = new DenseDoubleMatrix2D(rows, columns);
+	padded.setPool(A.getPool());
+	padded.viewPart(0,0,A.rows(),A.columns()).assign(A);
+	return padded;
+}
+/**
+ * Returns a new dense matrix of the given shape, holding <tt>A</tt> in its first corner, and zeros elsewhere.
+ */
+private static DoubleMatrix3D pad(DoubleMatrix3D A, int slices, int rows, int columns) {
+	DoubleMatrix3D padded = new DenseDoubleMatrix3D(slices, rows, columns);
+	padded.setPool(A.getPool());
+	padded.viewPart(0,0,0,A.slices(),A.rows(),A.columns()).assign(A);
+	return padded;
+}
+}
@@ -0,0 +1,158 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+import cern.colt.matrix.DoubleMatrix1D;
+/**
+Fast Fourier, cosine and sine transforms of one-dimensional data of a fixed size <tt>n</tt>, which may be any positive number.
+<p>
+<b>Complex data</b> of size <tt>n</tt> is held by a matrix of size <tt>2*n</tt>, the real and imaginary parts interleaved:
+<tt>a[2*k]</tt> is the real part and <tt>a[2*k+1]</tt> the imaginary part of element <tt>k</tt>.
+The forward transform computes <tt>A[k] = Sum(a[j] * exp(-2 pi i j k / n))</tt>, the inverse transform <tt>a[j] = Sum(A[k] * exp(2 pi i j k / n))</tt>, optionally divided by <tt>n</tt>.
+<p>
+<b>Real data</b> of size <tt>n</tt> is transformed in place into the <i>half complex</i> layout, which holds the non redundant half of the (conjugate symmetric) spectrum in <tt>n</tt> numbers:
+<tt>Re A[0], Re A[1], ..., Re A[n/2], Im A[(n+1)/2-1], ..., Im A[2], Im A[1]</tt>.
+<p>
+The <b>cosine and sine transforms</b> are those of type II, <tt>A[k] = Sum(a[j] * cos(pi (2j+1) k / (2n)))</tt> and <tt>A[k] = Sum(a[j] * sin(pi (2j+1) (k+1) / (2n)))</tt>,
+and their inverses, of type III.
+<p>
+Inverse transforms divide by <tt>n</tt> only if asked to; without scaling, the inverse of the forward transform yields <tt>n</tt> times the original data.
+All transforms take time <tt>O(n log n)</tt>, for any <tt>n</tt>; sizes with small prime factors (<tt>2, 3, 5, 7</tt>) are fastest, see {@link #goodSize(int)}.
+<p>
+A transform object is a <i>plan</i>: it computes all tables once, on construction, and can then be applied to any number of matrices.
+It is immutable and may be shared by several threads.
+Any matrix of the right size may be transformed, whatever its implementation; its cells are gathered into an array, transformed, and scattered back.
+To transform many vectors of the same size, use {@link DoubleFFT2D} on a matrix holding them, or apply a plan to each in parallel.
+<p>
+Example:
+<pre>
+DoubleMatrix1D a = ... // 2*1000 doubles
+DoubleFFT1D fft = new DoubleFFT1D(1000);
+fft.complexForward(a);
+fft.complexInverse(a,true); // a is back to the original
+</pre>
+
+@see DoubleFFT2D
+@see DoubleFFT3D
+@see Convolution
+@version 1.0, 10/18/26
+*/
+public class DoubleFFT1D {
+	protected final int n;
+	protected final ComplexFFT complex;
+	protected final RealFFT real;
+/**
+ * Constructs a plan for transforms of size <tt>n</tt>.
+ * @throws IllegalArgumentException if <tt>n &lt; 1</tt>.
+ */
+public DoubleFFT1D(int n) {
+	if (n < 1) throw new IllegalArgumentException("size must be positive: "+n);
+	this.n = n;
+	this.complex = new ComplexFFT(n);
+	this.real = new RealFFT(n);
+}
+/**
+ * Applies the given transform to <tt>a</tt>, which must hold exactly <tt>op.length</tt> cells.
+ */
+private void apply(LineOp op, DoubleMatrix1D a) {
+	if (a.size() != op.length) throw new IllegalArgumentException("Incompatible size: "+a.toStringShort()+", expected "+op.length);
+	double[] values = new double[op.length];
+	a.toArray(values);
+	op.apply(values, new double[op.workSize()]);
+	a.assign(values);
+}
+/**
+ * Computes the forward Fourier transform of the <tt>n</tt> complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of size <tt>2*n</tt>.
+ * @throws IllegalArgumentException if <tt>a.size() != 2*n</tt>.
+ */
+public void complexForward(DoubleMatrix1D a) {
+	apply(LineOp.complex(complex,false,false), a);
+}
+/**
+ * Computes the inverse Fourier transform of the <tt>n</tt> complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of size <tt>2*n</tt>.
+ * @param scale whether to divide the result by <tt>n</tt>.
+ * @throws IllegalArgumentException if <tt>a.size() != 2*n</tt>.
+ */
+public void complexInverse(DoubleMatrix1D a, boolean scale) {
+	apply(LineOp.complex(complex,true,scale), a);
+}
+/**
+ * Computes the discrete cosine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void dct(DoubleMatrix1D a) {
+	apply(LineOp.real(real,LineOp.DCT,false), a);
+}
+/**
+ * Computes the discrete sine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void dst(DoubleMatrix1D a) {
+	apply(LineOp.real(real,LineOp.DST,false), a);
+}
+/**
+ * Returns the smallest number <tt>&gt;= n</tt> that has no prime factors other than <tt>2, 3</tt> and <tt>5</tt>; a size transforms of which are particularly fast.
+ * Padding data with zeros to such a size pays off for sizes with large prime factors, if the application allows it, e.g. for convolutions.
+ * @throws IllegalArgumentException if <tt>n &lt; 1</tt> or the result would exceed <tt>Integer.MAX_VALUE</tt>.
+ */
+public static int goodSize(int n) {
+	if (n < 1) throw new IllegalArgumentException("size must be positive: "+n);
+	long best = Long.MAX_VALUE;
+	for (long p2 = 1; p2 < best; p2 *= 2) {
+		for (long p3 = p2; p3 < best; p3 *= 3) {
+			long p5 = p3;
+			while (p5 < n) p5 *= 5;
+			if (p5 < best) best = p5;
+			if (p3 >= n) break;
+		}
+		if (p2 >= n) break;
+	}
+	if (best > Integer.MAX_VALUE) throw new IllegalArgumentException("size too large: "+n);
+	return (int) best;
+}
+/**
+ * Computes the inverse of {@link #dct(DoubleMatrix1D)}, the discrete cosine transform of type III, in place.
+ * @param scale whether to divide the result by <tt>n</tt>; if <tt>false</tt> the result is <tt>n</tt> times the original data.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void idct(DoubleMatrix1D a, boolean scale) {
+	apply(LineOp.real(real,LineOp.IDCT,scale), a);
+}
+/**
+ * Computes the inverse of {@link #dst(DoubleMatrix1D)}, the discrete sine transform of type III, in place.
+ * @param scale whether to divide the result by <tt>n</tt>; if <tt>false</tt> the result is <tt>n</tt> times the original data.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void idst(DoubleMatrix1D a, boolean scale) {
+	apply(LineOp.real(real,LineOp.IDST,scale), a);
+}
+/**
+ * Computes the Fourier transform of the <tt>n</tt> reals held by <tt>a</tt>, in place, in half complex layout.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void realForward(DoubleMatrix1D a) {
+	apply(LineOp.real(real,LineOp.FORWARD,false), a);
+}
+/**
+ * Computes the inverse of {@link #realForward(DoubleMatrix1D)}, in place; maps a spectrum in half complex layout back to <tt>n</tt> reals.
+ * @param scale whether to divide the result by <tt>n</tt>.
+ * @throws IllegalArgumentException if <tt>a.size() != n</tt>.
+ */
+public void realInverse(DoubleMatrix1D a, boolean scale) {
+	apply(LineOp.real(real,LineOp.INVERSE,scale), a);
+}
+/**
+ * Returns the size of the transforms.
+ */
+public int size() {
+	return n;
+}
+}
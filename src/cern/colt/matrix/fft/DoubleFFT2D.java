@@ -0,0 +1,187 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+/**
+Fast Fourier, cosine and sine transforms of two-dimensional data of a fixed shape <tt>rows x columns</tt>, which may be any positive numbers.
+The transforms are separable: they apply the one-dimensional transforms of {@link DoubleFFT1D} to all rows, then to all columns.
+The rows, and then the columns, are processed in parallel if parallel mode is switched on, see {@link cern.colt.matrix.impl.Parallel}.
+<p>
+<b>Complex data</b> is held by a <tt>rows x 2*columns</tt> matrix, the real and imaginary parts interleaved within each row:
+<tt>a[r,2*c]</tt> is the real part and <tt>a[r,2*c+1]</tt> the imaginary part of element <tt>[r,c]</tt>.
+The complex transforms work in place.
+<p>
+<b>Real data</b> is held by a <tt>rows x columns</tt> matrix.
+Its spectrum is conjugate symmetric, so that {@link #realForward(DoubleMatrix2D)} returns the non redundant part only:
+the first <tt>columns/2+1</tt> columns of the complex spectrum, as a new <tt>rows x 2*(columns/2+1)</tt> matrix in the interleaved layout.
+{@link #realInverse(DoubleMatrix2D,boolean)} maps such a half spectrum back to real data.
+<p>
+The cosine and sine transforms (of type II, with type III as inverse) work in place on <tt>rows x columns</tt> matrices.
+Inverse transforms divide by <tt>rows*columns</tt> only if asked to.
+A transform object is a plan; it is immutable and may be shared by several threads.
+<p>
+Example:
+<pre>
+DoubleMatrix2D image = ... // 480 x 640
+DoubleFFT2D fft = new DoubleFFT2D(480,640);
+DoubleMatrix2D spectrum = fft.realForward(image); // 480 x 642
+... filter the spectrum ...
+DoubleMatrix2D filtered = fft.realInverse(spectrum,true); // 480 x 640
+</pre>
+
+@see DoubleFFT1D
+@see Convolution
+@version 1.0, 10/18/26
+*/
+public class DoubleFFT2D {
+	protected final int rows, columns;
+	protected final ComplexFFT rowComplex, columnComplex; // of size columns and rows
+	protected final RealFFT rowReal, columnReal;
+/**
+ * Constructs a plan for transforms of shape <tt>rows x columns</tt>.
+ * @throws IllegalArgumentException if <tt>rows &lt; 1 || columns &lt; 1</tt>.
+ */
+public DoubleFFT2D(int rows, int columns) {
+	if (rows < 1 || columns < 1) throw new IllegalArgumentException("shape must be positive: "+rows+" x "+columns);
+	this.rows = rows;
+	this.columns = columns;
+	this.rowComplex = new ComplexFFT(columns);
+	this.rowReal = new RealFFT(columns);
+	this.columnComplex = rows == columns ? rowComplex : new ComplexFFT(rows);
+	this.columnReal = rows == columns ? rowReal : new RealFFT(rows);
+}
+/**
+ * Applies the given transform to all columns of <tt>a</tt>; to all pairs of adjacent columns holding complex numbers, if <tt>complex</tt>.
+ */
+private static void alongColumns(LineOp op, final DoubleMatrix2D a, final boolean complex) {
+	op.along(new LineOp.Lines() {
+		DoubleMatrix1D get(int i) { return a.viewColumn(complex ? 2*i : i); }
+		DoubleMatrix1D imaginary(int i) { return complex ? a.viewColumn(2*i+1) : null; }
+	}, complex ? a.columns()/2 : a.columns(), a.getPool());
+}
+/**
+ * Applies the given transform to all rows of <tt>a</tt>.
+ */
+private static void alongRows(LineOp op, final DoubleMatrix2D a) {
+	op.along(new LineOp.Lines() {
+		DoubleMatrix1D get(int i) { return a.viewRow(i); }
+	}, a.rows(), a.getPool());
+}
+/**
+ * Checks the shape of an argument.
+ */
+private static void checkShape(DoubleMatrix2D a, int rows, int columns) {
+	if (a.rows() != rows || a.columns() != columns) throw new IllegalArgumentException("Incompatible shape: "+a.toStringShort()+", expected "+rows+" x "+columns);
+}
+/**
+ * Returns the number of columns of the transforms.
+ */
+public int columns() {
+	return columns;
+}
+/**
+ * Computes the forward Fourier transform of the complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of shape <tt>rows x 2*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public void complexForward(DoubleMatrix2D a) {
+	checkShape(a, rows, 2*columns);
+	alongRows(LineOp.complex(rowComplex,false,false), a);
+	alongColumns(LineOp.complex(columnComplex,false,false), a, true);
+}
+/**
+ * Computes the inverse Fourier transform of the complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of shape <tt>rows x 2*columns</tt>.
+ * @param scale whether to divide the result by <tt>rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public void complexInverse(DoubleMatrix2D a, boolean scale) {
+	checkShape(a, rows, 2*columns);
+	alongColumns(LineOp.complex(columnComplex,true,scale), a, true);
+	alongRows(LineOp.complex(rowComplex,true,scale), a);
+}
+/**
+ * Computes the discrete cosine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>rows x columns</tt>.
+ */
+public void dct(DoubleMatrix2D a) {
+	transform(a, LineOp.DCT, false);
+}
+/**
+ * Computes the discrete sine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>rows x columns</tt>.
+ */
+public void dst(DoubleMatrix2D a) {
+	transform(a, LineOp.DST, false);
+}
+/**
+ * Computes the inverse of {@link #dct(DoubleMatrix2D)}, in place.
+ * @param scale whether to divide the result by <tt>rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>rows x columns</tt>.
+ */
+public void idct(DoubleMatrix2D a, boolean scale) {
+	transform(a, LineOp.IDCT, scale);
+}
+/**
+ * Computes the inverse of {@link #dst(DoubleMatrix2D)}, in place.
+ * @param scale whether to divide the result by <tt>rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>rows x columns</tt>.
+ */
+public void idst(DoubleMatrix2D a, boolean scale) {
+	transform(a, LineOp.IDST, scale);
+}
+/**
+ * Computes the Fourier transform of the reals held by <tt>a</tt>, which is left unchanged.
+ * @param a real data, of shape <tt>rows x columns</tt>.
+ * @return the first <tt>columns/2+1</tt> columns of the complex spectrum, a new dense matrix of shape <tt>rows x 2*(columns/2+1)</tt> in interleaved layout.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public DoubleMatrix2D realForward(DoubleMatrix2D a) {
+	checkShape(a, rows, columns);
+	DoubleMatrix2D spectrum = new DenseDoubleMatrix2D(rows, 2*(columns/2+1));
+	spectrum.setPool(a.getPool());
+	spectrum.viewPart(0,0,rows,columns).assign(a);
+	alongRows(LineOp.realToComplex(rowReal), spectrum);
+	alongColumns(LineOp.complex(columnComplex,false,false), spectrum, true);
+	return spectrum;
+}
+/**
+ * Computes the inverse of {@link #realForward(DoubleMatrix2D)}; the spectrum is left unchanged.
+ * @param spectrum a half spectrum, of shape <tt>rows x 2*(columns/2+1)</tt> in interleaved layout.
+ * @param scale whether to divide the result by <tt>rows*columns</tt>.
+ * @return the real data, a new dense matrix of shape <tt>rows x columns</tt>.
+ * @throws IllegalArgumentException if <tt>spectrum</tt> has another shape.
+ */
+public DoubleMatrix2D realInverse(DoubleMatrix2D spectrum, boolean scale) {
+	checkShape(spectrum, rows, 2*(columns/2+1));
+	DoubleMatrix2D work = new DenseDoubleMatrix2D(rows, spectrum.columns());
+	work.setPool(spectrum.getPool());
+	work.assign(spectrum);
+	alongColumns(LineOp.complex(columnComplex,true,scale), work, true);
+	alongRows(LineOp.complexToReal(rowReal,scale), work);
+	return work.viewPart(0,0,rows,columns).copy();
+}
+/**
+ * Returns the number of rows of the transforms.
+ */
+public int rows() {
+	return rows;
+}
+/**
+ * Applies one of the real transforms to all rows, then to all columns of <tt>a</tt>.
+ */
+private void transform(DoubleMatrix2D a, int kind, boolean scale) {
+	checkShape(a, rows, columns);
+	alongRows(LineOp.real(rowReal,kind,scale), a);
+	alongColumns(LineOp.real(columnReal,kind,scale), a, false);
+}
+}
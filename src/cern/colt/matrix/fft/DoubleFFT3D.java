@@ -0,0 +1,200 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix3D;
+import cern.colt.matrix.impl.DenseDoubleMatrix3D;
+/**
+Fast Fourier, cosine and sine transforms of three-dimensional data of a fixed shape <tt>slices x rows x columns</tt>, which may be any positive numbers.
+The transforms are separable: they apply the one-dimensional transforms of {@link DoubleFFT1D} to all rows <tt>a[s,r,*]</tt>, all columns <tt>a[s,*,c]</tt>
+and all lines across the slices <tt>a[*,r,c]</tt>, each set in parallel if parallel mode is switched on, see {@link cern.colt.matrix.impl.Parallel}.
+<p>
+The layouts follow {@link DoubleFFT2D}:
+complex data is held by a <tt>slices x rows x 2*columns</tt> matrix, the real and imaginary parts interleaved within each row;
+{@link #realForward(DoubleMatrix3D)} maps real <tt>slices x rows x columns</tt> data to the non redundant half of its spectrum, a new <tt>slices x rows x 2*(columns/2+1)</tt> matrix;
+the cosine and sine transforms work in place.
+Inverse transforms divide by <tt>slices*rows*columns</tt> only if asked to.
+A transform object is a plan; it is immutable and may be shared by several threads.
+
+@see DoubleFFT1D
+@see Convolution
+@version 1.0, 10/18/26
+*/
+public class DoubleFFT3D {
+	protected final int slices, rows, columns;
+	protected final ComplexFFT sliceComplex, rowComplex, columnComplex; // of size slices, columns and rows
+	protected final RealFFT sliceReal, rowReal, columnReal;
+/**
+ * Constructs a plan for transforms of shape <tt>slices x rows x columns</tt>.
+ * @throws IllegalArgumentException if <tt>slices &lt; 1 || rows &lt; 1 || columns &lt; 1</tt>.
+ */
+public DoubleFFT3D(int slices, int rows, int columns) {
+	if (slices < 1 || rows < 1 || columns < 1) throw new IllegalArgumentException("shape must be positive: "+slices+" x "+rows+" x "+columns);
+	this.slices = slices;
+	this.rows = rows;
+	this.columns = columns;
+	this.rowComplex = new ComplexFFT(columns);
+	this.rowReal = new RealFFT(columns);
+	this.columnComplex = rows == columns ? rowComplex : new ComplexFFT(rows);
+	this.columnReal = rows == columns ? rowReal : new RealFFT(rows);
+	this.sliceComplex = slices == columns ? rowComplex : slices == rows ? columnComplex : new ComplexFFT(slices);
+	this.sliceReal = slices == columns ? rowReal : slices == rows ? columnReal : new RealFFT(slices);
+}
+/**
+ * Applies the given transform to all columns <tt>a[s,*,c]</tt>; to all pairs of adjacent columns holding complex numbers, if <tt>complex</tt>.
+ */
+private static void alongColumns(LineOp op, final DoubleMatrix3D a, final boolean complex) {
+	final int count = complex ? a.columns()/2 : a.columns();
+	op.along(new LineOp.Lines() {
+		DoubleMatrix1D get(int i) { return a.viewSlice(i / count).viewColumn(complex ? 2*(i % count) : i % count); }
+		DoubleMatrix1D imaginary(int i) { return complex ? a.viewSlice(i / count).viewColumn(2*(i % count)+1) : null; }
+	}, a.slices()*count, a.getPool());
+}
+/**
+ * Applies the given transform to all rows <tt>a[s,r,*]</tt>.
+ */
+private static void alongRows(LineOp op, final DoubleMatrix3D a) {
+	final int rows = a.rows();
+	op.along(new LineOp.Lines() {
+		DoubleMatrix1D get(int i) { return a.viewSlice(i / rows).viewRow(i % rows); }
+	}, a.slices()*rows, a.getPool());
+}
+/**
+ * Applies the given transform to all lines <tt>a[*,r,c]</tt> across the slices; to all pairs of adjacent such lines holding complex numbers, if <tt>complex</tt>.
+ */
+private static void alongSlices(LineOp op, final DoubleMatrix3D a, final boolean complex) {
+	final int count = complex ? a.columns()/2 : a.columns();
+	op.along(new LineOp.Lines() {
+		DoubleMatrix1D get(int i) { return a.viewRow(i / count).viewColumn(complex ? 2*(i % count) : i % count); }
+		DoubleMatrix1D imaginary(int i) { return complex ? a.viewRow(i / count).viewColumn(2*(i % count)+1) : null; }
+	}, a.rows()*count, a.getPool());
+}
+/**
+ * Checks the shape of an argument.
+ */
+private void checkShape(DoubleMatrix3D a, int columns) {
+	if (a.slices() != slices || a.rows() != rows || a.columns() != columns) {
+		throw new IllegalArgumentException("Incompatible shape: "+a.toStringShort()+", expected "+slices+" x "+rows+" x "+columns);
+	}
+}
+/**
+ * Returns the number of columns of the transforms.
+ */
+public int columns() {
+	return columns;
+}
+/**
+ * Computes the forward Fourier transform of the complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of shape <tt>slices x rows x 2*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public void complexForward(DoubleMatrix3D a) {
+	checkShape(a, 2*columns);
+	alongRows(LineOp.complex(rowComplex,false,false), a);
+	alongColumns(LineOp.complex(columnComplex,false,false), a, true);
+	alongSlices(LineOp.complex(sliceComplex,false,false), a, true);
+}
+/**
+ * Computes the inverse Fourier transform of the complex numbers held by <tt>a</tt>, in place.
+ * @param a interleaved complex data, of shape <tt>slices x rows x 2*columns</tt>.
+ * @param scale whether to divide the result by <tt>slices*rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public void complexInverse(DoubleMatrix3D a, boolean scale) {
+	checkShape(a, 2*columns);
+	alongSlices(LineOp.complex(sliceComplex,true,scale), a, true);
+	alongColumns(LineOp.complex(columnComplex,true,scale), a, true);
+	alongRows(LineOp.complex(rowComplex,true,scale), a);
+}
+/**
+ * Computes the discrete cosine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>slices x rows x columns</tt>.
+ */
+public void dct(DoubleMatrix3D a) {
+	transform(a, LineOp.DCT, false);
+}
+/**
+ * Computes the discrete sine transform (type II) of <tt>a</tt>, in place.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>slices x rows x columns</tt>.
+ */
+public void dst(DoubleMatrix3D a) {
+	transform(a, LineOp.DST, false);
+}
+/**
+ * Computes the inverse of {@link #dct(DoubleMatrix3D)}, in place.
+ * @param scale whether to divide the result by <tt>slices*rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>slices x rows x columns</tt>.
+ */
+public void idct(DoubleMatrix3D a, boolean scale) {
+	transform(a, LineOp.IDCT, scale);
+}
+/**
+ * Computes the inverse of {@link #dst(DoubleMatrix3D)}, in place.
+ * @param scale whether to divide the result by <tt>slices*rows*columns</tt>.
+ * @throws IllegalArgumentException if <tt>a</tt> is not of shape <tt>slices x rows x columns</tt>.
+ */
+public void idst(DoubleMatrix3D a, boolean scale) {
+	transform(a, LineOp.IDST, scale);
+}
+/**
+ * Computes the Fourier transform of the reals held by <tt>a</tt>, which is left unchanged.
+ * @param a real data, of shape <tt>slices x rows x columns</tt>.
+ * @return the first <tt>columns/2+1</tt> columns of the complex spectrum, a new dense matrix of shape <tt>slices x rows x 2*(columns/2+1)</tt> in interleaved layout.
+ * @throws IllegalArgumentException if <tt>a</tt> has another shape.
+ */
+public DoubleMatrix3D realForward(DoubleMatrix3D a) {
+	checkShape(a, columns);
+	DoubleMatrix3D spectrum = new DenseDoubleMatrix3D(slices, rows, 2*(columns/2+1));
+	spectrum.setPool(a.getPool());
+	spectrum.viewPart(0,0,0,slices,rows,columns).assign(a);
+	alongRows(LineOp.realToComplex(rowReal), spectrum);
+	alongColumns(LineOp.complex(columnComplex,false,false), spectrum, true);
+	alongSlices(LineOp.complex(sliceComplex,false,false), spectrum, true);
+	return spectrum;
+}
+/**
+ * Computes the inverse of {@link #realForward(DoubleMatrix3D)}; the spectrum is left unchanged.
+ * @param spectrum a half spectrum, of shape <tt>slices x rows x 2*(columns/2+1)</tt> in interleaved layout.
+ * @param scale whether to divide the result by <tt>slices*rows*columns</tt>.
+ * @return the real data, a new dense matrix of shape <tt>slices x rows x columns</tt>.
+ * @throws IllegalArgumentException if <tt>spectrum</tt> has another shape.
+ */
+public DoubleMatrix3D realInverse(DoubleMatrix3D spectrum, boolean scale) {
+	checkShape(spectrum, 2*(columns/2+1));
+	DoubleMatrix3D work = new DenseDoubleMatrix3D(slices, rows, spectrum.columns());
+	work.setPool(spectrum.getPool());
+	work.assign(spectrum);
+	alongSlices(LineOp.complex(sliceComplex,true,scale), work, true);
+	alongColumns(LineOp.complex(columnComplex,true,scale), work, true);
+	alongRows(LineOp.complexToReal(rowReal,scale), work);
+	return work.viewPart(0,0,0,slices,rows,columns).copy();
+}
+/**
+ * Returns the number of rows of the transforms.
+ */
+public int rows() {
+	return rows;
+}
+/**
+ * Returns the number of slices of the transforms.
+ */
+public int slices() {
+	return slices;
+}
+/**
+ * Applies one of the real transforms along all three dimensions of <tt>a</tt>.
+ */
+private void transform(DoubleMatrix3D a, int kind, boolean scale) {
+	checkShape(a, columns);
+	alongRows(LineOp.real(rowReal,kind,scale), a);
+	alongColumns(LineOp.real(columnReal,kind,scale), a, false);
+	alongSlices(LineOp.real(sliceReal,kind,scale), a, false);
+}
+}
@@ -0,0 +1,169 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.impl.Parallel;
+/**
+A one-dimensional transform applied to many lines of a matrix, for example to all rows or to all columns.
+Each line is gathered into a private array, transformed and scattered back; the lines are distributed over the threads of the matrix's pool.
+
+@version 1.0, 10/18/26
+*/
+abstract class LineOp {
+	/** the number of doubles of a line, as held in the array. */
+	final int length;
+
+	/** the kinds of {@link #real(RealFFT,int,boolean)}. */
+	static final int DCT = 0;
+	static final int IDCT = 1;
+	static final int DST = 2;
+	static final int IDST = 3;
+	static final int FORWARD = 4;
+	static final int INVERSE = 5;
+
+/**
+ * The lines a transform is applied to.
+ * A complex line is either a single view holding interleaved real and imaginary parts, or two views of the same length holding the parts separately.
+ */
+static abstract class Lines {
+	/**
+	 * Returns the <tt>i</tt>-th line, or its real parts if {@link #imaginary(int)} is not <tt>null</tt>.
+	 */
+	abstract DoubleMatrix1D get(int i);
+	/**
+	 * Returns the imaginary parts of the <tt>i</tt>-th line; <tt>null</tt> if {@link #get(int)} holds the whole line.
+	 */
+	DoubleMatrix1D imaginary(int i) {
+		return null;
+	}
+}
+/**
+ * Constructs an operation on lines of the given length.
+ */
+LineOp(int length) {
+	this.length = length;
+}
+/**
+ * Applies this operation to the given number of lines, in parallel if worthwhile.
+ * @param pool the pool of the matrix the lines belong to, or <tt>null</tt>.
+ */
+void along(final Lines lines, int count, java.util.concurrent.ForkJoinPool pool) {
+	long cells = (long) count * length * Math.max(1, 32 - Integer.numberOfLeadingZeros(length));
+	Parallel.run(Parallel.pool(pool, cells), count, cells, new Parallel.Body() {
+		public double apply(int from, int to) {
+			double[] a = new double[length];
+			double[] work = new double[workSize()];
+			for (int i=from; i<to; i++) {
+				DoubleMatrix1D re = lines.get(i), im = lines.imaginary(i);
+				if (im == null) {
+					re.toArray(a);
+					LineOp.this.apply(a, work);
+					re.assign(a);
+				}
+				else {
+					int size = re.size();
+					for (int j=0; j<size; j++) {
+						a[2*j] = re.getQuick(j);
+						a[2*j+1] = im.getQuick(j);
+					}
+					LineOp.this.apply(a, work);
+					for (int j=0; j<size; j++) {
+						re.setQuick(j, a[2*j]);
+						im.setQuick(j, a[2*j+1]);
+					}
+				}
+			}
+			return 0;
+		}
+	});
+}
+/**
+ * Transforms the line held by <tt>a</tt> in place.
+ */
+abstract void apply(double[] a, double[] work);
+/**
+ * Transforms complex lines of <tt>n</tt> interleaved numbers.
+ */
+static LineOp complex(final ComplexFFT plan, final boolean inverse, final boolean scale) {
+	return new LineOp(2*plan.n) {
+		void apply(double[] a, double[] work) {
+			if (inverse) plan.inverse(a, 0, work, scale);
+			else plan.forward(a, 0, work);
+		}
+		int workSize() { return plan.workSize(); }
+	};
+}
+/**
+ * Maps the <tt>n</tt> reals at the start of a line to the <tt>n/2+1</tt> interleaved complex numbers of its spectrum; the line holds <tt>2*(n/2+1)</tt> doubles.
+ */
+static LineOp realToComplex(final RealFFT plan) {
+	final int n = plan.n;
+	return new LineOp(2*(n/2+1)) {
+		void apply(double[] a, double[] work) {
+			plan.forward(a, 0, work, n);
+			System.arraycopy(a, 0, work, 0, n);
+			a[0] = work[0];
+			a[1] = 0;
+			for (int k=1; 2*k<n; k++) {
+				a[2*k] = work[k];
+				a[2*k+1] = work[n-k];
+			}
+			if (n % 2 == 0 && n > 1) {
+				a[n] = work[n/2];
+				a[n+1] = 0;
+			}
+		}
+		int workSize() { return n + plan.workSize(); }
+	};
+}
+/**
+ * Inverse of {@link #realToComplex(RealFFT)}: maps the <tt>n/2+1</tt> interleaved complex numbers of a spectrum to the <tt>n</tt> reals at the start of the line.
+ * The imaginary parts that are zero for a real signal are ignored.
+ */
+static LineOp complexToReal(final RealFFT plan, final boolean scale) {
+	final int n = plan.n;
+	return new LineOp(2*(n/2+1)) {
+		void apply(double[] a, double[] work) {
+			work[0] = a[0];
+			for (int k=1; 2*k<n; k++) {
+				work[k] = a[2*k];
+				work[n-k] = a[2*k+1];
+			}
+			if (n % 2 == 0 && n > 1) work[n/2] = a[n];
+			System.arraycopy(work, 0, a, 0, n);
+			plan.inverse(a, 0, work, n, scale);
+		}
+		int workSize() { return n + plan.workSize(); }
+	};
+}
+/**
+ * Applies one of the real transforms of the plan: <tt>0</tt> dct, <tt>1</tt> idct, <tt>2</tt> dst, <tt>3</tt> idst, <tt>4</tt> the real Fourier transform, <tt>5</tt> its inverse.
+ */
+static LineOp real(final RealFFT plan, final int kind, final boolean scale) {
+	return new LineOp(plan.n) {
+		void apply(double[] a, double[] work) {
+			switch (kind) {
+				case DCT: plan.dct(a, 0, work, 0); break;
+				case IDCT: plan.idct(a, 0, work, 0, scale); break;
+				case DST: plan.dst(a, 0, work, 0); break;
+				case IDST: plan.idst(a, 0, work, 0, scale); break;
+				case FORWARD: plan.forward(a, 0, work, 0); break;
+				case INVERSE: plan.inverse(a, 0, work, 0, scale); break;
+				default: throw new InternalError();
+			}
+		}
+		int workSize() { return plan.workSize(); }
+	};
+}
+/**
+ * Returns the minimum length of the work array passed to {@link #apply(double[],double[])}.
+ */
+abstract int workSize();
+}
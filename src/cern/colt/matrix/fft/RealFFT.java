@@ -0,0 +1,187 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.fft;
+
+/**
+Plan of the real transforms of a fixed size <tt>n</tt> on a <tt>double[]</tt>: the discrete Fourier transform of real data, and the discrete cosine and sine transforms (type II and their inverses, type III).
+<p>
+Real data of even size is transformed as complex data of half the size, followed by a split into the spectra of the even and odd elements;
+the cosine and sine transforms reorder their input and use a real Fourier transform of the same size (Makhoul's algorithm).
+A plan is immutable and may be used by several threads at once, each with its own work array.
+
+@version 1.0, 10/18/26
+*/
+class RealFFT {
+	final int n;
+	ComplexFFT half; // for even n: the plan of size n/2
+	ComplexFFT full; // for odd n: the plan of size n
+	double[] twiddles; // for even n: exp(-2 pi i k / n), k <= n/2
+	double[] shifts; // exp(-pi i k / (2n)), k < n, for the cosine transforms
+/**
+ * Constructs a plan for transforms of size <tt>n</tt>.
+ * @throws IllegalArgumentException if <tt>n &lt; 1</tt>.
+ */
+RealFFT(int n) {
+	if (n < 1) throw new IllegalArgumentException("size must be positive: "+n);
+	this.n = n;
+	if (n % 2 == 0) {
+		this.half = new ComplexFFT(n/2);
+		this.twiddles = new double[n+2];
+		for (int k=0; k<=n/2; k++) {
+			double angle = -2*Math.PI * k / n;
+			twiddles[2*k] = Math.cos(angle);
+			twiddles[2*k+1] = Math.sin(angle);
+		}
+	}
+	else {
+		this.full = new ComplexFFT(n);
+	}
+	this.shifts = new double[2*n];
+	for (int k=0; k<n; k++) {
+		double angle = -Math.PI * k / (2.0*n);
+		shifts[2*k] = Math.cos(angle);
+		shifts[2*k+1] = Math.sin(angle);
+	}
+}
+/**
+ * Discrete cosine transform (type II) of the <tt>n</tt> reals at <tt>a[offset..]</tt>, in place; <tt>A[k] = Sum(a[j] * cos(pi (2j+1) k / (2n)))</tt>.
+ */
+void dct(double[] a, int offset, double[] work, int wo) {
+	if (n == 1) return;
+	// v = a[0], a[2], ..., a[3], a[1]
+	for (int j=0; 2*j < n; j++) work[wo+j] = a[offset+2*j];
+	for (int j=0; 2*j+1 < n; j++) work[wo+n-1-j] = a[offset+2*j+1];
+	forward(work, wo, work, wo+n);
+	// A[k] = Re(exp(-pi i k / 2n) * V[k])
+	a[offset] = work[wo];
+	for (int k=1; k<n; k++) {
+		double vr, vi;
+		if (2*k < n) { vr = work[wo+k]; vi = work[wo+n-k]; }
+		else if (2*k == n) { vr = work[wo+k]; vi = 0; }
+		else { vr = work[wo+n-k]; vi = -work[wo+k]; }
+		a[offset+k] = shifts[2*k]*vr - shifts[2*k+1]*vi;
+	}
+}
+/**
+ * Discrete sine transform (type II) of the <tt>n</tt> reals at <tt>a[offset..]</tt>, in place; <tt>A[k] = Sum(a[j] * sin(pi (2j+1) (k+1) / (2n)))</tt>.
+ */
+void dst(double[] a, int offset, double[] work, int wo) {
+	for (int j=1; j<n; j+=2) a[offset+j] = -a[offset+j];
+	dct(a, offset, work, wo);
+	reverse(a, offset);
+}
+/**
+ * Real discrete Fourier transform of the <tt>n</tt> reals at <tt>a[offset..]</tt>, in place, into the half complex layout
+ * <tt>r[0], r[1], ..., r[n/2], i[(n+1)/2-1], ..., i[2], i[1]</tt>, where <tt>A[k] = r[k] + i*i[k]</tt>.
+ */
+void forward(double[] a, int offset, double[] work, int wo) {
+	if (n == 1) return;
+	if (full != null) {
+		for (int j=0; j<n; j++) {
+			work[wo+2*j] = a[offset+j];
+			work[wo+2*j+1] = 0;
+		}
+		full.forward(work, wo, work, wo+2*n);
+		a[offset] = work[wo];
+		for (int k=1; 2*k<n; k++) {
+			a[offset+k] = work[wo+2*k];
+			a[offset+n-k] = work[wo+2*k+1];
+		}
+		return;
+	}
+	// z[j] = a[2j] + i a[2j+1] is already interleaved
+	int h = n/2;
+	half.forward(a, offset, work, wo+n);
+	System.arraycopy(a, offset, work, wo, n);
+	for (int k=0; k<=h; k++) {
+		int i = k % h, j = (h - k) % h;
+		double zr = work[wo+2*i], zi = work[wo+2*i+1];
+		double cr = work[wo+2*j], ci = -work[wo+2*j+1]; // conj(Z[h-k])
+		double fr = 0.5*(zr + cr), fi = 0.5*(zi + ci); // even part
+		double gr = 0.5*(zi - ci), gi = -0.5*(zr - cr); // odd part, (Z - conj)/2i
+		double wr = twiddles[2*k], wi = twiddles[2*k+1];
+		double xr = fr + wr*gr - wi*gi, xi = fi + wr*gi + wi*gr;
+		a[offset+k] = xr;
+		if (k > 0 && k < h) a[offset+n-k] = xi;
+	}
+}
+/**
+ * Inverse of {@link #dct(double[],int,double[],int)} (a discrete cosine transform of type III), in place; divided by <tt>n</tt> only if <tt>scale</tt>.
+ */
+void idct(double[] a, int offset, double[] work, int wo, boolean scale) {
+	if (n == 1) return;
+	// V[k] = exp(pi i k / 2n) * (A[k] - i A[n-k]), in half complex layout
+	for (int k=0; 2*k<=n; k++) {
+		double x = a[offset+k], y = k == 0 ? 0 : a[offset+n-k];
+		double c = shifts[2*k], s = -shifts[2*k+1];
+		work[wo+k] = c*x + s*y;
+		if (k > 0 && 2*k < n) work[wo+n-k] = s*x - c*y;
+	}
+	inverse(work, wo, work, wo+n, scale);
+	for (int j=0; 2*j < n; j++) a[offset+2*j] = work[wo+j];
+	for (int j=0; 2*j+1 < n; j++) a[offset+2*j+1] = work[wo+n-1-j];
+}
+/**
+ * Inverse of {@link #forward(double[],int,double[],int)}, in place; divided by <tt>n</tt> only if <tt>scale</tt>.
+ */
+void inverse(double[] a, int offset, double[] work, int wo, boolean scale) {
+	if (n == 1) return;
+	double f = scale ? 1.0 / n : 1;
+	if (full != null) {
+		work[wo] = a[offset];
+		work[wo+1] = 0;
+		for (int k=1; 2*k<n; k++) {
+			work[wo+2*k] = work[wo+2*(n-k)] = a[offset+k];
+			work[wo+2*k+1] = a[offset+n-k];
+			work[wo+2*(n-k)+1] = -a[offset+n-k];
+		}
+		full.inverse(work, wo, work, wo+2*n, false);
+		for (int j=0; j<n; j++) a[offset+j] = f * work[wo+2*j];
+		return;
+	}
+	int h = n/2;
+	for (int k=0; k<h; k++) {
+		int j = h - k;
+		double xr = a[offset+k], xi = k == 0 ? 0 : a[offset+n-k];
+		double yr = a[offset+j], yi = j == h ? 0 : -a[offset+n-j]; // conj(X[h-k])
+		double fr = xr + yr, fi = xi + yi;
+		double dr = xr - yr, di = xi - yi;
+		double wr = twiddles[2*k], wi = -twiddles[2*k+1]; // W^-k
+		double gr = dr*wr - di*wi, gi = dr*wi + di*wr;
+		work[wo+2*k] = fr - gi; // F + iG
+		work[wo+2*k+1] = fi + gr;
+	}
+	System.arraycopy(work, wo, a, offset, n);
+	half.inverse(a, offset, work, wo+n, false);
+	if (scale) for (int j=0; j<n; j++) a[offset+j] *= f;
+}
+/**
+ * Inverse of {@link #dst(double[],int,double[],int)} (a discrete sine transform of type III), in place; divided by <tt>n</tt> only if <tt>scale</tt>.
+ */
+void idst(double[] a, int offset, double[] work, int wo, boolean scale) {
+	reverse(a, offset);
+	idct(a, offset, work, wo, scale);
+	for (int j=1; j<n; j+=2) a[offset+j] = -a[offset+j];
+}
+/**
+ * Reverses the <tt>n</tt> elements at <tt>a[offset..]</tt>.
+ */
+void reverse(double[] a, int offset) {
+	for (int i=offset, j=offset+n-1; i<j; i++, j--) {
+		double t = a[i]; a[i] = a[j]; a[j] = t;
+	}
+}
+/**
+ * Returns the minimum length of the work array passed to the transforms.
+ */
+int workSize() {
+	if (full != null) return 3*n + full.workSize();
+	return 2*n + half.workSize();
+}
+}
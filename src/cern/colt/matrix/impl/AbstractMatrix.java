@@ -19,6 +19,9 @@ First see the <a href="package-summary.html">package summary</a> and javadoc <a
 */
 public abstract class AbstractMatrix extends cern.colt.PersistentObject {
 	protected boolean isNoView = true;
+
+	/** the pool parallel operations of this matrix run on; <tt>null</tt> means the default of {@link Parallel}. */
+	protected transient java.util.concurrent.ForkJoinPool pool;
 	//public static boolean debug = true;
 /**
  * Makes this class non instantiable, but still let's others inherit from it.
@@ -33,6 +36,28 @@ protected AbstractMatrix() {}
  * @param   minNonZeros   the desired minimum number of non-zero (non-null) cells.
  */
 public void ensureCapacity(int minNonZeros) {}
+/**
+ * Returns the pool parallel operations of the receiver run on, as set via {@link #setPool(java.util.concurrent.ForkJoinPool)}; 
+ * <tt>null</tt> if the default of {@link Parallel} applies.
+ */
+public java.util.concurrent.ForkJoinPool getPool() {
+	return this.pool;
+}
+/**
+ * Returns the pool an operation touching the given number of cells shall run on, or <tt>null</tt> if it shall run sequentially.
+ */
+protected java.util.concurrent.ForkJoinPool parallelPool(long cells) {
+	return Parallel.pool(this.pool, cells);
+}
+/**
+ * Sets the pool parallel operations of the receiver (and of views subsequently derived from it) run on.
+ * See {@link Parallel} for details on parallel mode.
+ *
+ * @param pool the pool; or <tt>null</tt> to apply the default of {@link Parallel}.
+ */
+public void setPool(java.util.concurrent.ForkJoinPool pool) {
+	this.pool = pool;
+}
 /**
  * Returns whether the receiver is a view or not.
  */
@@ -0,0 +1,535 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.DoubleMatrix3D;
+/**
+Batched linear algebra on large numbers of small dense matrices, such as millions of <tt>3 x 3</tt> or <tt>6 x 6</tt> systems.
+<p>
+A batch of <tt>N</tt> matrices of shape <tt>rows x columns</tt> is a single <tt>N x rows x columns</tt> {@link DoubleMatrix3D}; slice <tt>k</tt> holds matrix <tt>k</tt>.
+A batch of <tt>N</tt> vectors of size <tt>n</tt> is a single <tt>N x n</tt> {@link DoubleMatrix2D}; row <tt>k</tt> holds vector <tt>k</tt>.
+A {@link DenseDoubleMatrix3D} stores its slices one after the other, each in row major order, so that a batch costs one object and one array, whatever the number of matrices,
+and each matrix occupies a few contiguous cache lines.
+Handling each matrix as a matrix object of its own, e.g. via <tt>viewSlice(k)</tt> and {@link cern.colt.matrix.linalg.Algebra}, costs far more than the arithmetic, which is negligible for small matrices.
+<p>
+Example:
+<pre>
+DoubleMatrix3D A = new DenseDoubleMatrix3D(1000000,6,6); // one million 6 x 6 matrices
+DoubleMatrix2D b = new DenseDoubleMatrix2D(1000000,6);   // and right hand sides
+... fill A and b ...
+DoubleMatrix2D x = Batch.solve(A,b,null);  // x[k] = inverse(A[k]) * b[k]
+DoubleMatrix1D d = Batch.det(A,null);      // d[k] = det(A[k])
+DoubleMatrix3D P = Batch.mult(A,A,null);   // P[k] = A[k] * A[k]
+</pre>
+<p>
+All operations process the matrices independently of each other, and in parallel if parallel mode is switched on; see {@link Parallel}.
+Singular (or, for Cholesky, not symmetric positive definite) matrices do not abort the batch; their results are filled with <tt>NaN</tt>.
+Results may be stored into an argument; e.g. <tt>inverse(A,A)</tt> inverts all matrices in place.
+<p>
+<b>Implementation:</b>
+Each matrix is copied into a small local buffer, processed there, and the result copied out, so that views with arbitrary strides are handled at the same speed as plain dense matrices.
+Determinants and inverses of <tt>1 x 1</tt>, <tt>2 x 2</tt> and <tt>3 x 3</tt> matrices, and the solution of such systems, use closed formulas;
+larger matrices are handled by LU decomposition with partial pivoting, or by Cholesky decomposition, as {@link cern.colt.matrix.linalg.LUDecomposition} and {@link cern.colt.matrix.linalg.CholeskyDecomposition} do.
+
+@version 1.0, 10/18/26
+*/
+public final class Batch {
+/**
+ * Makes this class non instantiable.
+ */
+private Batch() {}
+/**
+ * Checks that <tt>C</tt> is a batch of the given shape.
+ */
+private static void checkShape(int slices, int rows, int columns, DoubleMatrix3D C) {
+	if (C.slices() != slices || C.rows() != rows || C.columns() != columns) {
+		throw new IllegalArgumentException("Incompatible result: "+C.toStringShort()+", expected "+slices+" x "+rows+" x "+columns);
+	}
+}
+/**
+ * Checks that <tt>b</tt> is a batch of right hand sides for <tt>A</tt>, and that <tt>x</tt> has the shape of <tt>b</tt>.
+ */
+private static void checkSolve(DoubleMatrix3D A, DoubleMatrix2D b, DoubleMatrix2D x) {
+	checkSquare(A);
+	if (b.rows() != A.slices() || b.columns() != A.rows()) throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+b.toStringShort());
+	if (x.rows() != b.rows() || x.columns() != b.columns()) throw new IllegalArgumentException("Incompatible result: "+b.toStringShort()+", "+x.toStringShort());
+}
+/**
+ * Checks that <tt>A</tt> is a batch of square matrices.
+ */
+private static void checkSquare(DoubleMatrix3D A) {
+	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrices must be square: "+A.toStringShort());
+}
+/**
+ * Solves all linear systems of a batch of symmetric positive definite matrices; <tt>x[k] = inverse(A[k]) * b[k]</tt>, via Cholesky decomposition.
+ * About twice as fast as {@link #solve(DoubleMatrix3D,DoubleMatrix2D,DoubleMatrix2D)} for larger matrices.
+ * Systems whose matrix is not symmetric positive definite yield solutions filled with <tt>NaN</tt>.
+ * @param A the batch of square matrices.
+ * @param b the batch of right hand sides, of shape <tt>A.slices() x A.rows()</tt>.
+ * @param x the batch of solutions, of the same shape as <tt>b</tt>; may be <tt>b</tt>; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the shapes are incompatible.
+ */
+public static DoubleMatrix2D choleskySolve(final DoubleMatrix3D A, final DoubleMatrix2D b, DoubleMatrix2D x) {
+	if (x == null) x = new DenseDoubleMatrix2D(b.rows(),b.columns());
+	checkSolve(A,b,x);
+	final int n = A.rows();
+	final DoubleMatrix2D result = x;
+	run(A, (long) n*n*n/3 + 2L*n*n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[n*n], c = new double[n];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					get(b,k,c);
+					if (cholesky(a,n)) choleskySolve(a,n,c,1);
+					else java.util.Arrays.fill(c,Double.NaN);
+					set(result,k,c);
+				}
+				return 0;
+			}
+		}
+	);
+	return x;
+}
+/**
+ * Solves <tt>L*L'*x = b</tt> in place, for the given columns of the <tt>n x m</tt> row major matrix <tt>b</tt>, <tt>L</tt> being lower triangular.
+ */
+private static void choleskySolve(double[] L, int n, double[] b, int m) {
+	for (int col=0; col<m; col++) {
+		// forward: L*y = b
+		for (int i=0; i<n; i++) {
+			double sum = b[i*m+col];
+			for (int j=0; j<i; j++) sum -= L[i*n+j] * b[j*m+col];
+			b[i*m+col] = sum / L[i*n+i];
+		}
+		// backward: L'*x = y
+		for (int i=n; --i >= 0; ) {
+			double sum = b[i*m+col];
+			for (int j=i+1; j<n; j++) sum -= L[j*n+i] * b[j*m+col];
+			b[i*m+col] = sum / L[i*n+i];
+		}
+	}
+}
+/**
+ * Computes the Cholesky factor <tt>L</tt> of the <tt>n x n</tt> row major matrix <tt>a</tt> in its lower triangle.
+ * @return <tt>false</tt> if the matrix is not symmetric positive definite.
+ */
+private static boolean cholesky(double[] a, int n) {
+	for (int j=0; j<n; j++) {
+		double d = 0;
+		for (int k=0; k<j; k++) {
+			if (a[k*n+j] != a[j*n+k]) return false; // upper triangle is still untouched
+			double s = a[j*n+k];
+			for (int i=0; i<k; i++) s -= a[k*n+i] * a[j*n+i];
+			s = s / a[k*n+k];
+			a[j*n+k] = s;
+			d += s*s;
+		}
+		d = a[j*n+j] - d;
+		if (!(d > 0)) return false;
+		a[j*n+j] = Math.sqrt(d);
+	}
+	return true;
+}
+/**
+ * Returns the determinant of the <tt>n x n</tt> row major matrix <tt>a</tt>; destroys <tt>a</tt> for <tt>n &gt; 3</tt>.
+ */
+private static double det(double[] a, int n, int[] pivot) {
+	switch (n) {
+		case 0: return 1;
+		case 1: return a[0];
+		case 2: return a[0]*a[3] - a[1]*a[2];
+		case 3: return a[0]*(a[4]*a[8] - a[5]*a[7]) - a[1]*(a[3]*a[8] - a[5]*a[6]) + a[2]*(a[3]*a[7] - a[4]*a[6]);
+	}
+	int sign = lu(a,n,pivot);
+	double d = sign;
+	for (int j=0; j<n; j++) d *= a[j*n+j];
+	return d;
+}
+/**
+ * Computes the determinants of all matrices of a batch.
+ * @param A the batch of square matrices.
+ * @param result the batch of determinants, of size <tt>A.slices()</tt>; if <tt>null</tt> a new dense vector is allocated.
+ * @return <tt>result</tt>; <tt>result[k] = det(A[k])</tt>.
+ * @throws IllegalArgumentException if the matrices are not square, or <tt>result</tt> has the wrong size.
+ */
+public static DoubleMatrix1D det(final DoubleMatrix3D A, DoubleMatrix1D result) {
+	checkSquare(A);
+	final int n = A.rows();
+	if (result == null) result = new DenseDoubleMatrix1D(A.slices());
+	if (result.size() != A.slices()) throw new IllegalArgumentException("Incompatible result: "+A.toStringShort()+", "+result.toStringShort());
+	final DoubleMatrix1D d = result;
+	run(A, (long) n*n*n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[n*n];
+				int[] pivot = new int[n];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					d.setQuick(k, det(a,n,pivot));
+				}
+				return 0;
+			}
+		}
+	);
+	return result;
+}
+/**
+ * Copies matrix <tt>k</tt> of the batch into <tt>a</tt>, in row major order.
+ */
+private static void get(DoubleMatrix3D A, int k, double[] a) {
+	int rows = A.rows(), columns = A.columns();
+	if (A instanceof DenseDoubleMatrix3D) {
+		DenseDoubleMatrix3D D = (DenseDoubleMatrix3D) A;
+		double[] elems = D.elements;
+		int rs = D.rowStride, cs = D.columnStride;
+		int i = 0;
+		for (int r=0, index=D.index(k,0,0); r<rows; r++, index += rs) {
+			for (int c=0, idx=index; c<columns; c++, idx += cs) a[i++] = elems[idx];
+		}
+		return;
+	}
+	int i = 0;
+	for (int r=0; r<rows; r++) {
+		for (int c=0; c<columns; c++) a[i++] = A.getQuick(k,r,c);
+	}
+}
+/**
+ * Copies vector <tt>k</tt> of the batch, i.e. row <tt>k</tt>, into <tt>x</tt>.
+ */
+private static void get(DoubleMatrix2D X, int k, double[] x) {
+	int n = X.columns();
+	if (X instanceof DenseDoubleMatrix2D) {
+		DenseDoubleMatrix2D D = (DenseDoubleMatrix2D) X;
+		double[] elems = D.elements;
+		int cs = D.columnStride;
+		for (int c=0, index=D.index(k,0); c<n; c++, index += cs) x[c] = elems[index];
+		return;
+	}
+	for (int c=0; c<n; c++) x[c] = X.getQuick(k,c);
+}
+/**
+ * Inverts all matrices of a batch.
+ * Singular matrices yield inverses filled with <tt>NaN</tt>.
+ * @param A the batch of square matrices.
+ * @param result the batch of inverses, of the same shape as <tt>A</tt>; may be <tt>A</tt>; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>result</tt>; <tt>result[k] = inverse(A[k])</tt>.
+ * @throws IllegalArgumentException if the matrices are not square, or <tt>result</tt> has the wrong shape.
+ */
+public static DoubleMatrix3D inverse(final DoubleMatrix3D A, DoubleMatrix3D result) {
+	checkSquare(A);
+	final int n = A.rows();
+	if (result == null) result = new DenseDoubleMatrix3D(A.slices(),n,n);
+	checkShape(A.slices(),n,n,result);
+	final DoubleMatrix3D C = result;
+	run(A, (long) n*n*n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[n*n], c = new double[n*n];
+				int[] pivot = new int[n];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					if (!inverse(a,n,c,pivot)) java.util.Arrays.fill(c,Double.NaN);
+					set(C,k,c);
+				}
+				return 0;
+			}
+		}
+	);
+	return result;
+}
+/**
+ * Computes the inverse of the <tt>n x n</tt> row major matrix <tt>a</tt> into <tt>inv</tt>; destroys <tt>a</tt>.
+ * @return <tt>false</tt> if the matrix is singular.
+ */
+private static boolean inverse(double[] a, int n, double[] inv, int[] pivot) {
+	if (n <= 3) {
+		double d = det(a,n,pivot);
+		if (d == 0 || d != d) return false;
+		switch (n) {
+			case 1:
+				inv[0] = 1/d;
+				break;
+			case 2:
+				inv[0] = a[3]/d; inv[1] = -a[1]/d;
+				inv[2] = -a[2]/d; inv[3] = a[0]/d;
+				break;
+			case 3:
+				inv[0] = (a[4]*a[8] - a[5]*a[7])/d; inv[1] = (a[2]*a[7] - a[1]*a[8])/d; inv[2] = (a[1]*a[5] - a[2]*a[4])/d;
+				inv[3] = (a[5]*a[6] - a[3]*a[8])/d; inv[4] = (a[0]*a[8] - a[2]*a[6])/d; inv[5] = (a[2]*a[3] - a[0]*a[5])/d;
+				inv[6] = (a[3]*a[7] - a[4]*a[6])/d; inv[7] = (a[1]*a[6] - a[0]*a[7])/d; inv[8] = (a[0]*a[4] - a[1]*a[3])/d;
+				break;
+		}
+		return true;
+	}
+	lu(a,n,pivot);
+	for (int j=0; j<n; j++) if (a[j*n+j] == 0) return false;
+	// solve LU * X = P * I
+	java.util.Arrays.fill(inv,0,n*n,0);
+	for (int i=0; i<n; i++) inv[i*n + pivot[i]] = 1;
+	luSolve(a,n,inv,n);
+	return true;
+}
+/**
+ * Decomposes the <tt>n x n</tt> row major matrix <tt>a</tt> in place into <tt>L*U = P*a</tt> by Gaussian elimination with partial pivoting;
+ * <tt>pivot[i]</tt> is the original row of row <tt>i</tt>.
+ * @return the sign of the row permutation.
+ */
+private static int lu(double[] a, int n, int[] pivot) {
+	for (int i=0; i<n; i++) pivot[i] = i;
+	int sign = 1;
+	for (int j=0; j<n; j++) {
+		// find pivot
+		int p = j;
+		double max = Math.abs(a[j*n+j]);
+		for (int i=j+1; i<n; i++) {
+			double v = Math.abs(a[i*n+j]);
+			if (v > max) { max = v; p = i; }
+		}
+		if (p != j) {
+			for (int c=0; c<n; c++) { double t = a[p*n+c]; a[p*n+c] = a[j*n+c]; a[j*n+c] = t; }
+			int t = pivot[p]; pivot[p] = pivot[j]; pivot[j] = t;
+			sign = -sign;
+		}
+		double d = a[j*n+j];
+		if (d != 0) {
+			for (int i=j+1; i<n; i++) {
+				double f = a[i*n+j] /= d;
+				if (f != 0) for (int c=j+1; c<n; c++) a[i*n+c] -= f * a[j*n+c];
+			}
+		}
+	}
+	return sign;
+}
+/**
+ * Solves <tt>L*U*x = b</tt> in place for all columns of the <tt>n x m</tt> row major matrix <tt>b</tt>, whose rows must already be permuted.
+ */
+private static void luSolve(double[] lu, int n, double[] b, int m) {
+	// L*Y = B, L unit lower triangular
+	for (int k=0; k<n; k++) {
+		for (int i=k+1; i<n; i++) {
+			double f = lu[i*n+k];
+			if (f != 0) for (int c=0; c<m; c++) b[i*m+c] -= b[k*m+c] * f;
+		}
+	}
+	// U*X = Y
+	for (int k=n; --k >= 0; ) {
+		double d = lu[k*n+k];
+		for (int c=0; c<m; c++) b[k*m+c] /= d;
+		for (int i=0; i<k; i++) {
+			double f = lu[i*n+k];
+			if (f != 0) for (int c=0; c<m; c++) b[i*m+c] -= b[k*m+c] * f;
+		}
+	}
+}
+/**
+ * Multiplies the matrices of two batches; <tt>C[k] = A[k] * B[k]</tt>.
+ * @param A the batch of left factors.
+ * @param B the batch of right factors, with as many matrices as <tt>A</tt>.
+ * @param C the batch of products, of shape <tt>A.slices() x A.rows() x B.columns()</tt>; may be <tt>A</tt> or <tt>B</tt> if of that shape; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>C</tt>.
+ * @throws IllegalArgumentException if <tt>A.slices() != B.slices() || A.columns() != B.rows()</tt>, or <tt>C</tt> has the wrong shape.
+ */
+public static DoubleMatrix3D mult(final DoubleMatrix3D A, final DoubleMatrix3D B, DoubleMatrix3D C) {
+	final int m = A.rows(), n = A.columns(), p = B.columns();
+	if (A.slices() != B.slices() || B.rows() != n) throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+B.toStringShort());
+	if (C == null) C = new DenseDoubleMatrix3D(A.slices(),m,p);
+	checkShape(A.slices(),m,p,C);
+	final DoubleMatrix3D result = C;
+	run(A, (long) m*n*p,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[m*n], b = new double[n*p], c = new double[m*p];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					get(B,k,b);
+					for (int i=0; i<m; i++) {
+						for (int j=0; j<p; j++) {
+							double sum = 0;
+							for (int l=0; l<n; l++) sum += a[i*n+l] * b[l*p+j];
+							c[i*p+j] = sum;
+						}
+					}
+					set(result,k,c);
+				}
+				return 0;
+			}
+		}
+	);
+	return C;
+}
+/**
+ * Multiplies the matrices of a batch with the vectors of a batch; <tt>y[k] = A[k] * x[k]</tt>.
+ * @param A the batch of matrices.
+ * @param x the batch of vectors, of shape <tt>A.slices() x A.columns()</tt>.
+ * @param y the batch of results, of shape <tt>A.slices() x A.rows()</tt>; may be <tt>x</tt> if of that shape; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>y</tt>.
+ * @throws IllegalArgumentException if the shapes are incompatible.
+ */
+public static DoubleMatrix2D mult(final DoubleMatrix3D A, final DoubleMatrix2D x, DoubleMatrix2D y) {
+	final int m = A.rows(), n = A.columns();
+	if (x.rows() != A.slices() || x.columns() != n) throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+x.toStringShort());
+	if (y == null) y = new DenseDoubleMatrix2D(A.slices(),m);
+	if (y.rows() != A.slices() || y.columns() != m) throw new IllegalArgumentException("Incompatible result: "+A.toStringShort()+", "+y.toStringShort());
+	final DoubleMatrix2D result = y;
+	run(A, (long) m*n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[m*n], b = new double[n], c = new double[m];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					get(x,k,b);
+					for (int i=0; i<m; i++) {
+						double sum = 0;
+						for (int l=0; l<n; l++) sum += a[i*n+l] * b[l];
+						c[i] = sum;
+					}
+					set(result,k,c);
+				}
+				return 0;
+			}
+		}
+	);
+	return y;
+}
+/**
+ * Applies <tt>body</tt> to all matrices of the batch, in parallel if parallel mode is switched on for <tt>A</tt>.
+ * Each task allocates its own local buffers.
+ * @param work the number of floating point operations per matrix, roughly.
+ */
+private static void run(DoubleMatrix3D A, long work, Parallel.Body body) {
+	int size = A.slices();
+	long cells = (long) size * Math.max(work,1);
+	Parallel.run(Parallel.pool(A.getPool(), cells), size, cells, body);
+}
+/**
+ * Solves <tt>a*x = b</tt> for the <tt>n x n</tt> row major matrix <tt>a</tt> and the <tt>n x m</tt> row major matrix <tt>b</tt>; destroys <tt>a</tt>.
+ * @param work a buffer of at least <tt>n*n</tt> cells.
+ * @return <tt>false</tt> if the matrix is singular.
+ */
+private static boolean solve(double[] a, int n, double[] b, int m, double[] x, double[] work, int[] pivot) {
+	if (n <= 3) {
+		if (!inverse(a,n,work,pivot)) return false;
+		for (int i=0; i<n; i++) {
+			for (int j=0; j<m; j++) {
+				double sum = 0;
+				for (int l=0; l<n; l++) sum += work[i*n+l] * b[l*m+j];
+				x[i*m+j] = sum;
+			}
+		}
+		return true;
+	}
+	lu(a,n,pivot);
+	for (int j=0; j<n; j++) if (a[j*n+j] == 0) return false;
+	for (int i=0; i<n; i++) System.arraycopy(b,pivot[i]*m,x,i*m,m);
+	luSolve(a,n,x,m);
+	return true;
+}
+/**
+ * Solves all linear systems of a batch; <tt>x[k] = inverse(A[k]) * b[k]</tt>, via LU decomposition with partial pivoting.
+ * Singular systems yield solutions filled with <tt>NaN</tt>.
+ * @param A the batch of square matrices.
+ * @param b the batch of right hand sides, of shape <tt>A.slices() x A.rows()</tt>.
+ * @param x the batch of solutions, of the same shape as <tt>b</tt>; may be <tt>b</tt>; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the shapes are incompatible.
+ */
+public static DoubleMatrix2D solve(final DoubleMatrix3D A, final DoubleMatrix2D b, DoubleMatrix2D x) {
+	if (x == null) x = new DenseDoubleMatrix2D(b.rows(),b.columns());
+	checkSolve(A,b,x);
+	final int n = A.rows();
+	final DoubleMatrix2D result = x;
+	run(A, (long) n*n*n*2/3 + 2L*n*n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[n*n], c = new double[n*n], y = new double[n], z = new double[n];
+				int[] pivot = new int[n];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					get(b,k,y);
+					if (!solve(a,n,y,1,z,c,pivot)) java.util.Arrays.fill(z,Double.NaN);
+					set(result,k,z);
+				}
+				return 0;
+			}
+		}
+	);
+	return x;
+}
+/**
+ * Solves all linear systems of a batch with multiple right hand sides; <tt>X[k] = inverse(A[k]) * B[k]</tt>, via LU decomposition with partial pivoting.
+ * Singular systems yield solutions filled with <tt>NaN</tt>.
+ * @param A the batch of square matrices.
+ * @param B the batch of right hand sides, of shape <tt>A.slices() x A.rows() x m</tt>.
+ * @param X the batch of solutions, of the same shape as <tt>B</tt>; may be <tt>B</tt>; if <tt>null</tt> a new dense batch is allocated.
+ * @return <tt>X</tt>.
+ * @throws IllegalArgumentException if the shapes are incompatible.
+ */
+public static DoubleMatrix3D solve(final DoubleMatrix3D A, final DoubleMatrix3D B, DoubleMatrix3D X) {
+	checkSquare(A);
+	final int n = A.rows(), m = B.columns();
+	if (B.slices() != A.slices() || B.rows() != n) throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+B.toStringShort());
+	if (X == null) X = new DenseDoubleMatrix3D(B.slices(),n,m);
+	checkShape(B.slices(),n,m,X);
+	final DoubleMatrix3D result = X;
+	run(A, (long) n*n*n*2/3 + 2L*n*n*m,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double[] a = new double[n*n], c = new double[n*n], y = new double[n*m], z = new double[n*m];
+				int[] pivot = new int[n];
+				for (int k=from; k<to; k++) {
+					get(A,k,a);
+					get(B,k,y);
+					if (!solve(a,n,y,m,z,c,pivot)) java.util.Arrays.fill(z,Double.NaN);
+					set(result,k,z);
+				}
+				return 0;
+			}
+		}
+	);
+	return X;
+}
+/**
+ * Copies <tt>a</tt>, in row major order, into matrix <tt>k</tt> of the batch.
+ */
+private static void set(DoubleMatrix3D A, int k, double[] a) {
+	int rows = A.rows(), columns = A.columns();
+	if (A instanceof DenseDoubleMatrix3D) {
+		DenseDoubleMatrix3D D = (DenseDoubleMatrix3D) A;
+		double[] elems = D.elements;
+		int rs = D.rowStride, cs = D.columnStride;
+		int i = 0;
+		for (int r=0, index=D.index(k,0,0); r<rows; r++, index += rs) {
+			for (int c=0, idx=index; c<columns; c++, idx += cs) elems[idx] = a[i++];
+		}
+		return;
+	}
+	int i = 0;
+	for (int r=0; r<rows; r++) {
+		for (int c=0; c<columns; c++) A.setQuick(k,r,c,a[i++]);
+	}
+}
+/**
+ * Copies <tt>x</tt> into vector <tt>k</tt> of the batch, i.e. row <tt>k</tt>.
+ */
+private static void set(DoubleMatrix2D X, int k, double[] x) {
+	int n = X.columns();
+	if (X instanceof DenseDoubleMatrix2D) {
+		DenseDoubleMatrix2D D = (DenseDoubleMatrix2D) X;
+		double[] elems = D.elements;
+		int cs = D.columnStride;
+		for (int c=0, index=D.index(k,0); c<n; c++, index += cs) elems[index] = x[c];
+		return;
+	}
+	for (int c=0; c<n; c++) X.setQuick(k,c,x[c]);
+}
+}
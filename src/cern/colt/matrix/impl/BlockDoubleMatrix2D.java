@@ -0,0 +1,617 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Block matrix view; presents a grid of matrices (the <i>blocks</i>) as one 2-d matrix, without copying any cell.
+The view is backed by the blocks, so changes in the view are reflected in the blocks, and vice-versa.
+The same matrix may appear as several blocks, for example to repeat it.
+<p>
+All blocks of a given grid column must have the same number of columns, and all blocks of a given grid row the same number of rows.
+A <tt>null</tt> block is an <i>empty</i> block: all its cells are zero and can not be changed; any attempt to set one of its cells to a non-zero value throws an <tt>IllegalArgumentException</tt>.
+An empty block takes no memory, so that sparse block structures, such as block diagonal matrices, are cheap.
+<p>
+Operations are routed block by block to the blocks, so that each block runs its own fast (and possibly parallel) implementation:
+<tt>assign</tt>, <tt>zMult</tt>, <tt>zSum</tt>, <tt>cardinality</tt> and <tt>forEachNonZero</tt>,
+as well as <tt>viewPart</tt>, <tt>viewDice</tt>, <tt>viewRowFlip</tt> and <tt>viewColumnFlip</tt>, which yield block matrices again.
+Single cell access costs a binary search over the blocks, and is therefore slower than for the blocks themselves.
+<p>
+A block matrix is materialized only on request: {@link #copy()} returns an ordinary matrix of the type of the blocks, filled block by block.
+Block matrices are usually obtained from {@link cern.colt.matrix.DoubleFactory2D#composeView(DoubleMatrix2D[][])} and its relatives.
+
+@version 1.0, 10/18/26
+*/
+public class BlockDoubleMatrix2D extends DoubleMatrix2D {
+	/** the blocks, <tt>blocks[blockRow][blockColumn]</tt>; <tt>null</tt> for empty blocks. */
+	protected DoubleMatrix2D[][] blocks;
+
+	/** the first row of each block row; <tt>rowOffsets[blocks.length] == rows</tt>. */
+	protected int[] rowOffsets;
+
+	/** the first column of each block column; the last entry equals <tt>columns</tt>. */
+	protected int[] columnOffsets;
+/**
+ * Constructs a block matrix view of the given blocks.
+ * The grid is copied, the blocks are not.
+ * <p>
+ * All matrices of a given column within <tt>parts</tt> must have the same number of columns,
+ * and all matrices of a given row within <tt>parts</tt> must have the same number of rows; <tt>null</tt>s are ignored.
+ * A grid row (column) holding only <tt>null</tt>s has zero rows (columns).
+ *
+ * @param parts the blocks, <tt>parts[blockRow][blockColumn]</tt>.
+ * @throws IllegalArgumentException subject to the conditions outlined above, or if <tt>parts</tt> is not rectangular.
+ */
+public BlockDoubleMatrix2D(DoubleMatrix2D[][] parts) {
+	int blockRows = parts.length;
+	int blockColumns = blockRows == 0 ? 0 : parts[0].length;
+	for (int i=0; i<blockRows; i++) {
+		if (parts[i].length != blockColumns) throw new IllegalArgumentException("All rows of array must have same number of columns.");
+	}
+	int[] heights = new int[blockRows];
+	int[] widths = new int[blockColumns];
+	for (int i=0; i<blockRows; i++) {
+		for (int j=0; j<blockColumns; j++) {
+			DoubleMatrix2D part = parts[i][j];
+			if (part == null) continue;
+			if (heights[i] > 0 && part.rows() > 0 && part.rows() != heights[i]) throw new IllegalArgumentException("Different number of rows.");
+			if (widths[j] > 0 && part.columns() > 0 && part.columns() != widths[j]) throw new IllegalArgumentException("Different number of columns.");
+			heights[i] = Math.max(heights[i], part.rows());
+			widths[j] = Math.max(widths[j], part.columns());
+		}
+	}
+	DoubleMatrix2D[][] grid = new DoubleMatrix2D[blockRows][];
+	for (int i=0; i<blockRows; i++) grid[i] = (DoubleMatrix2D[]) parts[i].clone();
+	setUp(grid, offsets(heights), offsets(widths));
+}
+/**
+ * Constructs a block matrix view on the given grid and offsets, which are not copied.
+ */
+protected BlockDoubleMatrix2D(DoubleMatrix2D[][] blocks, int[] rowOffsets, int[] columnOffsets) {
+	setUp(blocks, rowOffsets, columnOffsets);
+}
+/**
+ * Sets all cells to the state specified by <tt>value</tt>.
+ * @param    value the value to be filled into the cells.
+ * @return <tt>this</tt> (for convenience only).
+ * @throws IllegalArgumentException if <tt>value != 0</tt> and the matrix has a non-trivial empty block.
+ */
+public DoubleMatrix2D assign(double value) {
+	if (value != 0) checkEmpty("assign "+value);
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) blocks[i][j].assign(value);
+		}
+	}
+	return this;
+}
+/**
+ * Assigns the result of a function to each cell; <tt>x[row,col] = function(x[row,col])</tt>.
+ * @param function a function object taking as argument the current cell's value.
+ * @return <tt>this</tt> (for convenience only).
+ * @throws IllegalArgumentException if <tt>function.apply(0) != 0</tt> and the matrix has a non-trivial empty block.
+ */
+public DoubleMatrix2D assign(cern.colt.function.DoubleFunction function) {
+	if (hasEmpty() && function.apply(0) != 0) checkEmpty("assign a function not mapping 0 to 0");
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) blocks[i][j].assign(function);
+		}
+	}
+	return this;
+}
+/**
+ * Replaces all cell values of the receiver with the values of another matrix.
+ * Both matrices must have the same number of rows and columns.
+ * If <tt>other</tt> is a block matrix, it is copied first, since it may be a view of the receiver.
+ *
+ * @param     other   the source matrix to copy from (may be identical to the receiver).
+ * @return <tt>this</tt> (for convenience only).
+ * @throws	IllegalArgumentException if <tt>columns() != other.columns() || rows() != other.rows()</tt>,
+ * or if <tt>other</tt> has a non-zero cell where the receiver has an empty block.
+ */
+public DoubleMatrix2D assign(DoubleMatrix2D other) {
+	if (other == this) return this;
+	checkShape(other);
+	if (other instanceof BlockDoubleMatrix2D) other = other.copy();
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] == null && part(other,i,j).cardinality() != 0) checkEmpty("assign a matrix with non-zero cells");
+		}
+	}
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) blocks[i][j].assign(part(other,i,j));
+		}
+	}
+	return this;
+}
+/**
+ * Assigns the result of a function to each cell; <tt>x[row,col] = function(x[row,col],y[row,col])</tt>.
+ * If <tt>y</tt> is a block matrix, it is copied first, since it may be a view of the receiver.
+ *
+ * @param y the secondary matrix to operate on.
+ * @param function a function object taking as first argument the current cell's value of <tt>this</tt>,
+ * and as second argument the current cell's value of <tt>y</tt>,
+ * @return <tt>this</tt> (for convenience only).
+ * @throws	IllegalArgumentException if <tt>columns() != other.columns() || rows() != other.rows()</tt>,
+ * or if the function yields a non-zero value for a cell of an empty block.
+ */
+public DoubleMatrix2D assign(DoubleMatrix2D y, cern.colt.function.DoubleDoubleFunction function) {
+	checkShape(y);
+	if (y instanceof BlockDoubleMatrix2D) y = y.copy();
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) continue;
+			DoubleMatrix2D part = part(y,i,j);
+			for (int r=part.rows(); --r >= 0; ) {
+				for (int c=part.columns(); --c >= 0; ) {
+					if (function.apply(0, part.getQuick(r,c)) != 0) checkEmpty("assign a function yielding non-zero values");
+				}
+			}
+		}
+	}
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) blocks[i][j].assign(part(y,i,j), function);
+		}
+	}
+	return this;
+}
+/**
+ * Returns the number of block columns of the grid.
+ */
+public int blockColumns() {
+	return columnOffsets.length - 1;
+}
+/**
+ * Returns the number of block rows of the grid.
+ */
+public int blockRows() {
+	return rowOffsets.length - 1;
+}
+/**
+ * Returns the number of cells having non-zero values; ignores tolerance.
+ */
+public int cardinality() {
+	int cardinality = 0;
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) cardinality += blocks[i][j].cardinality();
+		}
+	}
+	return cardinality;
+}
+/**
+ * Throws an <tt>IllegalArgumentException</tt> if the matrix has a non-trivial empty block.
+ */
+protected void checkEmpty(String operation) {
+	if (hasEmpty()) throw new IllegalArgumentException("Attempted to "+operation+" on a block matrix with empty blocks: "+toStringShort());
+}
+/**
+ * Constructs and returns a deep copy of the receiver; a matrix of the type of the blocks, see {@link #like(int,int)}, filled block by block.
+ * <p>
+ * <b>Note that the returned matrix is an independent deep copy.</b>
+ * The returned matrix is not backed by this matrix, so changes in the returned matrix are not reflected in this matrix, and vice-versa.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public DoubleMatrix2D copy() {
+	DoubleMatrix2D copy = like();
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) part(copy,i,j).assign(blocks[i][j]);
+		}
+	}
+	return copy;
+}
+/**
+ * Returns the index of the block holding the given row (column), i.e. the last <tt>b</tt> with <tt>offsets[b] &lt;= index</tt>.
+ */
+protected static int find(int[] offsets, int index) {
+	int low = 0, high = offsets.length - 2;
+	while (low < high) {
+		int mid = (low + high + 1) >>> 1;
+		if (offsets[mid] <= index) low = mid;
+		else high = mid - 1;
+	}
+	return low;
+}
+/**
+ * Applies a procedure to each non-zero cell, block by block, each block using its own, possibly sparse, implementation.
+ * @param function a function object taking as arguments the row, column and value of a cell, and returning its new value.
+ * @return <tt>this</tt> (for convenience only).
+ */
+public DoubleMatrix2D forEachNonZero(final cern.colt.function.IntIntDoubleFunction function) {
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] == null) continue;
+			final int rowOffset = rowOffsets[i], columnOffset = columnOffsets[j];
+			blocks[i][j].forEachNonZero(
+				new cern.colt.function.IntIntDoubleFunction() {
+					public double apply(int row, int column, double value) {
+						return function.apply(rowOffset + row, columnOffset + column, value);
+					}
+				}
+			);
+		}
+	}
+	return this;
+}
+/**
+ * Returns the block at the given position of the grid; <tt>null</tt> if the block is empty.
+ * @throws IndexOutOfBoundsException if <tt>blockRow &lt; 0 || blockRow &gt;= blockRows() || blockColumn &lt; 0 || blockColumn &gt;= blockColumns()</tt>.
+ */
+public DoubleMatrix2D getBlock(int blockRow, int blockColumn) {
+	return blocks[blockRow][blockColumn];
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>[row,column]</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @return    the value at the specified coordinate.
+ */
+public double getQuick(int row, int column) {
+	int i = find(rowOffsets,row), j = find(columnOffsets,column);
+	DoubleMatrix2D block = blocks[i][j];
+	if (block == null) return 0;
+	return block.getQuick(row - rowOffsets[i], column - columnOffsets[j]);
+}
+/**
+ * Returns whether the matrix has an empty block with at least one cell.
+ */
+protected boolean hasEmpty() {
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] == null && rowOffsets[i+1] > rowOffsets[i] && columnOffsets[j+1] > columnOffsets[j]) return true;
+		}
+	}
+	return false;
+}
+/**
+ * Construct and returns a new empty matrix of the dynamic type of the first non-empty block, having the specified number of rows and columns;
+ * a {@link DenseDoubleMatrix2D} if all blocks are empty.
+ *
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new empty matrix.
+ */
+public DoubleMatrix2D like(int rows, int columns) {
+	DoubleMatrix2D block = firstBlock();
+	return block == null ? new DenseDoubleMatrix2D(rows,columns) : block.like(rows,columns);
+}
+/**
+ * Construct and returns a new 1-d matrix of the type corresponding to the first non-empty block; a {@link DenseDoubleMatrix1D} if all blocks are empty.
+ *
+ * @param size the number of cells the matrix shall have.
+ * @return  a new matrix.
+ */
+public DoubleMatrix1D like1D(int size) {
+	DoubleMatrix2D block = firstBlock();
+	return block == null ? new DenseDoubleMatrix1D(size) : block.like1D(size);
+}
+/**
+ * Not supported; rows and columns of block matrices are delegating views.
+ */
+protected DoubleMatrix1D like1D(int size, int offset, int stride) {
+	throw new InternalError(); // should never get called
+}
+/**
+ * Returns the first non-empty block, or <tt>null</tt>.
+ */
+protected DoubleMatrix2D firstBlock() {
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) return blocks[i][j];
+		}
+	}
+	return null;
+}
+/**
+ * Returns the offsets of consecutive ranges of the given lengths; one more than there are lengths.
+ */
+protected static int[] offsets(int[] lengths) {
+	int[] offsets = new int[lengths.length + 1];
+	for (int i=0; i<lengths.length; i++) offsets[i+1] = offsets[i] + lengths[i];
+	return offsets;
+}
+/**
+ * Returns the part of the given matrix, of the shape of the receiver, covered by the given block.
+ */
+protected DoubleMatrix2D part(DoubleMatrix2D matrix, int blockRow, int blockColumn) {
+	int row = rowOffsets[blockRow], column = columnOffsets[blockColumn];
+	return matrix.viewPart(row, column, rowOffsets[blockRow+1] - row, columnOffsets[blockColumn+1] - column);
+}
+/**
+ * Sets the matrix cell at coordinate <tt>[row,column]</tt> to the specified value.
+ *
+ * <p>Provided with invalid parameters this method may access illegal indexes without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @param    value the value to be filled into the specified cell.
+ * @throws IllegalArgumentException if the cell belongs to an empty block and <tt>value != 0</tt>.
+ */
+public void setQuick(int row, int column, double value) {
+	int i = find(rowOffsets,row), j = find(columnOffsets,column);
+	DoubleMatrix2D block = blocks[i][j];
+	if (block == null) {
+		if (value != 0) throw new IllegalArgumentException("Attempted to set cell ["+row+","+column+"] of an empty block to "+value);
+		return;
+	}
+	block.setQuick(row - rowOffsets[i], column - columnOffsets[j], value);
+}
+/**
+ * Sets up the matrix on the given grid and offsets.
+ */
+protected void setUp(DoubleMatrix2D[][] blocks, int[] rowOffsets, int[] columnOffsets) {
+	this.blocks = blocks;
+	this.rowOffsets = rowOffsets;
+	this.columnOffsets = columnOffsets;
+	try {
+		setUp(rowOffsets[rowOffsets.length-1], columnOffsets[columnOffsets.length-1]);
+	}
+	catch (IllegalArgumentException exc) { // we can hold rows*columns>Integer.MAX_VALUE cells !
+		if (! "matrix too large".equals(exc.getMessage())) throw exc;
+	}
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the rows of the given column.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param column the column to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>column < 0 || column >= columns()</tt>.
+@see #viewRow(int)
+*/
+public DoubleMatrix1D viewColumn(int column) {
+	checkColumn(column);
+	return viewDice().viewRow(column);
+}
+/**
+Constructs and returns a new <i>flip view</i> along the column axis; a block matrix of the column flipped blocks, in reverse order.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@return a new flip view.
+@see #viewRowFlip()
+*/
+public DoubleMatrix2D viewColumnFlip() {
+	int m = blockRows(), n = blockColumns();
+	DoubleMatrix2D[][] grid = new DoubleMatrix2D[m][n];
+	int[] widths = new int[n];
+	for (int j=0; j<n; j++) {
+		widths[j] = columnOffsets[n-j] - columnOffsets[n-j-1];
+		for (int i=0; i<m; i++) {
+			DoubleMatrix2D block = blocks[i][n-1-j];
+			grid[i][j] = block == null ? null : block.viewColumnFlip();
+		}
+	}
+	return new BlockDoubleMatrix2D(grid, rowOffsets, offsets(widths));
+}
+/**
+Constructs and returns a new <i>dice (transposition) view</i>; a block matrix of the diced blocks, with the grid transposed.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@return a new dice view.
+*/
+public DoubleMatrix2D viewDice() {
+	int m = blockRows(), n = blockColumns();
+	DoubleMatrix2D[][] grid = new DoubleMatrix2D[n][m];
+	for (int i=0; i<m; i++) {
+		for (int j=0; j<n; j++) {
+			grid[j][i] = blocks[i][j] == null ? null : blocks[i][j].viewDice();
+		}
+	}
+	return new BlockDoubleMatrix2D(grid, columnOffsets, rowOffsets);
+}
+/**
+Constructs and returns a new <i>sub-range view</i> that is a <tt>height x width</tt> sub matrix starting at <tt>[row,column]</tt>;
+a block matrix of the parts of the blocks intersecting the range.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param     row   The index of the row-coordinate.
+@param     column   The index of the column-coordinate.
+@param     height   The height of the box.
+@param     width   The width of the box.
+@throws	IndexOutOfBoundsException if <tt>column<0 || width<0 || column+width>columns() || row<0 || height<0 || row+height>rows()</tt>
+@return the new view.
+*/
+public DoubleMatrix2D viewPart(int row, int column, int height, int width) {
+	checkBox(row,column,height,width);
+	if (height == 0 || width == 0) {
+		return new BlockDoubleMatrix2D(new DoubleMatrix2D[1][1], new int[] {0,height}, new int[] {0,width});
+	}
+	int i0 = find(rowOffsets,row), i1 = find(rowOffsets,row+height-1);
+	int j0 = find(columnOffsets,column), j1 = find(columnOffsets,column+width-1);
+	int[] heights = new int[i1-i0+1], widths = new int[j1-j0+1];
+	DoubleMatrix2D[][] grid = new DoubleMatrix2D[heights.length][widths.length];
+	for (int i=i0; i<=i1; i++) {
+		int low = Math.max(row, rowOffsets[i]), high = Math.min(row+height, rowOffsets[i+1]);
+		heights[i-i0] = high - low;
+		for (int j=j0; j<=j1; j++) {
+			int left = Math.max(column, columnOffsets[j]), right = Math.min(column+width, columnOffsets[j+1]);
+			widths[j-j0] = right - left;
+			DoubleMatrix2D block = blocks[i][j];
+			if (block != null) grid[i-i0][j-j0] = block.viewPart(low - rowOffsets[i], left - columnOffsets[j], high - low, right - left);
+		}
+	}
+	return new BlockDoubleMatrix2D(grid, offsets(heights), offsets(widths));
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the columns of the given row.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param row the row to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>row < 0 || row >= rows()</tt>.
+@see #viewColumn(int)
+*/
+public DoubleMatrix1D viewRow(int row) {
+	checkRow(row);
+	return new DelegateDoubleMatrix1D(this,row);
+}
+/**
+Constructs and returns a new <i>flip view</i> along the row axis; a block matrix of the row flipped blocks, in reverse order.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@return a new flip view.
+@see #viewColumnFlip()
+*/
+public DoubleMatrix2D viewRowFlip() {
+	int m = blockRows(), n = blockColumns();
+	DoubleMatrix2D[][] grid = new DoubleMatrix2D[m][n];
+	int[] heights = new int[m];
+	for (int i=0; i<m; i++) {
+		heights[i] = rowOffsets[m-i] - rowOffsets[m-i-1];
+		for (int j=0; j<n; j++) {
+			DoubleMatrix2D block = blocks[m-1-i][j];
+			grid[i][j] = block == null ? null : block.viewRowFlip();
+		}
+	}
+	return new BlockDoubleMatrix2D(grid, offsets(heights), columnOffsets);
+}
+/**
+Constructs and returns a new <i>selection view</i> that is a matrix holding the indicated cells.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param  rowIndexes   The rows of the cells that shall be visible in the new view. To indicate that <i>all</i> rows shall be visible, simply set this parameter to <tt>null</tt>.
+@param  columnIndexes   The columns of the cells that shall be visible in the new view. To indicate that <i>all</i> columns shall be visible, simply set this parameter to <tt>null</tt>.
+@return the new view.
+@throws IndexOutOfBoundsException if <tt>!(0 <= rowIndexes[i] < rows())</tt> for any <tt>i=0..rowIndexes.length()-1</tt>.
+@throws IndexOutOfBoundsException if <tt>!(0 <= columnIndexes[i] < columns())</tt> for any <tt>i=0..columnIndexes.length()-1</tt>.
+*/
+public DoubleMatrix2D viewSelection(int[] rowIndexes, int[] columnIndexes) {
+	return new WrapperDoubleMatrix2D(this).viewSelection(rowIndexes,columnIndexes);
+}
+/**
+ * Not supported; selections of block matrices are delegating views.
+ */
+protected DoubleMatrix2D viewSelectionLike(int[] rowOffsets, int[] columnOffsets) {
+	throw new InternalError(); // should never be called
+}
+/**
+Constructs and returns a new <i>stride view</i> which is a sub matrix consisting of every i-th cell.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param rowStride the row step factor.
+@param columnStride the column step factor.
+@return a new view.
+@throws	IndexOutOfBoundsException if <tt>rowStride<=0 || columnStride<=0</tt>.
+*/
+public DoubleMatrix2D viewStrides(int rowStride, int columnStride) {
+	return new WrapperDoubleMatrix2D(this).viewStrides(rowStride,columnStride);
+}
+/**
+ * Linear algebraic matrix-vector multiplication; <tt>z = alpha * A * y + beta*z</tt>, block by block.
+ * @param y the source vector.
+ * @param z the vector where results are to be stored. Set this parameter to <tt>null</tt> to indicate that a new result vector shall be constructed.
+ * @return z (for convenience only).
+ * @throws IllegalArgumentException if <tt>A.columns() != y.size() || A.rows() > z.size())</tt>.
+ */
+public DoubleMatrix1D zMult(DoubleMatrix1D y, DoubleMatrix1D z, double alpha, double beta, boolean transposeA) {
+	if (transposeA) return viewDice().zMult(y,z,alpha,beta,false);
+	if (z == null) {
+		z = new DenseDoubleMatrix1D(rows);
+		beta = 0;
+	}
+	if (columns != y.size() || rows > z.size()) throw new IllegalArgumentException("Incompatible args: "+toStringShort()+", "+y.toStringShort()+", "+z.toStringShort());
+
+	DoubleMatrix1D zz = z.viewPart(0,rows);
+	if (beta == 0) zz.assign(0);
+	else if (beta != 1) zz.assign(cern.jet.math.Functions.mult(beta));
+	for (int i=0; i<blocks.length; i++) {
+		int row = rowOffsets[i], height = rowOffsets[i+1] - row;
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] == null) continue;
+			int column = columnOffsets[j];
+			blocks[i][j].zMult(y.viewPart(column, columnOffsets[j+1] - column), zz.viewPart(row,height), alpha, 1, false);
+		}
+	}
+	return z;
+}
+/**
+ * Linear algebraic matrix-matrix multiplication; <tt>C = alpha * A x B + beta*C</tt>, block by block.
+ * Each block is multiplied by the corresponding rows of <tt>B</tt>, or, if <tt>B</tt> is a block matrix, by its blocks, using its own implementation.
+ * <br>
+ * Matrix shapes: <tt>A(m x n), B(n x p), C(m x p)</tt>.
+ *
+ * @param B the second source matrix.
+ * @param C the matrix where results are to be stored. Set this parameter to <tt>null</tt> to indicate that a new result matrix shall be constructed.
+ * @return C (for convenience only).
+ *
+ * @throws IllegalArgumentException if <tt>B.rows() != A.columns()</tt>.
+ * @throws IllegalArgumentException if <tt>C.rows() != A.rows() || C.columns() != B.columns()</tt>.
+ * @throws IllegalArgumentException if <tt>A == C || B == C</tt>.
+ */
+public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, double beta, boolean transposeA, boolean transposeB) {
+	if (transposeA) return viewDice().zMult(B,C,alpha,beta,false,transposeB);
+	if (transposeB) return this.zMult(B.viewDice(),C,alpha,beta,false,false);
+
+	int p = B.columns();
+	if (C == null) {
+		C = new DenseDoubleMatrix2D(rows,p);
+		beta = 0;
+	}
+	if (B.rows() != columns)
+		throw new IllegalArgumentException("Matrix2D inner dimensions must agree:"+toStringShort()+", "+B.toStringShort());
+	if (C.rows() != rows || C.columns() != p)
+		throw new IllegalArgumentException("Incompatibel result matrix: "+toStringShort()+", "+B.toStringShort()+", "+C.toStringShort());
+	if (this == C || B == C)
+		throw new IllegalArgumentException("Matrices must not be identical");
+
+	if (beta == 0) C.assign(0);
+	else if (beta != 1) C.assign(cern.jet.math.Functions.mult(beta));
+	for (int i=0; i<blocks.length; i++) {
+		int row = rowOffsets[i], height = rowOffsets[i+1] - row;
+		DoubleMatrix2D CC = C.viewPart(row, 0, height, p);
+		for (int j=0; j<blocks[i].length; j++) {
+			DoubleMatrix2D A = blocks[i][j];
+			if (A == null) continue;
+			int column = columnOffsets[j], width = columnOffsets[j+1] - column;
+			DoubleMatrix2D BB = B.viewPart(column, 0, width, p);
+			if (!(BB instanceof BlockDoubleMatrix2D)) {
+				A.zMult(BB, CC, alpha, 1, false, false);
+				continue;
+			}
+			// multiply by the blocks of B
+			BlockDoubleMatrix2D Blocks = (BlockDoubleMatrix2D) BB;
+			for (int k=0; k<Blocks.blocks.length; k++) {
+				int r = Blocks.rowOffsets[k], h = Blocks.rowOffsets[k+1] - r;
+				for (int l=0; l<Blocks.blocks[k].length; l++) {
+					if (Blocks.blocks[k][l] == null) continue;
+					int c = Blocks.columnOffsets[l], w = Blocks.columnOffsets[l+1] - c;
+					A.viewPart(0, r, height, h).zMult(Blocks.blocks[k][l], CC.viewPart(0, c, height, w), alpha, 1, false, false);
+				}
+			}
+		}
+	}
+	return C;
+}
+/**
+ * Returns the sum of all cells; <tt>Sum( x[i,j] )</tt>.
+ * @return the sum.
+ */
+public double zSum() {
+	double sum = 0;
+	for (int i=0; i<blocks.length; i++) {
+		for (int j=0; j<blocks[i].length; j++) {
+			if (blocks[i][j] != null) sum += blocks[i][j].zSum();
+		}
+	}
+	return sum;
+}
+}
@@ -0,0 +1,94 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Immutable sparse 2-d matrix holding <tt>double</tt> elements in compressed sparse column (CSC) format.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+The nonzeros of column <tt>i</tt> occupy the positions <tt>columnStarts[i] .. columnStarts[i+1]-1</tt> of the arrays <tt>rowIndexes</tt> and <tt>values</tt>, sorted by row.
+It is the format of choice for <tt>A'*x</tt>, which is computed concurrently one band of columns at a time; <tt>A*x</tt> scatters into the result instead.
+See {@link CompressedDoubleMatrix2D} for details, and {@link CompressedDoubleMatrix2DBuilder} for how to assemble a matrix from (row,column,value) triplets.
+<p>
+<b>Example:</b>
+<pre>
+CompressedDoubleMatrix2DBuilder builder = new CompressedDoubleMatrix2DBuilder(3,3);
+builder.add(0,0,1); builder.add(2,1,4); builder.add(2,1,1); // duplicates are summed
+CSCDoubleMatrix2D A = builder.buildCSC();
+DoubleMatrix1D y = A.zMult(x,null);
+</pre>
+
+@version 1.0, 10/18/26
+*/
+public class CSCDoubleMatrix2D extends CompressedDoubleMatrix2D {
+/**
+ * Constructs a matrix with a copy of the nonzeros of the given matrix.
+ * @param source the matrix to copy from.
+ */
+public CSCDoubleMatrix2D(DoubleMatrix2D source) {
+	this(new CompressedDoubleMatrix2DBuilder(source.rows(),source.columns()).addAll(source).buildCSC());
+}
+/**
+ * Constructs a matrix sharing the storage of the given matrix.
+ */
+private CSCDoubleMatrix2D(CSCDoubleMatrix2D other) {
+	this(other.rows, other.columns, other.starts, other.indexes, other.values, false);
+}
+/**
+ * Constructs a matrix on the given CSC storage; the arrays are not copied and must not be modified afterwards.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param columnStarts the start of each column within <tt>rowIndexes</tt> and <tt>values</tt>, followed by the number of nonzeros; length <tt>columns+1</tt>.
+ * @param rowIndexes the row of each nonzero, strictly ascending within each column.
+ * @param values the nonzero values.
+ * @throws IllegalArgumentException if the storage is malformed.
+ */
+public CSCDoubleMatrix2D(int rows, int columns, int[] columnStarts, int[] rowIndexes, double[] values) {
+	this(rows, columns, columnStarts, rowIndexes, values, true);
+}
+/**
+ * Constructs a matrix on the given CSC storage, validating it only if <tt>check</tt> is <tt>true</tt>.
+ */
+CSCDoubleMatrix2D(int rows, int columns, int[] columnStarts, int[] rowIndexes, double[] values, boolean check) {
+	super(rows, columns, columns, rows, columnStarts, rowIndexes, values, check);
+}
+/**
+ * Returns <tt>false</tt>; the major lines are columns.
+ */
+protected boolean isRowMajor() {
+	return false;
+}
+/**
+ * Returns the receiver.
+ */
+public CSCDoubleMatrix2D toCSC() {
+	return this;
+}
+/**
+ * Returns a new CSR matrix holding the same cells, converted in time <tt>O(nonZeros+rows+columns)</tt>.
+ */
+public CSRDoubleMatrix2D toCSR() {
+	int[] rowStarts = new int[rows+1];
+	int[] columnIndexes = new int[nonZeros()];
+	double[] values = new double[nonZeros()];
+	transpose(rowStarts, columnIndexes, values);
+	return new CSRDoubleMatrix2D(rows, columns, rowStarts, columnIndexes, values, false);
+}
+/**
+Constructs and returns a new <i>dice (transposition) view</i>; Swaps axes; example: 3 x 4 matrix --> 4 x 3 matrix.
+The view is a {@link CSRDoubleMatrix2D} sharing the arrays of the receiver, so this is a zero-copy transposition, taking O(1), i.e. constant time.
+In other words: <tt>view.get(row,column)==this.get(column,row)</tt>.
+
+@return a new dice view.
+*/
+public DoubleMatrix2D viewDice() {
+	return new CSRDoubleMatrix2D(columns, rows, starts, indexes, values, false);
+}
+}
@@ -0,0 +1,94 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Immutable sparse 2-d matrix holding <tt>double</tt> elements in compressed sparse row (CSR) format.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+The nonzeros of row <tt>i</tt> occupy the positions <tt>rowStarts[i] .. rowStarts[i+1]-1</tt> of the arrays <tt>columnIndexes</tt> and <tt>values</tt>, sorted by column.
+It is the format of choice for <tt>A*x</tt>, which is computed concurrently one band of rows at a time; <tt>A'*x</tt> scatters into the result instead.
+See {@link CompressedDoubleMatrix2D} for details, and {@link CompressedDoubleMatrix2DBuilder} for how to assemble a matrix from (row,column,value) triplets.
+<p>
+<b>Example:</b>
+<pre>
+CompressedDoubleMatrix2DBuilder builder = new CompressedDoubleMatrix2DBuilder(3,3);
+builder.add(0,0,1); builder.add(2,1,4); builder.add(2,1,1); // duplicates are summed
+CSRDoubleMatrix2D A = builder.buildCSR();
+DoubleMatrix1D y = A.zMult(x,null);
+</pre>
+
+@version 1.0, 10/18/26
+*/
+public class CSRDoubleMatrix2D extends CompressedDoubleMatrix2D {
+/**
+ * Constructs a matrix with a copy of the nonzeros of the given matrix.
+ * @param source the matrix to copy from.
+ */
+public CSRDoubleMatrix2D(DoubleMatrix2D source) {
+	this(new CompressedDoubleMatrix2DBuilder(source.rows(),source.columns()).addAll(source).buildCSR());
+}
+/**
+ * Constructs a matrix sharing the storage of the given matrix.
+ */
+private CSRDoubleMatrix2D(CSRDoubleMatrix2D other) {
+	this(other.rows, other.columns, other.starts, other.indexes, other.values, false);
+}
+/**
+ * Constructs a matrix on the given CSR storage; the arrays are not copied and must not be modified afterwards.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param rowStarts the start of each row within <tt>columnIndexes</tt> and <tt>values</tt>, followed by the number of nonzeros; length <tt>rows+1</tt>.
+ * @param columnIndexes the column of each nonzero, strictly ascending within each row.
+ * @param values the nonzero values.
+ * @throws IllegalArgumentException if the storage is malformed.
+ */
+public CSRDoubleMatrix2D(int rows, int columns, int[] rowStarts, int[] columnIndexes, double[] values) {
+	this(rows, columns, rowStarts, columnIndexes, values, true);
+}
+/**
+ * Constructs a matrix on the given CSR storage, validating it only if <tt>check</tt> is <tt>true</tt>.
+ */
+CSRDoubleMatrix2D(int rows, int columns, int[] rowStarts, int[] columnIndexes, double[] values, boolean check) {
+	super(rows, columns, rows, columns, rowStarts, columnIndexes, values, check);
+}
+/**
+ * Returns <tt>true</tt>; the major lines are rows.
+ */
+protected boolean isRowMajor() {
+	return true;
+}
+/**
+ * Returns a new CSC matrix holding the same cells, converted in time <tt>O(nonZeros+rows+columns)</tt>.
+ */
+public CSCDoubleMatrix2D toCSC() {
+	int[] columnStarts = new int[columns+1];
+	int[] rowIndexes = new int[nonZeros()];
+	double[] values = new double[nonZeros()];
+	transpose(columnStarts, rowIndexes, values);
+	return new CSCDoubleMatrix2D(rows, columns, columnStarts, rowIndexes, values, false);
+}
+/**
+ * Returns the receiver.
+ */
+public CSRDoubleMatrix2D toCSR() {
+	return this;
+}
+/**
+Constructs and returns a new <i>dice (transposition) view</i>; Swaps axes; example: 3 x 4 matrix --> 4 x 3 matrix.
+The view is a {@link CSCDoubleMatrix2D} sharing the arrays of the receiver, so this is a zero-copy transposition, taking O(1), i.e. constant time.
+In other words: <tt>view.get(row,column)==this.get(column,row)</tt>.
+
+@return a new dice view.
+*/
+public DoubleMatrix2D viewDice() {
+	return new CSCDoubleMatrix2D(columns, rows, starts, indexes, values, false);
+}
+}
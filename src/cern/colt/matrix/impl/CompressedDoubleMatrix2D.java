@@ -0,0 +1,662 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Abstract base class of the immutable compressed sparse 2-d matrices {@link CSRDoubleMatrix2D} (compressed sparse row) and {@link CSCDoubleMatrix2D} (compressed sparse column).
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation:</b>
+<p>
+The nonzeros are stored line by line along the <i>major</i> dimension (the rows of a CSR matrix, the columns of a CSC matrix) in three plain arrays:
+the nonzeros of major line <tt>i</tt> occupy the positions <tt>starts[i] .. starts[i+1]-1</tt>;
+<tt>values[k]</tt> holds the value and <tt>indexes[k]</tt> the <i>minor</i> coordinate (column for CSR, row for CSC) of the nonzero at position <tt>k</tt>.
+Within a line, minor coordinates are kept strictly ascending.
+<p>
+Unlike {@link RCDoubleMatrix2D} and {@link SparseDoubleMatrix2D}, these matrices are <b>immutable</b>; any attempt to modify a cell throws an <tt>UnsupportedOperationException</tt>.
+In exchange, the storage is as compact as it gets and multiplications stream through it without any per-cell lookup.
+Matrices are assembled from (row,column,value) triplets with a {@link CompressedDoubleMatrix2DBuilder}, or converted from any other matrix.
+Methods {@link #like(int,int)} and {@link #copy()} hand out mutable {@link SparseDoubleMatrix2D} matrices.
+<p>
+<b>Multiplication:</b>
+<p>
+Matrix-vector and matrix-matrix multiplication with dense operands, as well as their transposed variants, work directly on the compressed storage; the transpose is never materialized.
+Lines whose minor coordinates index the result (<tt>A*x</tt> on CSR, <tt>A'*x</tt> on CSC) are processed concurrently in bands holding about the same number of nonzeros.
+The other direction scatters into the result; matrix-vector products then accumulate one partial result vector per thread, matrix-matrix products split the columns of the result.
+Multiplying two compressed matrices yields a compressed matrix, computed row by row (Gustavson's algorithm).
+All multiplications run in parallel mode as described in {@link Parallel}.
+<p>
+<b>Memory requirements:</b>
+<p>
+<tt>memory [bytes] = 4*majors + 12 * nonZeros</tt>.
+<br>Where <tt>majors</tt> is the number of rows (CSR) or columns (CSC).
+Thus, a 1000000 x 1000000 matrix with 50000000 non-zero cells consumes 576 MB.
+<p>
+<b>Time complexity:</b>
+<p>
+Getting a cell value takes time <tt>O(log nzl)</tt> where <tt>nzl</tt> is the number of non-zeros of the touched line.
+{@link #viewDice()} takes constant time; it returns a matrix of the opposite format sharing the same arrays.
+
+@version 1.0, 10/18/26
+*/
+public abstract class CompressedDoubleMatrix2D extends WrapperDoubleMatrix2D {
+	/*
+	 * The elements of the matrix.
+	 */
+	protected int[] starts;
+	protected int[] indexes;
+	protected double[] values;
+/**
+ * Constructs a matrix on the given storage; the arrays are not copied.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param majors the number of major lines; <tt>rows</tt> for CSR, <tt>columns</tt> for CSC.
+ * @param minors the number of cells per major line; <tt>columns</tt> for CSR, <tt>rows</tt> for CSC.
+ * @param starts the start of each major line within <tt>indexes</tt> and <tt>values</tt>, followed by the number of nonzeros; length <tt>majors+1</tt>.
+ * @param indexes the minor coordinates, strictly ascending within each line.
+ * @param values the nonzero values.
+ * @param check whether to validate the storage; <tt>false</tt> if it is known to be valid.
+ * @throws IllegalArgumentException if the storage is malformed.
+ */
+protected CompressedDoubleMatrix2D(int rows, int columns, int majors, int minors, int[] starts, int[] indexes, double[] values, boolean check) {
+	super(null);
+	try {
+		setUp(rows, columns);
+	}
+	catch (IllegalArgumentException exc) { // we can hold rows*columns>Integer.MAX_VALUE cells !
+		if (! "matrix too large".equals(exc.getMessage())) throw exc;
+	}
+	if (check) checkStorage(majors, minors, starts, indexes, values);
+	this.starts = starts;
+	this.indexes = indexes;
+	this.values = values;
+}
+/**
+ * Returns the first major line of the given band, when cutting the major lines into <tt>chunks</tt> bands holding about the same number of nonzeros.
+ */
+protected int boundary(int chunk, int chunks) {
+	int majors = starts.length-1;
+	if (chunk >= chunks) return majors;
+	long target = (long) starts[majors] * chunk / chunks;
+	int low = 0;
+	int high = majors;
+	while (low < high) { // the first line starting at or after target
+		int mid = (low + high) >>> 1;
+		if (starts[mid] < target) low = mid+1;
+		else high = mid;
+	}
+	return low;
+}
+/**
+ * Returns the number of sequential bands the major lines are cut into, such that each band holds about {@link Parallel#getThreshold()} nonzeros.
+ */
+protected int chunks(ForkJoinPool pool) {
+	if (pool == null) return 1;
+	int majors = starts.length-1;
+	return (int) Math.max(1, Math.min(majors, nonZeros() / Parallel.getThreshold()));
+}
+/**
+ * Returns the number of cells having non-zero values; ignores tolerance.
+ */
+public int cardinality() {
+	int cardinality = 0;
+	for (int k=nonZeros(); --k >= 0; ) {
+		if (values[k] != 0) cardinality++;
+	}
+	return cardinality;
+}
+/**
+ * Checks that the given arrays form a valid compressed storage.
+ * @throws IllegalArgumentException if the storage is malformed.
+ */
+protected static void checkStorage(int majors, int minors, int[] starts, int[] indexes, double[] values) {
+	if (starts.length != majors+1 || starts[0] != 0) throw new IllegalArgumentException("starts must have length "+(majors+1)+" and start with 0");
+	int nonZeros = starts[majors];
+	if (nonZeros > indexes.length || nonZeros > values.length) throw new IllegalArgumentException("too few indexes or values: "+nonZeros+" nonzeros");
+	for (int i=0; i < majors; i++) {
+		int low = starts[i];
+		int high = starts[i+1];
+		if (high < low) throw new IllegalArgumentException("starts must not decrease: line "+i);
+		int previous = -1;
+		for (int k=low; k < high; k++) {
+			int j = indexes[k];
+			if (j <= previous || j >= minors) throw new IllegalArgumentException("indexes out of range or not strictly ascending: line "+i+", index "+j);
+			previous = j;
+		}
+	}
+}
+/**
+ * Returns a mutable deep copy of the receiver, a {@link SparseDoubleMatrix2D}.
+ *
+ * @return  a deep copy of the receiver.
+ */
+public DoubleMatrix2D copy() {
+	final DoubleMatrix2D copy = new SparseDoubleMatrix2D(rows, columns, Math.max(nonZeros(),1), 0.2, 0.5);
+	forEachNonZero(
+		new cern.colt.function.IntIntDoubleFunction() {
+			public double apply(int i, int j, double value) {
+				copy.setQuick(i,j,value);
+				return value;
+			}
+		}
+	);
+	return copy;
+}
+/**
+ * Applies a procedure to each non-zero cell, in the order of the storage.
+ * Since the matrix is immutable, the function must return the value it was passed.
+ * @throws UnsupportedOperationException if the function returns a different value.
+ */
+public DoubleMatrix2D forEachNonZero(final cern.colt.function.IntIntDoubleFunction function) {
+	boolean rowMajor = isRowMajor();
+	for (int i=0, majors=starts.length-1; i < majors; i++) {
+		for (int k=starts[i], high=starts[i+1]; k < high; k++) {
+			double value = values[k];
+			if (value == 0) continue;
+			double r = rowMajor ? function.apply(i,indexes[k],value) : function.apply(indexes[k],i,value);
+			if (r != value && !(r != r && value != value)) throw new UnsupportedOperationException("Attempted to modify immutable matrix.");
+		}
+	}
+	return this;
+}
+/**
+ * Returns the content of this matrix if it is a wrapper; or <tt>this</tt> otherwise.
+ * Override this method in wrappers.
+ */
+protected DoubleMatrix2D getContent() {
+	return this;
+}
+/**
+ * Fills the coordinates and values of cells having non-zero values into the specified lists, in the order of the storage.
+ *
+ * @param rowList the list to be filled with row indexes, can have any size.
+ * @param columnList the list to be filled with column indexes, can have any size.
+ * @param valueList the list to be filled with values, can have any size.
+ */
+public void getNonZeros(IntArrayList rowList, IntArrayList columnList, DoubleArrayList valueList) {
+	rowList.clear();
+	columnList.clear();
+	valueList.clear();
+	IntArrayList majorList = isRowMajor() ? rowList : columnList;
+	IntArrayList minorList = isRowMajor() ? columnList : rowList;
+	for (int i=0, majors=starts.length-1; i < majors; i++) {
+		for (int k=starts[i], high=starts[i+1]; k < high; k++) {
+			double value = values[k];
+			if (value != 0) {
+				majorList.add(i);
+				minorList.add(indexes[k]);
+				valueList.add(value);
+			}
+		}
+	}
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>[row,column]</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @return    the value at the specified coordinate.
+ */
+public double getQuick(int row, int column) {
+	int major = row;
+	int minor = column;
+	if (!isRowMajor()) {
+		major = column;
+		minor = row;
+	}
+	int k = cern.colt.Sorting.binarySearchFromTo(indexes,minor,starts[major],starts[major+1]-1);
+	double v = 0;
+	if (k>=0) v = values[k];
+	return v;
+}
+/**
+ * Returns <tt>true</tt> if the major lines are rows (CSR), <tt>false</tt> if they are columns (CSC).
+ */
+protected abstract boolean isRowMajor();
+/**
+ * Construct and returns a new empty mutable matrix, a {@link SparseDoubleMatrix2D}, having the specified number of rows and columns.
+ *
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new empty matrix.
+ */
+public DoubleMatrix2D like(int rows, int columns) {
+	return new SparseDoubleMatrix2D(rows,columns);
+}
+/**
+ * Construct and returns a new 1-d matrix <i>of the corresponding dynamic type</i>, a {@link SparseDoubleMatrix1D}.
+ *
+ * @param size the number of cells the matrix shall have.
+ * @return  a new matrix of the corresponding dynamic type.
+ */
+public DoubleMatrix1D like1D(int size) {
+	return new SparseDoubleMatrix1D(size);
+}
+/**
+ * Multiplies the major lines with a dense vector; <tt>z[i] = alpha * Sum(line[i] * y) + beta*z[i]</tt>, one result cell per major line.
+ */
+protected void multGather(DenseDoubleMatrix1D y, DenseDoubleMatrix1D z, final double alpha, final double beta) {
+	final int[] starts = this.starts;
+	final int[] indexes = this.indexes;
+	final double[] values = this.values;
+	final double[] yElements = y.elements;
+	final int yi = y.index(0);
+	final int yStride = y.stride;
+	final double[] zElements = z.elements;
+	final int zi = z.index(0);
+	final int zStride = z.stride;
+
+	ForkJoinPool pool = parallelPool(nonZeros());
+	final int chunks = chunks(pool);
+	Parallel.run(pool, chunks, nonZeros(),
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int high = boundary(to,chunks);
+				for (int i=boundary(from,chunks); i < high; i++) {
+					double sum = 0;
+					for (int k=starts[i], end=starts[i+1]; k < end; k++) {
+						sum += values[k]*yElements[yi + yStride*indexes[k]];
+					}
+					int index = zi + zStride*i;
+					zElements[index] = alpha*sum + beta*zElements[index];
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+ * Multiplies the major lines with a dense matrix; <tt>C[i,:] = alpha * Sum(line[i][j] * B[j,:]) + beta*C[i,:]</tt>, one result row per major line.
+ */
+protected void multGather(final DenseDoubleMatrix2D B, final DenseDoubleMatrix2D C, final double alpha, final double beta) {
+	final int[] starts = this.starts;
+	final int[] indexes = this.indexes;
+	final double[] values = this.values;
+	final double[] BElems = B.elements;
+	final double[] CElems = C.elements;
+	final int cB = B.columnStride;
+	final int cC = C.columnStride;
+	final int p = C.columns;
+
+	ForkJoinPool pool = parallelPool((long) nonZeros() * p);
+	final int chunks = chunks(pool);
+	Parallel.run(pool, chunks, (long) nonZeros() * p,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int high = boundary(to,chunks);
+				for (int i=boundary(from,chunks); i < high; i++) {
+					int ci = C.index(i,0);
+					if (beta != 1) {
+						for (int c=ci, j=p; --j >= 0; c += cC) CElems[c] = beta==0 ? 0 : beta*CElems[c];
+					}
+					for (int k=starts[i], end=starts[i+1]; k < end; k++) {
+						double a = alpha*values[k];
+						int bi = B.index(indexes[k],0);
+						for (int c=ci, b=bi, j=p; --j >= 0; c += cC, b += cB) {
+							CElems[c] += a*BElems[b];
+						}
+					}
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+ * Multiplies the transposed major lines with a dense vector; <tt>z = alpha * Sum(line[i] * y[i]) + beta*z</tt>, scattering each line into the result.
+ * In parallel mode each thread accumulates into a partial result vector of its own.
+ */
+protected void multScatter(DenseDoubleMatrix1D y, DenseDoubleMatrix1D z, final double alpha, final double beta) {
+	final int[] starts = this.starts;
+	final int[] indexes = this.indexes;
+	final double[] values = this.values;
+	final double[] yElements = y.elements;
+	final int yi = y.index(0);
+	final int yStride = y.stride;
+	final double[] zElements = z.elements;
+	final int zi = z.index(0);
+	final int zStride = z.stride;
+	final int n = z.size();
+
+	ForkJoinPool pool = parallelPool(nonZeros());
+	if (pool == null) {
+		if (beta != 1) z.assign(cern.jet.math.Functions.mult(beta));
+		for (int i=0, majors=starts.length-1; i < majors; i++) {
+			double yElem = alpha * yElements[yi + yStride*i];
+			for (int k=starts[i], end=starts[i+1]; k < end; k++) {
+				zElements[zi + zStride*indexes[k]] += values[k]*yElem;
+			}
+		}
+		return;
+	}
+
+	final int parts = pool.getParallelism();
+	final double[][] partials = new double[parts][];
+	Parallel.run(pool, parts, (long) parts * Parallel.getThreshold(), // one leaf per partial result
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int part=from; part < to; part++) {
+					double[] partial = new double[n];
+					int high = boundary(part+1,parts);
+					for (int i=boundary(part,parts); i < high; i++) {
+						double yElem = yElements[yi + yStride*i];
+						for (int k=starts[i], end=starts[i+1]; k < end; k++) {
+							partial[indexes[k]] += values[k]*yElem;
+						}
+					}
+					partials[part] = partial;
+				}
+				return 0;
+			}
+		}
+	);
+	Parallel.run(pool, n, (long) n * parts,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int j=from; j < to; j++) {
+					double sum = 0;
+					for (int part=0; part < parts; part++) sum += partials[part][j];
+					int index = zi + zStride*j;
+					zElements[index] = alpha*sum + beta*zElements[index];
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+ * Multiplies the transposed major lines with a dense matrix; <tt>C = alpha * Sum(line[i]' * B[i,:]) + beta*C</tt>, scattering each line into the result.
+ * In parallel mode the columns of the result are split among the threads.
+ */
+protected void multScatter(final DenseDoubleMatrix2D B, final DenseDoubleMatrix2D C, final double alpha, final double beta) {
+	final int[] starts = this.starts;
+	final int[] indexes = this.indexes;
+	final double[] values = this.values;
+	final double[] BElems = B.elements;
+	final double[] CElems = C.elements;
+	final int cB = B.columnStride;
+	final int cC = C.columnStride;
+	final int m = C.rows;
+	final int majors = starts.length-1;
+
+	long cells = (long) nonZeros() * C.columns;
+	Parallel.run(parallelPool(cells), C.columns, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int width = to-from;
+				if (beta != 1) {
+					for (int r=m; --r >= 0; ) {
+						for (int c=C.index(r,from), j=width; --j >= 0; c += cC) CElems[c] = beta==0 ? 0 : beta*CElems[c];
+					}
+				}
+				for (int i=0; i < majors; i++) {
+					int bi = B.index(i,from);
+					for (int k=starts[i], end=starts[i+1]; k < end; k++) {
+						double a = alpha*values[k];
+						for (int c=C.index(indexes[k],from), b=bi, j=width; --j >= 0; c += cC, b += cB) {
+							CElems[c] += a*BElems[b];
+						}
+					}
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+ * Returns the number of stored entries, i.e. <tt>starts[majors]</tt>.
+ */
+public int nonZeros() {
+	return starts[starts.length-1];
+}
+/**
+ * Throws an exception; the matrix is immutable.
+ * @throws UnsupportedOperationException always.
+ */
+public void setQuick(int row, int column, double value) {
+	throw new UnsupportedOperationException("Attempted to modify immutable matrix.");
+}
+/**
+ * Returns the product of two compressed matrices; <tt>alpha * A * B</tt>, computed row by row with a dense accumulator (Gustavson's algorithm).
+ */
+protected static CSRDoubleMatrix2D times(final CSRDoubleMatrix2D A, final CSRDoubleMatrix2D B, final double alpha) {
+	final int m = A.rows;
+	final int p = B.columns;
+	final int[] aStarts = A.starts;
+	final int[] aIndexes = A.indexes;
+	final double[] aValues = A.values;
+	final int[] bStarts = B.starts;
+	final int[] bIndexes = B.indexes;
+	final double[] bValues = B.values;
+
+	ForkJoinPool pool = A.parallelPool((long) A.nonZeros() + B.nonZeros());
+	final int chunks = A.chunks(pool);
+	long cells = (long) A.nonZeros() + B.nonZeros();
+
+	// symbolic pass: count the nonzeros of each row
+	final int[] starts = new int[m+1];
+	Parallel.run(pool, chunks, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int[] marker = new int[p];
+				java.util.Arrays.fill(marker,-1);
+				int high = A.boundary(to,chunks);
+				for (int i=A.boundary(from,chunks); i < high; i++) {
+					int count = 0;
+					for (int k=aStarts[i], end=aStarts[i+1]; k < end; k++) {
+						int j = aIndexes[k];
+						for (int l=bStarts[j], bEnd=bStarts[j+1]; l < bEnd; l++) {
+							int column = bIndexes[l];
+							if (marker[column] != i) {
+								marker[column] = i;
+								count++;
+							}
+						}
+					}
+					starts[i+1] = count;
+				}
+				return 0;
+			}
+		}
+	);
+	long nonZeros = 0;
+	for (int i=1; i <= m; i++) {
+		nonZeros += starts[i];
+		if (nonZeros > Integer.MAX_VALUE) throw new IllegalArgumentException("product has too many nonzeros");
+		starts[i] = (int) nonZeros;
+	}
+
+	// numeric pass
+	final int[] indexes = new int[(int) nonZeros];
+	final double[] values = new double[(int) nonZeros];
+	Parallel.run(pool, chunks, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int[] marker = new int[p];
+				java.util.Arrays.fill(marker,-1);
+				double[] sums = new double[p];
+				int high = A.boundary(to,chunks);
+				for (int i=A.boundary(from,chunks); i < high; i++) {
+					int low = starts[i];
+					int size = low;
+					for (int k=aStarts[i], end=aStarts[i+1]; k < end; k++) {
+						int j = aIndexes[k];
+						double a = aValues[k];
+						for (int l=bStarts[j], bEnd=bStarts[j+1]; l < bEnd; l++) {
+							int column = bIndexes[l];
+							if (marker[column] != i) {
+								marker[column] = i;
+								sums[column] = 0;
+								indexes[size++] = column;
+							}
+							sums[column] += a*bValues[l];
+						}
+					}
+					java.util.Arrays.sort(indexes,low,size);
+					for (int k=low; k < size; k++) values[k] = alpha*sums[indexes[k]];
+				}
+				return 0;
+			}
+		}
+	);
+
+	// drop entries that cancelled out
+	int size = 0;
+	int low = 0;
+	for (int i=0; i < m; i++) {
+		int high = starts[i+1];
+		for (int k=low; k < high; k++) {
+			if (values[k] != 0) {
+				indexes[size] = indexes[k];
+				values[size++] = values[k];
+			}
+		}
+		low = high;
+		starts[i+1] = size;
+	}
+	return new CSRDoubleMatrix2D(m, p, starts, indexes, values, false);
+}
+/**
+ * Returns a CSC matrix holding the same cells as the receiver; the receiver itself if it is a CSC matrix.
+ */
+public abstract CSCDoubleMatrix2D toCSC();
+/**
+ * Returns a CSR matrix holding the same cells as the receiver; the receiver itself if it is a CSR matrix.
+ */
+public abstract CSRDoubleMatrix2D toCSR();
+/**
+ * Fills the given arrays with the transposed storage of the receiver, i.e. switches major and minor dimension, in time <tt>O(nonZeros+majors+minors)</tt>.
+ * @param tStarts the transposed starts, of length <tt>minors+1</tt>.
+ * @param tIndexes the transposed indexes, of length <tt>&gt;= nonZeros()</tt>.
+ * @param tValues the transposed values, of length <tt>&gt;= nonZeros()</tt>.
+ */
+protected void transpose(int[] tStarts, int[] tIndexes, double[] tValues) {
+	int majors = starts.length-1;
+	int minors = tStarts.length-1;
+	int nonZeros = nonZeros();
+	for (int k=nonZeros; --k >= 0; ) tStarts[indexes[k]+1]++;
+	for (int j=0; j < minors; j++) tStarts[j+1] += tStarts[j];
+
+	int[] next = new int[minors];
+	System.arraycopy(tStarts,0,next,0,minors);
+	for (int i=0; i < majors; i++) { // lines are visited in order, hence transposed lines come out sorted
+		for (int k=starts[i], high=starts[i+1]; k < high; k++) {
+			int position = next[indexes[k]]++;
+			tIndexes[position] = i;
+			tValues[position] = values[k];
+		}
+	}
+}
+/**
+ * Linear algebraic matrix-vector multiplication; <tt>z = alpha * A * y + beta*z</tt>.
+ * Where <tt>A == this</tt>.
+ * Runs directly on the compressed storage if <tt>y</tt> and <tt>z</tt> are dense; the transposed product does not materialize the transpose.
+ * @param y the source vector.
+ * @param z the vector where results are to be stored. Set this parameter to <tt>null</tt> to indicate that a new result vector shall be constructed.
+ * @return z (for convenience only).
+ *
+ * @throws IllegalArgumentException if <tt>A.columns() != y.size() || A.rows() != z.size())</tt>.
+ */
+public DoubleMatrix1D zMult(DoubleMatrix1D y, DoubleMatrix1D z, double alpha, double beta, boolean transposeA) {
+	int m = rows;
+	int n = columns;
+	if (transposeA) {
+		m = columns;
+		n = rows;
+	}
+
+	if (z==null) z = new DenseDoubleMatrix1D(m);
+	if (n != y.size() || m != z.size())
+		throw new IllegalArgumentException("Incompatible args: "+ ((transposeA ? viewDice() : this).toStringShort()) +", "+y.toStringShort()+", "+z.toStringShort());
+	if (y == z) y = y.copy();
+	if (!(y instanceof DenseDoubleMatrix1D)) y = new DenseDoubleMatrix1D(n).assign(y);
+	if (!(z instanceof DenseDoubleMatrix1D)) {
+		DoubleMatrix1D result = zMult(y,null,alpha,0,transposeA);
+		return z.assign(cern.jet.math.Functions.mult(beta)).assign(result,cern.jet.math.Functions.plus);
+	}
+
+	if (isRowMajor() != transposeA) multGather((DenseDoubleMatrix1D) y, (DenseDoubleMatrix1D) z, alpha, beta);
+	else multScatter((DenseDoubleMatrix1D) y, (DenseDoubleMatrix1D) z, alpha, beta);
+	return z;
+}
+/**
+ * Linear algebraic matrix-matrix multiplication; <tt>C = alpha * A x B + beta*C</tt>.
+ * Where <tt>A == this</tt>.
+ * If <tt>B</tt> is a compressed matrix too and <tt>C == null</tt>, the product is returned as a new compressed matrix;
+ * otherwise the result is dense unless <tt>C</tt> is given.
+ *
+ * @param B the second source matrix.
+ * @param C the matrix where results are to be stored. Set this parameter to <tt>null</tt> to indicate that a new result matrix shall be constructed.
+ * @return C (for convenience only).
+ *
+ * @throws IllegalArgumentException if <tt>B.rows() != A.columns()</tt>.
+ * @throws IllegalArgumentException if <tt>C.rows() != A.rows() || C.columns() != B.columns()</tt>.
+ * @throws IllegalArgumentException if <tt>A == C || B == C</tt>.
+ */
+public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, double beta, boolean transposeA, boolean transposeB) {
+	if (transposeB) B = B.viewDice();
+	int m = rows;
+	int n = columns;
+	if (transposeA) {
+		m = columns;
+		n = rows;
+	}
+	int p = B.columns;
+
+	if (B.rows != n)
+		throw new IllegalArgumentException("Matrix2D inner dimensions must agree:"+toStringShort()+", "+ (transposeB ? B.viewDice() : B).toStringShort());
+	if (C != null && (C.rows != m || C.columns != p))
+		throw new IllegalArgumentException("Incompatibel result matrix: "+toStringShort()+", "+ (transposeB ? B.viewDice() : B).toStringShort()+", "+C.toStringShort());
+	if (this == C || B == C)
+		throw new IllegalArgumentException("Matrices must not be identical");
+
+	if (B instanceof CompressedDoubleMatrix2D) {
+		CompressedDoubleMatrix2D A = transposeA ? (CompressedDoubleMatrix2D) viewDice() : this;
+		CompressedDoubleMatrix2D product;
+		if (!A.isRowMajor() && !((CompressedDoubleMatrix2D) B).isRowMajor()) { // (A*B)' == B'*A', with both transposes row major
+			product = (CompressedDoubleMatrix2D) times((CSRDoubleMatrix2D) B.viewDice(), (CSRDoubleMatrix2D) A.viewDice(), alpha).viewDice();
+		}
+		else {
+			product = times(A.toCSR(), ((CompressedDoubleMatrix2D) B).toCSR(), alpha);
+		}
+		if (C == null) return product;
+		return C.assign(cern.jet.math.Functions.mult(beta)).assign(product,cern.jet.math.Functions.plus);
+	}
+
+	if (C == null) C = new DenseDoubleMatrix2D(m,p);
+	if (!(B instanceof DenseDoubleMatrix2D)) B = new DenseDoubleMatrix2D(n,p).assign(B);
+	if (!(C instanceof DenseDoubleMatrix2D)) {
+		DoubleMatrix2D result = zMult(B,null,alpha,0,transposeA,false);
+		return C.assign(cern.jet.math.Functions.mult(beta)).assign(result,cern.jet.math.Functions.plus);
+	}
+
+	if (isRowMajor() != transposeA) multGather((DenseDoubleMatrix2D) B, (DenseDoubleMatrix2D) C, alpha, beta);
+	else multScatter((DenseDoubleMatrix2D) B, (DenseDoubleMatrix2D) C, alpha, beta);
+	return C;
+}
+/**
+ * Returns the sum of all cells; <tt>Sum( x[i,j] )</tt>.
+ * @return the sum.
+ */
+public double zSum() {
+	double sum = 0;
+	for (int k=nonZeros(); --k >= 0; ) sum += values[k];
+	return sum;
+}
+}
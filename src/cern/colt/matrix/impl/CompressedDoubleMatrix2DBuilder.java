@@ -0,0 +1,209 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Assembles {@link CSRDoubleMatrix2D} and {@link CSCDoubleMatrix2D} matrices from (row,column,value) triplets, also known as coordinate (COO) format.
+<p>
+Triplets may be added in any order; triplets with the same coordinate are summed, in the order they were added, and zero sums are dropped.
+Building sorts the triplets with two stable counting sorts, hence takes time <tt>O(nonZeros+rows+columns)</tt> and, temporarily, about <tt>16*nonZeros</tt> bytes in addition to the triplets themselves.
+A builder can be reused; building does not clear it.
+<p>
+<b>Example:</b>
+<pre>
+CompressedDoubleMatrix2DBuilder builder = new CompressedDoubleMatrix2DBuilder(rows,columns,edges);
+for (int e=0; e &lt; edges; e++) builder.add(to[e],from[e],weight[e]);
+CSRDoubleMatrix2D A = builder.buildCSR();
+</pre>
+Note that this implementation is not synchronized.
+
+@version 1.0, 10/18/26
+*/
+public class CompressedDoubleMatrix2DBuilder {
+	protected int rows;
+	protected int columns;
+
+	/*
+	 * The triplets added so far.
+	 */
+	protected IntArrayList rowIndexes;
+	protected IntArrayList columnIndexes;
+	protected DoubleArrayList values;
+/**
+ * Constructs a builder for matrices with the given number of rows and columns.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+public CompressedDoubleMatrix2DBuilder(int rows, int columns) {
+	this(rows, columns, 10);
+}
+/**
+ * Constructs a builder for matrices with the given number of rows and columns, with room for the given number of triplets.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param initialCapacity the number of triplets the builder can hold before it needs to grow.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0 || initialCapacity<0</tt>.
+ */
+public CompressedDoubleMatrix2DBuilder(int rows, int columns, int initialCapacity) {
+	if (rows<0 || columns<0) throw new IllegalArgumentException("negative size");
+	this.rows = rows;
+	this.columns = columns;
+	this.rowIndexes = new IntArrayList(initialCapacity);
+	this.columnIndexes = new IntArrayList(initialCapacity);
+	this.values = new DoubleArrayList(initialCapacity);
+}
+/**
+ * Adds a triplet; zero values are ignored.
+ * @param row the index of the row-coordinate.
+ * @param column the index of the column-coordinate.
+ * @param value the value to be added to the cell.
+ * @return <tt>this</tt> (for convenience only).
+ * @throws	IndexOutOfBoundsException if <tt>row&lt;0 || row&gt;=rows || column&lt;0 || column&gt;=columns</tt>.
+ */
+public CompressedDoubleMatrix2DBuilder add(int row, int column, double value) {
+	if (row<0 || row>=rows || column<0 || column>=columns) throw new IndexOutOfBoundsException("row:"+row+", column:"+column);
+	if (value != 0) {
+		rowIndexes.add(row);
+		columnIndexes.add(column);
+		values.add(value);
+	}
+	return this;
+}
+/**
+ * Adds a triplet for each non-zero cell of the given matrix.
+ * @param matrix the matrix to add.
+ * @return <tt>this</tt> (for convenience only).
+ * @throws	IllegalArgumentException if <tt>matrix.rows() != rows || matrix.columns() != columns</tt>.
+ */
+public CompressedDoubleMatrix2DBuilder addAll(DoubleMatrix2D matrix) {
+	if (matrix.rows() != rows || matrix.columns() != columns) throw new IllegalArgumentException("Incompatible dimensions: "+rows+" x "+columns+" and "+matrix.toStringShort());
+	matrix.forEachNonZero(
+		new cern.colt.function.IntIntDoubleFunction() {
+			public double apply(int i, int j, double value) {
+				add(i,j,value);
+				return value;
+			}
+		}
+	);
+	return this;
+}
+/**
+ * Returns a new CSC matrix holding the sums of the triplets added so far.
+ */
+public CSCDoubleMatrix2D buildCSC() {
+	int[] starts = new int[columns+1];
+	int[] indexes = new int[size()];
+	double[] vals = new double[size()];
+	int nonZeros = compress(columnIndexes.elements(), columns, rowIndexes.elements(), rows, starts, indexes, vals);
+	return new CSCDoubleMatrix2D(rows, columns, starts, trim(indexes,nonZeros), trim(vals,nonZeros), false);
+}
+/**
+ * Returns a new CSR matrix holding the sums of the triplets added so far.
+ */
+public CSRDoubleMatrix2D buildCSR() {
+	int[] starts = new int[rows+1];
+	int[] indexes = new int[size()];
+	double[] vals = new double[size()];
+	int nonZeros = compress(rowIndexes.elements(), rows, columnIndexes.elements(), columns, starts, indexes, vals);
+	return new CSRDoubleMatrix2D(rows, columns, starts, trim(indexes,nonZeros), trim(vals,nonZeros), false);
+}
+/**
+ * Removes all triplets.
+ */
+public void clear() {
+	rowIndexes.clear();
+	columnIndexes.clear();
+	values.clear();
+}
+/**
+ * Sorts the triplets by major, then minor coordinate, into the given compressed storage and sums duplicates.
+ * A stable counting sort by minor coordinate followed by a stable counting sort by major coordinate.
+ * @return the number of nonzeros.
+ */
+protected int compress(int[] major, int majors, int[] minor, int minors, int[] starts, int[] indexes, double[] vals) {
+	int size = size();
+	double[] elements = values.elements();
+
+	// sort by minor coordinate
+	int[] counts = new int[minors+1];
+	for (int t=0; t < size; t++) counts[minor[t]+1]++;
+	for (int j=0; j < minors; j++) counts[j+1] += counts[j];
+	int[] order = new int[size];
+	for (int t=0; t < size; t++) order[counts[minor[t]]++] = t;
+	counts = null;
+
+	// stable sort by major coordinate
+	for (int t=0; t < size; t++) starts[major[t]+1]++;
+	for (int i=0; i < majors; i++) starts[i+1] += starts[i];
+	int[] next = new int[majors];
+	System.arraycopy(starts,0,next,0,majors);
+	for (int q=0; q < size; q++) {
+		int t = order[q];
+		int position = next[major[t]]++;
+		indexes[position] = minor[t];
+		vals[position] = elements[t];
+	}
+
+	// sum duplicates, drop zeros
+	int nonZeros = 0;
+	int low = 0;
+	for (int i=0; i < majors; i++) {
+		int high = starts[i+1];
+		int first = nonZeros;
+		for (int k=low; k < high; k++) {
+			if (nonZeros > first && indexes[nonZeros-1] == indexes[k]) {
+				vals[nonZeros-1] += vals[k];
+			}
+			else {
+				indexes[nonZeros] = indexes[k];
+				vals[nonZeros++] = vals[k];
+			}
+		}
+		int kept = first;
+		for (int k=first; k < nonZeros; k++) {
+			if (vals[k] != 0) {
+				indexes[kept] = indexes[k];
+				vals[kept++] = vals[k];
+			}
+		}
+		nonZeros = kept;
+		low = high;
+		starts[i+1] = nonZeros;
+	}
+	return nonZeros;
+}
+/**
+ * Returns the number of triplets added so far.
+ */
+public int size() {
+	return values.size();
+}
+/**
+ * Returns the first <tt>size</tt> elements of the given array; the array itself if it has no more.
+ */
+private static int[] trim(int[] array, int size) {
+	if (array.length == size) return array;
+	int[] trimmed = new int[size];
+	System.arraycopy(array,0,trimmed,0,size);
+	return trimmed;
+}
+/**
+ * Returns the first <tt>size</tt> elements of the given array; the array itself if it has no more.
+ */
+private static double[] trim(double[] array, int size) {
+	if (array.length == size) return array;
+	double[] trimmed = new double[size];
+	System.arraycopy(array,0,trimmed,0,size);
+	return trimmed;
+}
+}
@@ -62,6 +62,12 @@ public class DenseDoubleMatrix2D extends DoubleMatrix2D {
 	  * i.e. {row0 column0..m}, {row1 column0..m}, ..., {rown column0..m}
 	  */
 	protected double[] elements;
+
+	/** the maximum number of sweeps {@link #zAssign8Neighbors(DoubleMatrix2D,cern.colt.function.Double9Function,int)} applies to a tile at a time. */
+	private static final int STENCIL_DEPTH = 8;
+
+	/** the shape of the tiles of {@link #zAssign8Neighbors(DoubleMatrix2D,cern.colt.function.Double9Function,int)}; two buffers of tiles with margins fit into a 1 MB cache. */
+	private static final int STENCIL_TILE_ROWS = 96, STENCIL_TILE_COLUMNS = 512;
 /**
  * Constructs a matrix with a copy of the given values.
  * <tt>values</tt> is required to have the form <tt>values[row][column]</tt>
@@ -171,19 +177,41 @@ For further examples, see the <a href="package-summary.html#FunctionObjects">pac
 @return <tt>this</tt> (for convenience only).
 @see cern.jet.math.Functions
 */
-public DoubleMatrix2D assign(cern.colt.function.DoubleFunction function) {
+public DoubleMatrix2D assign(final cern.colt.function.DoubleFunction function) {
 	final double[] elems = this.elements;
 	if (elems==null) throw new InternalError();
-	int index = index(0,0);
-	int cs = this.columnStride;
-	int rs = this.rowStride;
 	
 	// specialization for speed
 	if (function instanceof cern.jet.math.Mult) { // x[i] = mult*x[i]
 		double multiplicator = ((cern.jet.math.Mult)function).multiplicator;
 		if (multiplicator==1) return this;
 		if (multiplicator==0) return assign(0);
-		for (int row=rows; --row >= 0; ) { // the general case
+	}
+
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) ? parallelPool(size()) : null;
+	Parallel.run(pool, rows, size(),
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				assignRows(from,to,function);
+				return 0;
+			}
+		}
+	);
+	return this;
+}
+/**
+ * Assigns the result of a function to each cell of the rows <tt>[from,to)</tt>.
+ */
+private void assignRows(int from, int to, cern.colt.function.DoubleFunction function) {
+	final double[] elems = this.elements;
+	int index = index(from,0);
+	int cs = this.columnStride;
+	int rs = this.rowStride;
+	
+	// specialization for speed
+	if (function instanceof cern.jet.math.Mult) { // x[i] = mult*x[i]
+		double multiplicator = ((cern.jet.math.Mult)function).multiplicator;
+		for (int row=to-from; --row >= 0; ) { // the general case
 			for (int i=index, column=columns; --column >= 0; ) {
 				elems[i] *= multiplicator;
 				i += cs;
@@ -192,7 +220,7 @@ public DoubleMatrix2D assign(cern.colt.function.DoubleFunction function) {
 		}
 	}
 	else { // the general case x[i] = f(x[i])
-		for (int row=rows; --row >= 0; ) { 
+		for (int row=to-from; --row >= 0; ) { 
 			for (int i=index, column=columns; --column >= 0; ) {
 				elems[i] = function.apply(elems[i]);
 				i += cs;
@@ -200,7 +228,6 @@ public DoubleMatrix2D assign(cern.colt.function.DoubleFunction function) {
 			index += rs;
 		}
 	}
-	return this;
 }
 /**
  * Replaces all cell values of the receiver with the values of another matrix.
@@ -283,24 +310,48 @@ and as second argument the current cell's value of <tt>y</tt>,
 @throws	IllegalArgumentException if <tt>columns() != other.columns() || rows() != other.rows()</tt>
 @see cern.jet.math.Functions
 */
-public DoubleMatrix2D assign(DoubleMatrix2D y, cern.colt.function.DoubleDoubleFunction function) {
+public DoubleMatrix2D assign(DoubleMatrix2D y, final cern.colt.function.DoubleDoubleFunction function) {
 	// overriden for performance only
 	if (! (y instanceof DenseDoubleMatrix2D)) {
 		return super.assign(y, function);
 	}
-	DenseDoubleMatrix2D other = (DenseDoubleMatrix2D) y;
+	final DenseDoubleMatrix2D other = (DenseDoubleMatrix2D) y;
 	checkShape(y);
 	
 	final double[] elems = this.elements;
 	final double[] otherElems = other.elements;
 	if (elems==null || otherElems==null) throw new InternalError();
+
+	if (function instanceof cern.jet.math.PlusMult && ((cern.jet.math.PlusMult) function).multiplicator == 0) { // x[i] = x[i] + 0*y[i]
+		return this;
+	}
+
+	// rows are independent of each other, unless y overlaps the receiver
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) && !haveSharedCells(other) ? parallelPool(size()) : null;
+	Parallel.run(pool, rows, size(),
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				assignRows(other,from,to,function);
+				return 0;
+			}
+		}
+	);
+	return this;
+}
+/**
+ * Assigns the result of a function to each cell of the rows <tt>[from,to)</tt>; <tt>x[row,col] = function(x[row,col],y[row,col])</tt>.
+ */
+private void assignRows(DenseDoubleMatrix2D other, int from, int to, cern.colt.function.DoubleDoubleFunction function) {
+	final double[] elems = this.elements;
+	final double[] otherElems = other.elements;
 	int cs = this.columnStride;
 	int ocs = other.columnStride;
 	int rs = this.rowStride;
 	int ors = other.rowStride;
 
-	int otherIndex = other.index(0,0);
-	int index = index(0,0);
+	int otherIndex = other.index(from,0);
+	int index = index(from,0);
+	int rows = to-from;
 
 	// specialized for speed
 	if (function==cern.jet.math.Functions.mult) { // x[i] = x[i] * y[i]
@@ -327,10 +378,7 @@ public DoubleMatrix2D assign(DoubleMatrix2D y, cern.colt.function.DoubleDoubleFu
 	}
 	else if (function instanceof cern.jet.math.PlusMult) {
 		double multiplicator = ((cern.jet.math.PlusMult) function).multiplicator;
-		if (multiplicator == 0) { // x[i] = x[i] + 0*y[i]
-			return this;
-		}
-		else if (multiplicator == 1) { // x[i] = x[i] + y[i]
+		if (multiplicator == 1) { // x[i] = x[i] + y[i]
 			for (int row=rows; --row >= 0; ) {
 				for (int i=index, j=otherIndex, column=columns; --column >= 0; ) {
 					elems[i] += otherElems[j];
@@ -375,7 +423,6 @@ public DoubleMatrix2D assign(DoubleMatrix2D y, cern.colt.function.DoubleDoubleFu
 			otherIndex += ors;
 		}
 	}
-	return this;
 }
 /**
  * Returns the matrix cell value at coordinate <tt>[row,column]</tt>.
@@ -543,7 +590,7 @@ C.zAssign8Neighbors(B,g); // fast, even though it doesn't look like it
 @throws NullPointerException if <tt>function==null</tt>.
 @throws IllegalArgumentException if <tt>rows() != B.rows() || columns() != B.columns()</tt>.
 */
-public void zAssign8Neighbors(DoubleMatrix2D B, cern.colt.function.Double9Function function) {
+public void zAssign8Neighbors(DoubleMatrix2D B, final cern.colt.function.Double9Function function) {
 	// 1. using only 4-5 out of the 9 cells in "function" is *not* the limiting factor for performance.
 
 	// 2. if the "function" would be hardwired into the innermost loop, a speedup of 1.5-2.0 would be seen
@@ -555,22 +602,192 @@ public void zAssign8Neighbors(DoubleMatrix2D B, cern.colt.function.Double9Functi
 	}
 	if (function==null) throw new NullPointerException("function must not be null.");
 	checkShape(B);
-	int r = rows-1;
-	int c = columns-1;
 	if (rows<3 || columns<3) return; // nothing to do
 
-	DenseDoubleMatrix2D BB = (DenseDoubleMatrix2D) B;
+	final DenseDoubleMatrix2D BB = (DenseDoubleMatrix2D) B;
+	if (elements == null || BB.elements==null) throw new InternalError();
+
+	// rows of B are independent of each other, unless B overlaps the receiver
+	long cells = (long) (rows-2) * (columns-2);
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) && !haveSharedCells(B) ? parallelPool(cells) : null;
+	Parallel.run(pool, rows-2, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				zAssign8NeighborsRows(BB,from+1,to+1,function);
+				return 0;
+			}
+		}
+	);
+}
+/**
+8 neighbor stencil transformation, applied <tt>sweeps</tt> times in a row.
+Has the same effect as
+<pre>
+A.zAssign8Neighbors(C,function); C.zAssign8Neighbors(D,function); D.zAssign8Neighbors(C,function); ... ; D.zAssign8Neighbors(B,function);
+</pre>
+with the temporary matrices <tt>C</tt> and <tt>D</tt> being copies of <tt>A</tt>, so that every sweep sees the boundary cells of <tt>A</tt>.
+The receiver is left unchanged, as are the boundary cells of <tt>B</tt>.
+<p>
+Iterative solvers typically alternate two matrices; with this method they walk the memory of the matrices once per <tt>sweeps</tt> iterations rather than once per iteration.
+The matrix is split into tiles small enough to stay in the cache;
+each tile, widened by a margin of <tt>sweeps</tt> cells on each side, is copied into a local buffer and all sweeps are applied to it before the next tile is taken.
+The cells of the margins are computed by the neighbouring tiles as well; the redundant work stays small as long as <tt>sweeps</tt> is small compared to the tile size.
+Larger numbers of sweeps are done in several such passes.
+Tiles are processed in parallel if parallel mode is switched on; see {@link Parallel}.
+
+@param B the matrix to hold the results.
+@param function the function to be applied to the 9 cells.
+@param sweeps the number of times the function shall be applied.
+@throws NullPointerException if <tt>function==null</tt>.
+@throws IllegalArgumentException if <tt>rows() != B.rows() || columns() != B.columns() || sweeps &lt; 1</tt>.
+@see #zAssign8Neighbors(DoubleMatrix2D,cern.colt.function.Double9Function)
+*/
+public void zAssign8Neighbors(DoubleMatrix2D B, cern.colt.function.Double9Function function, int sweeps) {
+	if (function==null) throw new NullPointerException("function must not be null.");
+	checkShape(B);
+	if (sweeps < 1) throw new IllegalArgumentException("sweeps must be positive: "+sweeps);
+	if (sweeps == 1) {
+		zAssign8Neighbors(B,function);
+		return;
+	}
+	if (rows<3 || columns<3) return; // nothing to do
+
+	if (!(B instanceof DenseDoubleMatrix2D) || haveSharedCells(B)) {
+		DenseDoubleMatrix2D C = (DenseDoubleMatrix2D) copy();
+		zAssign8Neighbors(C,function,sweeps);
+		B.viewPart(1,1,rows-2,columns-2).assign(C.viewPart(1,1,rows-2,columns-2));
+		return;
+	}
+
+	// in passes of at most STENCIL_DEPTH sweeps, alternating between B and a scratch copy, the last pass ending in B
+	int passes = (sweeps + STENCIL_DEPTH - 1) / STENCIL_DEPTH;
+	DenseDoubleMatrix2D scratch = passes > 1 ? (DenseDoubleMatrix2D) copy() : null;
+	DenseDoubleMatrix2D source = this;
+	for (int pass=0; pass<passes; pass++) {
+		DenseDoubleMatrix2D target = (passes-1-pass) % 2 == 0 ? (DenseDoubleMatrix2D) B : scratch;
+		int depth = sweeps / passes + (pass < sweeps % passes ? 1 : 0);
+		zAssign8NeighborsTiled(source,target,function,depth);
+		source = target;
+	}
+}
+/**
+ * Applies <tt>depth</tt> sweeps of the stencil to <tt>source</tt>, storing the result in <tt>target</tt>, tile by tile; boundary cells are taken from the receiver.
+ */
+private void zAssign8NeighborsTiled(final DenseDoubleMatrix2D source, final DenseDoubleMatrix2D target, final cern.colt.function.Double9Function function, final int depth) {
+	final int tileRows = STENCIL_TILE_ROWS, tileColumns = STENCIL_TILE_COLUMNS;
+	final int tilesPerRow = (columns + tileColumns - 1) / tileColumns;
+	int tiles = ((rows + tileRows - 1) / tileRows) * tilesPerRow;
+	long cells = (long) rows * columns * depth;
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) ? parallelPool(cells) : null;
+	Parallel.run(pool, tiles, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int width = Math.min(tileColumns, columns) + 2*depth;
+				int size = (Math.min(tileRows, rows) + 2*depth) * width;
+				double[] buffer0 = new double[size];
+				double[] buffer1 = new double[size];
+				for (int tile=from; tile<to; tile++) {
+					int r0 = (tile / tilesPerRow) * tileRows;
+					int c0 = (tile % tilesPerRow) * tileColumns;
+					zAssign8NeighborsTile(source,target,function,depth,r0,Math.min(r0+tileRows,rows),c0,Math.min(c0+tileColumns,columns),buffer0,buffer1);
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+ * Computes the cells <tt>[r0,r1) x [c0,c1)</tt> of <tt>target</tt> from a copy of the cells of <tt>source</tt> widened by <tt>depth</tt> cells on each side.
+ * After sweep <tt>s</tt>, the copy is correct except for the outermost <tt>s</tt> cells on each side not at the boundary of the matrix.
+ */
+private void zAssign8NeighborsTile(DenseDoubleMatrix2D source, DenseDoubleMatrix2D target, cern.colt.function.Double9Function function, int depth, int r0, int r1, int c0, int c1, double[] buffer0, double[] buffer1) {
+	int lr0 = Math.max(r0-depth, 0), lr1 = Math.min(r1+depth, rows);
+	int lc0 = Math.max(c0-depth, 0), lc1 = Math.min(c1+depth, columns);
+	int height = lr1 - lr0;
+	int width = lc1 - lc0;
+
+	// copy in, with the boundary of the matrix taken from the receiver
+	for (int i=0; i<height; i++) {
+		int row = lr0 + i;
+		DenseDoubleMatrix2D from = (row==0 || row==rows-1) ? this : source;
+		int index = from.index(row,lc0);
+		int cs = from.columnStride;
+		double[] elems = from.elements;
+		int k = i*width;
+		for (int j=0; j<width; j++) {
+			buffer0[k++] = elems[index];
+			index += cs;
+		}
+		if (lc0==0) buffer0[i*width] = getQuick(row,0);
+		if (lc1==columns) buffer0[i*width+width-1] = getQuick(row,columns-1);
+	}
+	System.arraycopy(buffer0,0,buffer1,0,height*width);
+
+	double[] current = buffer0, next = buffer1;
+	for (int s=1; s<=depth; s++) {
+		int i0 = lr0 > 0 ? s : 1;
+		int i1 = lr1 < rows ? height-s : height-1;
+		int j0 = lc0 > 0 ? s : 1;
+		int j1 = lc1 < columns ? width-s : width-1;
+		zAssign8NeighborsBuffer(current,next,width,i0,i1,j0,j1,function);
+		double[] tmp = current; current = next; next = tmp;
+	}
+
+	// copy out, except for the boundary of the matrix
+	int i0 = Math.max(r0,1), i1 = Math.min(r1,rows-1);
+	int j0 = Math.max(c0,1), j1 = Math.min(c1,columns-1);
+	double[] elems = target.elements;
+	int cs = target.columnStride;
+	for (int row=i0; row<i1; row++) {
+		int index = target.index(row,j0);
+		int k = (row-lr0)*width + (j0-lc0);
+		for (int column=j0; column<j1; column++) {
+			elems[index] = current[k++];
+			index += cs;
+		}
+	}
+}
+/**
+ * Applies the stencil to the cells <tt>[i0,i1) x [j0,j1)</tt> of a buffer holding a row major matrix of the given width, storing the results in <tt>B</tt>.
+ */
+private static void zAssign8NeighborsBuffer(double[] A, double[] B, int width, int i0, int i1, int j0, int j1, cern.colt.function.Double9Function function) {
+	for (int i=i0; i<i1; i++) {
+		int A02 = (i-1)*width + j0-1;
+		int A12 = A02 + width;
+		int A22 = A12 + width;
+		double a00=A[A02++], a01=A[A02++];
+		double a10=A[A12++], a11=A[A12++];
+		double a20=A[A22++], a21=A[A22++];
+		int B11 = i*width + j0;
+		for (int j=j0; j<j1; j++) {
+			double a02=A[A02++];
+			double a12=A[A12++];
+			double a22=A[A22++];
+			B[B11++] = function.apply(
+				a00, a01, a02,
+				a10, a11, a12,
+				a20, a21, a22);
+			a00=a01; a01=a02;
+			a10=a11; a11=a12;
+			a20=a21; a21=a22;
+		}
+	}
+}
+/**
+ * Applies the stencil to the rows <tt>[from,to)</tt> of the receiver, storing the results in <tt>B</tt>; <tt>0 &lt; from &lt;= to &lt; rows-1</tt>.
+ */
+private void zAssign8NeighborsRows(DenseDoubleMatrix2D BB, int from, int to, cern.colt.function.Double9Function function) {
+	int c = columns-1;
 	int A_rs = rowStride;
 	int B_rs = BB.rowStride;
 	int A_cs = columnStride;
 	int B_cs = BB.columnStride;
 	double[] elems = this.elements;
 	double[] B_elems = BB.elements;
-	if (elems == null || B_elems==null) throw new InternalError();
 
-	int A_index = index(1,1);
-	int B_index = BB.index(1,1);
-	for (int i=1; i<r; i++) {
+	int A_index = index(from,1);
+	int B_index = BB.index(from,1);
+	for (int i=from; i<to; i++) {
 		double a00, a01, a02;
 		double a10, a11, a12;
 		double a20, a21, a22;
@@ -663,7 +880,7 @@ public DoubleMatrix1D zMult(DoubleMatrix1D y, DoubleMatrix1D z, double alpha, do
 
 	return z;
 }
-public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, double beta, boolean transposeA, boolean transposeB) {
+public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, final double alpha, final double beta, boolean transposeA, boolean transposeB) {
 	// overriden for performance only
 	if (transposeA) return viewDice().zMult(B,C,alpha,beta,false,transposeB);
 	if (B instanceof SparseDoubleMatrix2D || B instanceof RCDoubleMatrix2D) {
@@ -692,11 +909,11 @@ public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, do
 	}
 	if (transposeB) return this.zMult(B.viewDice(),C,alpha,beta,transposeA,false);
 	
-	int m = rows;
-	int n = columns;
-	int p = B.columns;
+	final int m = rows;
+	final int n = columns;
+	final int p = B.columns;
 	if (C==null) C = new DenseDoubleMatrix2D(m,p);
-	if (!(C instanceof DenseDoubleMatrix2D)) return super.zMult(B,C,alpha,beta,transposeA,transposeB);
+	if (!(B instanceof DenseDoubleMatrix2D && C instanceof DenseDoubleMatrix2D)) return super.zMult(B,C,alpha,beta,transposeA,transposeB);
 	if (B.rows != n)
 		throw new IllegalArgumentException("Matrix2D inner dimensions must agree:"+toStringShort()+", "+B.toStringShort());
 	if (C.rows != m || C.columns != p)
@@ -711,13 +928,32 @@ public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, do
 	final double[] CElems = CC.elements;
 	if (AElems==null || BElems==null || CElems==null) throw new InternalError();
 
-	int cA = this.columnStride;
-	int cB = BB.columnStride;
-	int cC = CC.columnStride;
+	final int cA = this.columnStride;
+	final int cB = BB.columnStride;
+	final int cC = CC.columnStride;
 
-	int rA = this.rowStride;
-	int rB = BB.rowStride;
-	int rC = CC.rowStride;
+	final int rA = this.rowStride;
+	final int rB = BB.rowStride;
+	final int rC = CC.rowStride;
+
+	if ((long)m*n*p >= Gemm.THRESHOLD) {
+		// packed, cache-blocked and register-tiled kernel; handles any strides (hence transposes and views)
+		// in parallel mode, bands of rows of A and C are multiplied concurrently, each band packing B on its own
+		final int aZero = index(0,0), bZero = BB.index(0,0), cZero = CC.index(0,0);
+		final int band = 4*Gemm.MR;
+		long work = (long)m*n*p;
+		Parallel.run(parallelPool(work), (m+band-1)/band, work,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					int first = from*band;
+					int last = Math.min(to*band, m);
+					Gemm.dgemm(last-first,p,n,alpha, AElems,aZero+first*rA,rA,cA, BElems,bZero,rB,cB, beta, CElems,cZero+first*rC,rC,cC);
+					return 0;
+				}
+			}
+		);
+		return C;
+	}
 
 	/*
 	A is blocked to hide memory latency
@@ -795,19 +1031,25 @@ public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, double alpha, do
  * @return the sum.
  */
 public double zSum() {
-	double sum = 0;
 	final double[] elems = this.elements;
 	if (elems==null) throw new InternalError();
-	int index = index(0,0);
-	int cs = this.columnStride;
-	int rs = this.rowStride;
-	for (int row=rows; --row >= 0; ) {
-		for (int i=index, column=columns; --column >= 0; ) {
-			sum += elems[i];
-			i += cs;
+	return Parallel.run(parallelPool(size()), rows, size(),
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				double sum = 0;
+				int index = index(from,0);
+				int cs = columnStride;
+				int rs = rowStride;
+				for (int row=to-from; --row >= 0; ) {
+					for (int i=index, column=columns; --column >= 0; ) {
+						sum += elems[i];
+						i += cs;
+					}
+					index += rs;
+				}
+				return sum;
+			}
 		}
-		index += rs;
-	}
-	return sum;
+	);
 }
 }
@@ -64,6 +64,12 @@ public class DenseDoubleMatrix3D extends DoubleMatrix3D {
 	  * {row0 column0..m}, {row1 column0..m}, ..., {rown column0..m}
 	  */
 	protected double[] elements;
+
+	/** the maximum number of sweeps {@link #zAssign27Neighbors(DoubleMatrix3D,cern.colt.function.Double27Function,int)} applies to a box at a time. */
+	private static final int STENCIL_DEPTH = 4;
+
+	/** the shape of the boxes of {@link #zAssign27Neighbors(DoubleMatrix3D,cern.colt.function.Double27Function,int)}; two buffers of boxes with margins take about 2.5 MB. */
+	private static final int STENCIL_TILE_SLICES = 16, STENCIL_TILE_ROWS = 16, STENCIL_TILE_COLUMNS = 256;
 /**
  * Constructs a matrix with a copy of the given values.
  * <tt>values</tt> is required to have the form <tt>values[slice][row][column]</tt>
@@ -342,7 +348,7 @@ A.zAssign27Neighbors(B,f);
 @throws NullPointerException if <tt>function==null</tt>.
 @throws IllegalArgumentException if <tt>rows() != B.rows() || columns() != B.columns() || slices() != B.slices() </tt>.
 */
-public void zAssign27Neighbors(DoubleMatrix3D B, cern.colt.function.Double27Function function) {
+public void zAssign27Neighbors(DoubleMatrix3D B, final cern.colt.function.Double27Function function) {
 	// overridden for performance only
 	if (!(B instanceof DenseDoubleMatrix3D)) {
 		super.zAssign27Neighbors(B, function);
@@ -350,11 +356,132 @@ public void zAssign27Neighbors(DoubleMatrix3D B, cern.colt.function.Double27Func
 	}
 	if (function==null) throw new NullPointerException("function must not be null.");
 	checkShape(B);
-	int r = rows-1;
-	int c = columns-1;
 	if (rows<3 || columns<3 || slices<3) return; // nothing to do
 
-	DenseDoubleMatrix3D BB = (DenseDoubleMatrix3D) B;
+	final DenseDoubleMatrix3D BB = (DenseDoubleMatrix3D) B;
+	if (elements == null || BB.elements==null) throw new InternalError();
+
+	// slices of B are independent of each other, unless B overlaps the receiver
+	long cells = (long) (slices-2) * (rows-2) * (columns-2);
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) && !haveSharedCells(B) ? parallelPool(cells) : null;
+	Parallel.run(pool, slices-2, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				zAssign27NeighborsSlices(BB,from+1,to+1,function);
+				return 0;
+			}
+		}
+	);
+}
+/**
+27 neighbor stencil transformation, applied <tt>sweeps</tt> times in a row.
+Has the same effect as
+<pre>
+A.zAssign27Neighbors(C,function); C.zAssign27Neighbors(D,function); D.zAssign27Neighbors(C,function); ... ; D.zAssign27Neighbors(B,function);
+</pre>
+with the temporary matrices <tt>C</tt> and <tt>D</tt> being copies of <tt>A</tt>, so that every sweep sees the boundary cells of <tt>A</tt>.
+The receiver is left unchanged, as are the boundary cells of <tt>B</tt>.
+<p>
+Iterative solvers typically alternate two matrices; with this method they walk the memory of the matrices once per <tt>sweeps</tt> iterations rather than once per iteration.
+The matrix is split into boxes small enough to stay in the cache;
+each box, widened by a margin of <tt>sweeps</tt> cells on each side, is copied into a local buffer and all sweeps are applied to it before the next box is taken.
+The cells of the margins are computed by the neighbouring boxes as well; the redundant work stays small as long as <tt>sweeps</tt> is small compared to the box size.
+Larger numbers of sweeps are done in several such passes.
+Boxes are processed in parallel if parallel mode is switched on; see {@link Parallel}.
+
+@param B the matrix to hold the results.
+@param function the function to be applied to the 27 cells.
+@param sweeps the number of times the function shall be applied.
+@throws NullPointerException if <tt>function==null</tt>.
+@throws IllegalArgumentException if <tt>rows() != B.rows() || columns() != B.columns() || slices() != B.slices() || sweeps &lt; 1</tt>.
+@see #zAssign27Neighbors(DoubleMatrix3D,cern.colt.function.Double27Function)
+*/
+public void zAssign27Neighbors(DoubleMatrix3D B, cern.colt.function.Double27Function function, int sweeps) {
+	if (function==null) throw new NullPointerException("function must not be null.");
+	checkShape(B);
+	if (sweeps < 1) throw new IllegalArgumentException("sweeps must be positive: "+sweeps);
+	if (sweeps == 1) {
+		zAssign27Neighbors(B,function);
+		return;
+	}
+	if (rows<3 || columns<3 || slices<3) return; // nothing to do
+
+	if (!(B instanceof DenseDoubleMatrix3D) || haveSharedCells(B)) {
+		DenseDoubleMatrix3D C = (DenseDoubleMatrix3D) copy();
+		zAssign27Neighbors(C,function,sweeps);
+		B.viewPart(1,1,1,slices-2,rows-2,columns-2).assign(C.viewPart(1,1,1,slices-2,rows-2,columns-2));
+		return;
+	}
+
+	// in passes of at most STENCIL_DEPTH sweeps, alternating between B and a scratch copy, the last pass ending in B
+	int passes = (sweeps + STENCIL_DEPTH - 1) / STENCIL_DEPTH;
+	DenseDoubleMatrix3D scratch = passes > 1 ? (DenseDoubleMatrix3D) copy() : null;
+	DenseDoubleMatrix3D source = this;
+	for (int pass=0; pass<passes; pass++) {
+		DenseDoubleMatrix3D target = (passes-1-pass) % 2 == 0 ? (DenseDoubleMatrix3D) B : scratch;
+		int depth = sweeps / passes + (pass < sweeps % passes ? 1 : 0);
+		zAssign27NeighborsTiled(source,target,function,depth);
+		source = target;
+	}
+}
+/**
+ * Applies the stencil to the cells <tt>[k0,k1) x [i0,i1) x [j0,j1)</tt> of a buffer holding a matrix of the given height and width in slice major, row major order,
+ * storing the results in <tt>B</tt>.
+ */
+private static void zAssign27NeighborsBuffer(double[] A, double[] B, int height, int width, int k0, int k1, int i0, int i1, int j0, int j1, cern.colt.function.Double27Function function) {
+	int ss = height*width;
+	for (int k=k0; k<k1; k++) {
+		for (int i=i0; i<i1; i++) {
+			int A002 = (k-1)*ss + (i-1)*width + j0-1;
+			int A012 = A002 + width;
+			int A022 = A012 + width;
+			int A102 = A002 + ss;
+			int A112 = A102 + width;
+			int A122 = A112 + width;
+			int A202 = A102 + ss;
+			int A212 = A202 + width;
+			int A222 = A212 + width;
+
+			double a000=A[A002++], a001=A[A002++];
+			double a010=A[A012++], a011=A[A012++];
+			double a020=A[A022++], a021=A[A022++];
+			double a100=A[A102++], a101=A[A102++];
+			double a110=A[A112++], a111=A[A112++];
+			double a120=A[A122++], a121=A[A122++];
+			double a200=A[A202++], a201=A[A202++];
+			double a210=A[A212++], a211=A[A212++];
+			double a220=A[A222++], a221=A[A222++];
+
+			int B11 = k*ss + i*width + j0;
+			for (int j=j0; j<j1; j++) {
+				double a002=A[A002++], a012=A[A012++], a022=A[A022++];
+				double a102=A[A102++], a112=A[A112++], a122=A[A122++];
+				double a202=A[A202++], a212=A[A212++], a222=A[A222++];
+				B[B11++] = function.apply(
+					a000, a001, a002,
+					a010, a011, a012,
+					a020, a021, a022,
+
+					a100, a101, a102,
+					a110, a111, a112,
+					a120, a121, a122,
+
+					a200, a201, a202,
+					a210, a211, a212,
+					a220, a221, a222);
+				a000=a001; a001=a002; a010=a011; a011=a012; a020=a021; a021=a022;
+				a100=a101; a101=a102; a110=a111; a111=a112; a120=a121; a121=a122;
+				a200=a201; a201=a202; a210=a211; a211=a212; a220=a221; a221=a222;
+			}
+		}
+	}
+}
+/**
+ * Applies the stencil to the slices <tt>[from,to)</tt> of the receiver, storing the results in <tt>B</tt>; <tt>0 &lt; from &lt;= to &lt; slices-1</tt>.
+ */
+private void zAssign27NeighborsSlices(DenseDoubleMatrix3D BB, int from, int to, cern.colt.function.Double27Function function) {
+	int r = rows-1;
+	int c = columns-1;
 	int A_ss = sliceStride;
 	int A_rs = rowStride;
 	int B_rs = BB.rowStride;
@@ -362,9 +489,8 @@ public void zAssign27Neighbors(DoubleMatrix3D B, cern.colt.function.Double27Func
 	int B_cs = BB.columnStride;
 	double[] elems = this.elements;
 	double[] B_elems = BB.elements;
-	if (elems == null || B_elems==null) throw new InternalError();
 
-	for (int k=1; k<slices-1; k++) {
+	for (int k=from; k<to; k++) {
 		int A_index = index(k,1,1);
 		int B_index = BB.index(k,1,1);
 
@@ -453,4 +579,93 @@ public void zAssign27Neighbors(DoubleMatrix3D B, cern.colt.function.Double27Func
 		}
 	}
 }
+/**
+ * Computes the cells <tt>[k0,k1) x [r0,r1) x [c0,c1)</tt> of <tt>target</tt> from a copy of the cells of <tt>source</tt> widened by <tt>depth</tt> cells on each side.
+ * After sweep <tt>s</tt>, the copy is correct except for the outermost <tt>s</tt> cells on each side not at the boundary of the matrix.
+ */
+private void zAssign27NeighborsTile(DenseDoubleMatrix3D source, DenseDoubleMatrix3D target, cern.colt.function.Double27Function function, int depth, int k0, int k1, int r0, int r1, int c0, int c1, double[] buffer0, double[] buffer1) {
+	int lk0 = Math.max(k0-depth, 0), lk1 = Math.min(k1+depth, slices);
+	int lr0 = Math.max(r0-depth, 0), lr1 = Math.min(r1+depth, rows);
+	int lc0 = Math.max(c0-depth, 0), lc1 = Math.min(c1+depth, columns);
+	int depthOfBox = lk1 - lk0;
+	int height = lr1 - lr0;
+	int width = lc1 - lc0;
+
+	// copy in, with the boundary of the matrix taken from the receiver
+	int b = 0;
+	for (int n=0; n<depthOfBox; n++) {
+		int slice = lk0 + n;
+		for (int i=0; i<height; i++) {
+			int row = lr0 + i;
+			DenseDoubleMatrix3D from = (slice==0 || slice==slices-1 || row==0 || row==rows-1) ? this : source;
+			int index = from.index(slice,row,lc0);
+			int cs = from.columnStride;
+			double[] elems = from.elements;
+			int rowStart = b;
+			for (int j=0; j<width; j++) {
+				buffer0[b++] = elems[index];
+				index += cs;
+			}
+			if (lc0==0) buffer0[rowStart] = getQuick(slice,row,0);
+			if (lc1==columns) buffer0[rowStart+width-1] = getQuick(slice,row,columns-1);
+		}
+	}
+	System.arraycopy(buffer0,0,buffer1,0,b);
+
+	double[] current = buffer0, next = buffer1;
+	for (int s=1; s<=depth; s++) {
+		int n0 = lk0 > 0 ? s : 1;
+		int n1 = lk1 < slices ? depthOfBox-s : depthOfBox-1;
+		int i0 = lr0 > 0 ? s : 1;
+		int i1 = lr1 < rows ? height-s : height-1;
+		int j0 = lc0 > 0 ? s : 1;
+		int j1 = lc1 < columns ? width-s : width-1;
+		zAssign27NeighborsBuffer(current,next,height,width,n0,n1,i0,i1,j0,j1,function);
+		double[] tmp = current; current = next; next = tmp;
+	}
+
+	// copy out, except for the boundary of the matrix
+	int n0 = Math.max(k0,1), n1 = Math.min(k1,slices-1);
+	int i0 = Math.max(r0,1), i1 = Math.min(r1,rows-1);
+	int j0 = Math.max(c0,1), j1 = Math.min(c1,columns-1);
+	double[] elems = target.elements;
+	int cs = target.columnStride;
+	for (int slice=n0; slice<n1; slice++) {
+		for (int row=i0; row<i1; row++) {
+			int index = target.index(slice,row,j0);
+			int k = ((slice-lk0)*height + (row-lr0))*width + (j0-lc0);
+			for (int column=j0; column<j1; column++) {
+				elems[index] = current[k++];
+				index += cs;
+			}
+		}
+	}
+}
+/**
+ * Applies <tt>depth</tt> sweeps of the stencil to <tt>source</tt>, storing the result in <tt>target</tt>, box by box; boundary cells are taken from the receiver.
+ */
+private void zAssign27NeighborsTiled(final DenseDoubleMatrix3D source, final DenseDoubleMatrix3D target, final cern.colt.function.Double27Function function, final int depth) {
+	final int tileSlices = STENCIL_TILE_SLICES, tileRows = STENCIL_TILE_ROWS, tileColumns = STENCIL_TILE_COLUMNS;
+	final int tilesPerRow = (columns + tileColumns - 1) / tileColumns;
+	final int tilesPerSlice = ((rows + tileRows - 1) / tileRows) * tilesPerRow;
+	int tiles = ((slices + tileSlices - 1) / tileSlices) * tilesPerSlice;
+	long cells = (long) slices * rows * columns * depth;
+	java.util.concurrent.ForkJoinPool pool = Parallel.isThreadSafe(function) ? parallelPool(cells) : null;
+	Parallel.run(pool, tiles, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int size = (Math.min(tileSlices, slices) + 2*depth) * (Math.min(tileRows, rows) + 2*depth) * (Math.min(tileColumns, columns) + 2*depth);
+				double[] buffer0 = new double[size];
+				double[] buffer1 = new double[size];
+				for (int tile=from; tile<to; tile++) {
+					int k0 = (tile / tilesPerSlice) * tileSlices;
+					int r0 = ((tile % tilesPerSlice) / tilesPerRow) * tileRows;
+					int c0 = (tile % tilesPerRow) * tileColumns;
+					zAssign27NeighborsTile(source,target,function,depth,k0,Math.min(k0+tileSlices,slices),r0,Math.min(r0+tileRows,rows),c0,Math.min(c0+tileColumns,columns),buffer0,buffer1);
+				}
+				return 0;
+			}
+		}
+	);
+}
 }
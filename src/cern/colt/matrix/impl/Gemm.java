@@ -0,0 +1,484 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+/**
+Cache-blocked, register-tiled matrix-matrix multiplication engine for dense <tt>double</tt> and <tt>float</tt> storage; <tt>C = alpha*A*B + beta*C</tt>.
+Used by {@link DenseDoubleMatrix2D#zMult(cern.colt.matrix.DoubleMatrix2D,cern.colt.matrix.DoubleMatrix2D,double,double,boolean,boolean)}
+and {@link DenseFloatMatrix2D#zMult(cern.colt.matrix.FloatMatrix2D,cern.colt.matrix.FloatMatrix2D,float,float,boolean,boolean)} for all but tiny problems.
+<p>
+<b>Implementation:</b>
+<p>
+Follows the well known Goto/BLIS scheme.
+The computation is tiled into three nested levels of blocks:
+<pre>
+for each NC wide column panel of B and C                    (B panel kept in L3 cache)
+   for each KC deep slice of the inner dimension
+      pack KC x NC block of B into contiguous NR wide slivers
+      for each MC high row panel of A and C                 (A panel kept in L2 cache)
+         pack MC x KC block of A into contiguous MR high slivers
+         for each NR sliver of B, for each MR sliver of A   (B sliver kept in L1 cache)
+            MR x NR register blocked micro-kernel over KC
+</pre>
+Packing copies each operand block into a contiguous buffer in exactly the order the micro-kernel consumes it,
+so the kernel streams unit stride memory regardless of the row/column strides of the operands.
+Hence transposed operands, views with arbitrary strides ({@link cern.colt.matrix.DoubleMatrix2D#viewDice()},
+{@link cern.colt.matrix.DoubleMatrix2D#viewStrides(int,int)}, etc.) all run at the same speed.
+Partial slivers at the matrix edges are zero padded, so the micro-kernel never needs to special case them.
+<p>
+<b>Block sizes:</b>
+<p>
+<tt>KC</tt>, <tt>MC</tt> and <tt>NC</tt> are derived from the L1, L2 and L3 data cache sizes.
+On Linux, cache sizes are detected from <tt>/sys/devices/system/cpu/cpu0/cache</tt>; elsewhere, or if detection fails,
+defaults of 32 KB (L1), 256 KB (L2) and 4 MB (L3) are assumed.
+Sizes can be configured explicitly via the system properties <tt>cern.colt.matrix.cache.l1</tt>, <tt>cern.colt.matrix.cache.l2</tt> and <tt>cern.colt.matrix.cache.l3</tt> (in bytes)
+or at runtime via {@link #setCacheSizes(int,int,int)}.
+<p>
+Note that this class is thread safe: all working buffers are allocated per call.
+
+@version 1.0, 10/18/26
+*/
+public final class Gemm {
+	/** height of the register block (rows of C computed at once by the micro-kernel). */
+	public static final int MR = 4;
+
+	/** width of the register block (columns of C computed at once by the micro-kernel). */
+	public static final int NR = 4;
+
+	/** problems with fewer than that many multiply-adds are not worth the packing overhead. */
+	protected static final long THRESHOLD = 48L*48*48;
+
+	// default cache sizes in bytes, used if detection fails
+	private static final int DEFAULT_L1 = 32*1024;
+	private static final int DEFAULT_L2 = 256*1024;
+	private static final int DEFAULT_L3 = 4*1024*1024;
+
+	private static int l1, l2, l3;
+
+	// current block sizes, derived from the cache sizes
+	private static int kc, mc, nc;
+
+	static {
+		setCacheSizes(
+			cacheSize("cern.colt.matrix.cache.l1", 1, DEFAULT_L1),
+			cacheSize("cern.colt.matrix.cache.l2", 2, DEFAULT_L2),
+			cacheSize("cern.colt.matrix.cache.l3", 3, DEFAULT_L3));
+	}
+/**
+ * Makes this class non instantiable.
+ */
+private Gemm() {}
+/**
+ * Returns the cache size configured via the given system property, or else the size detected for the given cache level, or else the given default.
+ */
+private static int cacheSize(String property, int level, int defaultSize) {
+	try {
+		String value = System.getProperty(property);
+		if (value != null) return Integer.parseInt(value.trim());
+	} catch (SecurityException exc) {
+	} catch (NumberFormatException exc) {}
+
+	int size = detectCacheSize(level);
+	return size > 0 ? size : defaultSize;
+}
+/**
+ * Returns the size in bytes of the data (or unified) cache at the given level, as reported by the Linux sysfs interface; or <tt>-1</tt> if unknown.
+ */
+private static int detectCacheSize(int level) {
+	try {
+		java.io.File dir = new java.io.File("/sys/devices/system/cpu/cpu0/cache");
+		if (!dir.isDirectory()) return -1;
+		for (int i=0; ; i++) {
+			java.io.File index = new java.io.File(dir, "index"+i);
+			if (!index.isDirectory()) return -1;
+			String type = readLine(new java.io.File(index,"type"));
+			if (type == null || type.equals("Instruction")) continue;
+			String lvl = readLine(new java.io.File(index,"level"));
+			if (lvl == null || Integer.parseInt(lvl) != level) continue;
+			String size = readLine(new java.io.File(index,"size")); // e.g. "32K" or "8192K"
+			if (size == null || size.length()==0) return -1;
+			int multiplier = 1;
+			char unit = Character.toUpperCase(size.charAt(size.length()-1));
+			if (unit == 'K') multiplier = 1024;
+			else if (unit == 'M') multiplier = 1024*1024;
+			if (multiplier != 1) size = size.substring(0, size.length()-1);
+			return Integer.parseInt(size) * multiplier;
+		}
+	} catch (SecurityException exc) {
+	} catch (NumberFormatException exc) {}
+	return -1;
+}
+private static String readLine(java.io.File file) {
+	java.io.BufferedReader reader = null;
+	try {
+		reader = new java.io.BufferedReader(new java.io.FileReader(file));
+		String line = reader.readLine();
+		return line == null ? null : line.trim();
+	} catch (java.io.IOException exc) {
+		return null;
+	} finally {
+		if (reader != null) try { reader.close(); } catch (java.io.IOException exc) {}
+	}
+}
+/**
+ * Returns the currently used cache sizes in bytes, in the form <tt>{L1, L2, L3}</tt>.
+ */
+public static synchronized int[] getCacheSizes() {
+	return new int[] {l1, l2, l3};
+}
+/**
+ * Returns the currently used block sizes, in the form <tt>{MR, NR, KC, MC, NC}</tt>.
+ */
+public static synchronized int[] getBlockSizes() {
+	return new int[] {MR, NR, kc, mc, nc};
+}
+/**
+ * Sets the data cache sizes the block sizes are derived from.
+ * Half of each cache level is budgeted for the block living in it, leaving room for the streamed operands.
+ *
+ * @param l1 the size of the L1 data cache in bytes.
+ * @param l2 the size of the L2 cache in bytes.
+ * @param l3 the size of the L3 cache in bytes (use the L2 size if there is no L3).
+ * @throws IllegalArgumentException if any size is <tt>&lt;= 0</tt>.
+ */
+public static synchronized void setCacheSizes(int l1, int l2, int l3) {
+	if (l1 <= 0 || l2 <= 0 || l3 <= 0) throw new IllegalArgumentException("Cache sizes must be positive: "+l1+", "+l2+", "+l3);
+	Gemm.l1 = l1;
+	Gemm.l2 = l2;
+	Gemm.l3 = l3;
+
+	// an MR x KC sliver of A and a KC x NR sliver of B live in L1
+	int k = l1 / (2 * 8 * (MR+NR));
+	k = Math.max(16, Math.min(1024, k - k%8));
+
+	// an MC x KC block of A lives in L2
+	int m = l2 / (2 * 8 * k);
+	m = Math.max(MR, Math.min(4096, m - m%MR));
+
+	// a KC x NC block of B lives in L3
+	int n = l3 / (2 * 8 * k);
+	n = Math.max(NR, Math.min(1<<16, n - n%NR));
+
+	kc = k;
+	mc = m;
+	nc = n;
+}
+/**
+ * Computes <tt>C = alpha*A*B + beta*C</tt> on raw row/column strided storage.
+ * No argument checks are performed; <tt>C</tt> must not share cells with <tt>A</tt> or <tt>B</tt>.
+ *
+ * @param m the number of rows of <tt>A</tt> and <tt>C</tt>.
+ * @param n the number of columns of <tt>B</tt> and <tt>C</tt>.
+ * @param k the number of columns of <tt>A</tt> and rows of <tt>B</tt>.
+ */
+static void dgemm(int m, int n, int k, double alpha,
+		double[] a, int aZero, int aRowStride, int aColumnStride,
+		double[] b, int bZero, int bRowStride, int bColumnStride,
+		double beta,
+		double[] c, int cZero, int cRowStride, int cColumnStride) {
+
+	if (m == 0 || n == 0) return;
+
+	// C = beta*C
+	if (beta != 1) {
+		for (int i=0, ci=cZero; i<m; i++, ci += cRowStride) {
+			for (int j=0, cij=ci; j<n; j++, cij += cColumnStride) {
+				c[cij] *= beta;
+			}
+		}
+	}
+	if (k == 0 || alpha == 0) return;
+
+	int KC, MC, NC;
+	synchronized (Gemm.class) {
+		KC = kc; MC = mc; NC = nc;
+	}
+	KC = Math.min(KC, k);
+	MC = Math.min(MC, roundUp(m, MR));
+	NC = Math.min(NC, roundUp(n, NR));
+
+	double[] packedA = new double[MC * KC];
+	double[] packedB = new double[KC * NC];
+	double[] block = new double[MR * NR];
+
+	for (int jc = 0; jc < n; jc += NC) {
+		int nc = Math.min(NC, n - jc);
+		for (int pc = 0; pc < k; pc += KC) {
+			int kc = Math.min(KC, k - pc);
+			packB(kc, nc, b, bZero + pc*bRowStride + jc*bColumnStride, bRowStride, bColumnStride, packedB);
+
+			for (int ic = 0; ic < m; ic += MC) {
+				int mc = Math.min(MC, m - ic);
+				packA(mc, kc, a, aZero + ic*aRowStride + pc*aColumnStride, aRowStride, aColumnStride, packedA);
+
+				// macro-kernel
+				for (int jr = 0; jr < nc; jr += NR) {
+					int nr = Math.min(NR, nc - jr);
+					int bOffset = jr * kc;
+					for (int ir = 0; ir < mc; ir += MR) {
+						int mr = Math.min(MR, mc - ir);
+						int cOffset = cZero + (ic+ir)*cRowStride + (jc+jr)*cColumnStride;
+						if (mr == MR && nr == NR) {
+							kernel(kc, alpha, packedA, ir * kc, packedB, bOffset, c, cOffset, cRowStride, cColumnStride);
+						}
+						else { // edge: compute full block into scratch, then add the valid part
+							java.util.Arrays.fill(block, 0);
+							kernel(kc, alpha, packedA, ir * kc, packedB, bOffset, block, 0, NR, 1);
+							for (int i=0; i<mr; i++) {
+								for (int j=0; j<nr; j++) {
+									c[cOffset + i*cRowStride + j*cColumnStride] += block[i*NR + j];
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+}
+/**
+ * The register blocked micro-kernel; <tt>C[0..MR-1,0..NR-1] += alpha * Ap * Bp</tt>, where <tt>Ap</tt> is an MR x kc sliver and <tt>Bp</tt> is a kc x NR sliver, both packed.
+ * The 16 accumulators are kept in local variables so that the JIT can allocate them to registers.
+ */
+private static void kernel(int kc, double alpha, double[] a, int ai, double[] b, int bi, double[] c, int ci, int rs, int cs) {
+	double c00=0, c01=0, c02=0, c03=0;
+	double c10=0, c11=0, c12=0, c13=0;
+	double c20=0, c21=0, c22=0, c23=0;
+	double c30=0, c31=0, c32=0, c33=0;
+
+	for (int p = kc; --p >= 0; ) {
+		double a0 = a[ai], a1 = a[ai+1], a2 = a[ai+2], a3 = a[ai+3];
+		double b0 = b[bi], b1 = b[bi+1], b2 = b[bi+2], b3 = b[bi+3];
+		c00 += a0*b0; c01 += a0*b1; c02 += a0*b2; c03 += a0*b3;
+		c10 += a1*b0; c11 += a1*b1; c12 += a1*b2; c13 += a1*b3;
+		c20 += a2*b0; c21 += a2*b1; c22 += a2*b2; c23 += a2*b3;
+		c30 += a3*b0; c31 += a3*b1; c32 += a3*b2; c33 += a3*b3;
+		ai += MR;
+		bi += NR;
+	}
+
+	int c0 = ci, c1 = c0 + rs, c2 = c1 + rs, c3 = c2 + rs;
+	c[c0] += alpha*c00; c[c0+cs] += alpha*c01; c[c0+2*cs] += alpha*c02; c[c0+3*cs] += alpha*c03;
+	c[c1] += alpha*c10; c[c1+cs] += alpha*c11; c[c1+2*cs] += alpha*c12; c[c1+3*cs] += alpha*c13;
+	c[c2] += alpha*c20; c[c2+cs] += alpha*c21; c[c2+2*cs] += alpha*c22; c[c2+3*cs] += alpha*c23;
+	c[c3] += alpha*c30; c[c3+cs] += alpha*c31; c[c3+2*cs] += alpha*c32; c[c3+3*cs] += alpha*c33;
+}
+/**
+ * Packs an mc x kc block of A into MR high slivers; sliver <tt>s</tt> holds rows <tt>s*MR..s*MR+MR-1</tt> column after column.
+ * Missing rows of the last sliver are zero padded.
+ */
+private static void packA(int mc, int kc, double[] a, int zero, int rs, int cs, double[] packed) {
+	int dest = 0;
+	for (int i = 0; i < mc; i += MR) {
+		int mr = Math.min(MR, mc - i);
+		int row = zero + i*rs;
+		if (mr == MR) {
+			int r0 = row, r1 = r0 + rs, r2 = r1 + rs, r3 = r2 + rs;
+			for (int p = 0, off = 0; p < kc; p++, off += cs) {
+				packed[dest++] = a[r0+off];
+				packed[dest++] = a[r1+off];
+				packed[dest++] = a[r2+off];
+				packed[dest++] = a[r3+off];
+			}
+		}
+		else {
+			for (int p = 0; p < kc; p++) {
+				int idx = row + p*cs;
+				for (int r = 0; r < MR; r++) {
+					packed[dest++] = r < mr ? a[idx + r*rs] : 0;
+				}
+			}
+		}
+	}
+}
+/**
+ * Packs a kc x nc block of B into NR wide slivers; sliver <tt>s</tt> holds columns <tt>s*NR..s*NR+NR-1</tt> row after row.
+ * Missing columns of the last sliver are zero padded.
+ */
+private static void packB(int kc, int nc, double[] b, int zero, int rs, int cs, double[] packed) {
+	int dest = 0;
+	for (int j = 0; j < nc; j += NR) {
+		int nr = Math.min(NR, nc - j);
+		int col = zero + j*cs;
+		if (nr == NR) {
+			int c0 = col, c1 = c0 + cs, c2 = c1 + cs, c3 = c2 + cs;
+			for (int p = 0, off = 0; p < kc; p++, off += rs) {
+				packed[dest++] = b[c0+off];
+				packed[dest++] = b[c1+off];
+				packed[dest++] = b[c2+off];
+				packed[dest++] = b[c3+off];
+			}
+		}
+		else {
+			for (int p = 0; p < kc; p++) {
+				int idx = col + p*rs;
+				for (int s = 0; s < NR; s++) {
+					packed[dest++] = s < nr ? b[idx + s*cs] : 0;
+				}
+			}
+		}
+	}
+}
+/**
+ * Computes <tt>C = alpha*A*B + beta*C</tt> on raw row/column strided <tt>float</tt> storage; see {@link #dgemm}.
+ * No argument checks are performed; <tt>C</tt> must not share cells with <tt>A</tt> or <tt>B</tt>.
+ *
+ * @param m the number of rows of <tt>A</tt> and <tt>C</tt>.
+ * @param n the number of columns of <tt>B</tt> and <tt>C</tt>.
+ * @param k the number of columns of <tt>A</tt> and rows of <tt>B</tt>.
+ */
+static void sgemm(int m, int n, int k, float alpha,
+		float[] a, int aZero, int aRowStride, int aColumnStride,
+		float[] b, int bZero, int bRowStride, int bColumnStride,
+		float beta,
+		float[] c, int cZero, int cRowStride, int cColumnStride) {
+
+	if (m == 0 || n == 0) return;
+
+	// C = beta*C
+	if (beta != 1) {
+		for (int i=0, ci=cZero; i<m; i++, ci += cRowStride) {
+			for (int j=0, cij=ci; j<n; j++, cij += cColumnStride) {
+				c[cij] *= beta;
+			}
+		}
+	}
+	if (k == 0 || alpha == 0) return;
+
+	int KC, MC, NC;
+	synchronized (Gemm.class) {
+		KC = kc; MC = mc; NC = nc;
+	}
+	KC = Math.min(KC, k);
+	MC = Math.min(MC, roundUp(m, MR));
+	NC = Math.min(NC, roundUp(n, NR));
+
+	float[] packedA = new float[MC * KC];
+	float[] packedB = new float[KC * NC];
+	float[] block = new float[MR * NR];
+
+	for (int jc = 0; jc < n; jc += NC) {
+		int nc = Math.min(NC, n - jc);
+		for (int pc = 0; pc < k; pc += KC) {
+			int kc = Math.min(KC, k - pc);
+			packB(kc, nc, b, bZero + pc*bRowStride + jc*bColumnStride, bRowStride, bColumnStride, packedB);
+
+			for (int ic = 0; ic < m; ic += MC) {
+				int mc = Math.min(MC, m - ic);
+				packA(mc, kc, a, aZero + ic*aRowStride + pc*aColumnStride, aRowStride, aColumnStride, packedA);
+
+				// macro-kernel
+				for (int jr = 0; jr < nc; jr += NR) {
+					int nr = Math.min(NR, nc - jr);
+					int bOffset = jr * kc;
+					for (int ir = 0; ir < mc; ir += MR) {
+						int mr = Math.min(MR, mc - ir);
+						int cOffset = cZero + (ic+ir)*cRowStride + (jc+jr)*cColumnStride;
+						if (mr == MR && nr == NR) {
+							kernel(kc, alpha, packedA, ir * kc, packedB, bOffset, c, cOffset, cRowStride, cColumnStride);
+						}
+						else { // edge: compute full block into scratch, then add the valid part
+							java.util.Arrays.fill(block, 0);
+							kernel(kc, alpha, packedA, ir * kc, packedB, bOffset, block, 0, NR, 1);
+							for (int i=0; i<mr; i++) {
+								for (int j=0; j<nr; j++) {
+									c[cOffset + i*cRowStride + j*cColumnStride] += block[i*NR + j];
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+}
+/**
+ * The single precision micro-kernel; see {@link #kernel(int,double,double[],int,double[],int,double[],int,int,int)}.
+ */
+private static void kernel(int kc, float alpha, float[] a, int ai, float[] b, int bi, float[] c, int ci, int rs, int cs) {
+	float c00=0, c01=0, c02=0, c03=0;
+	float c10=0, c11=0, c12=0, c13=0;
+	float c20=0, c21=0, c22=0, c23=0;
+	float c30=0, c31=0, c32=0, c33=0;
+
+	for (int p = kc; --p >= 0; ) {
+		float a0 = a[ai], a1 = a[ai+1], a2 = a[ai+2], a3 = a[ai+3];
+		float b0 = b[bi], b1 = b[bi+1], b2 = b[bi+2], b3 = b[bi+3];
+		c00 += a0*b0; c01 += a0*b1; c02 += a0*b2; c03 += a0*b3;
+		c10 += a1*b0; c11 += a1*b1; c12 += a1*b2; c13 += a1*b3;
+		c20 += a2*b0; c21 += a2*b1; c22 += a2*b2; c23 += a2*b3;
+		c30 += a3*b0; c31 += a3*b1; c32 += a3*b2; c33 += a3*b3;
+		ai += MR;
+		bi += NR;
+	}
+
+	int c0 = ci, c1 = c0 + rs, c2 = c1 + rs, c3 = c2 + rs;
+	c[c0] += alpha*c00; c[c0+cs] += alpha*c01; c[c0+2*cs] += alpha*c02; c[c0+3*cs] += alpha*c03;
+	c[c1] += alpha*c10; c[c1+cs] += alpha*c11; c[c1+2*cs] += alpha*c12; c[c1+3*cs] += alpha*c13;
+	c[c2] += alpha*c20; c[c2+cs] += alpha*c21; c[c2+2*cs] += alpha*c22; c[c2+3*cs] += alpha*c23;
+	c[c3] += alpha*c30; c[c3+cs] += alpha*c31; c[c3+2*cs] += alpha*c32; c[c3+3*cs] += alpha*c33;
+}
+/**
+ * Packs a block of single precision A; see {@link #packA(int,int,double[],int,int,int,double[])}.
+ */
+private static void packA(int mc, int kc, float[] a, int zero, int rs, int cs, float[] packed) {
+	int dest = 0;
+	for (int i = 0; i < mc; i += MR) {
+		int mr = Math.min(MR, mc - i);
+		int row = zero + i*rs;
+		if (mr == MR) {
+			int r0 = row, r1 = r0 + rs, r2 = r1 + rs, r3 = r2 + rs;
+			for (int p = 0, off = 0; p < kc; p++, off += cs) {
+				packed[dest++] = a[r0+off];
+				packed[dest++] = a[r1+off];
+				packed[dest++] = a[r2+off];
+				packed[dest++] = a[r3+off];
+			}
+		}
+		else {
+			for (int p = 0; p < kc; p++) {
+				int idx = row + p*cs;
+				for (int r = 0; r < MR; r++) {
+					packed[dest++] = r < mr ? a[idx + r*rs] : 0;
+				}
+			}
+		}
+	}
+}
+/**
+ * Packs a block of single precision B; see {@link #packB(int,int,double[],int,int,int,double[])}.
+ */
+private static void packB(int kc, int nc, float[] b, int zero, int rs, int cs, float[] packed) {
+	int dest = 0;
+	for (int j = 0; j < nc; j += NR) {
+		int nr = Math.min(NR, nc - j);
+		int col = zero + j*cs;
+		if (nr == NR) {
+			int c0 = col, c1 = c0 + cs, c2 = c1 + cs, c3 = c2 + cs;
+			for (int p = 0, off = 0; p < kc; p++, off += rs) {
+				packed[dest++] = b[c0+off];
+				packed[dest++] = b[c1+off];
+				packed[dest++] = b[c2+off];
+				packed[dest++] = b[c3+off];
+			}
+		}
+		else {
+			for (int p = 0; p < kc; p++) {
+				int idx = col + p*rs;
+				for (int s = 0; s < NR; s++) {
+					packed[dest++] = s < nr ? b[idx + s*cs] : 0;
+				}
+			}
+		}
+	}
+}
+private static int roundUp(int value, int multiple) {
+	return ((value + multiple - 1) / multiple) * multiple;
+}
+}
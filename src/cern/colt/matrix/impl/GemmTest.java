@@ -0,0 +1,104 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Checks the {@link Gemm} kernel behind <tt>DenseDoubleMatrix2D.zMult</tt> against the naive triple loop,
+for random shapes, transpositions, views with strides and offsets, and cache sizes small enough to split every operand into several blocks.
+
+@version 1.0, 10/18/26
+*/
+class GemmTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected GemmTest() {}
+/**
+ * Runs all checks, sequentially and in parallel mode.
+ */
+public static void main(String[] args) {
+	int[] caches = Gemm.getCacheSizes();
+	int threshold = Parallel.getThreshold();
+	try {
+		testRandomly(300);
+		Gemm.setCacheSizes(1024, 4096, 16384); // tiny blocks: many fringes
+		testRandomly(300);
+		Parallel.setDefaultPool(new java.util.concurrent.ForkJoinPool(4));
+		Parallel.setThreshold(1024);
+		testRandomly(300);
+	}
+	finally {
+		Gemm.setCacheSizes(caches[0], caches[1], caches[2]);
+		Parallel.setDefaultPool(null);
+		Parallel.setThreshold(threshold);
+	}
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Returns a random <tt>rows x columns</tt> dense matrix, possibly a view with offsets and strides, or the dice of such a view.
+ */
+private static DoubleMatrix2D random(cern.jet.random.Uniform gen, int rows, int columns) {
+	int kind = gen.nextIntFromTo(0,2);
+	DoubleMatrix2D A;
+	if (kind == 0) {
+		A = new DenseDoubleMatrix2D(rows, columns);
+	}
+	else if (kind == 1) { // part with strides
+		int r = gen.nextIntFromTo(1,2), c = gen.nextIntFromTo(1,3);
+		A = new DenseDoubleMatrix2D(rows*r+3, columns*c+2).viewPart(1,2,rows*r,columns*c).viewStrides(r,c);
+	}
+	else { // dice
+		A = new DenseDoubleMatrix2D(columns+1, rows).viewPart(1,0,columns,rows).viewDice();
+	}
+	for (int i=0; i<rows; i++) {
+		for (int j=0; j<columns; j++) A.setQuick(i,j, gen.nextDoubleFromTo(-1,1));
+	}
+	return A;
+}
+/**
+ * Multiplies random matrices with <tt>zMult</tt> and checks each product against the naive triple loop.
+ */
+public static void testRandomly(int runs) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(runs));
+	for (int run=0; run<runs; run++) {
+		int m = gen.nextIntFromTo(1,130), n = gen.nextIntFromTo(1,130), k = gen.nextIntFromTo(1,130);
+		if (run % 10 == 0) { m = 1 + run % 7; } // thin edges
+		boolean transposeA = gen.nextBoolean(), transposeB = gen.nextBoolean();
+		double alpha = gen.nextIntFromTo(-2,2), beta = gen.nextIntFromTo(-1,1) * 0.5;
+
+		DoubleMatrix2D A = random(gen, transposeA ? k : m, transposeA ? m : k);
+		DoubleMatrix2D B = random(gen, transposeB ? n : k, transposeB ? k : n);
+		DoubleMatrix2D C = random(gen, m, n);
+
+		DoubleMatrix2D AA = transposeA ? A.viewDice() : A;
+		DoubleMatrix2D BB = transposeB ? B.viewDice() : B;
+		double[][] expected = new double[m][n];
+		for (int i=0; i<m; i++) {
+			for (int j=0; j<n; j++) {
+				double sum = 0;
+				for (int l=0; l<k; l++) sum += AA.getQuick(i,l) * BB.getQuick(l,j);
+				expected[i][j] = alpha*sum + beta*C.getQuick(i,j);
+			}
+		}
+
+		A.zMult(B, C, alpha, beta, transposeA, transposeB);
+
+		for (int i=0; i<m; i++) {
+			for (int j=0; j<n; j++) {
+				if (Math.abs(C.getQuick(i,j) - expected[i][j]) > 1e-12 * k) {
+					throw new InternalError("run "+run+": "+m+"x"+k+" * "+k+"x"+n+(transposeA ? " A'" : "")+(transposeB ? " B'" : "")
+						+", alpha="+alpha+", beta="+beta+": C["+i+","+j+"]="+C.getQuick(i,j)+", expected "+expected[i][j]);
+				}
+			}
+		}
+	}
+	System.out.println(runs+" random products: ok");
+}
+}
@@ -0,0 +1,634 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.map.AbstractLongDoubleMap;
+import cern.colt.map.OpenLongDoubleHashMap;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Sparse hashed 2-d matrix holding <tt>double</tt> elements, keyed by <tt>long</tt> positions so that <tt>rows()*columns()</tt> may exceed <tt>Integer.MAX_VALUE</tt>.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation:</b>
+<p>
+Note that this implementation is not synchronized.
+Works like {@link SparseDoubleMatrix2D}, except that cells are stored in a {@link cern.colt.map.OpenLongDoubleHashMap} under the <tt>long</tt> key <tt>row*columns+column</tt>,
+so shapes like 10<sup>7</sup> x 10<sup>7</sup> are possible; only the number of non-zero cells is bounded by the capacity of the hash map.
+<tt>getQuick</tt> and <tt>setQuick</tt> do not allocate any objects.
+<p>
+Methods <tt>forEachNonZero</tt>, <tt>cardinality</tt> and <tt>zMult</tt> iterate over the non-zero cells only, also for views obtained by
+<tt>viewPart</tt>, <tt>viewDice</tt>, <tt>viewStrides</tt> and flips; they never touch all <tt>rows()*columns()</tt> cells.
+Row and column views wrap the matrix, as do selection views.
+Method <tt>size()</tt> returns <tt>Integer.MAX_VALUE</tt> if the number of cells does not fit into an <tt>int</tt>.
+<p>
+<b>Memory requirements:</b>
+<p>
+worst case: <tt>memory [bytes] = (1/minLoadFactor) * nonZeros * 17</tt>.
+<br>best  case: <tt>memory [bytes] = (1/maxLoadFactor) * nonZeros * 17</tt>.
+<br>Where <tt>nonZeros = cardinality()</tt> is the number of non-zero cells.
+Thus, a 10<sup>7</sup> x 10<sup>7</sup> matrix with minLoadFactor=0.25 and maxLoadFactor=0.5 and 10<sup>8</sup> non-zero cells consumes between 3.4 GB and 6.8 GB.
+<p>
+<b>Time complexity:</b>
+<p>
+Same as {@link SparseDoubleMatrix2D}: <i>expected</i> time complexity <tt>O(1)</tt> for the basic operations
+<tt>get</tt>, <tt>getQuick</tt>, <tt>set</tt>, <tt>setQuick</tt> and <tt>size</tt>; <tt>O(cardinality())</tt> for <tt>forEachNonZero</tt>.
+Cells are internally addressed in row-major.
+
+@see cern.colt.map
+@see cern.colt.map.OpenLongDoubleHashMap
+@version 1.0, 10/18/26
+*/
+public class LargeSparseDoubleMatrix2D extends DoubleMatrix2D {
+	/*
+	 * The elements of the matrix.
+	 */
+	protected AbstractLongDoubleMap elements;
+
+	/** the position of cell <tt>[0,0]</tt>; the <tt>long</tt> counterpart of <tt>rowZero+columnZero</tt> */
+	protected long zero;
+
+	/** the number of positions between two rows and two columns; the <tt>long</tt> counterparts of <tt>rowStride</tt> and <tt>columnStride</tt> */
+	protected long rowStep, columnStep;
+
+	/** the number of columns of the matrix the cells belong to, i.e. positions are <tt>row*baseColumns+column</tt>; <tt>0</tt> if unknown (slices of 3-d matrices) */
+	protected int baseColumns;
+
+	/** whether the rows of the receiver run along the columns of the matrix the cells belong to */
+	protected boolean diced;
+/**
+ * Constructs a matrix with a copy of the given values.
+ * <tt>values</tt> is required to have the form <tt>values[row][column]</tt>
+ * and have exactly the same number of columns in every row.
+ * <p>
+ * The values are copied. So subsequent changes in <tt>values</tt> are not reflected in the matrix, and vice-versa.
+ *
+ * @param values The values to be filled into the new matrix.
+ * @throws IllegalArgumentException if <tt>for any 1 &lt;= row &lt; values.length: values[row].length != values[row-1].length</tt>.
+ */
+public LargeSparseDoubleMatrix2D(double[][] values) {
+	this(values.length, values.length==0 ? 0: values[0].length);
+	assign(values);
+}
+/**
+ * Constructs a matrix with a given number of rows and columns and default memory usage.
+ * All entries are initially <tt>0</tt>.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+public LargeSparseDoubleMatrix2D(int rows, int columns) {
+	this(rows,columns,(int) Math.min((long) Math.max(rows,0)*(Math.max(columns,0)/1000), 10000),0.2,0.5);
+}
+/**
+ * Constructs a matrix with a given number of rows and columns using memory as specified.
+ * All entries are initially <tt>0</tt>.
+ * For details related to memory usage see {@link cern.colt.map.OpenLongDoubleHashMap}.
+ * 
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param initialCapacity   the initial capacity of the hash map.
+ *                          If not known, set <tt>initialCapacity=0</tt> or small.     
+ * @param minLoadFactor        the minimum load factor of the hash map.
+ * @param maxLoadFactor        the maximum load factor of the hash map.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+public LargeSparseDoubleMatrix2D(int rows, int columns, int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	this(rows,columns,new OpenLongDoubleHashMap(initialCapacity, minLoadFactor, maxLoadFactor),0,columns,1,columns,false);
+	this.isNoView = true;
+}
+/**
+ * Constructs a view with the given parameters.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param elements the cells.
+ * @param zero the position of the first element.
+ * @param rowStep the number of positions between two rows, i.e. <tt>position(i+1,j)-position(i,j)</tt>.
+ * @param columnStep the number of positions between two columns, i.e. <tt>position(i,j+1)-position(i,j)</tt>.
+ * @param baseColumns the number of columns of the matrix the cells belong to, or <tt>0</tt> if unknown.
+ * @param diced whether the rows of the view run along the columns of the matrix the cells belong to.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+protected LargeSparseDoubleMatrix2D(int rows, int columns, AbstractLongDoubleMap elements, long zero, long rowStep, long columnStep, int baseColumns, boolean diced) {
+	try {
+		setUp(rows, columns);
+	}
+	catch (IllegalArgumentException exc) { // we can hold rows*columns>Integer.MAX_VALUE cells !
+		if (! "matrix too large".equals(exc.getMessage())) throw exc;
+	}
+	this.elements = elements;
+	this.zero = zero;
+	this.rowStep = rowStep;
+	this.columnStep = columnStep;
+	this.baseColumns = baseColumns;
+	this.diced = diced;
+	this.isNoView = false;
+}
+/**
+ * Sets all cells to the state specified by <tt>value</tt>.
+ * @param    value the value to be filled into the cells.
+ * @return <tt>this</tt> (for convenience only).
+ */
+public DoubleMatrix2D assign(double value) {
+	// overriden for performance only
+	if (this.isNoView && value==0) this.elements.clear();
+	else if (value==0) { // remove the non-zeros only; not while iterating, as removals may rehash
+		final cern.colt.list.IntArrayList rowList = new cern.colt.list.IntArrayList();
+		final cern.colt.list.IntArrayList columnList = new cern.colt.list.IntArrayList();
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					rowList.add(i);
+					columnList.add(j);
+					return value;
+				}
+			}
+		);
+		for (int k=rowList.size(); --k >= 0; ) setQuick(rowList.getQuick(k),columnList.getQuick(k),0);
+	}
+	else super.assign(value);
+	return this;
+}
+/**
+Assigns the result of a function to each cell; <tt>x[row,col] = function(x[row,col])</tt>.
+Scalings (<tt>cern.jet.math.Functions.mult</tt>) only visit the non-zero cells.
+
+@param function a function object taking as argument the current cell's value.
+@return <tt>this</tt> (for convenience only).
+@see cern.jet.math.Functions
+*/
+public DoubleMatrix2D assign(final cern.colt.function.DoubleFunction function) {
+	if (this.isNoView && function instanceof cern.jet.math.Mult) { // x[i] = mult*x[i]
+		this.elements.assign(function);
+	}
+	else if (function instanceof cern.jet.math.Mult) {
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					return function.apply(value);
+				}
+			}
+		);
+	}
+	else {
+		super.assign(function);
+	}
+	return this;
+}
+/**
+ * Replaces all cell values of the receiver with the values of another matrix.
+ * Both matrices must have the same number of rows and columns.
+ * If both matrices share the same cells (as is the case if they are views derived from the same matrix) and intersect in an ambiguous way, then replaces <i>as if</i> using an intermediate auxiliary deep copy of <tt>other</tt>.
+ *
+ * @param     source   the source matrix to copy from (may be identical to the receiver).
+ * @return <tt>this</tt> (for convenience only).
+ * @throws	IllegalArgumentException if <tt>columns() != source.columns() || rows() != source.rows()</tt>
+ */
+public DoubleMatrix2D assign(DoubleMatrix2D source) {
+	// overriden for performance only
+	if (! (source instanceof LargeSparseDoubleMatrix2D)) {
+		return super.assign(source);
+	}
+	LargeSparseDoubleMatrix2D other = (LargeSparseDoubleMatrix2D) source;
+	if (other==this) return this; // nothing to do
+	checkShape(other);
+	
+	if (this.isNoView && other.isNoView) { // quickest
+		this.elements.assign(other.elements);
+		return this;
+	}
+	if (this.isNoView && this.elements != other.elements) { // copy the non-zeros only
+		this.elements.clear();
+		other.forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					setQuick(i,j,value);
+					return value;
+				}
+			}
+		);
+		return this;
+	}
+	return super.assign(source);
+}
+public DoubleMatrix2D assign(final DoubleMatrix2D y, cern.colt.function.DoubleDoubleFunction function) {
+	checkShape(y);
+
+	if (function instanceof cern.jet.math.PlusMult) { // x[i] = x[i] + alpha*y[i]
+		final double alpha = ((cern.jet.math.PlusMult) function).multiplicator;
+		if (alpha==0) return this; // nothing to do
+		if (y instanceof LargeSparseDoubleMatrix2D && ((LargeSparseDoubleMatrix2D) y).elements == this.elements) return super.assign(y,function);
+		y.forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					setQuick(i,j,getQuick(i,j) + alpha*value);
+					return value;
+				}
+			}
+		);
+		return this;
+	}
+
+	if (function==cern.jet.math.Functions.mult) { // x[i] = x[i] * y[i]
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					return value * y.getQuick(i,j);
+				}
+			}
+		);
+		return this;
+	}
+	
+	if (function==cern.jet.math.Functions.div) { // x[i] = x[i] / y[i]
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					return value / y.getQuick(i,j);
+				}
+			}
+		);
+		return this;
+	}
+	
+	return super.assign(y,function);
+}
+/**
+ * Returns the number of cells having non-zero values.
+ */
+public int cardinality() {
+	if (this.isNoView) return this.elements.size();
+	final int[] count = new int[1];
+	forEachNonZero(
+		new cern.colt.function.IntIntDoubleFunction() {
+			public double apply(int i, int j, double value) {
+				if (value != 0) count[0]++;
+				return value;
+			}
+		}
+	);
+	return count[0];
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of non-zero cells without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ * Calling this method before <tt>set()</tt>ing a large number of non-zero values boosts performance,
+ * because the receiver will grow only once instead of potentially many times and hash collisions get less probable.
+ *
+ * @param   minCapacity   the desired minimum number of non-zero cells.
+ */
+public void ensureCapacity(int minCapacity) {
+	this.elements.ensureCapacity(minCapacity);
+}
+/**
+ * Applies a procedure to each cell's value that may be non-zero, passing its row, column and value, and replaces the value with the one returned.
+ * Visits the non-zero cells only, in no particular order, unless the receiver is a slice of a 3-d matrix.
+ * Replacing a value with zero does not release the memory of the cell; see {@link #trimToSize()}.
+ */
+public DoubleMatrix2D forEachNonZero(final cern.colt.function.IntIntDoubleFunction function) {
+	if (this.isNoView) {
+		final long width = this.columns;
+		this.elements.forEachPair(
+			new cern.colt.function.LongDoubleProcedure() {
+				public boolean apply(long key, double value) {
+					int i = (int) (key/width);
+					int j = (int) (key%width);
+					double r = function.apply(i,j,value);
+					if (r!=value) elements.put(key,r);
+					return true;
+				}
+			}
+		);
+	}
+	else if (baseColumns > 0 && rows > 0 && columns > 0 && this.elements.size() < (long) rows*columns) {
+		// decode each key into a row and column of the matrix the cells belong to, and from there into a row and column of the receiver
+		final long width = baseColumns;
+		final long row0 = zero / width;
+		final long column0 = zero % width;
+		final long rowAxis = (diced ? columnStep : rowStep) / width; // step along the rows of the underlying matrix
+		final long columnAxis = diced ? rowStep : columnStep; // step along its columns
+		final long m = diced ? columns : rows;
+		final long n = diced ? rows : columns;
+		final boolean dice = diced;
+		this.elements.forEachPair(
+			new cern.colt.function.LongDoubleProcedure() {
+				public boolean apply(long key, double value) {
+					long dr = key/width - row0;
+					long dc = key%width - column0;
+					if (dr % rowAxis != 0 || dc % columnAxis != 0) return true;
+					long a = dr / rowAxis;
+					long b = dc / columnAxis;
+					if (a < 0 || a >= m || b < 0 || b >= n) return true;
+					double r = dice ? function.apply((int) b,(int) a,value) : function.apply((int) a,(int) b,value);
+					if (r!=value) elements.put(key,r);
+					return true;
+				}
+			}
+		);
+	}
+	else {
+		super.forEachNonZero(function);
+	}
+	return this;
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>[row,column]</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @return    the value at the specified coordinate.
+ */
+public double getQuick(int row, int column) {
+	return this.elements.get(zero + row*rowStep + column*columnStep);
+}
+/**
+ * Returns <tt>true</tt> if both matrices share common cells.
+ */
+protected boolean haveSharedCellsRaw(DoubleMatrix2D other) {
+	if (other instanceof LargeSparseDoubleMatrix2D) {
+		return this.elements==((LargeSparseDoubleMatrix2D) other).elements;
+	}
+	return false;
+}
+/**
+ * Construct and returns a new empty matrix <i>of the same dynamic type</i> as the receiver, having the specified number of rows and columns.
+ *
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new empty matrix of the same dynamic type.
+ */
+public DoubleMatrix2D like(int rows, int columns) {
+	return new LargeSparseDoubleMatrix2D(rows, columns);
+}
+/**
+ * Construct and returns a new 1-d matrix <i>of the corresponding dynamic type</i>, entirelly independent of the receiver.
+ * The new matrix is a {@link SparseDoubleMatrix1D}.
+ *
+ * @param size the number of cells the matrix shall have.
+ * @return  a new matrix of the corresponding dynamic type.
+ */
+public DoubleMatrix1D like1D(int size) {
+	return new SparseDoubleMatrix1D(size);
+}
+protected DoubleMatrix1D like1D(int size, int offset, int stride) {
+	throw new InternalError(); // should never get called
+}
+/**
+ * Sets the matrix cell at coordinate <tt>[row,column]</tt> to the specified value.
+ *
+ * <p>Provided with invalid parameters this method may access illegal indexes without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @param    value the value to be filled into the specified cell.
+ */
+public void setQuick(int row, int column, double value) {
+	long index = zero + row*rowStep + column*columnStep;
+	if (value == 0)
+		this.elements.removeKey(index);
+	else 
+		this.elements.put(index, value);
+}
+/**
+ * Returns the number of cells which is <tt>rows()*columns()</tt>, or <tt>Integer.MAX_VALUE</tt> if that does not fit into an <tt>int</tt>.
+ */
+public int size() {
+	return (int) Math.min((long) rows*columns, Integer.MAX_VALUE);
+}
+/**
+ * Releases any superfluous memory created by explicitly putting zero values into cells formerly having non-zero values; 
+ * An application can use this operation to minimize the storage of the receiver.
+ * See {@link SparseDoubleMatrix2D#trimToSize()}.
+ */
+public void trimToSize() {
+	this.elements.trimToSize();
+}
+/**
+Self modifying version of viewColumnFlip().
+*/
+protected AbstractMatrix2D vColumnFlip() {
+	if (columns>0) {
+		zero += (columns-1)*columnStep;
+		columnStep = -columnStep;
+	}
+	return super.vColumnFlip();
+}
+/**
+Self modifying version of viewDice().
+*/
+protected AbstractMatrix2D vDice() {
+	long tmp = rowStep; rowStep = columnStep; columnStep = tmp;
+	diced = !diced;
+	return super.vDice();
+}
+/**
+Self modifying version of viewPart().
+@throws	IndexOutOfBoundsException if <tt>column<0 || width<0 || column+width>columns() || row<0 || height<0 || row+height>rows()</tt>
+*/
+protected AbstractMatrix2D vPart(int row, int column, int height, int width) {
+	super.vPart(row,column,height,width);
+	zero += row*rowStep + column*columnStep;
+	return this;
+}
+/**
+Self modifying version of viewRowFlip().
+*/
+protected AbstractMatrix2D vRowFlip() {
+	if (rows>0) {
+		zero += (rows-1)*rowStep;
+		rowStep = -rowStep;
+	}
+	return super.vRowFlip();
+}
+/**
+Self modifying version of viewStrides().
+@throws	IndexOutOfBoundsException if <tt>rowStride<=0 || columnStride<=0</tt>.
+*/
+protected AbstractMatrix2D vStrides(int rowStride, int columnStride) {
+	super.vStrides(rowStride,columnStride);
+	rowStep *= rowStride;
+	columnStep *= columnStride;
+	return this;
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the rows of the given column.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param column the column to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>column < 0 || column >= columns()</tt>.
+@see #viewRow(int)
+*/
+public DoubleMatrix1D viewColumn(int column) {
+	checkColumn(column);
+	return viewDice().viewRow(column);
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the columns of the given row.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+The view wraps the receiver, since the positions of its cells may not fit into <tt>int</tt> offsets.
+
+@param row the row to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>row < 0 || row >= rows()</tt>.
+@see #viewColumn(int)
+*/
+public DoubleMatrix1D viewRow(int row) {
+	checkRow(row);
+	return new DelegateDoubleMatrix1D(this,row);
+}
+/**
+Constructs and returns a new <i>selection view</i> that is a matrix holding the indicated cells.
+There holds <tt>view.rows() == rowIndexes.length, view.columns() == columnIndexes.length</tt> and <tt>view.get(i,j) == this.get(rowIndexes[i],columnIndexes[j])</tt>.
+The view wraps the receiver, since the positions of its cells may not fit into <tt>int</tt> offsets.
+
+@param  rowIndexes   The rows of the cells that shall be visible in the new view. To indicate that <i>all</i> rows shall be visible, simply set this parameter to <tt>null</tt>.
+@param  columnIndexes   The columns of the cells that shall be visible in the new view. To indicate that <i>all</i> columns shall be visible, simply set this parameter to <tt>null</tt>.
+@return the new view.
+@throws IndexOutOfBoundsException if <tt>!(0 <= rowIndexes[i] < rows())</tt> for any <tt>i=0..rowIndexes.length()-1</tt>.
+@throws IndexOutOfBoundsException if <tt>!(0 <= columnIndexes[i] < columns())</tt> for any <tt>i=0..columnIndexes.length()-1</tt>.
+*/
+public DoubleMatrix2D viewSelection(int[] rowIndexes, int[] columnIndexes) {
+	return new WrapperDoubleMatrix2D(this).viewSelection(rowIndexes,columnIndexes);
+}
+protected DoubleMatrix2D viewSelectionLike(int[] rowOffsets, int[] columnOffsets) {
+	throw new InternalError(); // should never be called
+}
+public DoubleMatrix1D zMult(DoubleMatrix1D y, DoubleMatrix1D z, final double alpha, double beta, final boolean transposeA) {
+	int m = rows;
+	int n = columns;
+	if (transposeA) {
+		m = columns;
+		n = rows;
+	}
+
+	boolean ignore = (z==null);
+	if (z==null) z = new DenseDoubleMatrix1D(m);
+
+	if (n != y.size() || m > z.size())	
+		throw new IllegalArgumentException("Incompatible args: "+ ((transposeA ? viewDice() : this).toStringShort()) +", "+y.toStringShort()+", "+z.toStringShort());
+
+	if (!ignore && beta != 1) z.assign(cern.jet.math.Functions.mult(beta));
+	if (alpha == 0) return z;
+
+	if (y instanceof DenseDoubleMatrix1D && z instanceof DenseDoubleMatrix1D) {
+		DenseDoubleMatrix1D zz = (DenseDoubleMatrix1D) z;
+		final double[] zElements = zz.elements;
+		final int zStride = zz.stride;
+		final int zi = z.index(0);
+		
+		DenseDoubleMatrix1D yy = (DenseDoubleMatrix1D) y;
+		final double[] yElements = yy.elements;
+		final int yStride = yy.stride;
+		final int yi = y.index(0);
+
+		if (yElements==null || zElements==null) throw new InternalError();
+
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					if (transposeA) { int tmp=i; i=j; j=tmp; }
+					zElements[zi + zStride*i] += alpha * value * yElements[yi + yStride*j];
+					return value;
+				}
+			}
+		);
+	}
+	else {
+		final DoubleMatrix1D yy = y;
+		final DoubleMatrix1D zz = z;
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					if (transposeA) { int tmp=i; i=j; j=tmp; }
+					zz.setQuick(i, zz.getQuick(i) + alpha * value * yy.getQuick(j));
+					return value;
+				}
+			}
+		);
+	}
+	return z;
+}
+public DoubleMatrix2D zMult(DoubleMatrix2D B, DoubleMatrix2D C, final double alpha, double beta, final boolean transposeA, boolean transposeB) {
+	if (transposeB) B = B.viewDice();
+	int m = rows;
+	int n = columns;
+	if (transposeA) {
+		m = columns;
+		n = rows;
+	}
+	final int p = B.columns();
+	boolean ignore = (C==null);
+	if (C==null) C = new DenseDoubleMatrix2D(m,p);
+
+	if (B.rows() != n)
+		throw new IllegalArgumentException("Matrix2D inner dimensions must agree:"+toStringShort()+", "+ (transposeB ? B.viewDice() : B).toStringShort());
+	if (C.rows() != m || C.columns() != p)
+		throw new IllegalArgumentException("Incompatibel result matrix: "+toStringShort()+", "+ (transposeB ? B.viewDice() : B).toStringShort()+", "+C.toStringShort());
+	if (this == C || B == C)
+		throw new IllegalArgumentException("Matrices must not be identical");
+	
+	if (!ignore && beta != 1) C.assign(cern.jet.math.Functions.mult(beta));
+	if (alpha == 0) return C;
+
+	if (B instanceof DenseDoubleMatrix2D && C instanceof DenseDoubleMatrix2D) {
+		// C[i,:] += alpha*A[i,j] * B[j,:] on the raw arrays
+		DenseDoubleMatrix2D BB = (DenseDoubleMatrix2D) B;
+		DenseDoubleMatrix2D CC = (DenseDoubleMatrix2D) C;
+		final double[] BElems = BB.elements;
+		final double[] CElems = CC.elements;
+		final int B0 = BB.index(0,0), rB = BB.rowStride, cB = BB.columnStride;
+		final int C0 = CC.index(0,0), rC = CC.rowStride, cC = CC.columnStride;
+		if (BElems==null || CElems==null) throw new InternalError();
+
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					if (transposeA) { int tmp=i; i=j; j=tmp; }
+					double a = alpha*value;
+					int b = B0 + j*rB;
+					int c = C0 + i*rC;
+					for (int k=p; --k >= 0; ) {
+						CElems[c] += a*BElems[b];
+						b += cB;
+						c += cC;
+					}
+					return value;
+				}
+			}
+		);
+	}
+	else {
+		final DoubleMatrix2D BB = B;
+		final DoubleMatrix2D CC = C;
+		forEachNonZero(
+			new cern.colt.function.IntIntDoubleFunction() {
+				public double apply(int i, int j, double value) {
+					if (transposeA) { int tmp=i; i=j; j=tmp; }
+					double a = alpha*value;
+					for (int k=p; --k >= 0; ) {
+						CC.setQuick(i,k, CC.getQuick(i,k) + a*BB.getQuick(j,k));
+					}
+					return value;
+				}
+			}
+		);
+	}
+	return C;
+}
+}
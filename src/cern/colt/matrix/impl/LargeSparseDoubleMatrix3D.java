@@ -0,0 +1,349 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import cern.colt.map.AbstractLongDoubleMap;
+import cern.colt.map.OpenLongDoubleHashMap;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.DoubleMatrix3D;
+/**
+Sparse hashed 3-d matrix holding <tt>double</tt> elements, keyed by <tt>long</tt> positions so that <tt>slices()*rows()*columns()</tt> may exceed <tt>Integer.MAX_VALUE</tt>.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation:</b>
+<p>
+Note that this implementation is not synchronized.
+Works like {@link SparseDoubleMatrix3D}, except that cells are stored in a {@link cern.colt.map.OpenLongDoubleHashMap} under the <tt>long</tt> key <tt>slice*rows*columns+row*columns+column</tt>;
+only the number of non-zero cells is bounded by the capacity of the hash map.
+<tt>getQuick</tt> and <tt>setQuick</tt> do not allocate any objects.
+Slice, row and column views are {@link LargeSparseDoubleMatrix2D} views sharing the cells.
+Selection views are not supported, since the positions of the selected cells may not fit into <tt>int</tt> offsets.
+Method <tt>size()</tt> returns <tt>Integer.MAX_VALUE</tt> if the number of cells does not fit into an <tt>int</tt>.
+<p>
+<b>Memory requirements:</b>
+<p>
+worst case: <tt>memory [bytes] = (1/minLoadFactor) * nonZeros * 17</tt>.
+<br>best  case: <tt>memory [bytes] = (1/maxLoadFactor) * nonZeros * 17</tt>.
+<br>Where <tt>nonZeros = cardinality()</tt> is the number of non-zero cells.
+<p>
+<b>Time complexity:</b>
+<p>
+Same as {@link SparseDoubleMatrix3D}: <i>expected</i> time complexity <tt>O(1)</tt> for the basic operations
+<tt>get</tt>, <tt>getQuick</tt>, <tt>set</tt>, <tt>setQuick</tt> and <tt>size</tt>.
+Cells are internally addressed in (in decreasing order of significance): slice major, row major, column major.
+
+@see cern.colt.map
+@see cern.colt.map.OpenLongDoubleHashMap
+@version 1.0, 10/18/26
+*/
+public class LargeSparseDoubleMatrix3D extends DoubleMatrix3D {
+	/*
+	 * The elements of the matrix.
+	 */
+	protected AbstractLongDoubleMap elements;
+
+	/** the position of cell <tt>[0,0,0]</tt>; the <tt>long</tt> counterpart of <tt>sliceZero+rowZero+columnZero</tt> */
+	protected long zero;
+
+	/** the number of positions between two slices, rows and columns; the <tt>long</tt> counterparts of <tt>sliceStride</tt>, <tt>rowStride</tt> and <tt>columnStride</tt> */
+	protected long sliceStep, rowStep, columnStep;
+/**
+ * Constructs a matrix with a copy of the given values.
+ * <tt>values</tt> is required to have the form <tt>values[slice][row][column]</tt>
+ * and have exactly the same number of rows in in every slice and exactly the same number of columns in in every row.
+ * <p>
+ * The values are copied. So subsequent changes in <tt>values</tt> are not reflected in the matrix, and vice-versa.
+ *
+ * @param values The values to be filled into the new matrix.
+ * @throws IllegalArgumentException if <tt>for any 1 &lt;= slice &lt; values.length: values[slice].length != values[slice-1].length</tt>.
+ * @throws IllegalArgumentException if <tt>for any 1 &lt;= row &lt; values[0].length: values[slice][row].length != values[slice][row-1].length</tt>.
+ */
+public LargeSparseDoubleMatrix3D(double[][][] values) {
+	this(values.length, (values.length==0 ? 0: values[0].length), (values.length==0 ? 0: values[0].length==0 ? 0 : values[0][0].length));
+	assign(values);
+}
+/**
+ * Constructs a matrix with a given number of slices, rows and columns and default memory usage.
+ * All entries are initially <tt>0</tt>.
+ * @param slices the number of slices the matrix shall have.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @throws	IllegalArgumentException if <tt>slices<0 || rows<0 || columns<0</tt>.
+ */
+public LargeSparseDoubleMatrix3D(int slices, int rows, int columns) {
+	this(slices,rows,columns,(int) Math.min((long) Math.max(slices,0)*Math.max(rows,0)*(Math.max(columns,0)/1000), 10000),0.2,0.5);
+}
+/**
+ * Constructs a matrix with a given number of slices, rows and columns using memory as specified.
+ * All entries are initially <tt>0</tt>.
+ * For details related to memory usage see {@link cern.colt.map.OpenLongDoubleHashMap}.
+ * 
+ * @param slices the number of slices the matrix shall have.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param initialCapacity   the initial capacity of the hash map.
+ *                          If not known, set <tt>initialCapacity=0</tt> or small.     
+ * @param minLoadFactor        the minimum load factor of the hash map.
+ * @param maxLoadFactor        the maximum load factor of the hash map.
+ * @throws	IllegalArgumentException if <tt>initialCapacity < 0 || (minLoadFactor < 0.0 || minLoadFactor >= 1.0) || (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0) || (minLoadFactor >= maxLoadFactor)</tt>.
+ * @throws	IllegalArgumentException if <tt>slices<0 || rows<0 || columns<0</tt>.
+ */
+public LargeSparseDoubleMatrix3D(int slices, int rows, int columns, int initialCapacity, double minLoadFactor, double maxLoadFactor) {
+	this(slices,rows,columns,new OpenLongDoubleHashMap(initialCapacity, minLoadFactor, maxLoadFactor),0,(long) rows*columns,columns,1);
+	this.isNoView = true;
+}
+/**
+ * Constructs a view with the given parameters.
+ * @param slices the number of slices the matrix shall have.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param elements the cells.
+ * @param zero the position of the first element.
+ * @param sliceStep the number of positions between two slices, i.e. <tt>position(k+1,i,j)-position(k,i,j)</tt>.
+ * @param rowStep the number of positions between two rows, i.e. <tt>position(k,i+1,j)-position(k,i,j)</tt>.
+ * @param columnStep the number of positions between two columns, i.e. <tt>position(k,i,j+1)-position(k,i,j)</tt>.
+ * @throws	IllegalArgumentException if <tt>slices<0 || rows<0 || columns<0</tt>.
+ */
+protected LargeSparseDoubleMatrix3D(int slices, int rows, int columns, AbstractLongDoubleMap elements, long zero, long sliceStep, long rowStep, long columnStep) {
+	try {
+		setUp(slices,rows,columns);
+	}
+	catch (IllegalArgumentException exc) { // we can hold slices*rows*columns>Integer.MAX_VALUE cells !
+		if (! "matrix too large".equals(exc.getMessage())) throw exc;
+		this.slices = slices;
+		this.rows = rows;
+		this.columns = columns;
+	}
+	this.elements = elements;
+	this.zero = zero;
+	this.sliceStep = sliceStep;
+	this.rowStep = rowStep;
+	this.columnStep = columnStep;
+	this.isNoView = false;
+}
+/**
+ * Sets all cells to the state specified by <tt>value</tt>.
+ * @param    value the value to be filled into the cells.
+ * @return <tt>this</tt> (for convenience only).
+ */
+public DoubleMatrix3D assign(double value) {
+	// overriden for performance only
+	if (this.isNoView && value==0) this.elements.clear();
+	else super.assign(value);
+	return this;
+}
+/**
+ * Returns the number of cells having non-zero values.
+ */
+public int cardinality() {
+	if (this.isNoView) return this.elements.size();
+	else return super.cardinality();
+}
+/**
+ * Ensures that the receiver can hold at least the specified number of non-zero cells without needing to allocate new internal memory.
+ * If necessary, allocates new internal memory and increases the capacity of the receiver.
+ * <p>
+ * This method never need be called; it is for performance tuning only.
+ * Calling this method before <tt>set()</tt>ing a large number of non-zero values boosts performance,
+ * because the receiver will grow only once instead of potentially many times and hash collisions get less probable.
+ *
+ * @param   minCapacity   the desired minimum number of non-zero cells.
+ */
+public void ensureCapacity(int minCapacity) {
+	this.elements.ensureCapacity(minCapacity);
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>[slice,row,column]</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>slice&lt;0 || slice&gt;=slices() || row&lt;0 || row&gt;=rows() || column&lt;0 || column&gt;=column()</tt>.
+ *
+ * @param     slice   the index of the slice-coordinate.
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @return    the value at the specified coordinate.
+ */
+public double getQuick(int slice, int row, int column) {
+	return this.elements.get(zero + slice*sliceStep + row*rowStep + column*columnStep);
+}
+/**
+ * Returns <tt>true</tt> if both matrices share common cells.
+ */
+protected boolean haveSharedCellsRaw(DoubleMatrix3D other) {
+	if (other instanceof LargeSparseDoubleMatrix3D) {
+		return this.elements==((LargeSparseDoubleMatrix3D) other).elements;
+	}
+	return false;
+}
+/**
+ * Construct and returns a new empty matrix <i>of the same dynamic type</i> as the receiver, having the specified number of slices, rows and columns.
+ *
+ * @param slices the number of slices the matrix shall have.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new empty matrix of the same dynamic type.
+ */
+public DoubleMatrix3D like(int slices, int rows, int columns) {
+	return new LargeSparseDoubleMatrix3D(slices,rows,columns); 
+}
+protected DoubleMatrix2D like2D(int rows, int columns, int rowZero, int columnZero, int rowStride, int columnStride) {
+	throw new InternalError(); // should never get called
+}
+/**
+ * Sets the matrix cell at coordinate <tt>[slice,row,column]</tt> to the specified value.
+ *
+ * <p>Provided with invalid parameters this method may access illegal indexes without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>slice&lt;0 || slice&gt;=slices() || row&lt;0 || row&gt;=rows() || column&lt;0 || column&gt;=column()</tt>.
+ *
+ * @param     slice   the index of the slice-coordinate.
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @param    value the value to be filled into the specified cell.
+ */
+public void setQuick(int slice, int row, int column, double value) {
+	long index = zero + slice*sliceStep + row*rowStep + column*columnStep;
+	if (value == 0)
+		this.elements.removeKey(index);
+	else 
+		this.elements.put(index, value);
+}
+/**
+ * Returns the number of cells which is <tt>slices()*rows()*columns()</tt>, or <tt>Integer.MAX_VALUE</tt> if that does not fit into an <tt>int</tt>.
+ */
+public int size() {
+	return (int) Math.min((long) slices*rows*columns, Integer.MAX_VALUE);
+}
+/**
+ * Releases any superfluous memory created by explicitly putting zero values into cells formerly having non-zero values; 
+ * An application can use this operation to minimize the storage of the receiver.
+ * See {@link SparseDoubleMatrix3D#trimToSize()}.
+ */
+public void trimToSize() {
+	this.elements.trimToSize();
+}
+/**
+Self modifying version of viewColumnFlip().
+*/
+protected AbstractMatrix3D vColumnFlip() {
+	if (columns>0) {
+		zero += (columns-1)*columnStep;
+		columnStep = -columnStep;
+	}
+	return super.vColumnFlip();
+}
+/**
+Self modifying version of viewDice().
+@throws IllegalArgumentException if some of the parameters are equal or not in range 0..2.
+*/
+protected AbstractMatrix3D vDice(int axis0, int axis1, int axis2) {
+	super.vDice(axis0,axis1,axis2);
+	long[] steps = { sliceStep, rowStep, columnStep };
+	sliceStep = steps[axis0];
+	rowStep = steps[axis1];
+	columnStep = steps[axis2];
+	return this;
+}
+/**
+Self modifying version of viewPart().
+@throws IndexOutOfBoundsException if <tt>slice<0 || depth<0 || slice+depth>slices() || row<0 || height<0 || row+height>rows() || column<0 || width<0 || column+width>columns()</tt>
+*/
+protected AbstractMatrix3D vPart(int slice, int row, int column, int depth, int height, int width) {
+	super.vPart(slice,row,column,depth,height,width);
+	zero += slice*sliceStep + row*rowStep + column*columnStep;
+	return this;
+}
+/**
+Self modifying version of viewRowFlip().
+*/
+protected AbstractMatrix3D vRowFlip() {
+	if (rows>0) {
+		zero += (rows-1)*rowStep;
+		rowStep = -rowStep;
+	}
+	return super.vRowFlip();
+}
+/**
+Self modifying version of viewSliceFlip().
+*/
+protected AbstractMatrix3D vSliceFlip() {
+	if (slices>0) {
+		zero += (slices-1)*sliceStep;
+		sliceStep = -sliceStep;
+	}
+	return super.vSliceFlip();
+}
+/**
+Self modifying version of viewStrides().
+@throws	IndexOutOfBoundsException if <tt>sliceStride<=0 || rowStride<=0 || columnStride<=0</tt>.
+*/
+protected AbstractMatrix3D vStrides(int sliceStride, int rowStride, int columnStride) {
+	super.vStrides(sliceStride,rowStride,columnStride);
+	sliceStep *= sliceStride;
+	rowStep *= rowStride;
+	columnStep *= columnStride;
+	return this;
+}
+/**
+Constructs and returns a new 2-dimensional <i>slice view</i> representing the slices and rows of the given column.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param column the index of the column to fix.
+@return a new 2-dimensional slice view.
+@throws IndexOutOfBoundsException if <tt>column < 0 || column >= columns()</tt>.
+@see #viewSlice(int)
+@see #viewRow(int)
+*/
+public DoubleMatrix2D viewColumn(int column) {
+	checkColumn(column);
+	return new LargeSparseDoubleMatrix2D(slices,rows,elements,zero + column*columnStep,sliceStep,rowStep,0,false);
+}
+/**
+Constructs and returns a new 2-dimensional <i>slice view</i> representing the slices and columns of the given row.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param row the index of the row to fix.
+@return a new 2-dimensional slice view.
+@throws IndexOutOfBoundsException if <tt>row < 0 || row >= row()</tt>.
+@see #viewSlice(int)
+@see #viewColumn(int)
+*/
+public DoubleMatrix2D viewRow(int row) {
+	checkRow(row);
+	return new LargeSparseDoubleMatrix2D(slices,columns,elements,zero + row*rowStep,sliceStep,columnStep,0,false);
+}
+/**
+Not supported; throws an exception.
+The positions of the selected cells may not fit into the <tt>int</tt> offsets selection views are built on.
+Use <tt>copy()</tt> on a part view, or select from a slice view instead.
+
+@throws UnsupportedOperationException always.
+*/
+public DoubleMatrix3D viewSelection(int[] sliceIndexes, int[] rowIndexes, int[] columnIndexes) {
+	throw new UnsupportedOperationException("selection views of large sparse matrices are not supported");
+}
+protected DoubleMatrix3D viewSelectionLike(int[] sliceOffsets, int[] rowOffsets, int[] columnOffsets) {
+	throw new InternalError(); // should never be called
+}
+/**
+Constructs and returns a new 2-dimensional <i>slice view</i> representing the rows and columns of the given slice.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param slice the slice to fix.
+@return a new 2-dimensional slice view.
+@throws IndexOutOfBoundsException if <tt>slice < 0 || slice >= slices()</tt>.
+@see #viewRow(int)
+@see #viewColumn(int)
+*/
+public DoubleMatrix2D viewSlice(int slice) {
+	checkSlice(slice);
+	return new LargeSparseDoubleMatrix2D(rows,columns,elements,zero + slice*sliceStep,rowStep,columnStep,0,false);
+}
+}
@@ -0,0 +1,189 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+/**
+Long indexed array of <tt>double</tt> elements outside the Java heap; the storage of {@link MappedDoubleMatrix1D} and {@link MappedDoubleMatrix2D}.
+The elements are held in segments of <tt>2^27</tt> elements (1 GB) each, either memory mapped from a file or allocated as direct buffers.
+<p>
+<b>File format:</b>
+<p>
+A file starts with a header of 32 bytes, all numbers big endian:
+<table>
+<tr><td>offset 0</td><td><tt>int</tt></td><td>the magic number <tt>0x434F4C54</tt> (the characters <tt>COLT</tt>)</td></tr>
+<tr><td>offset 4</td><td><tt>int</tt></td><td>the format version, currently <tt>1</tt></td></tr>
+<tr><td>offset 8</td><td><tt>int</tt></td><td>the rank, <tt>1</tt> or <tt>2</tt></td></tr>
+<tr><td>offset 12</td><td><tt>int</tt></td><td>the byte order of the elements; <tt>0</tt> for big endian, <tt>1</tt> for little endian</td></tr>
+<tr><td>offset 16</td><td><tt>long</tt></td><td>the number of rows (rank 2) or cells (rank 1)</td></tr>
+<tr><td>offset 24</td><td><tt>long</tt></td><td>the number of columns (rank 2) or <tt>1</tt> (rank 1)</td></tr>
+</table>
+followed by the elements as IEEE 754 doubles in the given byte order, row major, without any padding.
+New files are written in the native byte order of the platform.
+
+@version 1.0, 10/18/26
+*/
+class MappedDoubleArray {
+	/** the magic number identifying the file format; the characters <tt>COLT</tt> */
+	public static final int MAGIC = 0x434F4C54;
+
+	/** the version of the file format */
+	public static final int VERSION = 1;
+
+	/** the size of the file header in bytes */
+	public static final int HEADER = 32;
+
+	/** the number of elements per segment is <tt>2^SHIFT</tt> */
+	protected static final int SHIFT = 27;
+	protected static final long MASK = (1L << SHIFT) - 1;
+
+	protected DoubleBuffer[] segments;
+	protected ByteBuffer[] buffers; // the underlying byte buffers, to force mapped ones to disk
+	protected long length;
+	protected boolean readOnly;
+/**
+ * Constructs an array on the given buffers.
+ */
+protected MappedDoubleArray(ByteBuffer[] buffers, long length, ByteOrder order, boolean readOnly) {
+	this.buffers = buffers;
+	this.length = length;
+	this.readOnly = readOnly;
+	this.segments = new DoubleBuffer[buffers.length];
+	for (int i=0; i < buffers.length; i++) {
+		this.segments[i] = buffers[i].order(order).asDoubleBuffer();
+	}
+}
+/**
+ * Returns a new array of the given length in direct (off heap) memory; all elements are initially <tt>0</tt>.
+ */
+public static MappedDoubleArray allocate(long length) {
+	ByteBuffer[] buffers = new ByteBuffer[segments(length)];
+	for (int i=0; i < buffers.length; i++) {
+		buffers[i] = ByteBuffer.allocateDirect((int) (8*segmentLength(length,i)));
+	}
+	return new MappedDoubleArray(buffers, length, ByteOrder.nativeOrder(), false);
+}
+/**
+ * Creates (or overwrites) the given file with a header for a matrix of the given shape, all cells <tt>0</tt>, and maps it read-write.
+ */
+public static MappedDoubleArray create(File file, int rank, long rows, long columns) throws IOException {
+	long length = rows*columns;
+	RandomAccessFile raf = new RandomAccessFile(file, "rw");
+	try {
+		raf.setLength(0);
+		raf.setLength(HEADER + 8*length);
+		ByteBuffer header = ByteBuffer.allocate(HEADER);
+		header.putInt(MAGIC).putInt(VERSION).putInt(rank).putInt(ByteOrder.nativeOrder()==ByteOrder.BIG_ENDIAN ? 0 : 1);
+		header.putLong(rows).putLong(columns);
+		header.flip();
+		FileChannel channel = raf.getChannel();
+		while (header.hasRemaining()) channel.write(header, header.position());
+		return map(channel, length, ByteOrder.nativeOrder(), false);
+	}
+	finally {
+		raf.close(); // mappings stay valid
+	}
+}
+/**
+ * Returns the number of elements.
+ */
+public long length() {
+	return length;
+}
+/**
+ * Writes any changes to a mapped file to the storage device; has no effect on direct memory.
+ */
+public void force() {
+	for (int i=0; i < buffers.length; i++) {
+		if (buffers[i] instanceof java.nio.MappedByteBuffer) ((java.nio.MappedByteBuffer) buffers[i]).force();
+	}
+}
+/**
+ * Returns the element at the given index.
+ */
+public double get(long index) {
+	return segments[(int) (index >>> SHIFT)].get((int) (index & MASK));
+}
+/**
+ * Returns <tt>true</tt> if the elements can not be modified.
+ */
+public boolean isReadOnly() {
+	return readOnly;
+}
+/**
+ * Maps <tt>length</tt> elements following the header of the given channel.
+ */
+protected static MappedDoubleArray map(FileChannel channel, long length, ByteOrder order, boolean readOnly) throws IOException {
+	FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+	ByteBuffer[] buffers = new ByteBuffer[segments(length)];
+	for (int i=0; i < buffers.length; i++) {
+		buffers[i] = channel.map(mode, HEADER + ((long) i << SHIFT)*8, 8*segmentLength(length,i));
+	}
+	return new MappedDoubleArray(buffers, length, order, readOnly);
+}
+/**
+ * Maps the elements of the given file, checking its header.
+ * @param rank the expected rank.
+ * @param shape receives the number of rows (cells) and columns of the matrix.
+ * @throws IOException if the file is not a matrix file of the given rank, or is truncated.
+ */
+public static MappedDoubleArray open(File file, int rank, long[] shape, boolean readOnly) throws IOException {
+	RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r" : "rw");
+	try {
+		FileChannel channel = raf.getChannel();
+		ByteBuffer header = ByteBuffer.allocate(HEADER);
+		while (header.hasRemaining()) {
+			if (channel.read(header, header.position()) < 0) throw new IOException("not a matrix file: "+file);
+		}
+		header.flip();
+		if (header.getInt() != MAGIC) throw new IOException("not a matrix file: "+file);
+		int version = header.getInt();
+		if (version != VERSION) throw new IOException("unsupported version "+version+": "+file);
+		int r = header.getInt();
+		if (r != rank) throw new IOException("expected a matrix of rank "+rank+" but found rank "+r+": "+file);
+		ByteOrder order = header.getInt()==0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+		long rows = header.getLong();
+		long columns = header.getLong();
+		if (rows < 0 || columns < 0 || rows > Integer.MAX_VALUE || columns > Integer.MAX_VALUE) throw new IOException("illegal shape "+rows+" x "+columns+": "+file);
+		long length = rows*columns;
+		if (channel.size() < HEADER + 8*length) throw new IOException("truncated matrix file: "+file);
+		shape[0] = rows;
+		shape[1] = columns;
+		return map(channel, length, order, readOnly);
+	}
+	finally {
+		raf.close(); // mappings stay valid
+	}
+}
+/**
+ * Returns the number of segments needed to hold <tt>length</tt> elements.
+ */
+protected static int segments(long length) {
+	return (int) ((length + MASK) >>> SHIFT);
+}
+/**
+ * Returns the number of elements of the given segment.
+ */
+protected static long segmentLength(long length, int segment) {
+	return Math.min(MASK+1, length - ((long) segment << SHIFT));
+}
+/**
+ * Sets the element at the given index.
+ * @throws java.nio.ReadOnlyBufferException if the array is read-only.
+ */
+public void set(long index, double value) {
+	segments[(int) (index >>> SHIFT)].put((int) (index & MASK), value);
+}
+}
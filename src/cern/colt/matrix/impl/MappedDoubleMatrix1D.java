@@ -0,0 +1,209 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Dense 1-d matrix (aka <i>vector</i>) holding <tt>double</tt> elements outside the Java heap, either in a memory mapped file or in direct memory.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation:</b>
+<p>
+Cells are addressed with <tt>long</tt> indexes, so a vector may be a row or column of a {@link MappedDoubleMatrix2D} with more than <tt>Integer.MAX_VALUE</tt> cells.
+Files have the layout described in {@link MappedDoubleMatrix2D}, with rank <tt>1</tt>, the size in place of the number of rows and <tt>1</tt> column.
+A vector opened read-only throws a <tt>java.nio.ReadOnlyBufferException</tt> on any attempt to modify a cell.
+Views (<tt>viewPart</tt>, <tt>viewFlip</tt>, <tt>viewStrides</tt>) share the cells, i.e. are zero-copy; selection views wrap the vector.
+Methods <tt>like</tt> return matrices in direct memory.
+Note that this implementation is not synchronized.
+<p>
+<b>Memory requirements:</b>
+<p>
+<tt>memory [bytes] = 8*size()</tt>, outside the Java heap.
+<p>
+<b>Time complexity:</b>
+<p>
+<tt>O(1)</tt> (i.e. constant time) for the basic operations
+<tt>get</tt>, <tt>getQuick</tt>, <tt>set</tt>, <tt>setQuick</tt> and <tt>size</tt>,
+
+@version 1.0, 10/18/26
+*/
+public class MappedDoubleMatrix1D extends DoubleMatrix1D {
+	/**
+	  * The elements of this matrix.
+	  */
+	protected MappedDoubleArray elements;
+
+	/** the index of the first element; the <tt>long</tt> counterpart of <tt>zero</tt> */
+	protected long offset;
+
+	/** the number of elements between two cells; the <tt>long</tt> counterpart of <tt>stride</tt> */
+	protected long step;
+/**
+ * Constructs a matrix with a given number of cells in direct memory.
+ * All entries are initially <tt>0</tt>.
+ * @param size the number of cells the matrix shall have.
+ * @throws IllegalArgumentException if <tt>size<0</tt>.
+ */
+public MappedDoubleMatrix1D(int size) {
+	this(size, MappedDoubleArray.allocate(Math.max(size,0)), 0, 1);
+}
+/**
+ * Constructs a view with the given parameters.
+ * @param size the number of cells the matrix shall have.
+ * @param elements the cells.
+ * @param offset the position of the first element.
+ * @param step the number of elements between two cells.
+ * @throws IllegalArgumentException if <tt>size<0</tt>.
+ */
+protected MappedDoubleMatrix1D(int size, MappedDoubleArray elements, long offset, long step) {
+	setUp(size);
+	this.elements = elements;
+	this.offset = offset;
+	this.step = step;
+}
+/**
+ * Creates (or overwrites) the given file, sized to hold a vector with the given number of cells, and maps it read-write.
+ * All entries are initially <tt>0</tt>.
+ * @param file the file to create.
+ * @param size the number of cells the matrix shall have.
+ * @throws IllegalArgumentException if <tt>size<0</tt>.
+ * @throws IOException if the file can not be created or mapped.
+ */
+public static MappedDoubleMatrix1D create(File file, int size) throws IOException {
+	if (size<0) throw new IllegalArgumentException("negative size");
+	return new MappedDoubleMatrix1D(size, MappedDoubleArray.create(file,1,size,1), 0, 1);
+}
+/**
+ * Writes any changes of a file-backed matrix to the storage device; has no effect on a matrix in direct memory.
+ */
+public void force() {
+	elements.force();
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>index</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>index&lt;0 || index&gt;=size()</tt>.
+ *
+ * @param     index   the index of the cell.
+ * @return    the value of the specified cell.
+ */
+public double getQuick(int index) {
+	return elements.get(offset + index*step);
+}
+/**
+ * Returns <tt>true</tt> if both matrices share at least one identical cell.
+ */
+protected boolean haveSharedCellsRaw(DoubleMatrix1D other) {
+	if (other instanceof MappedDoubleMatrix1D) {
+		return this.elements==((MappedDoubleMatrix1D) other).elements;
+	}
+	return false;
+}
+/**
+ * Returns <tt>true</tt> if the cells can not be modified.
+ */
+public boolean isReadOnly() {
+	return elements.isReadOnly();
+}
+/**
+ * Construct and returns a new empty matrix <i>of the same dynamic type</i> as the receiver, having the specified size.
+ * The new matrix resides in direct memory.
+ *
+ * @param size the number of cell the matrix shall have.
+ * @return  a new empty matrix of the same dynamic type.
+ */
+public DoubleMatrix1D like(int size) {
+	return new MappedDoubleMatrix1D(size);
+}
+/**
+ * Construct and returns a new 2-d matrix <i>of the corresponding dynamic type</i>, entirelly independent of the receiver.
+ * The new matrix is a {@link MappedDoubleMatrix2D} residing in direct memory.
+ *
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new matrix of the corresponding dynamic type.
+ */
+public DoubleMatrix2D like2D(int rows, int columns) {
+	return new MappedDoubleMatrix2D(rows,columns);
+}
+/**
+ * Maps the given vector file.
+ * @param file a file in the format described above, as written by {@link #create(File,int)}.
+ * @param readOnly whether the vector shall be read-only.
+ * @throws IOException if the file can not be mapped, or does not hold a 1-d matrix.
+ */
+public static MappedDoubleMatrix1D open(File file, boolean readOnly) throws IOException {
+	long[] shape = new long[2];
+	MappedDoubleArray elements = MappedDoubleArray.open(file,1,shape,readOnly);
+	return new MappedDoubleMatrix1D((int) shape[0], elements, 0, 1);
+}
+/**
+ * Sets the matrix cell at coordinate <tt>index</tt> to the specified value.
+ *
+ * <p>Provided with invalid parameters this method may access illegal indexes without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>index&lt;0 || index&gt;=size()</tt>.
+ *
+ * @param     index   the index of the cell.
+ * @param    value the value to be filled into the specified cell.
+ * @throws java.nio.ReadOnlyBufferException if the matrix is read-only.
+ */
+public void setQuick(int index, double value) {
+	elements.set(offset + index*step, value);
+}
+/**
+Self modifying version of viewFlip().
+*/
+protected AbstractMatrix1D vFlip() {
+	if (size>0) {
+		offset += (size-1)*step;
+		step = -step;
+	}
+	return super.vFlip();
+}
+/**
+Self modifying version of viewPart().
+@throws	IndexOutOfBoundsException if <tt>index<0 || index+width>size()</tt>.
+*/
+protected AbstractMatrix1D vPart(int index, int width) {
+	super.vPart(index,width);
+	offset += index*step;
+	return this;
+}
+/**
+Self modifying version of viewStrides().
+@throws	IndexOutOfBoundsException if <tt>stride <= 0</tt>.
+*/
+protected AbstractMatrix1D vStrides(int stride) {
+	super.vStrides(stride);
+	step *= stride;
+	return this;
+}
+/**
+Constructs and returns a new <i>selection view</i> that is a matrix holding the indicated cells.
+There holds <tt>view.size() == indexes.length</tt> and <tt>view.get(i) == this.get(indexes[i])</tt>.
+The view wraps the receiver, since the positions of its cells may not fit into <tt>int</tt> offsets.
+
+@param  indexes   The indexes of the cells that shall be visible in the new view. To indicate that <i>all</i> cells shall be visible, simply set this parameter to <tt>null</tt>.
+@return the new view.
+@throws IndexOutOfBoundsException if <tt>!(0 <= indexes[i] < size())</tt> for any <tt>i=0..indexes.length()-1</tt>.
+*/
+public DoubleMatrix1D viewSelection(int[] indexes) {
+	return new WrapperDoubleMatrix1D(this).viewSelection(indexes);
+}
+protected DoubleMatrix1D viewSelectionLike(int[] offsets) {
+	throw new InternalError(); // should never be called
+}
+}
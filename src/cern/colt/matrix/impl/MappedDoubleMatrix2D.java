@@ -0,0 +1,334 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Dense 2-d matrix holding <tt>double</tt> elements outside the Java heap, either in a memory mapped file or in direct memory.
+First see the <a href="package-summary.html">package summary</a> and javadoc <a href="package-tree.html">tree view</a> to get the broad picture.
+<p>
+<b>Implementation:</b>
+<p>
+Cells are addressed with <tt>long</tt> indexes across segments of 1 GB each, so a matrix may hold more than <tt>Integer.MAX_VALUE</tt> cells,
+and none of them occupies the Java heap.
+Opening a file maps it without reading it; the operating system pages cells in on first access, and out again under memory pressure.
+A matrix opened read-only throws a <tt>java.nio.ReadOnlyBufferException</tt> on any attempt to modify a cell.
+The file layout, a 32 byte header followed by the cells in row major order, is documented in the class <tt>MappedDoubleArray</tt>:
+<pre>
+int  magic (0x434F4C54, "COLT"), int version (1), int rank (2), int byte order (0 big, 1 little endian)
+long rows, long columns
+double cells[rows*columns]
+</pre>
+<p>
+Views (<tt>viewPart</tt>, <tt>viewDice</tt>, <tt>viewStrides</tt>, flips, rows and columns) share the mapped cells, i.e. are zero-copy;
+selection views wrap the matrix.
+Methods <tt>like</tt> return matrices in direct memory.
+Note that this implementation is not synchronized.
+<p>
+<b>Example:</b>
+<pre>
+MappedDoubleMatrix2D features = MappedDoubleMatrix2D.open(new File("features.mat"), true);
+double sum = features.viewPart(0,0,1000,features.columns()).zSum();
+</pre>
+<p>
+<b>Memory requirements:</b>
+<p>
+<tt>memory [bytes] = 8*rows()*columns()</tt>, outside the Java heap.
+<p>
+<b>Time complexity:</b>
+<p>
+<tt>O(1)</tt> (i.e. constant time) for the basic operations
+<tt>get</tt>, <tt>getQuick</tt>, <tt>set</tt>, <tt>setQuick</tt> and <tt>size</tt>,
+
+@version 1.0, 10/18/26
+*/
+public class MappedDoubleMatrix2D extends DoubleMatrix2D {
+	/**
+	  * The elements of this matrix.
+	  */
+	protected MappedDoubleArray elements;
+
+	/** the index of cell <tt>[0,0]</tt>; the <tt>long</tt> counterpart of <tt>rowZero+columnZero</tt> */
+	protected long zero;
+
+	/** the number of elements between two rows and two columns; the <tt>long</tt> counterparts of <tt>rowStride</tt> and <tt>columnStride</tt> */
+	protected long rowStep, columnStep;
+/**
+ * Constructs a matrix with a given number of rows and columns in direct memory.
+ * All entries are initially <tt>0</tt>.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+public MappedDoubleMatrix2D(int rows, int columns) {
+	this(rows, columns, MappedDoubleArray.allocate((long) Math.max(rows,0) * Math.max(columns,0)), 0, columns, 1);
+}
+/**
+ * Constructs a view with the given parameters.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param elements the cells.
+ * @param zero the position of the first element.
+ * @param rowStep the number of elements between two rows, i.e. <tt>position(i+1,j)-position(i,j)</tt>.
+ * @param columnStep the number of elements between two columns, i.e. <tt>position(i,j+1)-position(i,j)</tt>.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ */
+protected MappedDoubleMatrix2D(int rows, int columns, MappedDoubleArray elements, long zero, long rowStep, long columnStep) {
+	try {
+		setUp(rows, columns);
+	}
+	catch (IllegalArgumentException exc) { // we can hold rows*columns>Integer.MAX_VALUE cells !
+		if (! "matrix too large".equals(exc.getMessage())) throw exc;
+	}
+	this.elements = elements;
+	this.zero = zero;
+	this.rowStep = rowStep;
+	this.columnStep = columnStep;
+}
+/**
+ * Applies a function to each cell and aggregates the results, as in {@link DoubleMatrix2D#aggregate(cern.colt.function.DoubleDoubleFunction,cern.colt.function.DoubleFunction)};
+ * tests for emptiness on the shape rather than on {@link #size()}, which is capped for matrices with more than <tt>Integer.MAX_VALUE</tt> cells.
+ */
+public double aggregate(cern.colt.function.DoubleDoubleFunction aggr, cern.colt.function.DoubleFunction f) {
+	if (rows==0 || columns==0) return Double.NaN;
+	return super.aggregate(aggr,f);
+}
+/**
+ * Returns the number of cells having non-zero values, or <tt>Integer.MAX_VALUE</tt> if that does not fit into an <tt>int</tt>; ignores tolerance.
+ */
+public int cardinality() {
+	long cells = (long) rows*columns;
+	double cardinality = Parallel.run(parallelPool(cells), rows, cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				long cardinality = 0;
+				for (int row=to; --row >= from;) {
+					for (int column=columns; --column >= 0;) {
+						if (getQuick(row,column) != 0) cardinality++;
+					}
+				}
+				return cardinality;
+			}
+		}
+	);
+	return (int) Math.min(cardinality, Integer.MAX_VALUE);
+}
+/**
+ * Creates (or overwrites) the given file, sized to hold a matrix with the given number of rows and columns, and maps it read-write.
+ * All entries are initially <tt>0</tt>.
+ * @param file the file to create.
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0</tt>.
+ * @throws IOException if the file can not be created or mapped.
+ */
+public static MappedDoubleMatrix2D create(File file, int rows, int columns) throws IOException {
+	if (rows<0 || columns<0) throw new IllegalArgumentException("negative size");
+	return new MappedDoubleMatrix2D(rows, columns, MappedDoubleArray.create(file,2,rows,columns), 0, columns, 1);
+}
+/**
+ * Writes any changes of a file-backed matrix to the storage device; has no effect on a matrix in direct memory.
+ */
+public void force() {
+	elements.force();
+}
+/**
+ * Returns the matrix cell value at coordinate <tt>[row,column]</tt>.
+ *
+ * <p>Provided with invalid parameters this method may return invalid objects without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @return    the value at the specified coordinate.
+ */
+public double getQuick(int row, int column) {
+	return elements.get(zero + row*rowStep + column*columnStep);
+}
+/**
+ * Returns <tt>true</tt> if both matrices share at least one identical cell.
+ */
+protected boolean haveSharedCellsRaw(DoubleMatrix2D other) {
+	if (other instanceof MappedDoubleMatrix2D) {
+		return this.elements==((MappedDoubleMatrix2D) other).elements;
+	}
+	return false;
+}
+/**
+ * Returns <tt>true</tt> if the cells can not be modified.
+ */
+public boolean isReadOnly() {
+	return elements.isReadOnly();
+}
+/**
+ * Construct and returns a new empty matrix <i>of the same dynamic type</i> as the receiver, having the specified number of rows and columns.
+ * The new matrix resides in direct memory.
+ *
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @return  a new empty matrix of the same dynamic type.
+ */
+public DoubleMatrix2D like(int rows, int columns) {
+	return new MappedDoubleMatrix2D(rows,columns);
+}
+/**
+ * Construct and returns a new 1-d matrix <i>of the corresponding dynamic type</i>, entirelly independent of the receiver.
+ * The new matrix is a {@link MappedDoubleMatrix1D} residing in direct memory.
+ *
+ * @param size the number of cells the matrix shall have.
+ * @return  a new matrix of the corresponding dynamic type.
+ */
+public DoubleMatrix1D like1D(int size) {
+	return new MappedDoubleMatrix1D(size);
+}
+protected DoubleMatrix1D like1D(int size, int offset, int stride) {
+	throw new InternalError(); // should never get called
+}
+/**
+ * Maps the given matrix file.
+ * @param file a file in the format described above, as written by {@link #create(File,int,int)}.
+ * @param readOnly whether the matrix shall be read-only.
+ * @throws IOException if the file can not be mapped, or does not hold a 2-d matrix.
+ */
+public static MappedDoubleMatrix2D open(File file, boolean readOnly) throws IOException {
+	long[] shape = new long[2];
+	MappedDoubleArray elements = MappedDoubleArray.open(file,2,shape,readOnly);
+	return new MappedDoubleMatrix2D((int) shape[0], (int) shape[1], elements, 0, shape[1], 1);
+}
+/**
+ * Returns the position of the given coordinate within the elements.
+ */
+protected long position(int row, int column) {
+	return zero + row*rowStep + column*columnStep;
+}
+/**
+ * Sets the matrix cell at coordinate <tt>[row,column]</tt> to the specified value.
+ *
+ * <p>Provided with invalid parameters this method may access illegal indexes without throwing any exception.
+ * <b>You should only use this method when you are absolutely sure that the coordinate is within bounds.</b>
+ * Precondition (unchecked): <tt>0 &lt;= column &lt; columns() && 0 &lt;= row &lt; rows()</tt>.
+ *
+ * @param     row   the index of the row-coordinate.
+ * @param     column   the index of the column-coordinate.
+ * @param    value the value to be filled into the specified cell.
+ * @throws java.nio.ReadOnlyBufferException if the matrix is read-only.
+ */
+public void setQuick(int row, int column, double value) {
+	elements.set(zero + row*rowStep + column*columnStep, value);
+}
+/**
+ * Returns the number of cells which is <tt>rows()*columns()</tt>, or <tt>Integer.MAX_VALUE</tt> if that does not fit into an <tt>int</tt>.
+ */
+public int size() {
+	return (int) Math.min((long) rows*columns, Integer.MAX_VALUE);
+}
+/**
+Self modifying version of viewColumnFlip().
+*/
+protected AbstractMatrix2D vColumnFlip() {
+	if (columns>0) {
+		zero += (columns-1)*columnStep;
+		columnStep = -columnStep;
+	}
+	return super.vColumnFlip();
+}
+/**
+Self modifying version of viewDice().
+*/
+protected AbstractMatrix2D vDice() {
+	long tmp = rowStep; rowStep = columnStep; columnStep = tmp;
+	return super.vDice();
+}
+/**
+Self modifying version of viewPart().
+@throws	IndexOutOfBoundsException if <tt>column<0 || width<0 || column+width>columns() || row<0 || height<0 || row+height>rows()</tt>
+*/
+protected AbstractMatrix2D vPart(int row, int column, int height, int width) {
+	super.vPart(row,column,height,width);
+	zero += row*rowStep + column*columnStep;
+	return this;
+}
+/**
+Self modifying version of viewRowFlip().
+*/
+protected AbstractMatrix2D vRowFlip() {
+	if (rows>0) {
+		zero += (rows-1)*rowStep;
+		rowStep = -rowStep;
+	}
+	return super.vRowFlip();
+}
+/**
+Self modifying version of viewStrides().
+@throws	IndexOutOfBoundsException if <tt>rowStride<=0 || columnStride<=0</tt>.
+*/
+protected AbstractMatrix2D vStrides(int rowStride, int columnStride) {
+	super.vStrides(rowStride,columnStride);
+	rowStep *= rowStride;
+	columnStep *= columnStride;
+	return this;
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the rows of the given column.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param column the column to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>column < 0 || column >= columns()</tt>.
+@see #viewRow(int)
+*/
+public DoubleMatrix1D viewColumn(int column) {
+	checkColumn(column);
+	return new MappedDoubleMatrix1D(rows, elements, zero + column*columnStep, rowStep);
+}
+/**
+Constructs and returns a new <i>slice view</i> representing the columns of the given row.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+
+@param row the row to fix.
+@return a new slice view.
+@throws IndexOutOfBoundsException if <tt>row < 0 || row >= rows()</tt>.
+@see #viewColumn(int)
+*/
+public DoubleMatrix1D viewRow(int row) {
+	checkRow(row);
+	return new MappedDoubleMatrix1D(columns, elements, zero + row*rowStep, columnStep);
+}
+/**
+Constructs and returns a new <i>selection view</i> that is a matrix holding the indicated cells.
+There holds <tt>view.rows() == rowIndexes.length, view.columns() == columnIndexes.length</tt> and <tt>view.get(i,j) == this.get(rowIndexes[i],columnIndexes[j])</tt>.
+The view wraps the receiver, since the positions of its cells may not fit into <tt>int</tt> offsets.
+
+@param  rowIndexes   The rows of the cells that shall be visible in the new view. To indicate that <i>all</i> rows shall be visible, simply set this parameter to <tt>null</tt>.
+@param  columnIndexes   The columns of the cells that shall be visible in the new view. To indicate that <i>all</i> columns shall be visible, simply set this parameter to <tt>null</tt>.
+@return the new view.
+@throws IndexOutOfBoundsException if <tt>!(0 <= rowIndexes[i] < rows())</tt> for any <tt>i=0..rowIndexes.length()-1</tt>.
+@throws IndexOutOfBoundsException if <tt>!(0 <= columnIndexes[i] < columns())</tt> for any <tt>i=0..columnIndexes.length()-1</tt>.
+*/
+public DoubleMatrix2D viewSelection(int[] rowIndexes, int[] columnIndexes) {
+	return new WrapperDoubleMatrix2D(this).viewSelection(rowIndexes,columnIndexes);
+}
+protected DoubleMatrix2D viewSelectionLike(int[] rowOffsets, int[] columnOffsets) {
+	throw new InternalError(); // should never be called
+}
+/**
+ * Returns the sum of all cells; <tt>Sum( x[i,j] )</tt>.
+ * Tests for emptiness on the shape rather than on {@link #size()}, as {@link #aggregate(cern.colt.function.DoubleDoubleFunction,cern.colt.function.DoubleFunction)} does.
+ * @return the sum.
+ */
+public double zSum() {
+	if (rows==0 || columns==0) return 0;
+	return aggregate(cern.jet.math.Functions.plus,cern.jet.math.Functions.identity);
+}
+}
@@ -0,0 +1,80 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+Checks that matrices with more than <tt>Integer.MAX_VALUE</tt> cells, and selection views of them, report a capped size and still aggregate over all cells.
+Maps a temporary file of up to 32 GB, which takes hardly any disk space on file systems supporting sparse files, and scans 16 GB of it.
+
+@version 1.0, 10/18/26
+*/
+class MappedDoubleMatrix2DTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected MappedDoubleMatrix2DTest() {}
+/**
+ * Runs all checks.
+ */
+public static void main(String[] args) throws IOException {
+	File file = File.createTempFile("colt", ".mat");
+	file.deleteOnExit();
+	testSize(file);
+	testAggregate(file);
+	testEmpty();
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Checks <tt>zSum</tt>, <tt>cardinality</tt> and <tt>aggregate</tt> of a matrix of <tt>2^31+2^16</tt> cells, where <tt>rows*columns</tt> overflows to a negative <tt>int</tt>.
+ */
+public static void testAggregate(File file) throws IOException {
+	MappedDoubleMatrix2D matrix = MappedDoubleMatrix2D.create(file, 32769, 65536);
+	matrix.setQuick(32768, 65535, 5);
+	matrix.setQuick(0, 0, -2);
+	if (matrix.size() != Integer.MAX_VALUE) throw new InternalError("size() is "+matrix.size());
+	if (matrix.zSum() != 3) throw new InternalError("zSum() is "+matrix.zSum());
+	if (matrix.cardinality() != 2) throw new InternalError("cardinality() is "+matrix.cardinality());
+	double max = matrix.aggregate(cern.jet.math.Functions.max, cern.jet.math.Functions.identity);
+	if (max != 5) throw new InternalError("aggregate(max,identity) is "+max);
+	if (matrix.viewRow(32768).zSum() != 5) throw new InternalError("zSum() of the last row is "+matrix.viewRow(32768).zSum());
+
+	// a selection view wraps the matrix
+	int[] allRows = new int[matrix.rows()];
+	for (int i=0; i<allRows.length; i++) allRows[i] = i;
+	DoubleMatrix2D selection = matrix.viewSelection(allRows, null);
+	if (selection.size() != Integer.MAX_VALUE) throw new InternalError("size() of a selection of all cells is "+selection.size());
+	DoubleMatrix2D corners = matrix.viewSelection(new int[] {0, 32768}, new int[] {0, 65535});
+	if (corners.size() != 4 || corners.zSum() != 3) throw new InternalError("selection of the corners: size() "+corners.size()+", zSum() "+corners.zSum());
+	System.out.println("aggregate: ok");
+}
+/**
+ * Checks operations on matrices without cells.
+ */
+public static void testEmpty() {
+	DoubleMatrix2D empty = new MappedDoubleMatrix2D(0, 65536);
+	if (empty.size() != 0 || empty.zSum() != 0) throw new InternalError("zSum() of an empty matrix is "+empty.zSum());
+	if (!Double.isNaN(empty.aggregate(cern.jet.math.Functions.plus, cern.jet.math.Functions.identity))) throw new InternalError("aggregate() of an empty matrix is a number");
+	System.out.println("empty: ok");
+}
+/**
+ * Checks <tt>size</tt> of a matrix of <tt>2^32</tt> cells, where <tt>rows*columns</tt> overflows to <tt>0</tt>, and of views on it.
+ */
+public static void testSize(File file) throws IOException {
+	MappedDoubleMatrix2D square = MappedDoubleMatrix2D.create(file, 65536, 65536);
+	if (square.size() != Integer.MAX_VALUE) throw new InternalError("size() of 65536x65536 is "+square.size());
+	if (square.viewPart(0,0,1000,1000).size() != 1000000) throw new InternalError("size() of a 1000x1000 part is "+square.viewPart(0,0,1000,1000).size());
+	if (square.viewSelection(null, null).size() != Integer.MAX_VALUE) throw new InternalError("size() of a selection of all cells is "+square.viewSelection(null, null).size());
+	if (square.viewSelection(null, null).viewDice().size() != Integer.MAX_VALUE) throw new InternalError("size() of a diced selection is "+square.viewSelection(null, null).viewDice().size());
+	System.out.println("size: ok");
+}
+}
@@ -0,0 +1,188 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+/**
+Parallel execution mode of matrix operations such as <tt>assign</tt>, <tt>aggregate</tt>, <tt>zSum</tt> and <tt>cardinality</tt>.
+<p>
+By default all matrix operations run sequentially in the calling thread.
+Parallel mode is switched on either globally, via {@link #setDefaultPool(ForkJoinPool)}, or for an individual matrix, via {@link AbstractMatrix#setPool(ForkJoinPool)}.
+The setting of a matrix takes precedence over the global one; views inherit the setting of the matrix they are derived from.
+E.g.
+<pre>
+// all matrices run in parallel on the JVM wide pool
+Parallel.setDefaultPool(java.util.concurrent.ForkJoinPool.commonPool());
+
+// or just this one, on a dedicated pool of 8 threads
+matrix.setPool(new java.util.concurrent.ForkJoinPool(8));
+</pre>
+<p>
+In parallel mode, an operation splits the matrix recursively into bands of rows until each band holds fewer than about {@link #getThreshold()} cells,
+and the bands are processed concurrently on the pool.
+Operations on matrices with fewer than <tt>2*getThreshold()</tt> cells always run sequentially, since parallelism would not pay off.
+Reductions such as <tt>aggregate</tt> combine the partial results of the bands with the aggregation function;
+hence they yield the same results as in sequential mode for associative aggregation functions (up to rounding, e.g. for sums).
+<p>
+<b>Function objects passed to operations in parallel mode must be thread safe.</b>
+Random number generators (any {@link cern.jet.random.engine.RandomEngine} and {@link cern.jet.random.AbstractDistribution}) are not, and are therefore always applied sequentially.
+Operations that modify cells run in parallel only on dense matrices; sparse matrices can not be written to concurrently.
+
+@version 1.0, 10/18/26
+*/
+public final class Parallel {
+	/** the pool used by all matrices that have no pool of their own; <tt>null</tt> means sequential mode. */
+	private static volatile ForkJoinPool defaultPool = null;
+
+	/** the approximate minimum number of cells processed by a single task. */
+	private static volatile int threshold = 32768;
+
+	/**
+	 * A range is never split into more than about <tt>LEAVES_PER_THREAD</tt> leaves per thread of the pool,
+	 * enough for work stealing to balance the load without drowning in task overhead.
+	 */
+	public static final int LEAVES_PER_THREAD = 4;
+
+/**
+ * A piece of work over a range of rows (or any other index range); the unit a range is split into.
+ */
+public static abstract class Body {
+	/**
+	 * Processes the range <tt>[from,to)</tt> sequentially and returns a partial result (ignored by operations not computing a result).
+	 */
+	public abstract double apply(int from, int to);
+	/**
+	 * Combines the partial results of two adjacent ranges, the left one coming first; defaults to the sum.
+	 */
+	public double combine(double left, double right) {
+		return left + right;
+	}
+}
+/**
+ * Recursively splits a range in halves, forking the halves, until it is no longer than the grain size.
+ */
+private static class Task extends RecursiveAction {
+	final Body body;
+	final int from, to, grain;
+	double result;
+
+	Task(Body body, int from, int to, int grain) {
+		this.body = body;
+		this.from = from;
+		this.to = to;
+		this.grain = grain;
+	}
+	protected void compute() {
+		if (to - from <= grain) {
+			result = body.apply(from,to);
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		Task left = new Task(body,from,mid,grain);
+		Task right = new Task(body,mid,to,grain);
+		invokeAll(left,right);
+		result = body.combine(left.result,right.result);
+	}
+}
+/**
+ * Makes this class non instantiable.
+ */
+private Parallel() {}
+/**
+ * Returns the pool used by all matrices that have no pool of their own; <tt>null</tt> if they run sequentially.
+ */
+public static ForkJoinPool getDefaultPool() {
+	return defaultPool;
+}
+/**
+ * Sets the pool used by all matrices that have no pool of their own.
+ * @param pool the pool, for example {@link ForkJoinPool#commonPool()}; or <tt>null</tt> to switch back to sequential mode.
+ */
+public static void setDefaultPool(ForkJoinPool pool) {
+	defaultPool = pool;
+}
+/**
+ * Returns the approximate minimum number of cells processed by a single task.
+ */
+public static int getThreshold() {
+	return threshold;
+}
+/**
+ * Sets the approximate minimum number of cells processed by a single task; matrices with fewer than twice that many cells are always processed sequentially.
+ * @throws IllegalArgumentException if <tt>threshold &lt; 1</tt>.
+ */
+public static void setThreshold(int threshold) {
+	if (threshold < 1) throw new IllegalArgumentException("threshold must be positive: "+threshold);
+	Parallel.threshold = threshold;
+}
+/**
+ * Returns <tt>false</tt> if the given function object is known not to be thread safe.
+ */
+public static boolean isThreadSafe(Object function) {
+	return !(function instanceof cern.jet.random.engine.RandomEngine || function instanceof cern.jet.random.AbstractDistribution);
+}
+/**
+ * Returns the pool an operation touching the given number of cells shall run on, or <tt>null</tt> if it shall run sequentially.
+ * @param pool the pool of the matrix, or <tt>null</tt> to use the default pool.
+ * @param cells the number of cells processed by the operation.
+ */
+public static ForkJoinPool pool(ForkJoinPool pool, long cells) {
+	if (pool == null) pool = defaultPool;
+	if (pool == null || pool.isShutdown() || pool.getParallelism() < 2) return null;
+	if (cells < 2L*threshold) return null;
+	return pool;
+}
+/**
+ * Applies <tt>body</tt> to the range <tt>[0,size)</tt> on the given pool, split into pieces holding about {@link #getThreshold()} cells each,
+ * and returns the combination of the partial results.
+ * The calling thread waits for completion.
+ *
+ * @param pool the pool to run on; if <tt>null</tt>, <tt>body</tt> is applied sequentially in the calling thread.
+ * @param size the length of the range, typically the number of rows.
+ * @param cells the number of cells covered by the whole range.
+ * @param body the work.
+ */
+public static double run(ForkJoinPool pool, int size, long cells, Body body) {
+	return split(pool, size, cells, threshold, body);
+}
+/**
+ * Applies <tt>body</tt> to the range <tt>[0,size)</tt> on the given pool, split into pieces that each cost at least <tt>threshold</tt>,
+ * and returns the combination of the partial results; for callers that measure cost in other units than cells, e.g. flops.
+ * If the whole range costs less than <tt>2*threshold</tt>, or the pool has fewer than two threads,
+ * <tt>body</tt> is applied sequentially in the calling thread.
+ * The calling thread waits for completion.
+ *
+ * @param pool the pool to run on; if <tt>null</tt> or shut down, <tt>body</tt> is applied sequentially in the calling thread.
+ * @param size the length of the range.
+ * @param cost the cost of processing the whole range.
+ * @param threshold the minimum cost a piece of work should have for parallelism to pay off.
+ * @param body the work.
+ */
+public static double run(ForkJoinPool pool, int size, long cost, int threshold, Body body) {
+	if (pool == null || pool.isShutdown() || pool.getParallelism() < 2 || cost < 2L*threshold) return body.apply(0,Math.max(size,0));
+	return split(pool, size, cost, threshold, body);
+}
+/**
+ * Splits the range into pieces of about <tt>threshold</tt> cost each, but no more than {@link #LEAVES_PER_THREAD} per thread, and runs them on the pool.
+ */
+private static double split(ForkJoinPool pool, int size, long cost, int threshold, Body body) {
+	if (pool == null || size < 2) return body.apply(0,Math.max(size,0));
+	long perLeaf = Math.max(1, (long) Math.ceil((double) size * threshold / cost));
+	long minimum = size / ((long) LEAVES_PER_THREAD * pool.getParallelism());
+	int grain = (int) Math.min(size, Math.max(perLeaf, minimum));
+	if (grain >= size) return body.apply(0,size);
+
+	Task task = new Task(body,0,size,grain);
+	if (ForkJoinTask.getPool() == pool) task.invoke(); // already a worker of the pool: run nested
+	else pool.invoke(task);
+	return task.result;
+}
+}
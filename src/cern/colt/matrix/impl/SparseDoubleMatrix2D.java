@@ -118,6 +118,21 @@ public SparseDoubleMatrix2D(int rows, int columns, int initialCapacity, double m
 	setUp(rows,columns); 
 	this.elements = new OpenIntDoubleHashMap(initialCapacity, minLoadFactor, maxLoadFactor);
 }
+/**
+ * Constructs a matrix with a given number of rows and columns holding its non-zero cells in the given map.
+ * Cell <tt>[row,column]</tt> is associated with key <tt>row*columns + column</tt>; the map is used as is, not copied.
+ * For example, backed by a {@link cern.colt.map.ConcurrentOpenIntDoubleHashMap} the matrix allows <tt>getQuick</tt> and <tt>setQuick</tt>
+ * to be called by many threads at once (other methods are not made thread safe by this).
+ * 
+ * @param rows the number of rows the matrix shall have.
+ * @param columns the number of columns the matrix shall have.
+ * @param elements the map holding the cells.
+ * @throws	IllegalArgumentException if <tt>rows<0 || columns<0 || (double)columns*rows > Integer.MAX_VALUE</tt>.
+ */
+public SparseDoubleMatrix2D(int rows, int columns, AbstractIntDoubleMap elements) {
+	setUp(rows,columns); 
+	this.elements = elements;
+}
 /**
  * Constructs a view with the given parameters.
  * @param rows the number of rows the matrix shall have.
@@ -32,7 +32,14 @@ class WrapperDoubleMatrix2D extends DoubleMatrix2D {
  * @throws IllegalArgumentException if <tt>for any 1 &lt;= row &lt; values.length: values[row].length != values[row-1].length</tt>.
  */
 public WrapperDoubleMatrix2D(DoubleMatrix2D newContent) {
-	if (newContent != null) setUp(newContent.rows(),newContent.columns());
+	if (newContent != null) {
+		try {
+			setUp(newContent.rows(),newContent.columns());
+		}
+		catch (IllegalArgumentException exc) { // we can hold rows*columns>Integer.MAX_VALUE cells !
+			if (! "matrix too large".equals(exc.getMessage())) throw exc;
+		}
+	}
 	this.content = newContent;
 }
 /**
@@ -107,6 +114,12 @@ protected DoubleMatrix1D like1D(int size, int offset, int stride) {
 public void setQuick(int row, int column, double value) {
 	content.setQuick(row,column, value);
 }
+/**
+ * Returns the number of cells which is <tt>rows()*columns()</tt>, or <tt>Integer.MAX_VALUE</tt> if that does not fit into an <tt>int</tt>.
+ */
+public int size() {
+	return (int) Math.min((long) rows*columns, Integer.MAX_VALUE);
+}
 /**
 Constructs and returns a new <i>slice view</i> representing the rows of the given column.
 The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
@@ -10,12 +10,17 @@ package cern.colt.matrix.linalg;
 
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
 /** 
 For a symmetric, positive definite matrix <tt>A</tt>, the Cholesky decomposition
 is a lower triangular matrix <tt>L</tt> so that <tt>A = L*L'</tt>;
 If the matrix is not symmetric or positive definite, the constructor
 returns a partial decomposition and sets an internal flag that may
 be queried by the <tt>isSymmetricPositiveDefinite()</tt> method.
+<p>
+Dense matrices with more than {@link #BLOCK} rows are decomposed and solved with blocked algorithms,
+which spend almost all time in matrix-matrix multiplications and run in parallel mode as described in {@link cern.colt.matrix.impl.Parallel}.
 */
 public class CholeskyDecomposition implements java.io.Serializable {
 	static final long serialVersionUID = 1020;
@@ -34,6 +39,11 @@ public class CholeskyDecomposition implements java.io.Serializable {
 	@serial is symmetric and positive definite flag.
 	*/
 	private boolean isSymmetricPositiveDefinite;
+
+	/** 
+	 * The number of columns of a panel of the blocked decomposition, and of a block of rows of the blocked solver.
+	 */
+	public static final int BLOCK = 64;
 /** 
 Constructs and returns a new Cholesky decomposition object for a symmetric and positive definite matrix; 
 The decomposed matrices can be retrieved via instance methods of the returned decomposition object.
@@ -51,6 +61,10 @@ public CholeskyDecomposition(DoubleMatrix2D A) {
 	//L = new double[n][n];
 	L = A.like(n,n);
 	isSymmetricPositiveDefinite = (A.columns() == n);
+	if (L instanceof DenseDoubleMatrix2D && n > BLOCK) {
+		decomposeBlocked(A);
+		return;
+	}
 	
 	//precompute and cache some views to avoid regenerating them time and again
 	DoubleMatrix1D[] Lrows = new DoubleMatrix1D[n];
@@ -85,6 +99,119 @@ public CholeskyDecomposition(DoubleMatrix2D A) {
 		}
 	}
 }
+/**
+Decomposes <tt>A</tt> with a "right-looking", blocked algorithm.
+Each diagonal block of {@link #BLOCK} columns is factored unblocked; the panel below it is then solved 
+and the trailing matrix updated with matrix-matrix multiplications, concurrently for bands of rows in parallel mode.
+*/
+private void decomposeBlocked(DoubleMatrix2D A) {
+	// Check symmetry and copy the lower triangle.
+	for (int j = 0; j < n; j++) {
+		for (int k = 0; k < j; k++) {
+			isSymmetricPositiveDefinite = isSymmetricPositiveDefinite && (A.getQuick(k,j) == A.getQuick(j,k));
+		}
+		for (int k = 0; k <= j; k++) L.setQuick(j,k, A.getQuick(j,k));
+	}
+	
+	//precompute and cache some views to avoid regenerating them time and again
+	DoubleMatrix1D[] Lrows = new DoubleMatrix1D[n];
+	for (int j = 0; j < n; j++) Lrows[j] = L.viewRow(j);
+	
+	for (int k0 = 0; k0 < n; k0 += BLOCK) {
+		final int kb = Math.min(BLOCK, n-k0);
+		int end = k0 + kb;
+		
+		// Factor the diagonal block.
+		for (int j = k0; j < end; j++) {
+			double d = 0.0;
+			for (int k = k0; k < j; k++) {
+				double s = Lrows[k].zDotProduct(Lrows[j],k0,k-k0);
+				s = (L.getQuick(j,k) - s) / L.getQuick(k,k);
+				L.setQuick(j,k,s);
+				d = d + s*s;
+			}
+			d = L.getQuick(j,j) - d;
+			isSymmetricPositiveDefinite = isSymmetricPositiveDefinite && (d > 0.0);
+			L.setQuick(j,j, Math.sqrt(Math.max(d,0.0)));
+		}
+		
+		// L21 = A21 * L11'^-1; A22 -= L21 * L21'
+		final int below = n - end;
+		if (below == 0) break;
+		final DoubleMatrix2D L11 = L.viewPart(k0,k0,kb,kb);
+		final DoubleMatrix2D L21 = L.viewPart(end,k0,below,kb);
+		final DoubleMatrix2D A22 = L.viewPart(end,end,below,below);
+		long flops = (long) below * kb * kb;
+		Parallel.run(Parallel.pool(L.getPool(),flops), below, flops,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					// row by row: L21[i,:] = A21[i,:] * L11'^-1
+					for (int i = from; i < to; i++) {
+						for (int k = 0; k < kb; k++) {
+							double s = L21.getQuick(i,k);
+							for (int j = 0; j < k; j++) s -= L11.getQuick(k,j) * L21.getQuick(i,j);
+							L21.setQuick(i,k, s / L11.getQuick(k,k));
+						}
+					}
+					return 0;
+				}
+			}
+		);
+		flops = (long) below * below * kb; // half of the multiply-adds
+		Parallel.run(Parallel.pool(L.getPool(),flops), below, flops,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					// blocks of rows, each up to its diagonal; the upper triangle of the diagonal blocks is touched as well, and cleared at the end
+					for (int i = from; i < to; i += BLOCK) {
+						int rows = Math.min(BLOCK, to-i);
+						L21.viewPart(i,0,rows,kb).zMult(L21.viewPart(0,0,i+rows,kb), A22.viewPart(i,0,rows,i+rows), -1, 1, false, true);
+					}
+					return 0;
+				}
+			}
+		);
+	}
+	
+	for (int j = 0; j < n; j++) {
+		for (int k = j+1; k < n; k++) {
+			L.setQuick(j,k, 0.0);
+		}
+	}
+}
+/**
+Solves <tt>L*X = B</tt> in place, where <tt>L</tt> is the lower triangular part of the given square matrix.
+*/
+private static void solveLower(DoubleMatrix2D L, DoubleMatrix2D B) {
+	int n = L.rows();
+	int nx = B.columns();
+	for (int k = 0; k < n; k++) {
+		double f = 1 / L.getQuick(k,k);
+		for (int j = 0; j < nx; j++) B.setQuick(k,j, B.getQuick(k,j) * f);
+		for (int i = k+1; i < n; i++) {
+			double l = L.getQuick(i,k);
+			if (l != 0) {
+				for (int j = 0; j < nx; j++) B.setQuick(i,j, B.getQuick(i,j) - l*B.getQuick(k,j));
+			}
+		}
+	}
+}
+/**
+Solves <tt>L'*X = B</tt> in place, where <tt>L</tt> is the lower triangular part of the given square matrix.
+*/
+private static void solveLowerTranspose(DoubleMatrix2D L, DoubleMatrix2D B) {
+	int n = L.rows();
+	int nx = B.columns();
+	for (int k = n-1; k >= 0; k--) {
+		double f = 1 / L.getQuick(k,k);
+		for (int j = 0; j < nx; j++) B.setQuick(k,j, B.getQuick(k,j) * f);
+		for (int i = 0; i < k; i++) {
+			double l = L.getQuick(k,i);
+			if (l != 0) {
+				for (int j = 0; j < nx; j++) B.setQuick(i,j, B.getQuick(i,j) - l*B.getQuick(k,j));
+			}
+		}
+	}
+}
 /** 
 Returns the triangular factor, <tt>L</tt>.
 @return     <tt>L</tt>
@@ -110,6 +237,10 @@ public DoubleMatrix2D solve(DoubleMatrix2D B) {
 	// Copy right hand side.
 	DoubleMatrix2D X = B.copy();
 	int nx = B.columns();
+	if (L instanceof DenseDoubleMatrix2D && n > BLOCK) {
+		solveBlocked(X);
+		return X;
+	}
 
 	// fix by MG Ferreira <mgf@webmail.co.za>
 	// old code is in method xxxSolveBuggy()
@@ -135,6 +266,41 @@ public DoubleMatrix2D solve(DoubleMatrix2D B) {
 
 	return X;
 }
+/**
+Solves <tt>L*L'*X = B</tt> in place with blocked forward and back substitution.
+The diagonal blocks are solved directly; the off-diagonal blocks are applied with matrix-matrix multiplications.
+In parallel mode, bands of columns of <tt>X</tt> are solved concurrently.
+*/
+private void solveBlocked(final DoubleMatrix2D X) {
+	final DoubleMatrix2D L = this.L;
+	long flops = 2L * n * n * X.columns();
+	Parallel.run(Parallel.pool(L.getPool(),flops), X.columns(), flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int width = to - from;
+				DoubleMatrix2D Xpart = X.viewPart(0,from,n,width);
+				
+				// Solve L*Y = B;
+				for (int k0 = 0; k0 < n; k0 += BLOCK) {
+					int kb = Math.min(BLOCK, n-k0);
+					DoubleMatrix2D Xk = Xpart.viewPart(k0,0,kb,width);
+					solveLower(L.viewPart(k0,k0,kb,kb), Xk);
+					int below = n - k0 - kb;
+					if (below > 0) L.viewPart(k0+kb,k0,below,kb).zMult(Xk, Xpart.viewPart(k0+kb,0,below,width), -1, 1, false, false);
+				}
+				
+				// Solve L'*X = Y;
+				for (int k0 = ((n-1) / BLOCK) * BLOCK; k0 >= 0; k0 -= BLOCK) {
+					int kb = Math.min(BLOCK, n-k0);
+					DoubleMatrix2D Xk = Xpart.viewPart(k0,0,kb,width);
+					solveLowerTranspose(L.viewPart(k0,k0,kb,kb), Xk);
+					if (k0 > 0) L.viewPart(k0,0,kb,k0).zMult(Xk, Xpart.viewPart(0,0,k0,width), -1, 1, true, false);
+				}
+				return 0;
+			}
+		}
+	);
+}
 /** 
 Solves <tt>A*X = B</tt>; returns <tt>X</tt>.
 @param  B   A Matrix with as many rows as <tt>A</tt> and any number of columns.
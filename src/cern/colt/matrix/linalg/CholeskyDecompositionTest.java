@@ -0,0 +1,75 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+import cern.colt.matrix.impl.SparseDoubleMatrix2D;
+/**
+Checks the blocked Cholesky decomposition of dense matrices against the unblocked algorithm, which decomposes sparse matrices,
+and the blocked solve against {@link Algebra#mult(DoubleMatrix2D,DoubleMatrix2D)} of the solution.
+
+@version 1.0, 10/18/26
+*/
+class CholeskyDecompositionTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected CholeskyDecompositionTest() {}
+/**
+ * Runs all checks, sequentially and in parallel mode.
+ */
+public static void main(String[] args) {
+	testRandomly(20);
+	Parallel.setDefaultPool(new java.util.concurrent.ForkJoinPool(4));
+	try {
+		testRandomly(20);
+	}
+	finally {
+		Parallel.setDefaultPool(null);
+	}
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Decomposes random symmetric positive definite matrices <tt>A*A' + n*I</tt> larger than {@link CholeskyDecomposition#BLOCK},
+ * dense (blocked) and as sparse copies (unblocked), and compares <tt>L</tt> and the solutions of random systems;
+ * also checks that both reject a matrix that is not positive definite.
+ */
+public static void testRandomly(int runs) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(runs));
+	for (int run=0; run<runs; run++) {
+		int n = gen.nextIntFromTo(CholeskyDecomposition.BLOCK+1, 3*CholeskyDecomposition.BLOCK+7);
+		DoubleMatrix2D R = LUDecompositionQuickTest.random(gen, n, n);
+		DoubleMatrix2D A = R.zMult(R, null, 1, 0, false, true);
+		for (int i=0; i<n; i++) A.setQuick(i,i, A.getQuick(i,i) + n);
+
+		CholeskyDecomposition blocked = new CholeskyDecomposition(A);
+		CholeskyDecomposition reference = new CholeskyDecomposition(new SparseDoubleMatrix2D(n,n).assign(A));
+
+		String shape = "run "+run+", "+n+"x"+n+": ";
+		if (!blocked.isSymmetricPositiveDefinite() || !reference.isSymmetricPositiveDefinite()) throw new InternalError(shape+"not recognized as positive definite");
+		double error = LUDecompositionQuickTest.relativeError(blocked.getL(), reference.getL());
+		if (error > 1e-10) throw new InternalError(shape+"L differs by "+error);
+
+		DoubleMatrix2D B = LUDecompositionQuickTest.random(gen, n, gen.nextIntFromTo(1,150));
+		DoubleMatrix2D X = blocked.solve(B);
+		error = LUDecompositionQuickTest.relativeError(X, reference.solve(new SparseDoubleMatrix2D(B.rows(),B.columns()).assign(B)));
+		if (error > 1e-9) throw new InternalError(shape+"solution differs by "+error);
+		error = LUDecompositionQuickTest.relativeError(Algebra.DEFAULT.mult(A,X), B);
+		if (error > 1e-9) throw new InternalError(shape+"residual "+error);
+
+		// a negative pivot late in the matrix, past the first block
+		int k = gen.nextIntFromTo(CholeskyDecomposition.BLOCK, n-1);
+		A.setQuick(k,k, -A.getQuick(k,k));
+		if (new CholeskyDecomposition(A).isSymmetricPositiveDefinite()) throw new InternalError(shape+"indefinite matrix accepted by the blocked algorithm");
+		if (new CholeskyDecomposition(new SparseDoubleMatrix2D(n,n).assign(A)).isSymmetricPositiveDefinite()) throw new InternalError(shape+"indefinite matrix accepted by the unblocked algorithm");
+	}
+	System.out.println(runs+" random decompositions: ok");
+}
+}
@@ -28,6 +28,9 @@ The columns of <tt>V</tt> represent the eigenvectors in the sense that <tt>A*V =
 i.e. <tt>A.mult(V) equals V.mult(D)</tt>.  The matrix <tt>V</tt> may be badly
 conditioned, or even singular, so the validity of the equation
 <tt>A = V*D*inverse(V)</tt> depends upon <tt>Algebra.cond(V)</tt>.
+<P>
+For symmetric matrices, {@link SymmetricEigenvalueDecomposition} is much faster, runs in parallel mode, 
+and can restrict the computation to eigenvalues only, or to a range of eigenvalues.
 **/
 public class EigenvalueDecomposition implements java.io.Serializable {
 	static final long serialVersionUID = 1020;
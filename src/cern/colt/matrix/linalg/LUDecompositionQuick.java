@@ -10,6 +10,8 @@ package cern.colt.matrix.linalg;
 
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
 /** 
 A low level version of {@link LUDecomposition}, avoiding unnecessary memory allocation and copying.
 The input to <tt>decompose</tt> methods is overriden with the result (LU).
@@ -39,6 +41,10 @@ LU decomposition is in the solution of square systems of simultaneous
 linear equations.
 Attempting to solve such a system will throw an exception if <tt>isNonsingular()</tt> returns false.
 <p>
+Dense matrices with more than {@link #BLOCK} rows and columns are decomposed and solved with blocked algorithms,
+which spend almost all time in matrix-matrix multiplications and run in parallel mode as described in {@link cern.colt.matrix.impl.Parallel}.
+Other matrices, in particular sparse ones, use algorithms exploiting sparsity.
+<p>
 */
 public class LUDecompositionQuick implements java.io.Serializable {
 	static final long serialVersionUID = 1020;
@@ -65,6 +71,11 @@ public class LUDecompositionQuick implements java.io.Serializable {
 	transient protected int[] work1;
 	transient protected int[] work2;
 
+	/** 
+	 * The number of columns of a panel of the blocked decomposition, and of a block of rows of the blocked solver.
+	 */
+	public static final int BLOCK = 64;
+
 /**
 Constructs and returns a new LU Decomposition object with default tolerance <tt>1.0E-9</tt> for singularity detection.
 */	
@@ -80,11 +91,12 @@ public LUDecompositionQuick(double tolerance) {
 /**
 Decomposes matrix <tt>A</tt> into <tt>L</tt> and <tt>U</tt> (in-place).
 Upon return <tt>A</tt> is overridden with the result <tt>LU</tt>, such that <tt>L*U = A</tt>.
-Uses a "left-looking", dot-product, Crout/Doolittle algorithm.
+Dense matrices use a "right-looking", blocked algorithm with partial pivoting, 
+updating the trailing matrix with matrix-matrix multiplications (in parallel mode, concurrently);
+other matrices use a "left-looking", dot-product, Crout/Doolittle algorithm.
 @param  A   any matrix.
 */	
 public void decompose(DoubleMatrix2D A) {
-	final int CUT_OFF = 10;
 	// setup
 	LU = A;
 	int m = A.rows();
@@ -100,6 +112,95 @@ public void decompose(DoubleMatrix2D A) {
 		return; // nothing to do
 	}
 	
+	if (A instanceof DenseDoubleMatrix2D && Math.min(m,n) > BLOCK) {
+		decomposeBlocked(A);
+	}
+	else {
+		decomposeCrout(A);
+	}
+	setLU(LU);
+}
+/**
+Decomposes <tt>A</tt> in place with a "right-looking", blocked algorithm with partial pivoting.
+Each panel of {@link #BLOCK} columns is factored unblocked; the trailing matrix is then updated with a triangular solve and a matrix-matrix multiplication, 
+concurrently for bands of columns in parallel mode.
+*/
+private void decomposeBlocked(DoubleMatrix2D A) {
+	int m = A.rows();
+	int n = A.columns();
+	int min = Math.min(m,n);
+
+	//precompute and cache some views to avoid regenerating them time and again
+	DoubleMatrix1D[] LUrows = new DoubleMatrix1D[m];
+	for (int i = 0; i < m; i++) LUrows[i] = A.viewRow(i);
+
+	for (int j0 = 0; j0 < min; j0 += BLOCK) {
+		final int jb = Math.min(BLOCK, min-j0);
+		int end = j0 + jb;
+
+		// Factor the panel A[j0:m, j0:end].
+		for (int j = j0; j < end; j++) {
+			// Find pivot and exchange (entire rows) if necessary.
+			int p = j;
+			double max = Math.abs(A.getQuick(j,j));
+			for (int i = j+1; i < m; i++) {
+				double v = Math.abs(A.getQuick(i,j));
+				if (v > max) {
+					p = i;
+					max = v;
+				}
+			}
+			if (p != j) {
+				LUrows[p].swap(LUrows[j]);
+				int k = piv[p]; piv[p] = piv[j]; piv[j] = k;
+				pivsign = -pivsign;
+			}
+
+			// Compute multipliers.
+			double jj = A.getQuick(j,j);
+			if (jj != 0.0) {
+				double f = 1 / jj;
+				for (int i = j+1; i < m; i++) A.setQuick(i,j, A.getQuick(i,j) * f);
+			}
+
+			// Rank-1 update of the rest of the panel.
+			for (int i = j+1; i < m; i++) {
+				double l = A.getQuick(i,j);
+				if (l != 0) {
+					for (int c = j+1; c < end; c++) A.setQuick(i,c, A.getQuick(i,c) - l*A.getQuick(j,c));
+				}
+			}
+		}
+
+		// Update the trailing columns: A12 = L11^-1 * A12; A22 -= L21 * A12.
+		final int width = n - end;
+		if (width == 0) continue;
+		final int below = m - end;
+		final DoubleMatrix2D L11 = A.viewPart(j0,j0,jb,jb);
+		final DoubleMatrix2D L21 = A.viewPart(end,j0,below,jb);
+		final DoubleMatrix2D A12 = A.viewPart(j0,end,jb,width);
+		final DoubleMatrix2D A22 = A.viewPart(end,end,below,width);
+		long flops = 2L * (below + jb) * jb * width;
+		Parallel.run(Parallel.pool(A.getPool(),flops), width, flops,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					DoubleMatrix2D U12 = A12.viewPart(0,from,jb,to-from);
+					solveUnitLower(L11,U12);
+					if (below > 0) L21.zMult(U12, A22.viewPart(0,from,below,to-from), -1, 1, false, false);
+					return 0;
+				}
+			}
+		);
+	}
+}
+/**
+Decomposes <tt>A</tt> in place with a "left-looking", dot-product, Crout/Doolittle algorithm, exploiting sparsity.
+*/
+private void decomposeCrout(DoubleMatrix2D A) {
+	final int CUT_OFF = 10;
+	int m = A.rows();
+	int n = A.columns();
+
 	//precompute and cache some views to avoid regenerating them time and again
 	DoubleMatrix1D[] LUrows = new DoubleMatrix1D[m];
 	for (int i = 0; i < m; i++) LUrows[i] = LU.viewRow(i);
@@ -171,7 +272,6 @@ public void decompose(DoubleMatrix2D A) {
 		}
 		
 	}
-	setLU(LU);
 }
 /**
 Decomposes the banded and square matrix <tt>A</tt> into <tt>L</tt> and <tt>U</tt> (in-place).
@@ -464,6 +564,10 @@ public void solve(DoubleMatrix2D B) {
 	algebra.permuteRows(B, this.piv, this.work1);
 
 	if (m*n == 0) return; // nothing to do
+	if (LU instanceof DenseDoubleMatrix2D && B instanceof DenseDoubleMatrix2D && n > BLOCK) {
+		solveBlocked(B);
+		return;
+	}
 	int nx = B.columns();
 	
 	//precompute and cache some views to avoid regenerating them time and again
@@ -540,6 +644,74 @@ public void solve(DoubleMatrix2D B) {
 		}
 	}
 }
+/**
+Solves <tt>L*U*X = B</tt> in place for a row permuted <tt>B</tt>, with blocked forward and back substitution.
+The diagonal blocks are solved directly; the off-diagonal blocks are applied with matrix-matrix multiplications.
+In parallel mode, bands of columns of <tt>B</tt> are solved concurrently.
+*/
+private void solveBlocked(final DoubleMatrix2D B) {
+	final int n = n();
+	final DoubleMatrix2D LU = this.LU;
+	long flops = 2L * n * n * B.columns();
+	Parallel.run(Parallel.pool(LU.getPool(),flops), B.columns(), flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int width = to - from;
+				DoubleMatrix2D X = B.viewPart(0,from,n,width);
+				
+				// Solve L*Y = B(piv,:)
+				for (int k0 = 0; k0 < n; k0 += BLOCK) {
+					int kb = Math.min(BLOCK, n-k0);
+					DoubleMatrix2D Xk = X.viewPart(k0,0,kb,width);
+					solveUnitLower(LU.viewPart(k0,k0,kb,kb), Xk);
+					int below = n - k0 - kb;
+					if (below > 0) LU.viewPart(k0+kb,k0,below,kb).zMult(Xk, X.viewPart(k0+kb,0,below,width), -1, 1, false, false);
+				}
+
+				// Solve U*X = Y;
+				for (int k0 = ((n-1) / BLOCK) * BLOCK; k0 >= 0; k0 -= BLOCK) {
+					int kb = Math.min(BLOCK, n-k0);
+					DoubleMatrix2D Xk = X.viewPart(k0,0,kb,width);
+					solveUpper(LU.viewPart(k0,k0,kb,kb), Xk);
+					if (k0 > 0) LU.viewPart(0,k0,k0,kb).zMult(Xk, X.viewPart(0,0,k0,width), -1, 1, false, false);
+				}
+				return 0;
+			}
+		}
+	);
+}
+/**
+Solves <tt>L*X = B</tt> in place, where <tt>L</tt> is the unit lower triangular part of the given square matrix.
+*/
+private static void solveUnitLower(DoubleMatrix2D L, DoubleMatrix2D B) {
+	int n = L.rows();
+	int nx = B.columns();
+	for (int k = 0; k < n; k++) {
+		for (int i = k+1; i < n; i++) {
+			double l = L.getQuick(i,k);
+			if (l != 0) {
+				for (int j = 0; j < nx; j++) B.setQuick(i,j, B.getQuick(i,j) - l*B.getQuick(k,j));
+			}
+		}
+	}
+}
+/**
+Solves <tt>U*X = B</tt> in place, where <tt>U</tt> is the upper triangular part of the given square matrix.
+*/
+private static void solveUpper(DoubleMatrix2D U, DoubleMatrix2D B) {
+	int n = U.rows();
+	int nx = B.columns();
+	for (int k = n-1; k >= 0; k--) {
+		double f = 1 / U.getQuick(k,k);
+		for (int j = 0; j < nx; j++) B.setQuick(k,j, B.getQuick(k,j) * f);
+		for (int i = 0; i < k; i++) {
+			double u = U.getQuick(i,k);
+			if (u != 0) {
+				for (int j = 0; j < nx; j++) B.setQuick(i,j, B.getQuick(i,j) - u*B.getQuick(k,j));
+			}
+		}
+	}
+}
 /** 
 Solves <tt>A*X = B</tt>.
 @param  B   A matrix with as many rows as <tt>A</tt> and any number of columns.
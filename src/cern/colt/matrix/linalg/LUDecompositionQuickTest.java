@@ -0,0 +1,102 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+import cern.colt.matrix.impl.SparseDoubleMatrix2D;
+/**
+Checks the blocked LU decomposition of dense matrices against the unblocked Crout algorithm, which decomposes sparse matrices,
+and the blocked solve against {@link Algebra#mult(DoubleMatrix2D,DoubleMatrix2D)} of the solution.
+
+@version 1.0, 10/18/26
+*/
+class LUDecompositionQuickTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected LUDecompositionQuickTest() {}
+/**
+ * Runs all checks, sequentially and in parallel mode.
+ */
+public static void main(String[] args) {
+	testRandomly(20);
+	Parallel.setDefaultPool(new java.util.concurrent.ForkJoinPool(4));
+	try {
+		testRandomly(20);
+	}
+	finally {
+		Parallel.setDefaultPool(null);
+	}
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Returns the largest absolute difference between corresponding cells, relative to the largest absolute cell of <tt>B</tt> (at least 1).
+ */
+static double relativeError(DoubleMatrix2D A, DoubleMatrix2D B) {
+	double diff = 0, norm = 1;
+	for (int i=0; i<A.rows(); i++) {
+		for (int j=0; j<A.columns(); j++) {
+			diff = Math.max(diff, Math.abs(A.getQuick(i,j) - B.getQuick(i,j)));
+			norm = Math.max(norm, Math.abs(B.getQuick(i,j)));
+		}
+	}
+	return diff / norm;
+}
+/**
+ * Returns a random dense <tt>rows x columns</tt> matrix with cells in <tt>[-1,1]</tt>.
+ */
+static DoubleMatrix2D random(cern.jet.random.Uniform gen, int rows, int columns) {
+	DoubleMatrix2D A = new DenseDoubleMatrix2D(rows, columns);
+	for (int i=0; i<rows; i++) {
+		for (int j=0; j<columns; j++) A.setQuick(i,j, gen.nextDoubleFromTo(-1,1));
+	}
+	return A;
+}
+/**
+ * Decomposes random matrices larger than {@link LUDecompositionQuick#BLOCK}, dense (blocked) and as sparse copies (Crout), and compares
+ * the factors, the pivots, the determinants and the solutions of random systems.
+ */
+public static void testRandomly(int runs) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(runs));
+	for (int run=0; run<runs; run++) {
+		int n = gen.nextIntFromTo(LUDecompositionQuick.BLOCK+1, 3*LUDecompositionQuick.BLOCK+7);
+		int m = run % 4 == 0 ? n + gen.nextIntFromTo(1,40) : n; // some tall ones
+		DoubleMatrix2D A = random(gen, m, n);
+
+		LUDecompositionQuick blocked = new LUDecompositionQuick();
+		LUDecompositionQuick crout = new LUDecompositionQuick();
+		DoubleMatrix2D LU = A.copy();
+		DoubleMatrix2D reference = new SparseDoubleMatrix2D(m,n).assign(A);
+		blocked.decompose(LU);
+		crout.decompose(reference);
+
+		String shape = "run "+run+", "+m+"x"+n+": ";
+		if (!java.util.Arrays.equals(blocked.getPivot(), crout.getPivot())) throw new InternalError(shape+"pivots differ");
+		double error = relativeError(LU, reference);
+		if (error > 1e-10) throw new InternalError(shape+"LU differs by "+error);
+		if (m != n) continue;
+
+		double det = blocked.det(), expected = crout.det();
+		if (Math.abs(det - expected) > 1e-9 * Math.abs(expected)) throw new InternalError(shape+"det "+det+", expected "+expected);
+
+		DoubleMatrix2D B = random(gen, n, gen.nextIntFromTo(1,150));
+		DoubleMatrix2D X = B.copy();
+		blocked.solve(X);
+		DoubleMatrix2D Y = new SparseDoubleMatrix2D(B.rows(),B.columns()).assign(B);
+		crout.solve(Y);
+		error = relativeError(X, Y);
+		if (error > 1e-9) throw new InternalError(shape+"solution differs by "+error);
+		error = relativeError(Algebra.DEFAULT.mult(A,X), B);
+		if (error > 1e-9) throw new InternalError(shape+"residual "+error);
+	}
+	System.out.println(runs+" random decompositions: ok");
+}
+}
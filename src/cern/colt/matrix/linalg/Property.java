@@ -11,6 +11,9 @@ package cern.colt.matrix.linalg;
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
 import cern.colt.matrix.DoubleMatrix3D;
+import cern.colt.matrix.FloatMatrix1D;
+import cern.colt.matrix.FloatMatrix2D;
+import cern.colt.matrix.FloatMatrix3D;
 /**
 Tests matrices for linear algebraic properties (equality, tridiagonality, symmetry, singularity, etc).
 <p>
@@ -224,6 +227,13 @@ public void checkRectangular(DoubleMatrix2D A) {
 public void checkSquare(DoubleMatrix2D A) {
 	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrix must be square: "+cern.colt.matrix.doublealgo.Formatter.shape(A));
 }
+/**
+ * Checks whether the given matrix <tt>A</tt> is <i>square</i>.
+ * @throws IllegalArgumentException if <tt>A.rows() != A.columns()</tt>.
+ */
+public void checkSquare(FloatMatrix2D A) {
+	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrix must be square: "+cern.colt.matrix.floatalgo.Formatter.shape(A));
+}
 /**
  * Returns the matrix's fraction of non-zero cells; <tt>A.cardinality() / A.size()</tt>.
  */
@@ -252,6 +262,28 @@ public boolean equals(DoubleMatrix1D A, double value) {
 	}
 	return true;
 }
+/**
+ * Returns whether all cells of the given matrix <tt>A</tt> are equal to the given value.
+ * The result is <tt>true</tt> if and only if <tt>A != null</tt> and
+ * <tt>! (Math.abs(value - A[i]) > tolerance())</tt> holds for all coordinates.
+ * @param   A   the first matrix to compare.
+ * @param   value   the value to compare against.
+ * @return  <tt>true</tt> if the matrix is equal to the value;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix1D A, float value) {
+	if (A==null) return false;
+	double epsilon = tolerance();
+	for (int i = A.size(); --i >= 0;) {
+		//if (!(A.getQuick(i) == value)) return false;
+		//if (Math.abs(value - A.getQuick(i)) > epsilon) return false;
+		float x = A.getQuick(i);
+		float diff = Math.abs(value - x);
+		if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+		if (!(diff <= epsilon)) return false;
+	}
+	return true;
+}
 /**
  * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
  * The result is <tt>true</tt> if <tt>A==B</tt>. 
@@ -281,6 +313,35 @@ public boolean equals(DoubleMatrix1D A, DoubleMatrix1D B) {
 	}
 	return true;
 }
+/**
+ * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
+ * The result is <tt>true</tt> if <tt>A==B</tt>. 
+ * Otherwise, the result is <tt>true</tt> if and only if both arguments are <tt>!= null</tt>, 
+ * have the same size and 
+ * <tt>! (Math.abs(A[i] - B[i]) > tolerance())</tt> holds for all indexes.
+ * @param   A   the first matrix to compare.
+ * @param   B   the second matrix to compare.
+ * @return  <tt>true</tt> if both matrices are equal;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix1D A, FloatMatrix1D B) {
+	if (A==B) return true;
+	if (! (A != null && B != null)) return false;
+	int size = A.size();
+	if (size != B.size()) return false;
+
+	double epsilon = tolerance();
+	for (int i=size; --i >= 0;) {
+		//if (!(getQuick(i) == B.getQuick(i))) return false;
+		//if (Math.abs(A.getQuick(i) - B.getQuick(i)) > epsilon) return false;
+		float x = A.getQuick(i);
+		float value = B.getQuick(i);
+		float diff = Math.abs(value - x);
+		if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+		if (!(diff <= epsilon)) return false;
+	}
+	return true;
+}
 /**
  * Returns whether all cells of the given matrix <tt>A</tt> are equal to the given value.
  * The result is <tt>true</tt> if and only if <tt>A != null</tt> and
@@ -308,6 +369,33 @@ public boolean equals(DoubleMatrix2D A, double value) {
 	}
 	return true;
 }
+/**
+ * Returns whether all cells of the given matrix <tt>A</tt> are equal to the given value.
+ * The result is <tt>true</tt> if and only if <tt>A != null</tt> and
+ * <tt>! (Math.abs(value - A[row,col]) > tolerance())</tt> holds for all coordinates.
+ * @param   A   the first matrix to compare.
+ * @param   value   the value to compare against.
+ * @return  <tt>true</tt> if the matrix is equal to the value;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix2D A, float value) {
+	if (A==null) return false;
+	int rows = A.rows();
+	int columns = A.columns();
+
+	double epsilon = tolerance();
+	for (int row=rows; --row >= 0;) {
+		for (int column=columns; --column >= 0;) {
+			//if (!(A.getQuick(row,column) == value)) return false;
+			//if (Math.abs(value - A.getQuick(row,column)) > epsilon) return false;
+			float x = A.getQuick(row,column);
+			float diff = Math.abs(value - x);
+			if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+			if (!(diff <= epsilon)) return false;
+		}
+	}
+	return true;
+}
 /**
  * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
  * The result is <tt>true</tt> if <tt>A==B</tt>. 
@@ -340,6 +428,38 @@ public boolean equals(DoubleMatrix2D A, DoubleMatrix2D B) {
 	}
 	return true;
 }
+/**
+ * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
+ * The result is <tt>true</tt> if <tt>A==B</tt>. 
+ * Otherwise, the result is <tt>true</tt> if and only if both arguments are <tt>!= null</tt>, 
+ * have the same number of columns and rows and 
+ * <tt>! (Math.abs(A[row,col] - B[row,col]) > tolerance())</tt> holds for all coordinates.
+ * @param   A   the first matrix to compare.
+ * @param   B   the second matrix to compare.
+ * @return  <tt>true</tt> if both matrices are equal;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix2D A, FloatMatrix2D B) {
+	if (A==B) return true;
+	if (! (A != null && B != null)) return false;
+	int rows = A.rows();
+	int columns = A.columns();
+	if (columns != B.columns() || rows != B.rows()) return false;
+
+	double epsilon = tolerance();
+	for (int row=rows; --row >= 0;) {
+		for (int column=columns; --column >= 0;) {
+			//if (!(A.getQuick(row,column) == B.getQuick(row,column))) return false;
+			//if (Math.abs((A.getQuick(row,column) - B.getQuick(row,column)) > epsilon) return false;
+			float x = A.getQuick(row,column);
+			float value = B.getQuick(row,column);
+			float diff = Math.abs(value - x);
+			if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+			if (!(diff <= epsilon)) return false;
+		}
+	}
+	return true;
+}
 /**
  * Returns whether all cells of the given matrix <tt>A</tt> are equal to the given value.
  * The result is <tt>true</tt> if and only if <tt>A != null</tt> and
@@ -369,6 +489,35 @@ public boolean equals(DoubleMatrix3D A, double value) {
 	}
 	return true;
 }
+/**
+ * Returns whether all cells of the given matrix <tt>A</tt> are equal to the given value.
+ * The result is <tt>true</tt> if and only if <tt>A != null</tt> and
+ * <tt>! (Math.abs(value - A[slice,row,col]) > tolerance())</tt> holds for all coordinates.
+ * @param   A   the first matrix to compare.
+ * @param   value   the value to compare against.
+ * @return  <tt>true</tt> if the matrix is equal to the value;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix3D A, float value) {
+	if (A==null) return false;
+	int rows = A.rows();
+	int columns = A.columns();
+
+	double epsilon = tolerance();
+	for (int slice=A.slices(); --slice >= 0;) {
+		for (int row=rows; --row >= 0;) {
+			for (int column=columns; --column >= 0;) {
+				//if (!(A.getQuick(slice,row,column) == value)) return false;
+				//if (Math.abs(value - A.getQuick(slice,row,column)) > epsilon) return false;
+				float x = A.getQuick(slice,row,column);
+				float diff = Math.abs(value - x);
+				if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+				if (!(diff <= epsilon)) return false;
+			}
+		}
+	}
+	return true;
+}
 /**
  * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
  * The result is <tt>true</tt> if <tt>A==B</tt>. 
@@ -404,6 +553,41 @@ public boolean equals(DoubleMatrix3D A, DoubleMatrix3D B) {
 	}
 	return true;
 }
+/**
+ * Returns whether both given matrices <tt>A</tt> and <tt>B</tt> are equal.
+ * The result is <tt>true</tt> if <tt>A==B</tt>. 
+ * Otherwise, the result is <tt>true</tt> if and only if both arguments are <tt>!= null</tt>, 
+ * have the same number of columns, rows and slices, and
+ * <tt>! (Math.abs(A[slice,row,col] - B[slice,row,col]) > tolerance())</tt> holds for all coordinates.
+ * @param   A   the first matrix to compare.
+ * @param   B   the second matrix to compare.
+ * @return  <tt>true</tt> if both matrices are equal;
+ *          <tt>false</tt> otherwise.
+ */
+public boolean equals(FloatMatrix3D A, FloatMatrix3D B) {
+	if (A==B) return true;
+	if (! (A != null && B != null)) return false;
+	int slices = A.slices();
+	int rows = A.rows();
+	int columns = A.columns();
+	if (columns != B.columns() || rows != B.rows() || slices != B.slices()) return false;
+
+	double epsilon = tolerance();
+	for (int slice=slices; --slice >= 0;) {
+		for (int row=rows; --row >= 0;) {
+			for (int column=columns; --column >= 0;) {
+				//if (!(A.getQuick(slice,row,column) == B.getQuick(slice,row,column))) return false;
+				//if (Math.abs(A.getQuick(slice,row,column) - B.getQuick(slice,row,column)) > epsilon) return false;
+				float x = A.getQuick(slice,row,column);
+				float value = B.getQuick(slice,row,column);
+				float diff = Math.abs(value - x);
+				if ((diff!=diff) && ((value!=value && x!=x) || value==x)) diff = 0;
+				if (!(diff <= epsilon)) return false;
+			}
+		}
+	}
+	return true;
+}
 /**
 Modifies the given matrix square matrix <tt>A</tt> such that it is diagonally dominant by row and column, hence non-singular, hence invertible.
 For testing purposes only.
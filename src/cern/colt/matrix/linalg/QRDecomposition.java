@@ -10,6 +10,8 @@ package cern.colt.matrix.linalg;
 
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
 
 /** 
 For an <tt>m x n</tt> matrix <tt>A</tt> with <tt>m >= n</tt>, the QR decomposition is an <tt>m x n</tt>
@@ -21,6 +23,11 @@ full rank, so the constructor will never fail.  The primary use of the
 QR decomposition is in the least squares solution of nonsquare systems
 of simultaneous linear equations.  This will fail if <tt>isFullRank()</tt>
 returns <tt>false</tt>.
+<p>
+Dense matrices are decomposed with a blocked algorithm accumulating the reflections of each panel of {@link #BLOCK} columns
+in the compact WY representation <tt>I - V*T*V'</tt>, so that almost all time is spent in matrix-matrix multiplications;
+these run in parallel mode as described in {@link cern.colt.matrix.impl.Parallel}.
+Least squares solutions with many right hand sides are computed blockwise as well.
 */
 public class QRDecomposition implements java.io.Serializable {
 	static final long serialVersionUID = 1020;
@@ -40,6 +47,14 @@ public class QRDecomposition implements java.io.Serializable {
 	@serial diagonal of R.
 	*/
 	private DoubleMatrix1D Rdiag;
+
+	/** The triangular factors <tt>T</tt> of the compact WY representation of the panels; <tt>null</tt> unless decomposed with the blocked algorithm. */
+	transient private DoubleMatrix2D[] WY;
+
+	/** 
+	 * The number of columns of a panel of the blocked decomposition.
+	 */
+	public static final int BLOCK = 64;
 /** 
 Constructs and returns a new QR decomposition object;  computed by Householder reflections;
 The decomposed matrices can be retrieved via instance methods of the returned decomposition object.
@@ -58,6 +73,10 @@ public QRDecomposition (DoubleMatrix2D A) {
 	n = A.columns();
 	Rdiag = A.like1D(n);
 	//Rdiag = new double[n];
+	if (QR instanceof DenseDoubleMatrix2D && n > 1) {
+		decomposeBlocked();
+		return;
+	}
 	cern.colt.function.DoubleDoubleFunction hypot = Algebra.hypotFunction();
 	
 	// precompute and cache some views to avoid regenerating them time and again
@@ -117,6 +136,159 @@ public QRDecomposition (DoubleMatrix2D A) {
 		Rdiag.setQuick(k, -nrm);
 	}
 }
+/**
+Decomposes <tt>QR</tt> in place with a blocked algorithm.
+Each panel of {@link #BLOCK} columns is factored recursively, and its reflections are accumulated in the compact WY representation <tt>I - V*T*V'</tt>;
+the remaining columns are then updated with matrix-matrix multiplications, concurrently for bands of rows in parallel mode.
+*/
+private void decomposeBlocked() {
+	WY = new DoubleMatrix2D[(n + BLOCK - 1) / BLOCK];
+	for (int k0 = 0; k0 < n; k0 += BLOCK) {
+		int kb = Math.min(BLOCK, n-k0);
+		DoubleMatrix2D T = new DenseDoubleMatrix2D(kb,kb);
+		factor(k0, k0+kb, k0, T);
+		WY[k0 / BLOCK] = T;
+		if (k0+kb < n) applyQt(k0, k0+kb, T, QR.viewPart(k0, k0+kb, m-k0, n-k0-kb));
+	}
+}
+/**
+Factors the columns <tt>[c0,c1)</tt> (rows <tt>[c0,m)</tt>) of <tt>QR</tt> recursively, 
+filling the corresponding diagonal block of the triangular factor <tt>T</tt> of the panel starting at column <tt>k0</tt>.
+*/
+private void factor(int c0, int c1, int k0, DoubleMatrix2D T) {
+	if (c1-c0 == 1) {
+		T.setQuick(c0-k0,c0-k0, householder(c0));
+		return;
+	}
+	int h = (c0 + c1) >>> 1;
+	
+	// Factor the left half and apply its reflections to the right half.
+	factor(c0, h, k0, T);
+	DoubleMatrix2D T1 = T.viewPart(c0-k0, c0-k0, h-c0, h-c0);
+	applyQt(c0, h, T1, QR.viewPart(c0, h, m-c0, c1-h));
+	
+	// Factor the right half.
+	factor(h, c1, k0, T);
+	DoubleMatrix2D T2 = T.viewPart(h-k0, h-k0, c1-h, c1-h);
+	
+	// Merge: T12 = -T1 * V1'*V2 * T2
+	DoubleMatrix2D V1V2 = vtMult(h, c1, QR.viewPart(h, c0, m-h, h-c0)).viewDice();
+	T1.zMult(V1V2, null).zMult(T2, T.viewPart(c0-k0, h-k0, h-c0, c1-h), -1, 0, false, false);
+}
+/**
+Forms the Householder vector of column <tt>k</tt> and stores <tt>-norm</tt> in <tt>Rdiag</tt>;
+returns the scalar factor <tt>tau</tt> of the reflection <tt>I - tau*v*v'</tt>.
+*/
+private double householder(int k) {
+	// Compute 2-norm of k-th column without under/overflow, in a single pass.
+	double scale = 0, ssq = 1;
+	for (int i = k; i < m; i++) {
+		double a = Math.abs(QR.getQuick(i,k));
+		if (a != 0) {
+			if (scale < a) {
+				ssq = 1 + ssq * (scale/a) * (scale/a);
+				scale = a;
+			}
+			else {
+				ssq += (a/scale) * (a/scale);
+			}
+		}
+	}
+	double nrm = scale * Math.sqrt(ssq);
+	double tau = 0;
+	if (nrm != 0.0) {
+		// Form k-th Householder vector.
+		if (QR.getQuick(k,k) < 0) nrm = -nrm;
+		for (int i = k; i < m; i++) QR.setQuick(i,k, QR.getQuick(i,k) / nrm);
+		QR.setQuick(k,k, QR.getQuick(k,k) + 1);
+		tau = 1 / QR.getQuick(k,k);
+	}
+	Rdiag.setQuick(k, -nrm);
+	return tau;
+}
+/**
+Overwrites <tt>X</tt> with <tt>(I - V*T*V')' * X</tt>, where <tt>V</tt> are the Householder vectors of the columns <tt>[c0,c1)</tt> and <tt>X</tt> has the rows <tt>[c0,m)</tt>.
+*/
+private void applyQt(int c0, int c1, DoubleMatrix2D T, DoubleMatrix2D X) {
+	DoubleMatrix2D W = vtMult(c0, c1, X);
+	vMult(c0, c1, T.zMult(W, null, 1, 0, true, false), X);
+}
+/**
+Overwrites <tt>X</tt> with <tt>(I - V*T*V') * X</tt>, where <tt>V</tt> are the Householder vectors of the columns <tt>[c0,c1)</tt> and <tt>X</tt> has the rows <tt>[c0,m)</tt>.
+*/
+private void applyQ(int c0, int c1, DoubleMatrix2D T, DoubleMatrix2D X) {
+	DoubleMatrix2D W = vtMult(c0, c1, X);
+	vMult(c0, c1, T.zMult(W, null), X);
+}
+/**
+Returns the lower trapezoidal part of the Householder vectors of the columns <tt>[c0,c1)</tt> in the rows <tt>[c0,c1)</tt>, with zeros above the diagonal.
+*/
+private DoubleMatrix2D lowerV(int c0, int c1) {
+	DoubleMatrix2D V = QR.viewPart(c0, c0, c1-c0, c1-c0).copy();
+	for (int i = 0; i < c1-c0; i++) {
+		for (int j = i+1; j < c1-c0; j++) V.setQuick(i,j, 0);
+	}
+	return V;
+}
+/**
+Returns <tt>V' * X</tt>, where <tt>V</tt> are the Householder vectors of the columns <tt>[c0,c1)</tt> and <tt>X</tt> has the rows <tt>[c0,m)</tt>.
+In parallel mode, bands of rows are multiplied concurrently and their partial products summed up.
+*/
+private DoubleMatrix2D vtMult(int c0, int c1, DoubleMatrix2D X) {
+	final int kb = c1 - c0;
+	final int nx = X.columns();
+	final int rows = m - c1;
+	DoubleMatrix2D W = lowerV(c0, c1).zMult(X.viewPart(0, 0, kb, nx), null, 1, 0, true, false);
+	if (rows == 0) return W;
+	
+	final DoubleMatrix2D V = QR.viewPart(c1, c0, rows, kb);
+	final DoubleMatrix2D Xb = X.viewPart(kb, 0, rows, nx);
+	java.util.concurrent.ForkJoinPool pool = Parallel.pool(QR.getPool(), 2L * rows * kb * nx);
+	if (pool == null) {
+		V.zMult(Xb, W, 1, 1, true, false);
+		return W;
+	}
+	
+	final int parts = pool.getParallelism();
+	final DoubleMatrix2D[] partials = new DoubleMatrix2D[parts];
+	Parallel.run(pool, parts, (long) parts * Parallel.getThreshold(), // one leaf per partial result
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int part = from; part < to; part++) {
+					int low = (int) ((long) rows * part / parts);
+					int high = (int) ((long) rows * (part+1) / parts);
+					partials[part] = V.viewPart(low, 0, high-low, kb).zMult(Xb.viewPart(low, 0, high-low, nx), null, 1, 0, true, false);
+				}
+				return 0;
+			}
+		}
+	);
+	for (int part = 0; part < parts; part++) W.assign(partials[part], cern.jet.math.Functions.plus);
+	return W;
+}
+/**
+Overwrites <tt>X</tt> with <tt>X - V * W</tt>, where <tt>V</tt> are the Householder vectors of the columns <tt>[c0,c1)</tt> and <tt>X</tt> has the rows <tt>[c0,m)</tt>.
+In parallel mode, bands of rows are updated concurrently.
+*/
+private void vMult(int c0, int c1, final DoubleMatrix2D W, DoubleMatrix2D X) {
+	final int kb = c1 - c0;
+	final int nx = X.columns();
+	final int rows = m - c1;
+	lowerV(c0, c1).zMult(W, X.viewPart(0, 0, kb, nx), -1, 1, false, false);
+	if (rows == 0) return;
+	
+	final DoubleMatrix2D V = QR.viewPart(c1, c0, rows, kb);
+	final DoubleMatrix2D Xb = X.viewPart(kb, 0, rows, nx);
+	long flops = 2L * rows * kb * nx;
+	Parallel.run(Parallel.pool(QR.getPool(), flops), rows, flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				V.viewPart(from, 0, to-from, kb).zMult(W, Xb.viewPart(from, 0, to-from, nx), -1, 1, false, false);
+				return 0;
+			}
+		}
+	);
+}
 /** 
 Returns the Householder vectors <tt>H</tt>.
 @return A lower trapezoidal matrix whose columns define the householder reflections.
@@ -130,6 +302,16 @@ Generates and returns the (economy-sized) orthogonal factor <tt>Q</tt>.
 */
 public DoubleMatrix2D getQ () {
 	cern.jet.math.Functions F = cern.jet.math.Functions.functions;
+	if (WY != null) {
+		// Apply the blocks of reflections, last one first, to the first n columns of the identity.
+		DoubleMatrix2D Q = QR.like();
+		for (int k = 0; k < n; k++) Q.setQuick(k,k, 1);
+		for (int k0 = ((n-1) / BLOCK) * BLOCK; k0 >= 0; k0 -= BLOCK) {
+			int kb = Math.min(BLOCK, n-k0);
+			applyQ(k0, k0+kb, WY[k0 / BLOCK], Q.viewPart(k0, k0, m-k0, n-k0));
+		}
+		return Q;
+	}
 	DoubleMatrix2D Q = QR.like();
 	//double[][] Q = X.getArray();
 	for (int k = n-1; k >= 0; k--) {
@@ -189,6 +371,7 @@ public DoubleMatrix2D solve(DoubleMatrix2D B) {
 	if (!this.hasFullRank()) {
 		throw new IllegalArgumentException("Matrix is rank deficient.");
 	}
+	if (WY != null) return solveBlocked(B);
 	
 	// Copy right hand side
 	int nx = B.columns();
@@ -221,6 +404,48 @@ public DoubleMatrix2D solve(DoubleMatrix2D B) {
 	return X.viewPart(0,0,n,nx);
 }
 /**
+Computes <tt>Y = transpose(Q)*X</tt> blockwise, then solves <tt>R*X = Y</tt> with blocked back substitution.
+In parallel mode, bands of columns of <tt>X</tt> are solved concurrently.
+*/
+private DoubleMatrix2D solveBlocked(DoubleMatrix2D B) {
+	// Copy right hand side
+	final int nx = B.columns();
+	final DoubleMatrix2D X = B.copy();
+	
+	// Compute Y = transpose(Q)*B
+	for (int k0 = 0; k0 < n; k0 += BLOCK) {
+		int kb = Math.min(BLOCK, n-k0);
+		applyQt(k0, k0+kb, WY[k0 / BLOCK], X.viewPart(k0, 0, m-k0, nx));
+	}
+	
+	// Solve R*X = Y;
+	long flops = (long) n * n * nx;
+	Parallel.run(Parallel.pool(QR.getPool(), flops), nx, flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int width = to - from;
+				for (int k0 = ((n-1) / BLOCK) * BLOCK; k0 >= 0; k0 -= BLOCK) {
+					int kb = Math.min(BLOCK, n-k0);
+					DoubleMatrix2D Xk = X.viewPart(k0, from, kb, width);
+					for (int k = kb-1; k >= 0; k--) {
+						double f = 1 / Rdiag.getQuick(k0+k);
+						for (int j = 0; j < width; j++) Xk.setQuick(k,j, Xk.getQuick(k,j) * f);
+						for (int i = 0; i < k; i++) {
+							double r = QR.getQuick(k0+i, k0+k);
+							if (r != 0) {
+								for (int j = 0; j < width; j++) Xk.setQuick(i,j, Xk.getQuick(i,j) - r*Xk.getQuick(k,j));
+							}
+						}
+					}
+					if (k0 > 0) QR.viewPart(0, k0, k0, kb).zMult(Xk, X.viewPart(0, from, k0, width), -1, 1, false, false);
+				}
+				return 0;
+			}
+		}
+	);
+	return X.viewPart(0,0,n,nx);
+}
+/**
 Returns a String with (propertyName, propertyValue) pairs.
 Useful for debugging or to quickly get the rough picture.
 For example,
@@ -0,0 +1,75 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+import cern.colt.matrix.impl.SparseDoubleMatrix2D;
+/**
+Checks the blocked Householder QR decomposition of dense matrices against the unblocked algorithm, which decomposes sparse matrices,
+and the least squares solutions against the normal equations.
+
+@version 1.0, 10/18/26
+*/
+class QRDecompositionTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected QRDecompositionTest() {}
+/**
+ * Runs all checks, sequentially and in parallel mode.
+ */
+public static void main(String[] args) {
+	testRandomly(30);
+	Parallel.setDefaultPool(new java.util.concurrent.ForkJoinPool(4));
+	try {
+		testRandomly(30);
+	}
+	finally {
+		Parallel.setDefaultPool(null);
+	}
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Decomposes random square and tall matrices, dense (blocked) and as sparse copies (unblocked), 
+ * and compares <tt>R</tt>, the Householder vectors, <tt>Q</tt> and the solutions of random least squares problems.
+ */
+public static void testRandomly(int runs) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(runs));
+	for (int run=0; run<runs; run++) {
+		int n = run % 5 == 0 ? gen.nextIntFromTo(2,QRDecomposition.BLOCK) : gen.nextIntFromTo(QRDecomposition.BLOCK+1, 3*QRDecomposition.BLOCK+7);
+		int m = run % 2 == 0 ? n : n + gen.nextIntFromTo(1,60);
+		DoubleMatrix2D A = LUDecompositionQuickTest.random(gen, m, n);
+
+		QRDecomposition blocked = new QRDecomposition(A);
+		QRDecomposition reference = new QRDecomposition(new SparseDoubleMatrix2D(m,n).assign(A));
+
+		String shape = "run "+run+", "+m+"x"+n+": ";
+		if (blocked.hasFullRank() != reference.hasFullRank()) throw new InternalError(shape+"hasFullRank differs");
+		double error = LUDecompositionQuickTest.relativeError(blocked.getR(), reference.getR());
+		if (error > 1e-10) throw new InternalError(shape+"R differs by "+error);
+		error = LUDecompositionQuickTest.relativeError(blocked.getH(), reference.getH());
+		if (error > 1e-10) throw new InternalError(shape+"H differs by "+error);
+		error = LUDecompositionQuickTest.relativeError(blocked.getQ(), reference.getQ());
+		if (error > 1e-10) throw new InternalError(shape+"Q differs by "+error);
+
+		DoubleMatrix2D B = LUDecompositionQuickTest.random(gen, m, gen.nextIntFromTo(1,100));
+		DoubleMatrix2D X = blocked.solve(B);
+		error = LUDecompositionQuickTest.relativeError(X, reference.solve(new SparseDoubleMatrix2D(B.rows(),B.columns()).assign(B)));
+		if (error > 1e-9) throw new InternalError(shape+"solution differs by "+error);
+
+		// least squares: the residual is orthogonal to the columns of A, i.e. A'*(A*X - B) == 0
+		DoubleMatrix2D residual = A.zMult(X, B.copy(), 1, -1, false, false);
+		DoubleMatrix2D normal = A.zMult(residual, null, 1, 0, true, false);
+		double max = normal.aggregate(cern.jet.math.Functions.max, cern.jet.math.Functions.abs);
+		if (max > 1e-9 * m) throw new InternalError(shape+"A'*(A*X-B) is "+max);
+	}
+	System.out.println(runs+" random decompositions: ok");
+}
+}
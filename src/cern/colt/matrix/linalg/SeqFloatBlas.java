@@ -0,0 +1,228 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import cern.colt.matrix.FloatMatrix1D;
+import cern.colt.matrix.FloatMatrix2D;
+/**
+Sequential implementation of the Basic Linear Algebra System.
+
+@version 1.0, 10/18/26
+*/
+public class SeqFloatBlas implements FloatBlas {
+	/**
+	Little trick to allow for "aliasing", that is, renaming this class.
+	Time and again writing code like
+	<p>
+	<tt>SeqFloatBlas.seqBlas.dgemm(...);</tt>
+	<p>
+	is a bit awkward. Using the aliasing you can instead write
+	<p>
+	<tt>FloatBlas B = SeqFloatBlas.seqBlas; <br>
+	B.dgemm(...);</tt>
+	*/
+	public static final FloatBlas seqBlas = new SeqFloatBlas();
+	
+	private static final cern.jet.math.FloatFunctions F = cern.jet.math.FloatFunctions.functions;
+/**
+Makes this class non instantiable, but still let's others inherit from it.
+*/
+protected SeqFloatBlas() {}
+public void assign(FloatMatrix2D A, cern.colt.function.FloatFunction function) {
+	A.assign(function);
+}
+public void assign(FloatMatrix2D A, FloatMatrix2D B, cern.colt.function.FloatFloatFunction function) {
+	A.assign(B,function);
+}
+public float dasum(FloatMatrix1D x) {
+	return x.aggregate(F.plus, F.abs);
+}
+public void daxpy(float alpha, FloatMatrix1D x, FloatMatrix1D y) {
+	y.assign(x,F.plusMult(alpha));
+}
+public void daxpy(float alpha, FloatMatrix2D A, FloatMatrix2D B) {
+	B.assign(A, F.plusMult(alpha));
+}
+public void dcopy(FloatMatrix1D x, FloatMatrix1D y) {
+	y.assign(x);
+}
+public void dcopy(FloatMatrix2D A, FloatMatrix2D B) {
+	B.assign(A);
+}
+public float ddot(FloatMatrix1D x, FloatMatrix1D y) {
+	return x.zDotProduct(y);
+}
+public void dgemm(boolean transposeA, boolean transposeB, float alpha, FloatMatrix2D A, FloatMatrix2D B, float beta, FloatMatrix2D C) {
+	A.zMult(B,C,alpha,beta,transposeA,transposeB);
+}
+public void dgemv(boolean transposeA, float alpha, FloatMatrix2D A, FloatMatrix1D x, float beta, FloatMatrix1D y) {
+	A.zMult(x,y,alpha,beta,transposeA);
+}
+public void dger(float alpha, FloatMatrix1D x, FloatMatrix1D y, FloatMatrix2D A) {
+	cern.jet.math.FloatPlusMult fun = cern.jet.math.FloatPlusMult.plusMult(0);
+	for (int i=A.rows(); --i >= 0; ) {
+		fun.multiplicator = alpha * x.getQuick(i);
+ 		A.viewRow(i).assign(y,fun);
+		
+	}
+}
+public float dnrm2(FloatMatrix1D x) {
+	return (float) Math.sqrt(x.aggregate(F.plus,F.square));
+}
+public void drot(FloatMatrix1D x, FloatMatrix1D y, float c, float s) {
+	x.checkSize(y);
+	FloatMatrix1D tmp = x.copy();
+	
+	x.assign(F.mult(c));
+	x.assign(y,F.plusMult(s));
+
+	y.assign(F.mult(c));
+	y.assign(tmp,F.minusMult(s));
+}
+public void drotg(float a, float b, float rotvec[]) {
+	float c,s,roe,scale,r,z,ra,rb;
+
+	roe = b;
+
+	if (Math.abs(a) > Math.abs(b)) roe = a;
+
+	scale = Math.abs(a) + Math.abs(b);
+
+	if (scale != 0.0) {
+
+		ra = a/scale;
+		rb = b/scale;
+		r = (float) (scale*Math.sqrt(ra*ra + rb*rb));
+		r = sign(1.0f,roe)*r;
+		c = a/r;
+		s = b/r;
+		z = 1.0f;
+		if (Math.abs(a) > Math.abs(b)) z = s;
+		if ((Math.abs(b) >= Math.abs(a)) && (c != 0.0)) z = 1.0f/c;
+
+	} else {
+
+		c = 1.0f;
+		s = 0.0f;
+		r = 0.0f;
+		z = 0.0f;
+
+	}
+
+	a = r;
+	b = z;
+
+	rotvec[0] = a;
+	rotvec[1] = b;
+	rotvec[2] = c;
+	rotvec[3] = s;
+
+}
+public void dscal(float alpha, FloatMatrix1D x) {
+	x.assign(F.mult(alpha));
+}
+
+public void dscal(float alpha, FloatMatrix2D A) {
+	A.assign(F.mult(alpha));
+}
+
+public void dswap(FloatMatrix1D x, FloatMatrix1D y) {
+	y.swap(x);
+}
+public void dswap(FloatMatrix2D A, FloatMatrix2D B) {
+	//B.swap(A); not yet implemented
+	A.checkShape(B);
+	for(int i = A.rows(); --i >= 0;) A.viewRow(i).swap(B.viewRow(i));
+}
+public void dsymv(boolean isUpperTriangular, float alpha, FloatMatrix2D A, FloatMatrix1D x, float beta, FloatMatrix1D y) {
+	if (isUpperTriangular) A = A.viewDice();
+	Property.DEFAULT.checkSquare(A);
+	int size = A.rows();
+	if (size != x.size() || size!=y.size()) {
+		throw new IllegalArgumentException(A.toStringShort() + ", " + x.toStringShort() + ", " + y.toStringShort());
+	}
+	FloatMatrix1D tmp = x.like();
+	for (int i = 0; i < size; i++) {
+		float sum = 0;
+		for (int j = 0; j <= i; j++) {
+			sum += A.getQuick(i,j) * x.getQuick(j);
+		}
+		for (int j = i + 1; j < size; j++) {
+			sum += A.getQuick(j,i) * x.getQuick(j);
+		}
+		tmp.setQuick(i, alpha * sum + beta * y.getQuick(i));
+	}
+	y.assign(tmp);
+}
+public void dtrmv(boolean isUpperTriangular, boolean transposeA, boolean isUnitTriangular, FloatMatrix2D A, FloatMatrix1D x) {
+	if (transposeA) {
+		A = A.viewDice();
+		isUpperTriangular = !isUpperTriangular;
+	}
+	
+	Property.DEFAULT.checkSquare(A);
+	int size = A.rows();
+	if (size != x.size()) {
+		throw new IllegalArgumentException(A.toStringShort() + ", " + x.toStringShort());
+	}
+	    
+	FloatMatrix1D b = x.like();
+	FloatMatrix1D y = x.like();
+	if (isUnitTriangular) {
+		y.assign(1);
+	}
+	else {
+		for (int i = 0; i < size; i++) {
+			y.setQuick(i, A.getQuick(i,i));
+		}
+	}
+	
+	for (int i = 0; i < size; i++) {
+		float sum = 0;
+		if (!isUpperTriangular) {
+			for (int j = 0; j < i; j++) {
+				sum += A.getQuick(i,j) * x.getQuick(j);
+			}
+			sum += y.getQuick(i) * x.getQuick(i);
+		}
+		else {
+			sum += y.getQuick(i) * x.getQuick(i);
+			for (int j = i + 1; j < size; j++) {
+				sum += A.getQuick(i,j) * x.getQuick(j);			}
+		}
+		b.setQuick(i,sum);
+	}
+	x.assign(b);
+}
+public int idamax(FloatMatrix1D x) {
+	int maxIndex = -1;
+	float maxValue = Float.MIN_VALUE;
+	for (int i=x.size(); --i >= 0; ) {
+		float v = Math.abs(x.getQuick(i));
+		if (v > maxValue) {
+			maxValue = v;
+			maxIndex = i;
+		}
+	}
+	return maxIndex;
+}
+/**
+Implements the FORTRAN sign (not sin) function.
+See the code for details.
+@param  a   a
+@param  b   b
+*/
+private float sign(float a, float b) {
+	if (b < 0.0) {
+		return -Math.abs(a);
+	} else {
+		return Math.abs(a);      
+	}
+}
+}
@@ -1,195 +1,80 @@
 /*
 Copyright � 1999 CERN - European Organization for Nuclear Research.
-Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
-is hereby granted without fee, provided that the above copyright notice appear in all copies and 
-that both that copyright notice and this permission notice appear in supporting documentation. 
-CERN makes no representations about the suitability of this software for any purpose. 
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
 It is provided "as is" without expressed or implied warranty.
 */
 package cern.colt.matrix.linalg;
 
-import cern.colt.matrix.DoubleMatrix2D;
-import EDU.oswego.cs.dl.util.concurrent.FJTask;
-import EDU.oswego.cs.dl.util.concurrent.FJTaskRunnerGroup;
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.impl.Parallel;
 /*
+Pool shared by the parallel algorithms of this package.
+Work over an index range [0,size) is split by {@link Parallel#run(ForkJoinPool,int,long,int,Parallel.Body)} recursively in halves
+until a piece is estimated to cost less than a given number of flops; idle workers steal the pending halves.
 */
 class Smp {
-	protected FJTaskRunnerGroup taskGroup; // a very efficient and light weight thread pool
+	protected volatile ForkJoinPool pool; // the work stealing pool; null if closed
+
+	protected boolean ownsPool; // if true, close() shuts the pool down
+
+	protected int maxThreads;
 
-	protected int maxThreads;	
 /**
-Constructs a new Smp using a maximum of <tt>maxThreads<tt> threads.
+Constructs a new Smp owning a new pool of <tt>maxThreads</tt> threads.
 */
 protected Smp(int maxThreads) {
 	maxThreads = Math.max(1,maxThreads);
 	this.maxThreads = maxThreads;
-	if (maxThreads>1) {
-		this.taskGroup = new FJTaskRunnerGroup(maxThreads);
-	}
-	else { // avoid parallel overhead
-		this.taskGroup = null;
-	}
+	this.pool = new ForkJoinPool(maxThreads);
+	this.ownsPool = true;
 }
 /**
- * Clean up deamon threads, if necessary.
- */
-public void finalize() {
-	if (this.taskGroup!=null) this.taskGroup.interruptAll();
-}
-protected void run(final DoubleMatrix2D[] blocksA, final DoubleMatrix2D[] blocksB, final double[] results, final Matrix2DMatrix2DFunction function) {
-	final FJTask[] subTasks = new FJTask[blocksA.length];
-	for (int i=0; i<blocksA.length; i++) {
-		final int k = i;
-		subTasks[i] = new FJTask() { 
-			public void run() {
-				double result = function.apply(blocksA[k],blocksB != null ? blocksB[k] : null);
-				if (results!=null) results[k] = result; 
-				//System.out.print("."); 
-			}
-		};
-	}
-
-	// run tasks and wait for completion
-	try { 
-		this.taskGroup.invoke(
-			new FJTask() {
-				public void run() {	
-					coInvoke(subTasks);	
-				}
-			}
-		);
-	} catch (InterruptedException exc) {}
+Constructs a new Smp running on the given pool, for example {@link ForkJoinPool#commonPool()}.
+The pool is not shut down by {@link #close()}.
+*/
+protected Smp(ForkJoinPool pool) {
+	if (pool==null) throw new NullPointerException("pool must not be null.");
+	this.maxThreads = pool.getParallelism();
+	this.pool = pool;
+	this.ownsPool = false;
 }
-protected DoubleMatrix2D[] splitBlockedNN(DoubleMatrix2D A, int threshold, long flops) {
-	/*
-	determine how to split and parallelize best into blocks
-	if more B.columns than tasks --> split B.columns, as follows:
-	
-			xx|xx|xxx B
-			xx|xx|xxx
-			xx|xx|xxx
-	A
-	xxx     xx|xx|xxx C 
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-
-	if less B.columns than tasks --> split A.rows, as follows:
-	
-			xxxxxxx B
-			xxxxxxx
-			xxxxxxx
-	A
-	xxx     xxxxxxx C
-	xxx     xxxxxxx
-	---     -------
-	xxx     xxxxxxx
-	xxx     xxxxxxx
-	---     -------
-	xxx     xxxxxxx
-
-	*/
-	//long flops = 2L*A.rows()*A.columns()*A.columns();
-	int noOfTasks = (int) Math.min(flops / threshold, this.maxThreads); // each thread should process at least 30000 flops
-	boolean splitHoriz = (A.columns() < noOfTasks);
-	//boolean splitHoriz = (A.columns() >= noOfTasks);
-	int p = splitHoriz ? A.rows() : A.columns();
-	noOfTasks = Math.min(p,noOfTasks);
-	
-	if (noOfTasks < 2) { // parallelization doesn't pay off (too much start up overhead)
-		return null;
-	}
-
-	// set up concurrent tasks
-	int span = p/noOfTasks;
-	final DoubleMatrix2D[] blocks = new DoubleMatrix2D[noOfTasks];
-	for (int i=0; i<noOfTasks; i++) {
-		final int offset = i*span;
-		if (i==noOfTasks-1) span = p - span*i; // last span may be a bit larger
-
-		final DoubleMatrix2D AA,BB,CC; 
-		if (!splitHoriz) { 	// split B along columns into blocks
-			blocks[i] = A.viewPart(0,offset, A.rows(), span);
-		}
-		else { // split A along rows into blocks
-			blocks[i] = A.viewPart(offset,0,span,A.columns());
-		}
-	}
-	return blocks;
+/**
+ * Releases the pool's threads if the pool is owned by the receiver; afterwards all work runs sequentially in the calling thread.
+ * Calling this method more than once has no effect.
+ */
+public synchronized void close() {
+	if (this.pool!=null && this.ownsPool) this.pool.shutdown();
+	this.pool = null;
 }
-protected DoubleMatrix2D[][] splitBlockedNN(DoubleMatrix2D A, DoubleMatrix2D B, int threshold, long flops) {
-	DoubleMatrix2D[] blocksA = splitBlockedNN(A,threshold, flops);
-	if (blocksA==null) return null;
-	DoubleMatrix2D[] blocksB = splitBlockedNN(B,threshold, flops);
-	if (blocksB==null) return null;
-	DoubleMatrix2D[][] blocks = {blocksA,blocksB};
-	return blocks;
+/**
+ * Returns <tt>true</tt> if {@link #close()} has been called.
+ */
+public boolean isClosed() {
+	return this.pool==null;
 }
-protected DoubleMatrix2D[] splitStridedNN(DoubleMatrix2D A, int threshold, long flops) {
-	/*
-	determine how to split and parallelize best into blocks
-	if more B.columns than tasks --> split B.columns, as follows:
-	
-			xx|xx|xxx B
-			xx|xx|xxx
-			xx|xx|xxx
-	A
-	xxx     xx|xx|xxx C 
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-	xxx		xx|xx|xxx
-
-	if less B.columns than tasks --> split A.rows, as follows:
-	
-			xxxxxxx B
-			xxxxxxx
-			xxxxxxx
-	A
-	xxx     xxxxxxx C
-	xxx     xxxxxxx
-	---     -------
-	xxx     xxxxxxx
-	xxx     xxxxxxx
-	---     -------
-	xxx     xxxxxxx
-
-	*/
-	//long flops = 2L*A.rows()*A.columns()*A.columns();
-	int noOfTasks = (int) Math.min(flops / threshold, this.maxThreads); // each thread should process at least 30000 flops
-	boolean splitHoriz = (A.columns() < noOfTasks);
-	//boolean splitHoriz = (A.columns() >= noOfTasks);
-	int p = splitHoriz ? A.rows() : A.columns();
-	noOfTasks = Math.min(p,noOfTasks);
-	
-	if (noOfTasks < 2) { // parallelization doesn't pay off (too much start up overhead)
-		return null;
-	}
-
-	// set up concurrent tasks
-	int span = p/noOfTasks;
-	final DoubleMatrix2D[] blocks = new DoubleMatrix2D[noOfTasks];
-	for (int i=0; i<noOfTasks; i++) {
-		final int offset = i*span;
-		if (i==noOfTasks-1) span = p - span*i; // last span may be a bit larger
-
-		final DoubleMatrix2D AA,BB,CC; 
-		if (!splitHoriz) { 
-			// split B along columns into blocks
-			blocks[i] = A.viewPart(0,i,A.rows(),A.columns()-i).viewStrides(1,noOfTasks);
-		}
-		else { 
-			// split A along rows into blocks
-			blocks[i] = A.viewPart(i,0,A.rows()-i,A.columns()).viewStrides(noOfTasks,1);
-		}
-	}
-	return blocks;
+/**
+ * Applies <tt>body</tt> to the range <tt>[0,size)</tt>, split into pieces that each involve at least <tt>threshold</tt> flops,
+ * and returns the combination of the partial results.
+ * If the whole range involves fewer than <tt>2*threshold</tt> flops, or the receiver is closed, <tt>body</tt> is applied sequentially in the calling thread.
+ *
+ * @param size the length of the range.
+ * @param flops the number of floating point operations involved in processing the whole range.
+ * @param threshold the minimum number of flops a piece of work should involve for parallelism to pay off.
+ * @param body the work.
+ * @see cern.colt.matrix.impl.Parallel#run(ForkJoinPool,int,long,int,cern.colt.matrix.impl.Parallel.Body)
+ */
+protected double run(int size, long flops, int threshold, Parallel.Body body) {
+	return Parallel.run(this.pool, size, flops, threshold, body);
 }
 /**
- * Prints various snapshot statistics to System.out; Simply delegates to {@link EDU.oswego.cs.dl.util.concurrent.FJTaskRunnerGroup#stats}.
+ * Prints various snapshot statistics of the pool to System.out.
  */
 public void stats() {
-	if (this.taskGroup!=null) this.taskGroup.stats();
+	ForkJoinPool p = this.pool;
+	System.out.println(p!=null ? p.toString() : "closed");
 }
 }
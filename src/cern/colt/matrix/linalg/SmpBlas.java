@@ -1,42 +1,49 @@
 /*
 Copyright � 1999 CERN - European Organization for Nuclear Research.
-Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
-is hereby granted without fee, provided that the above copyright notice appear in all copies and 
-that both that copyright notice and this permission notice appear in supporting documentation. 
-CERN makes no representations about the suitability of this software for any purpose. 
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
 It is provided "as is" without expressed or implied warranty.
 */
 package cern.colt.matrix.linalg;
 
+import java.util.concurrent.ForkJoinPool;
+
 import cern.colt.matrix.DoubleMatrix1D;
 import cern.colt.matrix.DoubleMatrix2D;
-import EDU.oswego.cs.dl.util.concurrent.FJTask;
+import cern.colt.matrix.impl.Parallel;
 /**
 Parallel implementation of the Basic Linear Algebra System for symmetric multi processing boxes.
-Currently only a few algorithms are parallelised; the others are fully functional, but run in sequential mode.
-Parallelised are:
+All Level 1, 2 and 3 routines are parallelised, except for {@link #drotg drotg}, which works on scalars only.
+Vectors are split into contiguous ranges, matrices into blocks of rows or columns, and the blocks are operated on concurrently with the given sequential blas algorithms.
+Reductions ({@link #ddot ddot}, {@link #dasum dasum}, {@link #dnrm2 dnrm2}, {@link #idamax idamax}) combine the partial results of the blocks.
+<p>
+Work is split recursively in halves and scheduled on a {@link ForkJoinPool}, so idle threads steal pending halves from busy ones.
+Splitting stops as soon as a block is estimated to involve fewer than {@link #getThreshold() threshold} flops,
+the estimate being made per call from the flop count of the routine and its arguments.
+Hence, small problems are detected and run sequentially in the calling thread, without any parallel overhead.
 <ul>
-<li>{@link #dgemm dgemm} (matrix-matrix multiplication)</li>
-<li>{@link #dgemv dgemv} (matrix-vector multiplication)</li>
-<li>{@link #assign(DoubleMatrix2D,cern.colt.function.DoubleFunction) assign(A,function)} (generalized matrix scaling/transform): Strong speedup only for expensive functions like logarithm, sin, etc.</li>
-<li>{@link #assign(DoubleMatrix2D,DoubleMatrix2D,cern.colt.function.DoubleDoubleFunction) assign(A,B,function)} (generalized matrix scaling/transform): Strong speedup only for expensive functions like pow etc.</li>
+<li>{@link #assign(DoubleMatrix2D,cern.colt.function.DoubleFunction) assign(A,function)} and {@link #assign(DoubleMatrix2D,DoubleMatrix2D,cern.colt.function.DoubleDoubleFunction) assign(A,B,function)} are counted as one flop per cell: strong speedup only for expensive functions like logarithm, sin, pow, etc.</li>
+<li>Level 1 routines and {@link #dcopy dcopy}, {@link #dswap dswap} are memory bound; they scale with the memory bandwidth rather than with the number of CPUs.</li>
 </ul>
-In all cases, no or only marginal speedup is seen for small problem sizes; they are detected and the sequential algorithm is used.
 
 <h4>Usage</h4>
-Call the static method {@link #allocateBlas} at the very beginning of your program, supplying the main parameter for SmpBlas, the number of available CPUs.
-The method sets the public global variable <tt>SmpBlas.smpBlas</tt> to a blas using a maximum of <tt>CPUs</tt> threads, each concurrently processing matrix blocks with the given sequential blas algorithms.
+Call the static method {@link #allocateBlas(int,Blas)} at the very beginning of your program, supplying the number of available CPUs,
+or {@link #allocateBlas(ForkJoinPool,Blas)} to run on an existing pool, for example {@link ForkJoinPool#commonPool()}.
+The method sets the public global variable <tt>SmpBlas.smpBlas</tt> to a blas running the given sequential blas algorithms on concurrently processed matrix blocks.
 Normally there is no need to call <tt>allocateBlas</tt> more than once.
 Then use <tt>SmpBlas.smpBlas.someRoutine(...)</tt> to run <tt>someRoutine</tt> in parallel.
 E.g.
 <table>
-<td class="PRE"> 
+<td class="PRE">
 <pre>
-int cpu_s = 4;
-SmpBlas.allocateBlas(cpu_s, SeqBlas.seqBlas);
+SmpBlas.allocateBlas(Runtime.getRuntime().availableProcessors(), SeqBlas.seqBlas);
 ...
 SmpBlas.smpBlas.dgemm(...)
-SmpBlas.smpBlas.dgemv(...)
+SmpBlas.smpBlas.ddot(...)
+...
+SmpBlas.shutdown(); // at the very end; releases the threads
 </pre>
 </td>
 </table>
@@ -44,15 +51,15 @@ Even if you don't call a blas routine yourself, it often makes sense to allocate
 So if you're lucky, you get parallel performance for free.
 <h4>Notes</h4>
 <ul>
-<li>Unfortunately, there is no portable means of automatically detecting the
-number of CPUs on a JVM, so there is no good way to automate defaults.</li>
-<li>Only improves performance on boxes with > 1 CPUs and VMs with <b>native threads</b>.</li>
+<li>Only improves performance on boxes with > 1 CPUs.</li>
+<li>Threads are not released by garbage collection; call {@link #close()} (or {@link #shutdown()} for the global blas) when done.
+A blas allocated on a caller supplied pool never shuts that pool down.</li>
 <li>Currently only improves performance when working on dense matrix types. On sparse types, performance is likely to degrade (because of the implementation of sub-range views)!</li>
-<li>Implemented using Doug Lea's fast lightweight task framework ({@link EDU.oswego.cs.dl.util.concurrent}) built upon Java threads, and geared for parallel computation.</li>
+<li>Results of reductions may differ from the sequential ones in the last bits, since partial sums are added in a different order.</li>
+<li>Arguments must not share cells in an overlapping way (other than being identical), since blocks are processed concurrently.</li>
 </ul>
 
-@see EDU.oswego.cs.dl.util.concurrent.FJTaskRunnerGroup
-@see EDU.oswego.cs.dl.util.concurrent.FJTask
+@see java.util.concurrent.ForkJoinPool
 @author wolfgang.hoschek@cern.ch
 @version 0.9, 16/04/2000
 */
@@ -62,44 +69,109 @@ public class SmpBlas implements Blas {
 	* Do not modify this variable via other means (it is public).
 	*/
 	public static Blas smpBlas = SeqBlas.seqBlas;
-		
+
 	protected Blas seqBlas; // blocks are operated on in parallel; for each block this seq algo is used.
 
 	protected Smp smp;
-		
+
 	protected int maxThreads;
 
+	/** the default minimum number of flops a block must involve to be processed by a separate task. */
 	protected static int NN_THRESHOLD = 30000;
+
+	protected int threshold = NN_THRESHOLD;
 /**
-Constructs a blas using a maximum of <tt>maxThreads<tt> threads; each executing the given sequential algos.
+Constructs a blas using a new pool of at most <tt>maxThreads<tt> threads; each executing the given sequential algos.
 */
 protected SmpBlas(int maxThreads, Blas seqBlas) {
 	this.seqBlas = seqBlas;
-	this.maxThreads = maxThreads;
 	this.smp = new Smp(maxThreads);
-	//Smp.smp = new Smp(maxThreads);
+	this.maxThreads = this.smp.maxThreads;
+}
+/**
+Constructs a blas running on the given pool, executing the given sequential algos.
+*/
+protected SmpBlas(ForkJoinPool pool, Blas seqBlas) {
+	this.seqBlas = seqBlas;
+	this.smp = new Smp(pool);
+	this.maxThreads = this.smp.maxThreads;
 }
 /**
 Sets the public global variable <tt>SmpBlas.smpBlas</tt> to a blas using a maximum of <tt>maxThreads</tt> threads, each executing the given sequential algorithm; <tt>maxThreads</tt> is normally the number of CPUs.
-Call this method at the very beginning of your program. 
+Call this method at the very beginning of your program.
 Normally there is no need to call this method more than once.
+A previously allocated global blas is closed.
 @param maxThreads the maximum number of threads (= CPUs) to be used
 @param seqBlas the sequential blas algorithms to be used on concurrently processed matrix blocks.
 */
 public static void allocateBlas(int maxThreads, Blas seqBlas) {
 	if (smpBlas instanceof SmpBlas) { // no need to change anything?
 		SmpBlas s = (SmpBlas) smpBlas;
-		if (s.maxThreads == maxThreads && s.seqBlas == seqBlas) return;
+		if (s.smp.ownsPool && !s.smp.isClosed() && s.maxThreads == maxThreads && s.seqBlas == seqBlas) return;
 	}
 
-	if (maxThreads<=1) 
+	Blas old = smpBlas;
+	if (maxThreads<=1)
 		smpBlas = seqBlas;
 	else {
 		smpBlas = new SmpBlas(maxThreads, seqBlas);
 	}
+	if (old instanceof SmpBlas) ((SmpBlas) old).close();
+}
+/**
+Sets the public global variable <tt>SmpBlas.smpBlas</tt> to a blas running on the given pool, executing the given sequential algorithm.
+Pass {@link ForkJoinPool#commonPool()} to share the JVM wide pool.
+The pool is not shut down when the blas is closed.
+A previously allocated global blas is closed.
+@param pool the pool to run on.
+@param seqBlas the sequential blas algorithms to be used on concurrently processed matrix blocks.
+@throws NullPointerException if <tt>pool==null</tt>.
+*/
+public static void allocateBlas(ForkJoinPool pool, Blas seqBlas) {
+	if (smpBlas instanceof SmpBlas) { // no need to change anything?
+		SmpBlas s = (SmpBlas) smpBlas;
+		if (s.smp.pool == pool && s.seqBlas == seqBlas) return;
+	}
+
+	Blas old = smpBlas;
+	smpBlas = new SmpBlas(pool, seqBlas);
+	if (old instanceof SmpBlas) ((SmpBlas) old).close();
+}
+/**
+Closes the global blas, if it is a <tt>SmpBlas</tt>, and resets <tt>SmpBlas.smpBlas</tt> to the sequential blas.
+*/
+public static void shutdown() {
+	Blas old = smpBlas;
+	if (old instanceof SmpBlas) {
+		smpBlas = ((SmpBlas) old).seqBlas;
+		((SmpBlas) old).close();
+	}
+}
+/**
+Releases the threads of the receiver's pool, unless the pool was supplied by the caller.
+Afterwards the receiver remains fully functional, but runs sequentially.
+Calling this method more than once has no effect.
+*/
+public void close() {
+	this.smp.close();
+}
+/**
+Returns the minimum number of flops a block must involve to be processed by a separate task.
+*/
+public int getThreshold() {
+	return this.threshold;
 }
-public void assign(DoubleMatrix2D A, final cern.colt.function.DoubleFunction function) {
-	run(A,false,
+/**
+Sets the minimum number of flops a block must involve to be processed by a separate task.
+Smaller values increase parallelism for small problems at the expense of more task overhead.
+@throws IllegalArgumentException if <tt>threshold &lt; 1</tt>.
+*/
+public void setThreshold(int threshold) {
+	if (threshold < 1) throw new IllegalArgumentException("threshold must be positive: "+threshold);
+	this.threshold = threshold;
+}
+public void assign(final DoubleMatrix2D A, final cern.colt.function.DoubleFunction function) {
+	run(A,null,1,
 		new Matrix2DMatrix2DFunction() {
 			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
 				seqBlas.assign(AA,function);
@@ -109,7 +181,8 @@ public void assign(DoubleMatrix2D A, final cern.colt.function.DoubleFunction fun
 	);
 }
 public void assign(DoubleMatrix2D A, DoubleMatrix2D B, final cern.colt.function.DoubleDoubleFunction function) {
-	run(A,B,false,
+	A.checkShape(B);
+	run(A,B,1,
 		new Matrix2DMatrix2DFunction() {
 			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
 				seqBlas.assign(AA,BB,function);
@@ -118,41 +191,86 @@ public void assign(DoubleMatrix2D A, DoubleMatrix2D B, final cern.colt.function.
 		}
 	);
 }
-public double dasum(DoubleMatrix1D x) {
-	return seqBlas.dasum(x);
+public double dasum(final DoubleMatrix1D x) {
+	return smp.run(x.size(), 2L*x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				return seqBlas.dasum(x.viewPart(from,to-from));
+			}
+		}
+	);
 }
-public void daxpy(double alpha, DoubleMatrix1D x, DoubleMatrix1D y) {
-	seqBlas.daxpy(alpha,x,y);
+public void daxpy(final double alpha, final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	x.checkSize(y);
+	smp.run(x.size(), 2L*x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				seqBlas.daxpy(alpha, x.viewPart(from,to-from), y.viewPart(from,to-from));
+				return 0;
+			}
+		}
+	);
 }
-public void daxpy(double alpha, DoubleMatrix2D A, DoubleMatrix2D B) {
-	seqBlas.daxpy(alpha,A,B);
+public void daxpy(final double alpha, DoubleMatrix2D A, DoubleMatrix2D B) {
+	A.checkShape(B);
+	run(A,B,2,
+		new Matrix2DMatrix2DFunction() {
+			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
+				seqBlas.daxpy(alpha,AA,BB);
+				return 0;
+			}
+		}
+	);
 }
-public void dcopy(DoubleMatrix1D x, DoubleMatrix1D y) {
-	seqBlas.dcopy(x,y);
+public void dcopy(final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	x.checkSize(y);
+	smp.run(x.size(), x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				seqBlas.dcopy(x.viewPart(from,to-from), y.viewPart(from,to-from));
+				return 0;
+			}
+		}
+	);
 }
 public void dcopy(DoubleMatrix2D A, DoubleMatrix2D B) {
-	seqBlas.dcopy(A, B);
+	A.checkShape(B);
+	run(A,B,1,
+		new Matrix2DMatrix2DFunction() {
+			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
+				seqBlas.dcopy(AA,BB);
+				return 0;
+			}
+		}
+	);
 }
-public double ddot(DoubleMatrix1D x, DoubleMatrix1D y) {
-	return seqBlas.ddot(x,y);
+public double ddot(final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	x.checkSize(y);
+	return smp.run(x.size(), 2L*x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				return seqBlas.ddot(x.viewPart(from,to-from), y.viewPart(from,to-from));
+			}
+		}
+	);
 }
 public void dgemm(final boolean transposeA, final boolean transposeB, final double alpha, final DoubleMatrix2D A, final DoubleMatrix2D B, final double beta, final DoubleMatrix2D C) {
 	/*
 	determine how to split and parallelize best into blocks
-	if more B.columns than tasks --> split B.columns, as follows:
-	
+	if more B.columns than A.rows --> split B.columns, as follows:
+
 			xx|xx|xxx B
 			xx|xx|xxx
 			xx|xx|xxx
 	A
-	xxx     xx|xx|xxx C 
+	xxx     xx|xx|xxx C
 	xxx		xx|xx|xxx
 	xxx		xx|xx|xxx
 	xxx		xx|xx|xxx
 	xxx		xx|xx|xxx
 
-	if less B.columns than tasks --> split A.rows, as follows:
-	
+	otherwise --> split A.rows, as follows:
+
 			xxxxxxx B
 			xxxxxxx
 			xxxxxxx
@@ -174,9 +292,9 @@ public void dgemm(final boolean transposeA, final boolean transposeB, final doub
 		dgemm(transposeA, false, alpha, A, B.viewDice(), beta, C);
 		return;
 	}
-	int m = A.rows();
-	int n = A.columns();
-	int p = B.columns();
+	final int m = A.rows();
+	final int n = A.columns();
+	final int p = B.columns();
 
 	if (B.rows() != n)
 		throw new IllegalArgumentException("Matrix2D inner dimensions must agree:"+A.toStringShort()+", "+B.toStringShort());
@@ -185,61 +303,27 @@ public void dgemm(final boolean transposeA, final boolean transposeB, final doub
 	if (A == C || B == C)
 		throw new IllegalArgumentException("Matrices must not be identical");
 
+	final boolean splitB = (p >= m);
 	long flops = 2L*m*n*p;
-	int noOfTasks = (int) Math.min(flops / 30000, this.maxThreads); // each thread should process at least 30000 flops
-	boolean splitB = (p >= noOfTasks);
-	int width = splitB ? p : m;
-	noOfTasks = Math.min(width,noOfTasks);
-	
-	if (noOfTasks < 2) { // parallelization doesn't pay off (too much start up overhead)
-		seqBlas.dgemm(transposeA, transposeB, alpha, A, B, beta, C);
-		return;
-	}
-	
-	// set up concurrent tasks
-	int span = width/noOfTasks;
-	final FJTask[] subTasks = new FJTask[noOfTasks];
-	for (int i=0; i<noOfTasks; i++) {
-		final int offset = i*span;
-		if (i==noOfTasks-1) span = width - span*i; // last span may be a bit larger
-
-		final DoubleMatrix2D AA,BB,CC; 
-		if (splitB) { 
-			// split B along columns into blocks
-			AA = A;
-			BB = B.viewPart(0,offset,n,span);
-			CC = C.viewPart(0,offset,m,span);
-		}
-		else { 
-			// split A along rows into blocks
-			AA = A.viewPart(offset,0,span,n);
-			BB = B;
-			CC = C.viewPart(offset,0,span,p);
-		}
-				
-		subTasks[i] = new FJTask() { 
-			public void run() { 
-				seqBlas.dgemm(transposeA,transposeB,alpha,AA,BB,beta,CC); 
-				//System.out.println("Hello "+offset); 
-			}
-		};
-	}
-	
-	// run tasks and wait for completion
-	try { 
-		this.smp.taskGroup.invoke(
-			new FJTask() {
-				public void run() {	
-					coInvoke(subTasks);	
+	smp.run(splitB ? p : m, flops, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int span = to-from;
+				if (splitB) { // split B along columns into blocks
+					seqBlas.dgemm(false,false,alpha,A,B.viewPart(0,from,n,span),beta,C.viewPart(0,from,m,span));
 				}
+				else { // split A along rows into blocks
+					seqBlas.dgemm(false,false,alpha,A.viewPart(from,0,span,n),B,beta,C.viewPart(from,0,span,p));
+				}
+				return 0;
 			}
-		);
-	} catch (InterruptedException exc) {}
+		}
+	);
 }
-public void dgemv(final boolean transposeA, final double alpha, DoubleMatrix2D A, final DoubleMatrix1D x, final double beta, DoubleMatrix1D y) {
+public void dgemv(final boolean transposeA, final double alpha, DoubleMatrix2D A, final DoubleMatrix1D x, final double beta, final DoubleMatrix1D y) {
 	/*
 	split A, as follows:
-	
+
 			x x
 			x
 			x
@@ -257,132 +341,199 @@ public void dgemv(final boolean transposeA, final double alpha, DoubleMatrix2D A
 		dgemv(false, alpha, A.viewDice(), x, beta, y);
 		return;
 	}
-	int m = A.rows();
-	int n = A.columns();
-	long flops = 2L*m*n;
-	int noOfTasks = (int) Math.min(flops / 30000, this.maxThreads); // each thread should process at least 30000 flops
-	int width = A.rows();
-	noOfTasks = Math.min(width,noOfTasks);
-	
-	if (noOfTasks < 2) { // parallelization doesn't pay off (too much start up overhead)
-		seqBlas.dgemv(transposeA, alpha, A, x, beta, y);
-		return;
-	}
-	
-	// set up concurrent tasks
-	int span = width/noOfTasks;
-	final FJTask[] subTasks = new FJTask[noOfTasks];
-	for (int i=0; i<noOfTasks; i++) {
-		final int offset = i*span;
-		if (i==noOfTasks-1) span = width - span*i; // last span may be a bit larger
+	final DoubleMatrix2D AA = A;
+	final int m = A.rows();
+	final int n = A.columns();
+	if (n != x.size() || m > y.size())
+		throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+x.toStringShort()+", "+y.toStringShort());
 
-		// split A along rows into blocks
-		final DoubleMatrix2D AA = A.viewPart(offset,0,span,n);
-		final DoubleMatrix1D yy = y.viewPart(offset,span);
-				
-		subTasks[i] = new FJTask() { 
-			public void run() { 
-				seqBlas.dgemv(transposeA,alpha,AA,x,beta,yy); 
-				//System.out.println("Hello "+offset); 
-			}
-		};
-	}
-	
-	// run tasks and wait for completion
-	try { 
-		this.smp.taskGroup.invoke(
-			new FJTask() {
-				public void run() {	
-					coInvoke(subTasks);	
-				}
+	smp.run(m, 2L*m*n, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				// split A along rows into blocks
+				seqBlas.dgemv(false,alpha,AA.viewPart(from,0,to-from,n),x,beta,y.viewPart(from,to-from));
+				return 0;
 			}
-		);
-	} catch (InterruptedException exc) {}
+		}
+	);
 }
-public void dger(double alpha, DoubleMatrix1D x, DoubleMatrix1D y, DoubleMatrix2D A) {
-	seqBlas.dger(alpha,x,y,A);
+public void dger(final double alpha, final DoubleMatrix1D x, final DoubleMatrix1D y, final DoubleMatrix2D A) {
+	final int m = A.rows();
+	final int n = A.columns();
+	if (m != x.size() || n != y.size())
+		throw new IllegalArgumentException("Incompatible args: "+A.toStringShort()+", "+x.toStringShort()+", "+y.toStringShort());
+
+	smp.run(m, 2L*m*n, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				// split A along rows into blocks
+				seqBlas.dger(alpha,x.viewPart(from,to-from),y,A.viewPart(from,0,to-from,n));
+				return 0;
+			}
+		}
+	);
 }
 public double dnrm2(DoubleMatrix1D x) {
-	return seqBlas.dnrm2(x);
+	return Math.sqrt(ddot(x,x));
 }
-public void drot(DoubleMatrix1D x, DoubleMatrix1D y, double c, double s) {
-	seqBlas.drot(x,y,c,s);
+public void drot(final DoubleMatrix1D x, final DoubleMatrix1D y, final double c, final double s) {
+	x.checkSize(y);
+	smp.run(x.size(), 6L*x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				seqBlas.drot(x.viewPart(from,to-from), y.viewPart(from,to-from), c, s);
+				return 0;
+			}
+		}
+	);
 }
 public void drotg(double a, double b, double rotvec[]) {
 	seqBlas.drotg(a,b,rotvec);
 }
-public void dscal(double alpha, DoubleMatrix1D x) {
-	seqBlas.dscal(alpha,x);
+public void dscal(final double alpha, final DoubleMatrix1D x) {
+	smp.run(x.size(), x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				seqBlas.dscal(alpha, x.viewPart(from,to-from));
+				return 0;
+			}
+		}
+	);
 }
-public void dscal(double alpha, DoubleMatrix2D A) {
-	seqBlas.dscal(alpha, A);
+public void dscal(final double alpha, DoubleMatrix2D A) {
+	run(A,null,1,
+		new Matrix2DMatrix2DFunction() {
+			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
+				seqBlas.dscal(alpha,AA);
+				return 0;
+			}
+		}
+	);
 }
-public void dswap(DoubleMatrix1D x, DoubleMatrix1D y) {
-	seqBlas.dswap(x,y);
+public void dswap(final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	x.checkSize(y);
+	smp.run(x.size(), x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				seqBlas.dswap(x.viewPart(from,to-from), y.viewPart(from,to-from));
+				return 0;
+			}
+		}
+	);
 }
 public void dswap(DoubleMatrix2D A, DoubleMatrix2D B) {
-	seqBlas.dswap(A,B);
-}
-public void dsymv(boolean isUpperTriangular, double alpha, DoubleMatrix2D A, DoubleMatrix1D x, double beta, DoubleMatrix1D y) {
-	seqBlas.dsymv(isUpperTriangular, alpha, A, x, beta, y);
-}
-public void dtrmv(boolean isUpperTriangular, boolean transposeA, boolean isUnitTriangular, DoubleMatrix2D A, DoubleMatrix1D x) {
-	seqBlas.dtrmv(isUpperTriangular, transposeA, isUnitTriangular, A, x);
-}
-public int idamax(DoubleMatrix1D x) {
-	return seqBlas.idamax(x);
-}
-protected double[] run(DoubleMatrix2D A, DoubleMatrix2D B, boolean collectResults, Matrix2DMatrix2DFunction fun) {
-	DoubleMatrix2D[][] blocks;
-	blocks = this.smp.splitBlockedNN(A, B, NN_THRESHOLD, A.rows()*A.columns());
-	//blocks = this.smp.splitStridedNN(A, B, NN_THRESHOLD, A.rows()*A.columns());
-	int b = blocks!=null ? blocks[0].length : 1;
-	double[] results = collectResults ? new double[b] : null;
-	
-	if (blocks==null) {  // too small --> sequential
-		double result = fun.apply(A,B);
-		if (collectResults) results[0] = result;
-		return results;
-	}
-	else {  // parallel
-		this.smp.run(blocks[0],blocks[1],results,fun);
+	A.checkShape(B);
+	run(A,B,1,
+		new Matrix2DMatrix2DFunction() {
+			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
+				seqBlas.dswap(AA,BB);
+				return 0;
+			}
+		}
+	);
+}
+public void dsymv(boolean isUpperTriangular, final double alpha, DoubleMatrix2D A, final DoubleMatrix1D x, final double beta, final DoubleMatrix1D y) {
+	if (isUpperTriangular) A = A.viewDice();
+	Property.DEFAULT.checkSquare(A);
+	final int size = A.rows();
+	if (size != x.size() || size!=y.size()) {
+		throw new IllegalArgumentException(A.toStringShort() + ", " + x.toStringShort() + ", " + y.toStringShort());
 	}
-	return results;
-}
-protected double[] run(DoubleMatrix2D A, boolean collectResults, Matrix2DMatrix2DFunction fun) {
-	DoubleMatrix2D[] blocks;
-	blocks = this.smp.splitBlockedNN(A, NN_THRESHOLD, A.rows()*A.columns());
-	//blocks = this.smp.splitStridedNN(A, NN_THRESHOLD, A.rows()*A.columns());
-	int b = blocks!=null ? blocks.length : 1;
-	double[] results = collectResults ? new double[b] : null;
-	
-	if (blocks==null) { // too small -> sequential
-		double result = fun.apply(A,null);
-		if (collectResults) results[0] = result;
-		return results;
+	final DoubleMatrix2D L = A; // only the lower triangle is accessed
+	final DoubleMatrix1D tmp = x.like();
+	smp.run(size, 2L*size*size, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int i = from; i < to; i++) {
+					double sum = L.viewRow(i).zDotProduct(x,0,i+1);
+					if (i+1 < size) sum += L.viewColumn(i).zDotProduct(x,i+1,size-i-1);
+					tmp.setQuick(i, alpha * sum + beta * y.getQuick(i));
+				}
+				return 0;
+			}
+		}
+	);
+	dcopy(tmp,y);
+}
+public void dtrmv(boolean isUpperTriangular, boolean transposeA, final boolean isUnitTriangular, DoubleMatrix2D A, final DoubleMatrix1D x) {
+	if (transposeA) {
+		A = A.viewDice();
+		isUpperTriangular = !isUpperTriangular;
 	}
-	else { // parallel
-		this.smp.run(blocks,null,results,fun);
+
+	Property.DEFAULT.checkSquare(A);
+	final int size = A.rows();
+	if (size != x.size()) {
+		throw new IllegalArgumentException(A.toStringShort() + ", " + x.toStringShort());
 	}
-	return results;
+
+	final DoubleMatrix2D T = A;
+	final boolean upper = isUpperTriangular;
+	final DoubleMatrix1D b = x.like();
+	smp.run(size, (long)size*size, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int i = from; i < to; i++) {
+					double diagonal = isUnitTriangular ? 1 : T.getQuick(i,i);
+					double sum = diagonal * x.getQuick(i);
+					if (!upper) {
+						if (i > 0) sum += T.viewRow(i).zDotProduct(x,0,i);
+					}
+					else {
+						if (i+1 < size) sum += T.viewRow(i).zDotProduct(x,i+1,size-i-1);
+					}
+					b.setQuick(i,sum);
+				}
+				return 0;
+			}
+		}
+	);
+	dcopy(b,x);
+}
+public int idamax(final DoubleMatrix1D x) {
+	return (int) smp.run(x.size(), x.size(), threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int index = seqBlas.idamax(x.viewPart(from,to-from));
+				return index < 0 ? -1 : from + index;
+			}
+			public double combine(double left, double right) {
+				// same semantics as the sequential version: on ties, the larger index wins
+				if (left < 0) return right;
+				if (right < 0) return left;
+				return Math.abs(x.getQuick((int) right)) >= Math.abs(x.getQuick((int) left)) ? right : left;
+			}
+		}
+	);
 }
 /**
- * Prints various snapshot statistics to System.out; Simply delegates to {@link EDU.oswego.cs.dl.util.concurrent.FJTaskRunnerGroup#stats}.
+ * Applies <tt>fun</tt> concurrently to corresponding blocks of <tt>A</tt> and <tt>B</tt> (<tt>B</tt> may be <tt>null</tt>).
+ * Blocks are bands of rows, unless <tt>A</tt> is too flat to yield enough of them, in which case they are bands of columns.
+ * @param flopsPerCell the number of flops <tt>fun</tt> involves per cell.
  */
-public void stats() {
-	if (this.smp!=null) this.smp.stats();
-}
-private double xsum(DoubleMatrix2D A) {
-	double[] sums = run(A,true,
-		new Matrix2DMatrix2DFunction() {
-			public double apply(DoubleMatrix2D AA, DoubleMatrix2D BB) {
-				return AA.zSum();
+protected void run(final DoubleMatrix2D A, final DoubleMatrix2D B, int flopsPerCell, final Matrix2DMatrix2DFunction fun) {
+	final int rows = A.rows();
+	final int columns = A.columns();
+	final boolean splitRows = rows >= Math.min(columns, maxThreads * Parallel.LEAVES_PER_THREAD);
+	smp.run(splitRows ? rows : columns, (long)flopsPerCell*rows*columns, threshold,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				int span = to-from;
+				if (splitRows) {
+					fun.apply(A.viewPart(from,0,span,columns), B!=null ? B.viewPart(from,0,span,columns) : null);
+				}
+				else {
+					fun.apply(A.viewPart(0,from,rows,span), B!=null ? B.viewPart(0,from,rows,span) : null);
+				}
+				return 0;
 			}
 		}
 	);
-
-	double sum = 0;
-	for (int i = sums.length; --i >= 0; ) sum += sums[i];
-	return sum;
+}
+/**
+ * Prints various snapshot statistics of the pool to System.out.
+ */
+public void stats() {
+	if (this.smp!=null) this.smp.stats();
 }
 }
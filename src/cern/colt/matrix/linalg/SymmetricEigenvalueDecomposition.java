@@ -0,0 +1,709 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleFactory2D;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+/**
+Eigenvalues and, optionally, eigenvectors of a real symmetric matrix <tt>A</tt>; either all of them, or only those within a range of indexes or values.
+<P>
+The selected <tt>k</tt> eigenvalues are returned in ascending order as the diagonal of the <tt>k x k</tt> matrix <tt>D</tt>,
+and the corresponding eigenvectors as the orthonormal columns of the <tt>n x k</tt> matrix <tt>V</tt>, so that <tt>A*V = V*D</tt>.
+If all eigenvalues are selected, <tt>A = V*D*V'</tt> as with {@link EigenvalueDecomposition}.
+<P>
+<tt>A</tt> is first reduced to tridiagonal form with blocked Householder reflections, half of the work being matrix-matrix multiplications.
+The selected eigenvalues of the tridiagonal matrix are then found by bisection, and their eigenvectors by inverse iteration,
+reorthogonalized within clusters of close eigenvalues; finally the eigenvectors are transformed back with blocked reflections.
+Selecting <tt>k</tt> out of <tt>n</tt> eigenpairs thus costs about <tt>(4/3)n<sup>3</sup> + 2kn<sup>2</sup></tt> flops,
+far less than the full decomposition of {@link EigenvalueDecomposition} if <tt>k</tt> is small; asking for eigenvalues only saves the second term.
+In parallel mode, as described in {@link cern.colt.matrix.impl.Parallel}, all steps run concurrently:
+the bisection across eigenvalues, the inverse iteration across clusters, the reduction and back transformation across bands of rows or columns.
+<P>
+Example: the 50 principal components of a covariance matrix, with largest variance last.
+<pre>
+int n = covariance.rows();
+SymmetricEigenvalueDecomposition eig = SymmetricEigenvalueDecomposition.byIndex(covariance, n-50, n-1, true);
+DoubleMatrix1D variances = eig.getRealEigenvalues();
+DoubleMatrix2D components = eig.getV();
+</pre>
+
+@version 1.0, 10/18/26
+*/
+public class SymmetricEigenvalueDecomposition implements java.io.Serializable {
+	static final long serialVersionUID = 1020;
+	/** Row and column dimension (square matrix).
+	@serial matrix dimension.
+	*/
+	private int n;
+
+	/** The selected eigenvalues, in ascending order.
+	@serial selected eigenvalues.
+	*/
+	private double[] values;
+
+	/** The eigenvectors of the selected eigenvalues; <tt>null</tt> if not computed.
+	@serial eigenvectors.
+	*/
+	private DoubleMatrix2D V;
+
+	/** The reduced matrix: Householder vectors below the subdiagonal (with unit first element on the subdiagonal); freed after use. */
+	transient private DoubleMatrix2D QT;
+
+	/** The diagonal, subdiagonal and scalar factors of the reflections of the tridiagonal form; freed after use. */
+	transient private double[] d, e, tau;
+
+	/** The pool of the decomposed matrix. */
+	transient private ForkJoinPool pool;
+
+	/**
+	 * The number of columns of a panel of the blocked reduction and back transformation.
+	 */
+	public static final int BLOCK = 32;
+
+	/** Relative machine precision. */
+	private static final double EPS = Math.pow(2,-52);
+
+	/** The maximum number of inverse iterations per eigenvector, and the number of iterations performed after convergence. */
+	private static final int MAXITS = 5, EXTRA = 2;
+/**
+Makes this class instantiable only via its public constructors and factory methods.
+*/
+private SymmetricEigenvalueDecomposition() {
+}
+/**
+Constructs and returns a new eigenvalue decomposition object with all eigenvalues and eigenvectors of a symmetric matrix.
+@param A    A square, symmetric matrix.
+@throws IllegalArgumentException if <tt>A</tt> is not square or not symmetric.
+*/
+public SymmetricEigenvalueDecomposition(DoubleMatrix2D A) {
+	this(A,true);
+}
+/**
+Constructs and returns a new eigenvalue decomposition object with all eigenvalues, and optionally all eigenvectors, of a symmetric matrix.
+@param A    A square, symmetric matrix.
+@param wantVectors whether to compute the eigenvectors too.
+@throws IllegalArgumentException if <tt>A</tt> is not square or not symmetric.
+*/
+public SymmetricEigenvalueDecomposition(DoubleMatrix2D A, boolean wantVectors) {
+	reduce(A);
+	select(true, 0, n-1, 0, 0, wantVectors);
+}
+/**
+Returns the decomposition of a symmetric matrix restricted to the eigenvalues with index <tt>from..to</tt> (inclusive),
+the eigenvalues being indexed in ascending order starting at 0.
+For example, <tt>byIndex(A, n-k, n-1, true)</tt> yields the <tt>k</tt> largest eigenvalues and their eigenvectors.
+@param A    A square, symmetric matrix.
+@param from the index of the smallest eigenvalue to select.
+@param to the index of the largest eigenvalue to select.
+@param wantVectors whether to compute the eigenvectors too.
+@throws IllegalArgumentException if <tt>A</tt> is not square or not symmetric.
+@throws IndexOutOfBoundsException if <tt>from &lt; 0 || from &gt; to || to &gt;= A.rows()</tt>.
+*/
+public static SymmetricEigenvalueDecomposition byIndex(DoubleMatrix2D A, int from, int to, boolean wantVectors) {
+	if (from < 0 || from > to || to >= A.rows()) throw new IndexOutOfBoundsException("from: "+from+", to: "+to+", rows: "+A.rows());
+	SymmetricEigenvalueDecomposition eig = new SymmetricEigenvalueDecomposition();
+	eig.reduce(A);
+	eig.select(true, from, to, 0, 0, wantVectors);
+	return eig;
+}
+/**
+Returns the decomposition of a symmetric matrix restricted to the eigenvalues in the half-open interval <tt>[low,high)</tt>.
+@param A    A square, symmetric matrix.
+@param low the lower bound of the selected eigenvalues (inclusive).
+@param high the upper bound of the selected eigenvalues (exclusive).
+@param wantVectors whether to compute the eigenvectors too.
+@throws IllegalArgumentException if <tt>A</tt> is not square or not symmetric, or if <tt>!(low &lt;= high)</tt>.
+*/
+public static SymmetricEigenvalueDecomposition byValue(DoubleMatrix2D A, double low, double high, boolean wantVectors) {
+	if (!(low <= high)) throw new IllegalArgumentException("low: "+low+" > high: "+high);
+	SymmetricEigenvalueDecomposition eig = new SymmetricEigenvalueDecomposition();
+	eig.reduce(A);
+	eig.select(false, 0, 0, low, high, wantVectors);
+	return eig;
+}
+/**
+Returns the block diagonal eigenvalue matrix, <tt>D</tt>.
+@return     <tt>D</tt>; a <tt>k x k</tt> diagonal matrix holding the selected eigenvalues in ascending order.
+*/
+public DoubleMatrix2D getD() {
+	return DoubleFactory2D.dense.diagonal(getRealEigenvalues());
+}
+/**
+Returns the selected eigenvalues, in ascending order.
+@return     the selected eigenvalues.
+*/
+public DoubleMatrix1D getRealEigenvalues () {
+	return new DenseDoubleMatrix1D((double[]) values.clone());
+}
+/**
+Returns the eigenvector matrix, <tt>V</tt>
+@return     <tt>V</tt>; an <tt>n x k</tt> matrix whose columns are the normalized eigenvectors of the selected eigenvalues.
+@throws IllegalStateException if the eigenvectors have not been computed.
+*/
+public DoubleMatrix2D getV () {
+	if (V == null) throw new IllegalStateException("Eigenvectors have not been computed.");
+	return V;
+}
+/**
+Returns whether the eigenvectors have been computed.
+*/
+public boolean hasEigenvectors() {
+	return V != null;
+}
+/**
+Returns a String with (propertyName, propertyValue) pairs.
+Useful for debugging or to quickly get the rough picture.
+For example,
+<pre>
+rank          : 3
+trace         : 0
+</pre>
+*/
+public String toString() {
+	StringBuffer buf = new StringBuffer();
+	String unknown = "Illegal operation or error: ";
+
+	buf.append("----------------------------------------------------------------------\n");
+	buf.append("SymmetricEigenvalueDecomposition(A) --> D, V, realEigenvalues\n");
+	buf.append("----------------------------------------------------------------------\n");
+
+	buf.append("realEigenvalues = ");
+	try { buf.append(String.valueOf(this.getRealEigenvalues()));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	buf.append("\n\nD = ");
+	try { buf.append(String.valueOf(this.getD()));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	buf.append("\n\nV = ");
+	try { buf.append(String.valueOf(this.getV()));}
+	catch (IllegalStateException exc) { buf.append(unknown+exc.getMessage()); }
+
+	return buf.toString();
+}
+/**
+Reduces <tt>A</tt> to symmetric tridiagonal form <tt>Q'*A*Q</tt> with a blocked algorithm, working on the lower triangle of a copy.
+Each panel of {@link #BLOCK} columns is reduced with symmetric matrix-vector products on the trailing matrix,
+deferring the update of the trailing matrix to a single symmetric rank-2k update with matrix-matrix multiplications.
+*/
+private void reduce(DoubleMatrix2D A) {
+	Property.DEFAULT.checkSquare(A);
+	if (!Property.DEFAULT.isSymmetric(A)) throw new IllegalArgumentException("Matrix must be symmetric: "+cern.colt.matrix.doublealgo.Formatter.shape(A));
+	n = A.rows();
+	pool = A.getPool();
+	d = new double[n];
+	e = new double[Math.max(0,n-1)];
+	tau = new double[Math.max(0,n-1)];
+	final DoubleMatrix2D QT = new DenseDoubleMatrix2D(n,n);
+	for (int i = 0; i < n; i++) {
+		for (int j = 0; j <= i; j++) QT.setQuick(i,j, A.getQuick(i,j));
+	}
+	this.QT = QT;
+	if (n == 0) return;
+
+	final DoubleMatrix2D W = new DenseDoubleMatrix2D(n, BLOCK);
+	double[] v = new double[n];
+	double[] t1 = new double[BLOCK];
+	double[] t2 = new double[BLOCK];
+	for (int i0 = 0; i0 < n-1; i0 += BLOCK) {
+		final int nb = Math.min(BLOCK, n-1-i0);
+		for (int i = i0; i < i0+nb; i++) {
+			int c = i - i0;
+			// Apply the pending updates of the panel to column i: A(i:n,i) -= V*W(i,:)' + W*V(i,:)'
+			for (int r = i; r < n; r++) {
+				double s = 0;
+				for (int j = 0; j < c; j++) s += QT.getQuick(r,i0+j) * W.getQuick(i,j) + W.getQuick(r,j) * QT.getQuick(i,i0+j);
+				QT.setQuick(r,i, QT.getQuick(r,i) - s);
+			}
+			d[i] = QT.getQuick(i,i);
+
+			// Generate the reflection annihilating A(i+2:n,i).
+			double alpha = QT.getQuick(i+1,i);
+			double xnorm = 0;
+			for (int r = i+2; r < n; r++) xnorm = Algebra.hypot(xnorm, QT.getQuick(r,i));
+			int len = n-i-1;
+			if (xnorm == 0) {
+				tau[i] = 0;
+				e[i] = alpha;
+				QT.setQuick(i+1,i, 1);
+				for (int r = 0; r < len; r++) W.setQuick(i+1+r,c, 0);
+				continue;
+			}
+			double beta = alpha >= 0 ? -Algebra.hypot(alpha,xnorm) : Algebra.hypot(alpha,xnorm);
+			tau[i] = (beta-alpha) / beta;
+			e[i] = beta;
+			double f = 1 / (alpha-beta);
+			for (int r = i+2; r < n; r++) QT.setQuick(r,i, QT.getQuick(r,i) * f);
+			QT.setQuick(i+1,i, 1);
+			for (int r = 0; r < len; r++) v[r] = QT.getQuick(i+1+r,i);
+
+			// w = tau * (A22*v - V*(W'*v) - W*(V'*v)), with A22 the trailing matrix not yet updated by the panel.
+			double[] w = symv(QT, i+1, v);
+			if (c > 0) {
+				for (int j = 0; j < c; j++) { t1[j] = 0; t2[j] = 0; }
+				for (int r = 0; r < len; r++) {
+					double vr = v[r];
+					for (int j = 0; j < c; j++) {
+						t1[j] += W.getQuick(i+1+r,j) * vr;
+						t2[j] += QT.getQuick(i+1+r,i0+j) * vr;
+					}
+				}
+				for (int r = 0; r < len; r++) {
+					double s = 0;
+					for (int j = 0; j < c; j++) s += QT.getQuick(i+1+r,i0+j) * t1[j] + W.getQuick(i+1+r,j) * t2[j];
+					w[r] -= s;
+				}
+			}
+			double wv = 0;
+			for (int r = 0; r < len; r++) {
+				w[r] *= tau[i];
+				wv += w[r] * v[r];
+			}
+			double a = -0.5 * tau[i] * wv;
+			for (int r = 0; r < len; r++) W.setQuick(i+1+r,c, w[r] + a*v[r]);
+		}
+
+		// Update the lower triangle of the trailing matrix: A22 -= V*W' + W*V'
+		final int k = i0 + nb;
+		final int rows = n - k;
+		if (rows == 0) continue;
+		final DoubleMatrix2D V = QT.viewPart(k, i0, rows, nb);
+		final DoubleMatrix2D W2 = W.viewPart(k, 0, rows, nb);
+		final DoubleMatrix2D A22 = QT.viewPart(k, k, rows, rows);
+		long flops = 2L * rows * rows * nb; // half of the multiply-adds
+		Parallel.run(Parallel.pool(pool,flops), rows, flops,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					// blocks of rows, each up to its diagonal; the upper triangle of the diagonal blocks is touched as well, but never read
+					for (int r = from; r < to; r += BLOCK) {
+						int rb = Math.min(BLOCK, to-r);
+						DoubleMatrix2D C = A22.viewPart(r, 0, rb, r+rb);
+						V.viewPart(r, 0, rb, nb).zMult(W2.viewPart(0, 0, r+rb, nb), C, -1, 1, false, true);
+						W2.viewPart(r, 0, rb, nb).zMult(V.viewPart(0, 0, r+rb, nb), C, -1, 1, false, true);
+					}
+					return 0;
+				}
+			}
+		);
+	}
+	d[n-1] = QT.getQuick(n-1,n-1);
+}
+/**
+Returns <tt>A(s:n,s:n) * v</tt>, where only the lower triangle of the symmetric matrix <tt>A</tt> is referenced.
+In parallel mode, bands of rows holding about equally many cells are multiplied concurrently and their partial products summed up.
+*/
+private double[] symv(final DoubleMatrix2D A, final int s, final double[] v) {
+	final int len = n - s;
+	final double[] w = new double[len];
+	long cells = (long) len * len / 2;
+	ForkJoinPool p = Parallel.pool(pool, cells);
+	if (p == null) {
+		symv(A, s, v, 0, len, w);
+		return w;
+	}
+
+	final int parts = p.getParallelism();
+	final double[][] partials = new double[parts][];
+	Parallel.run(p, parts, (long) parts * Parallel.getThreshold(), // one leaf per partial result
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int part = from; part < to; part++) {
+					// row boundaries such that the parts cover triangles of equal area
+					int low = (int) (len * Math.sqrt((double) part / parts));
+					int high = (int) (len * Math.sqrt((double) (part+1) / parts));
+					double[] partial = new double[len];
+					symv(A, s, v, low, high, partial);
+					partials[part] = partial;
+				}
+				return 0;
+			}
+		}
+	);
+	for (int part = 0; part < parts; part++) {
+		double[] partial = partials[part];
+		for (int r = 0; r < len; r++) w[r] += partial[r];
+	}
+	return w;
+}
+/**
+Adds the contribution of the rows <tt>s+from..s+to-1</tt> of the lower triangle of <tt>A(s:n,s:n)</tt> to <tt>w = A(s:n,s:n) * v</tt>.
+*/
+private static void symv(DoubleMatrix2D A, int s, double[] v, int from, int to, double[] w) {
+	for (int r = from; r < to; r++) {
+		double vr = v[r];
+		double sum = A.getQuick(s+r,s+r) * vr;
+		for (int j = 0; j < r; j++) {
+			double a = A.getQuick(s+r,s+j);
+			sum += a * v[j];
+			w[j] += a * vr;
+		}
+		w[r] += sum;
+	}
+}
+/**
+Computes the selected eigenvalues (and eigenvectors) of the tridiagonal form, then transforms the eigenvectors back.
+@param byIndex whether to select the eigenvalues <tt>from..to</tt>, or those in <tt>[low,high)</tt>.
+*/
+private void select(boolean byIndex, int from, int to, double low, double high, boolean wantVectors) {
+	final double[] d = this.d;
+	final double[] e2 = new double[e.length];
+
+	// Split into unreduced blocks where the subdiagonal is negligible.
+	double onenrm = 0;
+	double maxe2 = 0;
+	cern.colt.list.IntArrayList starts = new cern.colt.list.IntArrayList();
+	starts.add(0);
+	for (int i = 0; i < n; i++) {
+		double row = Math.abs(d[i]) + (i > 0 ? Math.abs(e[i-1]) : 0) + (i < n-1 ? Math.abs(e[i]) : 0);
+		onenrm = Math.max(onenrm, row);
+		if (i < n-1) {
+			double t = e[i] * e[i];
+			if (t <= EPS*EPS * Math.abs(d[i]*d[i+1]) + Double.MIN_NORMAL) {
+				e2[i] = 0;
+				starts.add(i+1);
+			}
+			else {
+				e2[i] = t;
+				maxe2 = Math.max(maxe2, t);
+			}
+		}
+	}
+	starts.add(n);
+	final int blocks = starts.size()-1;
+	final int[] start = starts.elements();
+	final double pivmin = Double.MIN_NORMAL * Math.max(1, maxe2);
+	final double abstol = EPS * onenrm;
+
+	// Determine the local index range of each block.
+	int[] first = new int[blocks];
+	int[] last = new int[blocks]; // exclusive
+	int offset = 0; // the global index of the smallest eigenvalue selected from the blocks
+	boolean trim = false;
+	if (byIndex && (from > 0 || to < n-1)) {
+		// select a slightly wider range of values, and trim it afterwards
+		double lo = bisect(d, e2, 0, n-1, from, pivmin, abstol);
+		double hi = bisect(d, e2, 0, n-1, to, pivmin, abstol);
+		low = lo - 2 * (abstol + 2 * EPS * Math.abs(lo)) - pivmin;
+		high = hi + 2 * (abstol + 2 * EPS * Math.abs(hi)) + pivmin;
+		byIndex = false;
+		trim = true;
+	}
+	int count = 0;
+	for (int b = 0; b < blocks; b++) {
+		if (byIndex) {
+			first[b] = 0;
+			last[b] = start[b+1] - start[b];
+		}
+		else {
+			first[b] = count(d, e2, start[b], start[b+1]-1, low, pivmin);
+			last[b] = count(d, e2, start[b], start[b+1]-1, high, pivmin);
+			offset += first[b];
+		}
+		count += last[b] - first[b];
+	}
+
+	// Bisection, concurrently across eigenvalues.
+	final int[] taskBlock = new int[count];
+	final int[] taskIndex = new int[count];
+	for (int b = 0, t = 0; b < blocks; b++) {
+		for (int j = first[b]; j < last[b]; j++, t++) {
+			taskBlock[t] = b;
+			taskIndex[t] = j;
+		}
+	}
+	final double[] taskValue = new double[count];
+	long flops = (long) count * 64 * n / blocks;
+	Parallel.run(Parallel.pool(pool,flops), count, flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int t = from; t < to; t++) {
+					int b = taskBlock[t];
+					taskValue[t] = bisect(d, e2, start[b], start[b+1]-1, taskIndex[t], pivmin, abstol);
+				}
+				return 0;
+			}
+		}
+	);
+
+	// Merge the blocks into ascending order and trim to the selection.
+	final int[] order = new int[count];
+	for (int t = 0; t < count; t++) order[t] = t;
+	cern.colt.GenericSorting.mergeSort(0, count,
+		new cern.colt.function.IntComparator() {
+			public int compare(int a, int b) {
+				double x = taskValue[order[a]], y = taskValue[order[b]];
+				return x < y ? -1 : (x == y ? 0 : 1);
+			}
+		},
+		new cern.colt.Swapper() {
+			public void swap(int a, int b) {
+				int tmp = order[a]; order[a] = order[b]; order[b] = tmp;
+			}
+		}
+	);
+	int skip = 0, k = count;
+	if (trim) {
+		skip = Math.max(0, Math.min(count, from - offset));
+		k = Math.min(to - from + 1, count - skip);
+	}
+	values = new double[k];
+	final int[] selected = new int[k];
+	for (int i = 0; i < k; i++) {
+		selected[i] = order[skip+i];
+		values[i] = taskValue[selected[i]];
+	}
+
+	if (wantVectors) V = eigenvectors(blocks, start, taskBlock, taskIndex, taskValue, selected, pivmin);
+	this.QT = null;
+	this.d = this.e = this.tau = null;
+}
+/**
+Returns the number of eigenvalues less than <tt>x</tt> of the unreduced tridiagonal block <tt>[from,to]</tt>, computed as the number of negative pivots of <tt>T - x*I</tt> (Sturm count).
+*/
+private static int count(double[] d, double[] e2, int from, int to, double x, double pivmin) {
+	int count = 0;
+	double q = 1;
+	for (int i = from; i <= to; i++) {
+		q = d[i] - x - (i > from ? e2[i-1] / q : 0);
+		if (Math.abs(q) <= pivmin) q = -pivmin;
+		if (q < 0) count++;
+	}
+	return count;
+}
+/**
+Returns the eigenvalue with (local, ascending) index <tt>j</tt> of the unreduced tridiagonal block <tt>[from,to]</tt>, computed by bisection of its Gershgorin interval.
+*/
+private static double bisect(double[] d, double[] e2, int from, int to, int j, double pivmin, double abstol) {
+	double lo = Double.MAX_VALUE, hi = -Double.MAX_VALUE;
+	for (int i = from; i <= to; i++) {
+		double r = (i > from ? Math.sqrt(e2[i-1]) : 0) + (i < to ? Math.sqrt(e2[i]) : 0);
+		lo = Math.min(lo, d[i] - r);
+		hi = Math.max(hi, d[i] + r);
+	}
+	double slack = 2 * EPS * Math.max(Math.abs(lo),Math.abs(hi)) * (to-from+1) + 2 * pivmin;
+	lo -= slack;
+	hi += slack;
+
+	// invariant: count(lo) <= j < count(hi)
+	while (hi - lo > abstol + 2 * EPS * Math.max(Math.abs(lo),Math.abs(hi))) {
+		double mid = 0.5 * (lo + hi);
+		if (mid <= lo || mid >= hi) break; // no more representable numbers in between
+		if (count(d, e2, from, to, mid, pivmin) > j) hi = mid;
+		else lo = mid;
+	}
+	return 0.5 * (lo + hi);
+}
+/**
+Computes the eigenvectors of the selected eigenvalues of the tridiagonal form by inverse iteration, concurrently across clusters,
+and transforms them back to eigenvectors of <tt>A</tt>.
+*/
+private DoubleMatrix2D eigenvectors(int blocks, final int[] start, final int[] taskBlock, final int[] taskIndex, final double[] taskValue, final int[] selected, final double pivmin) {
+	final int k = selected.length;
+	final DoubleMatrix2D Z = new DenseDoubleMatrix2D(n,k);
+
+	// Group the selected eigenvalues by block, in ascending order, and each block into clusters of close eigenvalues.
+	final int[] column = new int[k]; // the column of Z of the i-th eigenvalue in block order
+	final int[] byBlock = new int[k];
+	int[] blockCount = new int[blocks+1];
+	for (int i = 0; i < k; i++) blockCount[taskBlock[selected[i]]+1]++;
+	for (int b = 0; b < blocks; b++) blockCount[b+1] += blockCount[b];
+	for (int i = 0; i < k; i++) {
+		int pos = blockCount[taskBlock[selected[i]]]++;
+		byBlock[pos] = selected[i];
+		column[pos] = i;
+	}
+	cern.colt.list.IntArrayList clusters = new cern.colt.list.IntArrayList();
+	for (int i = 0; i < k; i++) {
+		int b = taskBlock[byBlock[i]];
+		if (i == 0 || taskBlock[byBlock[i-1]] != b || taskValue[byBlock[i]] - taskValue[byBlock[i-1]] > 1e-3 * norm(start[b], start[b+1]-1)) {
+			clusters.add(i);
+		}
+	}
+	clusters.add(k);
+	final int[] cluster = clusters.elements();
+	final int ncl = clusters.size()-1;
+
+	long flops = 30L * n * k;
+	Parallel.run(Parallel.pool(pool,flops), ncl, flops,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int c = from; c < to; c++) {
+					int b = taskBlock[byBlock[cluster[c]]];
+					inverseIteration(start[b], start[b+1]-1, byBlock, column, taskValue, taskIndex, cluster[c], cluster[c+1], pivmin, Z);
+				}
+				return 0;
+			}
+		}
+	);
+
+	backTransform(Z);
+	return Z;
+}
+/**
+Returns the 1-norm of the unreduced tridiagonal block <tt>[from,to]</tt>.
+*/
+private double norm(int from, int to) {
+	double norm = 0;
+	for (int i = from; i <= to; i++) {
+		norm = Math.max(norm, Math.abs(d[i]) + (i > from ? Math.abs(e[i-1]) : 0) + (i < to ? Math.abs(e[i]) : 0));
+	}
+	return norm;
+}
+/**
+Computes the eigenvectors of the cluster <tt>byBlock[low..high-1]</tt> of the unreduced tridiagonal block <tt>[from,to]</tt> by inverse iteration,
+orthogonalizing each against the preceding ones of the cluster, and stores them into the rows <tt>from..to</tt> of the corresponding columns of <tt>Z</tt>.
+*/
+private void inverseIteration(int from, int to, int[] byBlock, int[] column, double[] value, int[] index, int low, int high, double pivmin, DoubleMatrix2D Z) {
+	int m = to - from + 1;
+	if (m == 1) {
+		Z.setQuick(from, column[low], 1);
+		return;
+	}
+	double onenrm = norm(from, to);
+	double tol = EPS * onenrm;
+	double dtpcrt = Math.sqrt(0.1 / m);
+	double[] u0 = new double[m], u1 = new double[m], u2 = new double[m], l = new double[m];
+	boolean[] swapped = new boolean[m];
+	double[] x = new double[m];
+	double[][] previous = new double[high-low][];
+	cern.jet.random.engine.RandomEngine random = new cern.jet.random.engine.MersenneTwister(from + index[byBlock[low]] + 1);
+
+	double xjm = 0;
+	for (int q = low; q < high; q++) {
+		double xj = value[byBlock[q]];
+		// perturb eigenvalues too close to the previous one, so that the iterations diverge
+		if (q > low) {
+			double pertol = 10 * Math.abs(EPS * xj);
+			if (xj - xjm < pertol) xj = xjm + pertol;
+		}
+		xjm = xj;
+
+		// LU factorization with partial pivoting of T - xj*I
+		double diag = d[from] - xj, sup = e[from];
+		for (int i = 0; i < m-1; i++) {
+			double sub = e[from+i];
+			double nextDiag = d[from+i+1] - xj;
+			double nextSup = i+1 < m-1 ? e[from+i+1] : 0;
+			if (Math.abs(diag) >= Math.abs(sub)) {
+				swapped[i] = false;
+				l[i] = diag == 0 ? 0 : sub / diag;
+				u0[i] = diag; u1[i] = sup; u2[i] = 0;
+				diag = nextDiag - l[i] * sup;
+				sup = nextSup;
+			}
+			else {
+				swapped[i] = true;
+				l[i] = diag / sub;
+				u0[i] = sub; u1[i] = nextDiag; u2[i] = nextSup;
+				diag = sup - l[i] * nextDiag;
+				sup = -l[i] * nextSup;
+			}
+		}
+		u0[m-1] = diag;
+		for (int i = 0; i < m; i++) {
+			if (Math.abs(u0[i]) < tol) u0[i] = u0[i] >= 0 ? tol : -tol;
+		}
+
+		for (int i = 0; i < m; i++) x[i] = 2 * random.raw() - 1;
+		int converged = 0;
+		for (int its = 0; its < MAXITS && converged <= EXTRA; its++) {
+			// Scale to avoid overflow in the solution, then solve (T - xj*I)*x = x.
+			double asum = 0;
+			for (int i = 0; i < m; i++) asum += Math.abs(x[i]);
+			double scale = m * onenrm * Math.max(EPS, Math.abs(u0[m-1])) / asum;
+			for (int i = 0; i < m; i++) x[i] *= scale;
+			for (int i = 0; i < m-1; i++) {
+				if (swapped[i]) { double t = x[i]; x[i] = x[i+1]; x[i+1] = t; }
+				x[i+1] -= l[i] * x[i];
+			}
+			x[m-1] /= u0[m-1];
+			x[m-2] = (x[m-2] - u1[m-2] * x[m-1]) / u0[m-2];
+			for (int i = m-3; i >= 0; i--) x[i] = (x[i] - u1[i] * x[i+1] - u2[i] * x[i+2]) / u0[i];
+
+			// Orthogonalize against the preceding eigenvectors of the cluster.
+			for (int p = 0; p < q-low; p++) {
+				double[] y = previous[p];
+				double dot = 0;
+				for (int i = 0; i < m; i++) dot += x[i] * y[i];
+				for (int i = 0; i < m; i++) x[i] -= dot * y[i];
+			}
+
+			double max = 0;
+			for (int i = 0; i < m; i++) max = Math.max(max, Math.abs(x[i]));
+			if (max >= dtpcrt) converged++;
+		}
+
+		// Normalize, with the largest component positive.
+		double nrm = 0;
+		int jmax = 0;
+		for (int i = 0; i < m; i++) {
+			nrm = Algebra.hypot(nrm, x[i]);
+			if (Math.abs(x[i]) > Math.abs(x[jmax])) jmax = i;
+		}
+		double f = x[jmax] < 0 ? -1 / nrm : 1 / nrm;
+		double[] y = new double[m];
+		for (int i = 0; i < m; i++) {
+			y[i] = x[i] * f;
+			Z.setQuick(from+i, column[q], y[i]);
+		}
+		previous[q-low] = y;
+	}
+}
+/**
+Overwrites <tt>Z</tt> with <tt>Q*Z</tt>, where <tt>Q</tt> is the orthogonal matrix of the reduction to tridiagonal form.
+The reflections are applied in blocks of {@link #BLOCK}, each in the compact WY representation <tt>I - V*T*V'</tt>,
+concurrently for bands of columns of <tt>Z</tt> in parallel mode.
+*/
+private void backTransform(final DoubleMatrix2D Z) {
+	final int k = Z.columns();
+	if (n < 2) return;
+	for (int b0 = ((n-2) / BLOCK) * BLOCK; b0 >= 0; b0 -= BLOCK) {
+		final int i0 = b0;
+		final int nb = Math.min(BLOCK, n-1-i0);
+		final int rows = n - i0 - 1;
+
+		// V: the reflections i0..i0+nb-1, supported on the rows i0+1..n-1, with explicit unit diagonal and zeros above.
+		final DoubleMatrix2D V = new DenseDoubleMatrix2D(rows, nb);
+		for (int r = 0; r < rows; r++) {
+			for (int j = 0; j <= Math.min(r, nb-1); j++) V.setQuick(r,j, QT.getQuick(i0+1+r, i0+j));
+		}
+
+		// T: upper triangular, such that H(i0)*...*H(i0+nb-1) = I - V*T*V'
+		DoubleMatrix2D G = V.zMult(V, null, 1, 0, true, false);
+		final DoubleMatrix2D T = new DenseDoubleMatrix2D(nb, nb);
+		for (int j = 0; j < nb; j++) {
+			double t = tau[i0+j];
+			T.setQuick(j,j, t);
+			for (int i = 0; i < j; i++) {
+				double s = 0;
+				for (int p = i; p < j; p++) s += T.getQuick(i,p) * G.getQuick(p,j);
+				T.setQuick(i,j, -t * s);
+			}
+		}
+
+		long flops = 4L * rows * nb * k;
+		Parallel.run(Parallel.pool(pool,flops), k, flops,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					DoubleMatrix2D X = Z.viewPart(i0+1, from, rows, to-from);
+					DoubleMatrix2D W = T.zMult(V.zMult(X, null, 1, 0, true, false), null);
+					V.zMult(W, X, -1, 1, false, false);
+					return 0;
+				}
+			}
+		);
+	}
+}
+}
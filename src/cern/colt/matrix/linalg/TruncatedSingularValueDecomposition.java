@@ -0,0 +1,411 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleFactory2D;
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.DenseDoubleMatrix2D;
+import cern.colt.matrix.impl.Parallel;
+/**
+The <tt>k</tt> largest singular values, and the corresponding singular vectors, of a matrix <tt>A</tt> of any shape and storage format;
+the truncated singular value decomposition <tt>A ~ U*S*V'</tt>.
+<P>
+<tt>U</tt> is an <tt>m x k</tt> and <tt>V</tt> an <tt>n x k</tt> matrix with orthonormal columns,
+and <tt>S</tt> is a <tt>k x k</tt> diagonal matrix holding the singular values in descending order.
+Unlike {@link SingularValueDecomposition}, the matrix is neither copied nor required to have <tt>m &gt;= n</tt>;
+it is accessed only through <tt>A.zMult(...)</tt> and <tt>A.viewDice().zMult(...)</tt> (in the form of <tt>zMult</tt> with <tt>transposeA = true</tt>),
+so that sparse matrices such as {@link cern.colt.matrix.impl.SparseDoubleMatrix2D}, {@link cern.colt.matrix.impl.RCDoubleMatrix2D}
+and {@link cern.colt.matrix.impl.CSRDoubleMatrix2D} are handled at the cost of their own matrix products.
+<P>
+Two methods are offered:
+<ul>
+<li>{@link #randomized(DoubleMatrix2D,int,int,int,int)}, the randomized range finder of Halko, Martinsson and Tropp:
+<tt>A</tt> is multiplied by a block of <tt>k+oversampling</tt> random vectors, a few power iterations sharpen the range found,
+and the SVD of the projection of <tt>A</tt> onto that range is computed densely.
+It needs a small and fixed number of passes over <tt>A</tt>, each a matrix-matrix product; accurate if the singular values decay well.
+<li>{@link #lanczos(DoubleMatrix2D,int,double,int,int)}, Golub-Kahan-Lanczos bidiagonalization with full reorthogonalization:
+one matrix-vector product with <tt>A</tt> and one with <tt>A'</tt> per step, until the residuals of all <tt>k</tt> triplets are below a tolerance.
+Accurate regardless of the decay of the singular values.
+</ul>
+In parallel mode, as described in {@link cern.colt.matrix.impl.Parallel}, the block products of the randomized method are computed concurrently for bands of columns,
+and the dense orthogonalizations of both methods run concurrently, too.
+Matrix-vector products of the Lanczos method run concurrently as far as <tt>A.zMult</tt> does, as for example for compressed matrices.
+<P>
+Example: the 100 dominant singular triplets of a large sparse matrix.
+<pre>
+TruncatedSingularValueDecomposition svd = TruncatedSingularValueDecomposition.randomized(A, 100);
+double[] s = svd.getSingularValues();
+DoubleMatrix2D U = svd.getU(), V = svd.getV();
+</pre>
+
+@version 1.0, 10/18/26
+*/
+public class TruncatedSingularValueDecomposition implements java.io.Serializable {
+	static final long serialVersionUID = 1020;
+	/** Arrays for internal storage of U and V.
+	@serial internal storage of U.
+	@serial internal storage of V.
+	*/
+	private DoubleMatrix2D U, V;
+
+	/** Array for internal storage of singular values.
+	@serial internal storage of singular values.
+	*/
+	private double[] s;
+
+	/** Whether all triplets satisfy the convergence criterion.
+	@serial convergence flag.
+	*/
+	private boolean converged;
+
+	/** Relative machine precision. */
+	private static final double EPS = Math.pow(2,-52);
+/**
+Makes this class instantiable only via its factory methods.
+*/
+private TruncatedSingularValueDecomposition() {
+}
+/**
+Returns the truncated decomposition computed by the randomized method, with <tt>10</tt> oversampling vectors, <tt>2</tt> power iterations and a fixed seed.
+@param A    any matrix.
+@param k    the number of singular triplets to compute.
+@throws IllegalArgumentException if <tt>k &lt; 0 || k &gt; Math.min(A.rows(),A.columns())</tt>.
+*/
+public static TruncatedSingularValueDecomposition randomized(DoubleMatrix2D A, int k) {
+	return randomized(A, k, 10, 2, 123456789);
+}
+/**
+Returns the truncated decomposition computed by the randomized method.
+@param A    any matrix.
+@param k    the number of singular triplets to compute.
+@param oversampling the number of random vectors used in addition to <tt>k</tt>; typically <tt>5..20</tt>.
+@param powerIterations the number of power iterations, each costing two more passes over <tt>A</tt>; typically <tt>1..3</tt>, more if the singular values decay slowly.
+@param seed the seed of the random vectors.
+@throws IllegalArgumentException if <tt>k &lt; 0 || k &gt; Math.min(A.rows(),A.columns()) || oversampling &lt; 0 || powerIterations &lt; 0</tt>.
+*/
+public static TruncatedSingularValueDecomposition randomized(DoubleMatrix2D A, int k, int oversampling, int powerIterations, int seed) {
+	int m = A.rows();
+	int n = A.columns();
+	int min = Math.min(m,n);
+	if (k < 0 || k > min) throw new IllegalArgumentException("k must be in [0,"+min+"]: "+k);
+	if (oversampling < 0 || powerIterations < 0) throw new IllegalArgumentException("oversampling: "+oversampling+", powerIterations: "+powerIterations);
+	TruncatedSingularValueDecomposition svd = new TruncatedSingularValueDecomposition();
+	svd.converged = true;
+	int l = Math.min(min, k + oversampling);
+	if (l == 0) return svd.set(new DenseDoubleMatrix2D(m,0), new double[0], new DenseDoubleMatrix2D(n,0));
+
+	// Find an orthonormal basis Q of the approximate range of A.
+	cern.jet.random.Normal normal = new cern.jet.random.Normal(0, 1, new cern.jet.random.engine.MersenneTwister(seed));
+	DoubleMatrix2D omega = new DenseDoubleMatrix2D(n,l);
+	for (int i = 0; i < n; i++) {
+		for (int j = 0; j < l; j++) omega.setQuick(i,j, normal.nextDouble());
+	}
+	DoubleMatrix2D Q = orthonormalize(mult(A, omega, false));
+	for (int i = 0; i < powerIterations; i++) {
+		Q = orthonormalize(mult(A, orthonormalize(mult(A, Q, true)), false));
+	}
+
+	// SVD of B = Q'*A, via the QR decomposition of B' = A'*Q = Qb*Rb and the dense SVD of Rb = Ur*S*Vr'; then A ~ (Q*Vr) * S * (Qb*Ur)'
+	QRDecomposition qr = new QRDecomposition(mult(A, Q, true));
+	SingularValueDecomposition small = new SingularValueDecomposition(qr.getR());
+	DoubleMatrix2D Ur = small.getU().viewPart(0,0,l,k);
+	DoubleMatrix2D Vr = small.getV().viewPart(0,0,l,k);
+	double[] s = new double[k];
+	System.arraycopy(small.getSingularValues(), 0, s, 0, k);
+	return svd.set(mult(Q, Vr, false), s, mult(qr.getQ(), Ur, false));
+}
+/**
+Returns the truncated decomposition computed by the Lanczos method, with tolerance <tt>1.0E-10</tt>, no limit on the number of steps but <tt>Math.min(A.rows(),A.columns())</tt>, and a fixed seed.
+@param A    any matrix.
+@param k    the number of singular triplets to compute.
+@throws IllegalArgumentException if <tt>k &lt; 0 || k &gt; Math.min(A.rows(),A.columns())</tt>.
+*/
+public static TruncatedSingularValueDecomposition lanczos(DoubleMatrix2D A, int k) {
+	return lanczos(A, k, 1.0E-10, Integer.MAX_VALUE, 123456789);
+}
+/**
+Returns the truncated decomposition computed by Golub-Kahan-Lanczos bidiagonalization with full reorthogonalization.
+The bidiagonalization is extended until, for each of the <tt>k</tt> triplets, <tt>||A'*u - s*v|| &lt;= tolerance * s[0]</tt>
+(note that <tt>A*v = s*u</tt> holds by construction), or until <tt>maxSteps</tt> steps have been performed, in which case {@link #isConverged()} returns <tt>false</tt>.
+A matrix with fewer rows than columns is bidiagonalized in its transposed form, <tt>A'</tt>, with the roles of <tt>U</tt> and <tt>V</tt> swapped,
+since the bidiagonalization of <tt>A</tt> itself can not exhaust the column space after <tt>A.rows()</tt> steps.
+@param A    any matrix.
+@param k    the number of singular triplets to compute.
+@param tolerance the relative tolerance of the residuals.
+@param maxSteps the maximum number of steps, each one multiplication by <tt>A</tt> and by <tt>A'</tt>; at least <tt>k</tt>.
+@param seed the seed of the random start vector.
+@throws IllegalArgumentException if <tt>k &lt; 0 || k &gt; Math.min(A.rows(),A.columns()) || maxSteps &lt; k || !(tolerance &gt;= 0)</tt>.
+*/
+public static TruncatedSingularValueDecomposition lanczos(DoubleMatrix2D A, int k, double tolerance, int maxSteps, int seed) {
+	int m = A.rows();
+	int n = A.columns();
+	int min = Math.min(m,n);
+	if (k < 0 || k > min) throw new IllegalArgumentException("k must be in [0,"+min+"]: "+k);
+	if (maxSteps < k || !(tolerance >= 0)) throw new IllegalArgumentException("maxSteps: "+maxSteps+", tolerance: "+tolerance);
+	if (m < n) {
+		// A = U*S*V' if and only if A' = V*S*U'
+		TruncatedSingularValueDecomposition transposed = lanczos(A.viewDice(), k, tolerance, maxSteps, seed);
+		return transposed.set(transposed.V, transposed.s, transposed.U);
+	}
+	TruncatedSingularValueDecomposition svd = new TruncatedSingularValueDecomposition();
+	svd.converged = true;
+	if (k == 0) return svd.set(new DenseDoubleMatrix2D(m,0), new double[0], new DenseDoubleMatrix2D(n,0));
+
+	int pmax = Math.min(min, maxSteps);
+	int p = Math.min(pmax, Math.max(2*k, k+10)); // the number of steps until the next convergence check
+	DoubleMatrix2D Ub = new DenseDoubleMatrix2D(m, p);
+	DoubleMatrix2D Vb = new DenseDoubleMatrix2D(n, p);
+	double[] alpha = new double[p];
+	double[] beta = new double[p];
+	cern.jet.random.engine.RandomEngine random = new cern.jet.random.engine.MersenneTwister(seed);
+	DoubleMatrix1D u = new DenseDoubleMatrix1D(m);
+	DoubleMatrix1D v = new DenseDoubleMatrix1D(n);
+	double norm = 0; // estimate of the 2-norm of A, for the detection of invariant subspaces
+
+	// A*Vb = Ub*B and A'*Ub = Vb*B' + beta[j]*v*e_j', with B upper bidiagonal, its diagonal alpha and superdiagonal beta.
+	randomVector(v, Vb, 0, random);
+	Vb.viewColumn(0).assign(v);
+	A.zMult(v, u, 1, 0, false);
+	alpha[0] = normalize(u, Ub, 0, random, norm);
+	norm = Math.max(norm, alpha[0]);
+	Ub.viewColumn(0).assign(u);
+	int steps = 1;
+	while (true) {
+		int j = steps-1;
+		A.zMult(u, v, 1, 0, true);
+		v.assign(Vb.viewColumn(j), cern.jet.math.PlusMult.minusMult(alpha[j]));
+		reorthogonalize(v, Vb, steps);
+		beta[j] = normalize(v, Vb, steps < n ? steps : -1, random, norm);
+		norm = Math.max(norm, beta[j]);
+
+		if (steps == p) {
+			// Check convergence of the leading k triplets: ||A'*u_i - s_i*v_i|| = beta[j] * |X(j,i)|
+			DoubleMatrix2D B = new DenseDoubleMatrix2D(steps, steps);
+			for (int i = 0; i < steps; i++) {
+				B.setQuick(i,i, alpha[i]);
+				if (i+1 < steps) B.setQuick(i,i+1, beta[i]);
+			}
+			SingularValueDecomposition small = new SingularValueDecomposition(B);
+			DoubleMatrix2D X = small.getU();
+			double[] sv = small.getSingularValues();
+			boolean done = true;
+			for (int i = 0; i < k && done; i++) {
+				done = Math.abs(beta[j] * X.getQuick(j,i)) <= tolerance * sv[0];
+			}
+			if (done || steps == pmax) {
+				svd.converged = done;
+				double[] s = new double[k];
+				System.arraycopy(sv, 0, s, 0, k);
+				return svd.set(mult(Ub, X.viewPart(0,0,steps,k), false), s, mult(Vb, small.getV().viewPart(0,0,steps,k), false));
+			}
+
+			// Extend the bases.
+			p = Math.min(pmax, 2*p);
+			Ub = grow(Ub, p);
+			Vb = grow(Vb, p);
+			double[] tmp = new double[p]; System.arraycopy(alpha, 0, tmp, 0, steps); alpha = tmp;
+			tmp = new double[p]; System.arraycopy(beta, 0, tmp, 0, steps); beta = tmp;
+		}
+
+		Vb.viewColumn(steps).assign(v);
+		A.zMult(v, u, 1, 0, false);
+		u.assign(Ub.viewColumn(j), cern.jet.math.PlusMult.minusMult(beta[j]));
+		reorthogonalize(u, Ub, steps);
+		alpha[steps] = normalize(u, Ub, steps < m ? steps : -1, random, norm);
+		norm = Math.max(norm, alpha[steps]);
+		Ub.viewColumn(steps).assign(u);
+		steps++;
+	}
+}
+/**
+Returns the left singular vectors <tt>U</tt>.
+@return     <tt>U</tt>; an <tt>m x k</tt> matrix with orthonormal columns.
+*/
+public DoubleMatrix2D getU() {
+	return U;
+}
+/**
+Returns the diagonal matrix of singular values.
+@return     <tt>S</tt>; a <tt>k x k</tt> diagonal matrix.
+*/
+public DoubleMatrix2D getS() {
+	return DoubleFactory2D.dense.diagonal(new DenseDoubleMatrix1D(getSingularValues()));
+}
+/**
+Returns the <tt>k</tt> largest singular values.
+@return     the singular values, in descending order.
+*/
+public double[] getSingularValues() {
+	return (double[]) s.clone();
+}
+/**
+Returns the right singular vectors <tt>V</tt>.
+@return     <tt>V</tt>; an <tt>n x k</tt> matrix with orthonormal columns.
+*/
+public DoubleMatrix2D getV() {
+	return V;
+}
+/**
+Returns whether the Lanczos method met its tolerance for all triplets; always <tt>true</tt> for the randomized method, which has no convergence criterion.
+*/
+public boolean isConverged() {
+	return converged;
+}
+/**
+Returns a String with (propertyName, propertyValue) pairs.
+Useful for debugging or to quickly get the rough picture.
+For example,
+<pre>
+rank          : 3
+trace         : 0
+</pre>
+*/
+public String toString() {
+	StringBuffer buf = new StringBuffer();
+	String unknown = "Illegal operation or error: ";
+
+	buf.append("---------------------------------------------------------------------\n");
+	buf.append("TruncatedSingularValueDecomposition(A) --> converged, singularValues, U, S, V\n");
+	buf.append("---------------------------------------------------------------------\n");
+
+	buf.append("converged = "+isConverged());
+
+	buf.append("\n\nsingularValues = ");
+	try { buf.append(String.valueOf(new DenseDoubleMatrix1D(this.getSingularValues())));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	buf.append("\n\nU = ");
+	try { buf.append(String.valueOf(this.getU()));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	buf.append("\n\nS = ");
+	try { buf.append(String.valueOf(this.getS()));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	buf.append("\n\nV = ");
+	try { buf.append(String.valueOf(this.getV()));}
+	catch (IllegalArgumentException exc) { buf.append(unknown+exc.getMessage()); }
+
+	return buf.toString();
+}
+/**
+Sets the result and returns the receiver.
+*/
+private TruncatedSingularValueDecomposition set(DoubleMatrix2D U, double[] s, DoubleMatrix2D V) {
+	this.U = U;
+	this.s = s;
+	this.V = V;
+	return this;
+}
+/**
+Returns <tt>A*X</tt>, or <tt>A'*X</tt> if <tt>transposeA</tt>, as a new dense matrix.
+In parallel mode, bands of columns of <tt>X</tt> are multiplied concurrently, each with a separate call to <tt>A.zMult</tt>.
+*/
+private static DoubleMatrix2D mult(final DoubleMatrix2D A, final DoubleMatrix2D X, final boolean transposeA) {
+	final int rows = transposeA ? A.columns() : A.rows();
+	final int inner = X.rows();
+	final DoubleMatrix2D Y = new DenseDoubleMatrix2D(rows, X.columns());
+	long cells = (long) Math.max(rows, inner) * X.columns(); // a lower bound of the work involved
+	Parallel.run(Parallel.pool(A.getPool(),cells), X.columns(), cells,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				A.zMult(X.viewPart(0,from,inner,to-from), Y.viewPart(0,from,rows,to-from), 1, 0, transposeA, false);
+				return 0;
+			}
+		}
+	);
+	return Y;
+}
+/**
+Returns an orthonormal basis of the range of the given matrix (with at least as many rows as columns), computed by QR decomposition.
+*/
+private static DoubleMatrix2D orthonormalize(DoubleMatrix2D Y) {
+	return new QRDecomposition(Y).getQ();
+}
+/**
+Returns a copy of <tt>basis</tt> with room for <tt>columns</tt> columns.
+*/
+private static DoubleMatrix2D grow(DoubleMatrix2D basis, int columns) {
+	DoubleMatrix2D copy = new DenseDoubleMatrix2D(basis.rows(), columns);
+	copy.viewPart(0,0,basis.rows(),basis.columns()).assign(basis);
+	return copy;
+}
+/**
+Orthogonalizes <tt>x</tt> against the first <tt>columns</tt> columns of <tt>basis</tt>, by classical Gram-Schmidt applied twice.
+In parallel mode, bands of rows are processed concurrently.
+*/
+private static void reorthogonalize(final DoubleMatrix1D x, DoubleMatrix2D basis, final int columns) {
+	final DoubleMatrix2D Q = basis.viewPart(0,0,basis.rows(),columns);
+	final int rows = Q.rows();
+	long cells = (long) rows * columns;
+	final ForkJoinPool pool = Parallel.pool(basis.getPool(), cells);
+	for (int pass = 0; pass < 2; pass++) {
+		// h = Q'*x, summing the partial products of a fixed number of bands in order, for reproducible results
+		// (row by row, as the rows of the basis are contiguous in memory)
+		final int parts = pool == null ? 1 : pool.getParallelism();
+		final double[][] partials = new double[parts][];
+		Parallel.run(pool, parts, (long) parts * Parallel.getThreshold(), // one leaf per partial result
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					for (int part = from; part < to; part++) {
+						int high = (int) ((long) rows * (part+1) / parts);
+						double[] partial = new double[columns];
+						for (int i = (int) ((long) rows * part / parts); i < high; i++) {
+							double xi = x.getQuick(i);
+							if (xi != 0) {
+								for (int j = 0; j < columns; j++) partial[j] += Q.getQuick(i,j) * xi;
+							}
+						}
+						partials[part] = partial;
+					}
+					return 0;
+				}
+			}
+		);
+		final DoubleMatrix1D h = new DenseDoubleMatrix1D(partials[0]);
+		for (int part = 1; part < parts; part++) h.assign(new DenseDoubleMatrix1D(partials[part]), cern.jet.math.Functions.plus);
+
+		// x -= Q*h
+		Parallel.run(pool, rows, cells,
+			new Parallel.Body() {
+				public double apply(int from, int to) {
+					Q.viewPart(from,0,to-from,columns).zMult(h, x.viewPart(from,to-from), -1, 1, false);
+					return 0;
+				}
+			}
+		);
+	}
+}
+/**
+Normalizes <tt>x</tt> and returns its former norm.
+If the norm is negligible, <tt>x</tt> is replaced with a random unit vector orthogonal to the first <tt>columns</tt> columns of <tt>basis</tt>, and zero is returned,
+which restarts the bidiagonalization in a new invariant subspace; if <tt>columns &lt; 0</tt> (no such vector exists), <tt>x</tt> is left unnormalized.
+*/
+private static double normalize(DoubleMatrix1D x, DoubleMatrix2D basis, int columns, cern.jet.random.engine.RandomEngine random, double norm) {
+	double nrm = Math.sqrt(x.zDotProduct(x));
+	if (nrm > EPS * Math.max(norm, nrm) * Math.sqrt(x.size()) && nrm > 0) {
+		x.assign(cern.jet.math.Functions.div(nrm));
+		return nrm;
+	}
+	if (columns >= 0) randomVector(x, basis, columns, random);
+	return 0;
+}
+/**
+Fills <tt>x</tt> with a random unit vector orthogonal to the first <tt>columns</tt> columns of <tt>basis</tt>.
+*/
+private static void randomVector(DoubleMatrix1D x, DoubleMatrix2D basis, int columns, cern.jet.random.engine.RandomEngine random) {
+	for (int i = 0; i < x.size(); i++) x.setQuick(i, random.raw() - 0.5);
+	if (columns > 0) reorthogonalize(x, basis, columns);
+	x.assign(cern.jet.math.Functions.div(Math.sqrt(x.zDotProduct(x))));
+}
+}
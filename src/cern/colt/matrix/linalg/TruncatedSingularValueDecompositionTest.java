@@ -0,0 +1,93 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg;
+
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.SparseDoubleMatrix2D;
+/**
+Checks {@link TruncatedSingularValueDecomposition} against {@link SingularValueDecomposition} for wide, tall and square matrices, dense and sparse.
+
+@version 1.0, 10/18/26
+*/
+class TruncatedSingularValueDecompositionTest extends Object {
+/**
+ * Makes this class non instantiable, but still let's others inherit from it.
+ */
+protected TruncatedSingularValueDecompositionTest() {}
+/**
+ * Runs all checks.
+ */
+public static void main(String[] args) {
+	int[][] shapes = {{20,50}, {50,20}, {40,40}, {150,400}, {400,150}, {1,30}, {30,1}};
+	for (int i=0; i<shapes.length; i++) testShape(shapes[i][0], shapes[i][1]);
+	System.out.println("All tests passed. No bug detected.");
+}
+/**
+ * Returns the singular values of <tt>A</tt> computed by {@link SingularValueDecomposition}, which requires <tt>rows &gt;= columns</tt>.
+ */
+private static double[] reference(DoubleMatrix2D A) {
+	return new SingularValueDecomposition(A.rows() >= A.columns() ? A : A.viewDice().copy()).getSingularValues();
+}
+/**
+ * Checks the singular values against <tt>expected</tt>, the orthonormality of <tt>U</tt> and <tt>V</tt>, and the residuals 
+ * <tt>A*V - U*S</tt> and <tt>A'*U - V*S</tt>.
+ */
+private static void check(DoubleMatrix2D A, TruncatedSingularValueDecomposition svd, double[] expected, int k, double tolerance, String what) {
+	double[] s = svd.getSingularValues();
+	if (s.length != k) throw new InternalError(what+"got "+s.length+" singular values");
+	double scale = Math.max(expected[0], 1);
+	for (int i=0; i<k; i++) {
+		if (Math.abs(s[i] - expected[i]) > tolerance * scale) throw new InternalError(what+"s["+i+"]="+s[i]+", expected "+expected[i]);
+	}
+	DoubleMatrix2D U = svd.getU(), V = svd.getV(), S = svd.getS();
+	if (U.rows() != A.rows() || U.columns() != k || V.rows() != A.columns() || V.columns() != k) throw new InternalError(what+"shape of U or V");
+	DoubleMatrix2D I = cern.colt.matrix.DoubleFactory2D.dense.identity(k);
+	if (LUDecompositionQuickTest.relativeError(U.zMult(U, null, 1, 0, true, false), I) > tolerance) throw new InternalError(what+"U not orthonormal");
+	if (LUDecompositionQuickTest.relativeError(V.zMult(V, null, 1, 0, true, false), I) > tolerance) throw new InternalError(what+"V not orthonormal");
+	DoubleMatrix2D AV = A.zMult(V, null);
+	if (LUDecompositionQuickTest.relativeError(U.zMult(S, null), AV) > tolerance * scale) throw new InternalError(what+"A*V != U*S");
+	DoubleMatrix2D AU = A.zMult(U, null, 1, 0, true, false);
+	if (LUDecompositionQuickTest.relativeError(V.zMult(S, null), AU) > tolerance * scale) throw new InternalError(what+"A'*U != V*S");
+}
+/**
+ * Decomposes random matrices of the given shape, dense and sparse, for several <tt>k</tt> up to <tt>Math.min(rows,columns)</tt>.
+ */
+public static void testShape(int rows, int columns) {
+	cern.jet.random.Uniform gen = new cern.jet.random.Uniform(new cern.jet.random.engine.MersenneTwister(rows*1000+columns));
+	int min = Math.min(rows, columns);
+	DoubleMatrix2D dense = LUDecompositionQuickTest.random(gen, rows, columns);
+	DoubleMatrix2D sparse = new SparseDoubleMatrix2D(rows, columns);
+	for (int i=0; i<rows; i++) {
+		for (int j=0; j<columns; j++) if (gen.nextIntFromTo(0,3) == 0) sparse.setQuick(i,j, gen.nextDoubleFromTo(-1,1));
+	}
+	// rank 3, so that the randomized method is exact for k >= 3
+	DoubleMatrix2D lowRank = LUDecompositionQuickTest.random(gen, rows, Math.min(3,min)).zMult(LUDecompositionQuickTest.random(gen, Math.min(3,min), columns), null);
+
+	DoubleMatrix2D[] matrices = {dense, sparse, lowRank};
+	String[] names = {"dense", "sparse", "rank 3"};
+	int[] ks = {1, Math.max(1,min/2), min};
+	for (int a=0; a<matrices.length; a++) {
+		DoubleMatrix2D A = matrices[a];
+		double[] expected = reference(A);
+		for (int i=0; i<ks.length; i++) {
+			int k = ks[i];
+			String what = rows+"x"+columns+" "+names[a]+", k="+k+", lanczos: ";
+			TruncatedSingularValueDecomposition svd = TruncatedSingularValueDecomposition.lanczos(A, k);
+			if (!svd.isConverged()) throw new InternalError(what+"not converged");
+			check(A, svd, expected, k, 1e-9, what);
+
+			if (k == min || (a == 2 && k >= 3)) { // the randomized method is exact if it captures the whole range
+				what = rows+"x"+columns+" "+names[a]+", k="+k+", randomized: ";
+				check(A, TruncatedSingularValueDecomposition.randomized(A, k), expected, k, 1e-9, what);
+			}
+		}
+	}
+	System.out.println(rows+"x"+columns+": ok");
+}
+}
@@ -0,0 +1,79 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+/**
+The biconjugate gradient stabilized method (BiCGSTAB) of van der Vorst, for general nonsymmetric systems.
+<p>
+Each iteration takes two matrix-vector products, two applications of the preconditioner, five dot products and six vector updates;
+eight dense work vectors are needed.
+The preconditioner is applied from the right, so that the residual monitored is the true residual <tt>b - A*x</tt>.
+Unlike {@link GMRES}, the memory needed does not grow with the number of iterations, but convergence may be irregular and the method may break down,
+in which case the iteration stops with status {@link IterationMonitor#BREAKDOWN}.
+
+@version 1.0, 10/18/26
+*/
+public class BiCGStab extends IterativeSolver {
+/**
+ * Constructs a solver without preconditioner and with a default {@link IterationMonitor}.
+ */
+public BiCGStab() {
+}
+/**
+ * Iterates until the monitor signals to stop.
+ */
+protected void iterate(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x, ForkJoinPool pool) {
+	int n = b.size();
+	DoubleMatrix1D r = residual(A, b, x, new DenseDoubleMatrix1D(n));
+	DoubleMatrix1D rTilde = r.copy();
+	DoubleMatrix1D p = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D pHat = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D v = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D sHat = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D t = new DenseDoubleMatrix1D(n);
+
+	double rho = 1, alpha = 1, omega = 1;
+	for (int iteration = 0; ! monitor.isDone(iteration, norm(pool, r)); iteration++) {
+		double rhoNew = dot(pool, rTilde, r);
+		if (rhoNew == 0 || omega == 0) {
+			monitor.breakdown();
+			return;
+		}
+		if (iteration == 0) p.assign(r);
+		else { // p = r + beta*(p - omega*v)
+			axpy(pool, -omega, v, p);
+			xpay(pool, r, (rhoNew / rho) * (alpha / omega), p);
+		}
+		rho = rhoNew;
+
+		precondition(p, pHat);
+		A.zMult(pHat, v);
+		double rv = dot(pool, rTilde, v);
+		if (rv == 0) {
+			monitor.breakdown();
+			return;
+		}
+		alpha = rho / rv;
+		axpy(pool, -alpha, v, r); // r now holds s
+		axpy(pool, alpha, pHat, x);
+
+		precondition(r, sHat);
+		A.zMult(sHat, t);
+		double tt = dot(pool, t, t);
+		omega = tt == 0 ? 0 : dot(pool, t, r) / tt; // s == 0 implies t == 0: converged
+		axpy(pool, omega, sHat, x);
+		axpy(pool, -omega, t, r);
+	}
+}
+}
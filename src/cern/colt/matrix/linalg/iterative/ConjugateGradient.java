@@ -0,0 +1,61 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+/**
+The preconditioned conjugate gradient method, for symmetric positive definite systems.
+<p>
+Each iteration takes one matrix-vector product, one application of the preconditioner, two dot products and three vector updates;
+four dense work vectors are needed (three without preconditioner).
+The preconditioner must be symmetric positive definite, too, as for example {@link JacobiPreconditioner}, {@link SSORPreconditioner} and {@link IncompleteCholeskyPreconditioner}.
+If the matrix turns out not to be positive definite, the iteration stops with status {@link IterationMonitor#BREAKDOWN}.
+
+@version 1.0, 10/18/26
+*/
+public class ConjugateGradient extends IterativeSolver {
+/**
+ * Constructs a solver without preconditioner and with a default {@link IterationMonitor}.
+ */
+public ConjugateGradient() {
+}
+/**
+ * Iterates until the monitor signals to stop.
+ */
+protected void iterate(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x, ForkJoinPool pool) {
+	int n = b.size();
+	DoubleMatrix1D r = residual(A, b, x, new DenseDoubleMatrix1D(n));
+	DoubleMatrix1D z = preconditioner == null ? r : new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D p = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D q = new DenseDoubleMatrix1D(n);
+
+	double rho = 0;
+	for (int iteration = 0; ! monitor.isDone(iteration, norm(pool, r)); iteration++) {
+		precondition(r, z);
+		double rhoNew = dot(pool, r, z);
+		if (iteration == 0) p.assign(z);
+		else xpay(pool, z, rhoNew / rho, p); // p = z + beta*p
+		rho = rhoNew;
+
+		A.zMult(p, q);
+		double pq = dot(pool, p, q);
+		if (! (pq > 0) || ! (rho > 0)) { // not positive definite
+			monitor.breakdown();
+			return;
+		}
+		double alpha = rho / pq;
+		axpy(pool, alpha, p, x);
+		axpy(pool, -alpha, q, r);
+	}
+}
+}
@@ -0,0 +1,132 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+/**
+The restarted generalized minimal residual method GMRES(m) of Saad and Schultz, for general nonsymmetric systems.
+<p>
+Within a cycle of at most <tt>m</tt> iterations, each iteration minimizes the residual norm over a Krylov subspace growing by one dimension;
+after each cycle the subspace is discarded and the method restarts from the current iterate.
+Each iteration takes one matrix-vector product, one application of the preconditioner and, for iteration <tt>j</tt> of a cycle, <tt>j+1</tt> dot products and vector updates (modified Gram-Schmidt);
+<tt>m+3</tt> dense work vectors are needed.
+Larger restart lengths converge more robustly at the expense of memory and orthogonalization work.
+<p>
+The preconditioner is applied from the right, so that the residual monitored is the true residual <tt>b - A*x</tt>;
+within a cycle, its norm is obtained as a by-product of the least squares problem, and it is recomputed explicitly at each restart.
+
+@version 1.0, 10/18/26
+*/
+public class GMRES extends IterativeSolver {
+	/** the maximum number of iterations per cycle. */
+	private int restart;
+/**
+ * Constructs a solver restarting every <tt>30</tt> iterations, without preconditioner and with a default {@link IterationMonitor}.
+ */
+public GMRES() {
+	this(30);
+}
+/**
+ * Constructs a solver restarting every <tt>restart</tt> iterations, without preconditioner and with a default {@link IterationMonitor}.
+ * @throws IllegalArgumentException if <tt>restart &lt; 1</tt>.
+ */
+public GMRES(int restart) {
+	setRestart(restart);
+}
+/**
+ * Returns the maximum number of iterations per cycle.
+ */
+public int getRestart() {
+	return restart;
+}
+/**
+ * Iterates until the monitor signals to stop.
+ */
+protected void iterate(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x, ForkJoinPool pool) {
+	int n = b.size();
+	int m = restart;
+	DoubleMatrix1D[] V = new DoubleMatrix1D[m+1];
+	for (int i = 0; i <= m; i++) V[i] = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D z = new DenseDoubleMatrix1D(n);
+	DoubleMatrix1D r = new DenseDoubleMatrix1D(n);
+	double[][] H = new double[m+1][m];
+	double[] cs = new double[m];
+	double[] sn = new double[m];
+	double[] g = new double[m+1];
+	double[] y = new double[m];
+
+	int iteration = 0;
+	double beta = norm(pool, residual(A, b, x, r));
+	while (! monitor.isDone(iteration, beta)) {
+		scale(pool, 1 / beta, V[0].assign(r));
+		java.util.Arrays.fill(g, 0);
+		g[0] = beta;
+
+		int k = 0; // the dimension of the subspace
+		boolean done = false;
+		while (k < m && ! done) {
+			DoubleMatrix1D w = V[k+1];
+			A.zMult(precondition(V[k], z), w);
+			for (int i = 0; i <= k; i++) { // modified Gram-Schmidt
+				H[i][k] = dot(pool, w, V[i]);
+				axpy(pool, -H[i][k], V[i], w);
+			}
+			double h = norm(pool, w);
+			H[k+1][k] = h;
+			if (h != 0) scale(pool, 1 / h, w);
+
+			for (int i = 0; i < k; i++) { // apply the previous Givens rotations to the new column
+				double temp = cs[i]*H[i][k] + sn[i]*H[i+1][k];
+				H[i+1][k] = -sn[i]*H[i][k] + cs[i]*H[i+1][k];
+				H[i][k] = temp;
+			}
+			double rr = Math.hypot(H[k][k], h);
+			if (rr == 0) { // the Krylov subspace is A-invariant but A is singular on it
+				break;
+			}
+			cs[k] = H[k][k] / rr;
+			sn[k] = h / rr;
+			H[k][k] = rr;
+			H[k+1][k] = 0;
+			g[k+1] = -sn[k]*g[k];
+			g[k] = cs[k]*g[k];
+
+			k++;
+			iteration++;
+			done = monitor.isDone(iteration, Math.abs(g[k])) || h == 0;
+		}
+		if (k == 0) {
+			monitor.breakdown();
+			return;
+		}
+
+		for (int i = k; --i >= 0; ) { // solve H*y = g
+			double sum = g[i];
+			for (int j = i+1; j < k; j++) sum -= H[i][j] * y[j];
+			y[i] = sum / H[i][i];
+		}
+		r.assign(0);
+		for (int i = 0; i < k; i++) axpy(pool, y[i], V[i], r);
+		axpy(pool, 1, precondition(r, z), x);
+		beta = norm(pool, residual(A, b, x, r));
+	}
+}
+/**
+ * Sets the maximum number of iterations per cycle.
+ * @throws IllegalArgumentException if <tt>restart &lt; 1</tt>.
+ */
+public void setRestart(int restart) {
+	if (restart < 1) throw new IllegalArgumentException("restart must be positive: "+restart);
+	this.restart = restart;
+}
+}
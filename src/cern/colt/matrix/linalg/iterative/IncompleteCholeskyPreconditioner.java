@@ -0,0 +1,94 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+The incomplete Cholesky preconditioner without fill-in, IC(0): <tt>M = L*L'</tt>, where the lower triangular <tt>L</tt>
+has nonzeros only where the lower triangle of <tt>A</tt> has, and <tt>L*L'</tt> agrees with <tt>A</tt> on these positions.
+<p>
+The preconditioner of choice for symmetric positive definite systems solved with {@link ConjugateGradient}.
+Only the lower triangle of <tt>A</tt>, including the diagonal, is read; the matrix is assumed to be symmetric.
+The factor takes the memory of a copy of that triangle in compressed row form.
+Applying it takes a forward and a backward substitution, which are inherently sequential.
+The factorization exists for M-matrices and diagonally dominant matrices with positive diagonal;
+for other positive definite matrices it may fail with a nonpositive pivot, in which case {@link JacobiPreconditioner} or {@link SSORPreconditioner} can be used instead.
+
+@version 1.0, 10/18/26
+*/
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+	/** the factor L, row by row. */
+	private final SparseRows L;
+/**
+ * Constructs the preconditioner of the given matrix.
+ * @param A a square, symmetric matrix.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square, has a zero on the diagonal, or a nonpositive pivot arises.
+ */
+public IncompleteCholeskyPreconditioner(DoubleMatrix2D A) {
+	L = new SparseRows(A, true);
+	int n = L.n;
+	int[] starts = L.starts;
+	int[] columns = L.columns;
+	double[] values = L.values;
+	int[] diagonal = L.diagonal; // the last element of each row
+
+	int[] position = new int[n]; // position of column j within the current row, or -1
+	java.util.Arrays.fill(position, -1);
+	for (int i = 0; i < n; i++) {
+		int low = starts[i];
+		int d = diagonal[i];
+		for (int k = low; k < d; k++) position[columns[k]] = k;
+		double sumOfSquares = 0;
+		for (int k = low; k < d; k++) { // l(i,j) = (a(i,j) - sum_{p<j} l(i,p)*l(j,p)) / l(j,j), in ascending order of j
+			int row = columns[k];
+			double sum = values[k];
+			for (int kk = starts[row], end = diagonal[row]; kk < end; kk++) {
+				int p = position[columns[kk]];
+				if (p >= 0) sum -= values[p] * values[kk];
+			}
+			double l = sum / values[diagonal[row]];
+			values[k] = l;
+			sumOfSquares += l * l;
+		}
+		for (int k = low; k < d; k++) position[columns[k]] = -1;
+		double pivot = values[d] - sumOfSquares;
+		if (! (pivot > 0)) throw new IllegalArgumentException("Nonpositive pivot at row "+i+": "+pivot);
+		values[d] = Math.sqrt(pivot);
+	}
+}
+/**
+ * Solves <tt>M*x = b</tt>.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the vectors do not have the size of the matrix.
+ */
+public DoubleMatrix1D apply(DoubleMatrix1D b, DoubleMatrix1D x) {
+	int n = L.n;
+	if (b.size() != n || x.size() != n) throw new IllegalArgumentException("Incompatible sizes: "+n+", "+b.toStringShort()+", "+x.toStringShort());
+	int[] starts = L.starts;
+	int[] columns = L.columns;
+	double[] values = L.values;
+	int[] diagonal = L.diagonal;
+
+	for (int i = 0; i < n; i++) { // L*y = b
+		double sum = b.getQuick(i);
+		for (int k = starts[i], d = diagonal[i]; k < d; k++) sum -= values[k] * x.getQuick(columns[k]);
+		x.setQuick(i, sum / values[diagonal[i]]);
+	}
+	for (int i = n; --i >= 0; ) { // L'*x = y, column by column of L'
+		double xi = x.getQuick(i) / values[diagonal[i]];
+		x.setQuick(i, xi);
+		for (int k = starts[i], d = diagonal[i]; k < d; k++) {
+			int j = columns[k];
+			x.setQuick(j, x.getQuick(j) - values[k] * xi);
+		}
+	}
+	return x;
+}
+}
@@ -0,0 +1,85 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+The incomplete LU preconditioner without fill-in, ILU(0): <tt>M = L*U</tt>, where the unit lower triangular <tt>L</tt> and the upper triangular <tt>U</tt>
+have nonzeros only where <tt>A</tt> has, and <tt>L*U</tt> agrees with <tt>A</tt> on these positions.
+<p>
+Suitable for general, e.g. nonsymmetric, systems solved with {@link BiCGStab} or {@link GMRES}.
+The factors take the memory of a copy of <tt>A</tt> in compressed row form.
+Setting up takes time proportional to the number of nonzeros times the average number of nonzeros per row;
+applying takes a forward and a backward substitution, which are inherently sequential.
+No pivoting is done; the factorization fails if a zero pivot arises, which cannot happen for M-matrices and diagonally dominant matrices.
+
+@version 1.0, 10/18/26
+*/
+public class IncompleteLUPreconditioner implements Preconditioner {
+	/** the factors; L strictly below the diagonal (its unit diagonal is implicit), U on and above. */
+	private final SparseRows LU;
+/**
+ * Constructs the preconditioner of the given matrix.
+ * @param A a square matrix.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square, has a zero on the diagonal, or a zero pivot arises.
+ */
+public IncompleteLUPreconditioner(DoubleMatrix2D A) {
+	LU = new SparseRows(A, false);
+	int n = LU.n;
+	int[] starts = LU.starts;
+	int[] columns = LU.columns;
+	double[] values = LU.values;
+	int[] diagonal = LU.diagonal;
+
+	int[] position = new int[n]; // position of column j within the current row, or -1
+	java.util.Arrays.fill(position, -1);
+	for (int i = 0; i < n; i++) {
+		int low = starts[i];
+		int high = starts[i+1];
+		for (int k = low; k < high; k++) position[columns[k]] = k;
+		for (int k = low; k < diagonal[i]; k++) { // eliminate with the rows above, in ascending order
+			int row = columns[k];
+			double l = values[k] / values[diagonal[row]];
+			values[k] = l;
+			for (int kk = diagonal[row]+1, end = starts[row+1]; kk < end; kk++) {
+				int p = position[columns[kk]];
+				if (p >= 0) values[p] -= l * values[kk];
+			}
+		}
+		for (int k = low; k < high; k++) position[columns[k]] = -1;
+		if (values[diagonal[i]] == 0) throw new IllegalArgumentException("Zero pivot at row "+i);
+	}
+}
+/**
+ * Solves <tt>M*x = b</tt>.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the vectors do not have the size of the matrix.
+ */
+public DoubleMatrix1D apply(DoubleMatrix1D b, DoubleMatrix1D x) {
+	int n = LU.n;
+	if (b.size() != n || x.size() != n) throw new IllegalArgumentException("Incompatible sizes: "+n+", "+b.toStringShort()+", "+x.toStringShort());
+	int[] starts = LU.starts;
+	int[] columns = LU.columns;
+	double[] values = LU.values;
+	int[] diagonal = LU.diagonal;
+
+	for (int i = 0; i < n; i++) { // L*y = b
+		double sum = b.getQuick(i);
+		for (int k = starts[i], d = diagonal[i]; k < d; k++) sum -= values[k] * x.getQuick(columns[k]);
+		x.setQuick(i, sum);
+	}
+	for (int i = n; --i >= 0; ) { // U*x = y
+		double sum = x.getQuick(i);
+		for (int k = diagonal[i]+1, high = starts[i+1]; k < high; k++) sum -= values[k] * x.getQuick(columns[k]);
+		x.setQuick(i, sum / values[diagonal[i]]);
+	}
+	return x;
+}
+}
@@ -0,0 +1,229 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.list.DoubleArrayList;
+/**
+Decides when an {@link IterativeSolver} stops, and records how it went.
+<p>
+The solver reports the norm of the residual <tt>||b - A*x||</tt> of its current iterate after each iteration.
+Iteration stops as soon as one of the following holds:
+<ul>
+<li><i>converged</i>: the residual norm is at most <tt>max(relativeTolerance*||b||, absoluteTolerance)</tt>;
+<li><i>diverged</i>: the residual norm is <tt>NaN</tt> or exceeds <tt>divergenceTolerance</tt> times the residual norm of the initial guess;
+<li><i>iteration limit</i>: <tt>maxIterations</tt> iterations have been performed;
+<li><i>breakdown</i>: the solver can not continue, e.g. because the matrix is singular or, for conjugate gradients, not positive definite.
+</ul>
+After a solve, the outcome is available via {@link #getStatus()}, {@link #isConverged()}, {@link #iterations()} and {@link #residual()}.
+If history recording is enabled, the residual norm of every iteration is kept.
+Subclasses may override {@link #iterated(int,double)} to watch the progress, e.g. to print it.
+<p>
+A monitor is not thread safe; solvers running concurrently need monitors of their own.
+
+@version 1.0, 10/18/26
+*/
+public class IterationMonitor {
+	/** Status: still iterating, or not yet started. */
+	public static final int ITERATING = 0;
+
+	/** Status: the residual norm dropped below the tolerances. */
+	public static final int CONVERGED = 1;
+
+	/** Status: the maximum number of iterations was reached without convergence. */
+	public static final int ITERATION_LIMIT = 2;
+
+	/** Status: the residual norm grew beyond the divergence tolerance or became <tt>NaN</tt>. */
+	public static final int DIVERGED = 3;
+
+	/** Status: the solver broke down. */
+	public static final int BREAKDOWN = 4;
+
+	private double relativeTolerance;
+	private double absoluteTolerance;
+	private double divergenceTolerance;
+	private int maxIterations;
+
+	private double normB;
+	private double initialResidual;
+	private double residual;
+	private int iterations;
+	private int status;
+	private DoubleArrayList history;
+/**
+ * Constructs a monitor with a relative tolerance of <tt>1.0E-8</tt>, no absolute tolerance, a divergence tolerance of <tt>1.0E5</tt> and at most <tt>100000</tt> iterations.
+ */
+public IterationMonitor() {
+	this(1.0E-8, 0, 100000);
+}
+/**
+ * Constructs a monitor with the given tolerances and a divergence tolerance of <tt>1.0E5</tt>.
+ * @param relativeTolerance the residual norm to reach, relative to the norm of the right hand side.
+ * @param absoluteTolerance the absolute residual norm to reach.
+ * @param maxIterations the maximum number of iterations.
+ * @throws IllegalArgumentException if a tolerance or <tt>maxIterations</tt> is negative.
+ */
+public IterationMonitor(double relativeTolerance, double absoluteTolerance, int maxIterations) {
+	setRelativeTolerance(relativeTolerance);
+	setAbsoluteTolerance(absoluteTolerance);
+	setMaxIterations(maxIterations);
+	setDivergenceTolerance(1.0E5);
+}
+/**
+ * Notifies the monitor that the solver can not continue; the status becomes {@link #BREAKDOWN}.
+ */
+public void breakdown() {
+	this.status = BREAKDOWN;
+}
+/**
+ * Returns the absolute residual norm to reach.
+ */
+public double getAbsoluteTolerance() {
+	return absoluteTolerance;
+}
+/**
+ * Returns the factor the residual norm may grow by, relative to the initial residual norm, before iteration is considered diverged.
+ */
+public double getDivergenceTolerance() {
+	return divergenceTolerance;
+}
+/**
+ * Returns the residual norms reported since the last {@link #start(double)}, one per iteration starting with the initial guess;
+ * or <tt>null</tt> if history recording is disabled.
+ */
+public DoubleArrayList getHistory() {
+	return history == null ? null : history.copy();
+}
+/**
+ * Returns the maximum number of iterations.
+ */
+public int getMaxIterations() {
+	return maxIterations;
+}
+/**
+ * Returns the residual norm to reach, relative to the norm of the right hand side.
+ */
+public double getRelativeTolerance() {
+	return relativeTolerance;
+}
+/**
+ * Returns the state of the iteration; one of {@link #ITERATING}, {@link #CONVERGED}, {@link #ITERATION_LIMIT}, {@link #DIVERGED} and {@link #BREAKDOWN}.
+ */
+public int getStatus() {
+	return status;
+}
+/**
+ * Returns <tt>true</tt> if the last solve converged.
+ */
+public boolean isConverged() {
+	return status == CONVERGED;
+}
+/**
+ * Reports the residual norm after the given number of iterations and returns whether iteration shall stop.
+ * Iteration <tt>0</tt> is the initial guess.
+ * A solver may report an iteration more than once, e.g. an estimated and then the true residual norm; the last report counts.
+ *
+ * @param iteration the number of iterations performed so far.
+ * @param residual the norm of the residual <tt>b - A*x</tt> of the current iterate.
+ * @return <tt>true</tt> if the iteration converged, diverged or reached the iteration limit.
+ */
+public boolean isDone(int iteration, double residual) {
+	if (iteration == 0) this.initialResidual = residual;
+	if (history != null) {
+		if (iteration < history.size()) history.setSize(iteration);
+		history.add(residual);
+	}
+	this.iterations = iteration;
+	this.residual = residual;
+	iterated(iteration, residual);
+
+	if (residual <= Math.max(relativeTolerance * normB, absoluteTolerance)) status = CONVERGED;
+	else if (Double.isNaN(residual) || residual > divergenceTolerance * initialResidual) status = DIVERGED;
+	else if (iteration >= maxIterations) status = ITERATION_LIMIT;
+	else status = ITERATING;
+	return status != ITERATING;
+}
+/**
+ * Called on each report of {@link #isDone(int,double)}; does nothing.
+ * Override this method to watch the progress of the iteration.
+ *
+ * @param iteration the number of iterations performed so far.
+ * @param residual the norm of the residual of the current iterate.
+ */
+protected void iterated(int iteration, double residual) {
+}
+/**
+ * Returns the number of iterations performed by the last solve.
+ */
+public int iterations() {
+	return iterations;
+}
+/**
+ * Returns the last residual norm reported.
+ */
+public double residual() {
+	return residual;
+}
+/**
+ * Sets the absolute residual norm to reach.
+ * @throws IllegalArgumentException if <tt>tolerance &lt; 0</tt>.
+ */
+public void setAbsoluteTolerance(double tolerance) {
+	if (! (tolerance >= 0)) throw new IllegalArgumentException("Tolerance must not be negative: "+tolerance);
+	this.absoluteTolerance = tolerance;
+}
+/**
+ * Sets the factor the residual norm may grow by, relative to the initial residual norm, before iteration is considered diverged.
+ * @throws IllegalArgumentException if <tt>tolerance &lt; 1</tt>.
+ */
+public void setDivergenceTolerance(double tolerance) {
+	if (! (tolerance >= 1)) throw new IllegalArgumentException("Divergence tolerance must be at least 1: "+tolerance);
+	this.divergenceTolerance = tolerance;
+}
+/**
+ * Sets the maximum number of iterations.
+ * @throws IllegalArgumentException if <tt>maxIterations &lt; 0</tt>.
+ */
+public void setMaxIterations(int maxIterations) {
+	if (maxIterations < 0) throw new IllegalArgumentException("maxIterations must not be negative: "+maxIterations);
+	this.maxIterations = maxIterations;
+}
+/**
+ * Enables or disables recording the residual norm of each iteration.
+ */
+public void setRecordHistory(boolean record) {
+	this.history = record ? new DoubleArrayList() : null;
+}
+/**
+ * Sets the residual norm to reach, relative to the norm of the right hand side.
+ * @throws IllegalArgumentException if <tt>tolerance &lt; 0</tt>.
+ */
+public void setRelativeTolerance(double tolerance) {
+	if (! (tolerance >= 0)) throw new IllegalArgumentException("Tolerance must not be negative: "+tolerance);
+	this.relativeTolerance = tolerance;
+}
+/**
+ * Prepares the monitor for a new solve; called by the solver before the first report.
+ * @param normB the norm of the right hand side.
+ */
+public void start(double normB) {
+	this.normB = normB;
+	this.initialResidual = Double.NaN;
+	this.residual = Double.NaN;
+	this.iterations = 0;
+	this.status = ITERATING;
+	if (history != null) history.clear();
+}
+/**
+ * Returns a string describing the outcome of the last solve.
+ */
+public String toString() {
+	String[] names = { "iterating", "converged", "iteration limit reached", "diverged", "breakdown" };
+	return names[status] + " after " + iterations + " iterations, residual norm " + residual;
+}
+}
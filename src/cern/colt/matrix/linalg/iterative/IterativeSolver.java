@@ -0,0 +1,240 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.Parallel;
+/**
+Abstract base class of Krylov subspace solvers for linear systems <tt>A*x = b</tt> with a square matrix <tt>A</tt> of any storage format.
+<p>
+The matrix is accessed only through matrix-vector products <tt>A.zMult(...)</tt>, so that sparse matrices such as
+{@link cern.colt.matrix.impl.SparseDoubleMatrix2D}, {@link cern.colt.matrix.impl.RCDoubleMatrix2D} and {@link cern.colt.matrix.impl.CSRDoubleMatrix2D}
+are never densified; the solvers themselves need just a few dense vectors of the size of the system, or, for {@link GMRES}, a few dozen.
+Convergence is accelerated by an optional {@link Preconditioner} and controlled by an {@link IterationMonitor}.
+The vector <tt>x</tt> passed to {@link #solve(DoubleMatrix2D,DoubleMatrix1D,DoubleMatrix1D)} is the initial guess;
+passing the solution of a previous, similar system (a warm start) usually saves many iterations.
+<p>
+In parallel mode, as described in {@link cern.colt.matrix.impl.Parallel}, the vector operations of each iteration (dot products, norms and updates) run concurrently on the pool of <tt>A</tt>;
+matrix-vector products run concurrently as far as <tt>A.zMult</tt> does, as for example for compressed matrices.
+Dot products are summed in a fixed order, so that results do not depend on the scheduling of threads.
+<p>
+A solver is not thread safe, since its monitor keeps the state of the last solve; solvers running concurrently need instances of their own.
+Example:
+<pre>
+IterativeSolver solver = new ConjugateGradient();
+solver.setPreconditioner(new IncompleteCholeskyPreconditioner(A));
+solver.getMonitor().setRelativeTolerance(1.0E-10);
+DoubleMatrix1D x = solver.solve(A, b);
+if (! solver.getMonitor().isConverged()) System.out.println(solver.getMonitor());
+</pre>
+
+@version 1.0, 10/18/26
+*/
+public abstract class IterativeSolver {
+	/** the preconditioner; <tt>null</tt> means none. */
+	protected Preconditioner preconditioner;
+
+	/** the monitor deciding when to stop. */
+	protected IterationMonitor monitor;
+/**
+ * Constructs a solver without preconditioner and with a default {@link IterationMonitor}.
+ */
+protected IterativeSolver() {
+	this.monitor = new IterationMonitor();
+}
+/**
+ * Returns <tt>y = y + alpha*x</tt>.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+protected static DoubleMatrix1D axpy(ForkJoinPool pool, final double alpha, final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	if (alpha == 0) return y;
+	return update(pool, x, y, cern.jet.math.PlusMult.plusMult(alpha));
+}
+/**
+ * Checks the shapes of a system and throws an exception if they do not match.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or <tt>b</tt> or <tt>x</tt> do not have <tt>A.rows()</tt> cells.
+ */
+protected static void checkShape(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x) {
+	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrix must be square: "+A.toStringShort());
+	if (b.size() != A.rows() || x.size() != A.rows()) throw new IllegalArgumentException("Incompatible dimensions: "+A.toStringShort()+", "+b.toStringShort()+", "+x.toStringShort());
+}
+/**
+ * Returns the dot product of <tt>x</tt> and <tt>y</tt>.
+ * In parallel mode the partial sums of a fixed number of bands are added in order, so that the result does not depend on the scheduling of threads.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+protected static double dot(ForkJoinPool pool, final DoubleMatrix1D x, final DoubleMatrix1D y) {
+	if (pool == null) return x.zDotProduct(y);
+	final int size = x.size();
+	final int parts = pool.getParallelism();
+	final double[] partials = new double[parts];
+	Parallel.run(pool, parts, (long) parts * Parallel.getThreshold(), // one leaf per partial sum
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int part = from; part < to; part++) {
+					int low = (int) ((long) size * part / parts);
+					int high = (int) ((long) size * (part+1) / parts);
+					if (high > low) partials[part] = x.viewPart(low,high-low).zDotProduct(y.viewPart(low,high-low));
+				}
+				return 0;
+			}
+		}
+	);
+	double sum = 0;
+	for (int part = 0; part < parts; part++) sum += partials[part];
+	return sum;
+}
+/**
+ * Returns the monitor deciding when to stop.
+ */
+public IterationMonitor getMonitor() {
+	return monitor;
+}
+/**
+ * Returns the preconditioner; <tt>null</tt> if none is used.
+ */
+public Preconditioner getPreconditioner() {
+	return preconditioner;
+}
+/**
+ * Iterates until the monitor signals to stop; called by {@link #solve(DoubleMatrix2D,DoubleMatrix1D,DoubleMatrix1D)} after checking the arguments and starting the monitor.
+ *
+ * @param A a square matrix.
+ * @param b the right hand side, not zero.
+ * @param x the initial guess on input, the approximate solution on output.
+ * @param pool the pool vector operations shall run on, or <tt>null</tt> to run them sequentially.
+ */
+protected abstract void iterate(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x, ForkJoinPool pool);
+/**
+ * Returns the Euclidean norm of <tt>x</tt>.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+protected static double norm(ForkJoinPool pool, DoubleMatrix1D x) {
+	return Math.sqrt(dot(pool, x, x));
+}
+/**
+ * Applies the preconditioner to <tt>b</tt>, storing the result in <tt>x</tt>; copies <tt>b</tt> to <tt>x</tt> if there is no preconditioner.
+ * @return <tt>x</tt>.
+ */
+protected DoubleMatrix1D precondition(DoubleMatrix1D b, DoubleMatrix1D x) {
+	if (preconditioner != null) return preconditioner.apply(b, x);
+	if (x != b) x.assign(b);
+	return x;
+}
+/**
+ * Computes <tt>r = b - A*x</tt>.
+ * @return <tt>r</tt>.
+ */
+protected static DoubleMatrix1D residual(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x, DoubleMatrix1D r) {
+	r.assign(b);
+	return A.zMult(x, r, -1, 1, false);
+}
+/**
+ * Returns <tt>x = alpha*x</tt>.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+protected static DoubleMatrix1D scale(ForkJoinPool pool, final double alpha, final DoubleMatrix1D x) {
+	return update(pool, x, cern.jet.math.Functions.mult(alpha));
+}
+/**
+ * Sets the monitor deciding when to stop.
+ * @throws IllegalArgumentException if <tt>monitor == null</tt>.
+ */
+public void setMonitor(IterationMonitor monitor) {
+	if (monitor == null) throw new IllegalArgumentException("monitor must not be null");
+	this.monitor = monitor;
+}
+/**
+ * Sets the preconditioner; <tt>null</tt> to use none.
+ */
+public void setPreconditioner(Preconditioner preconditioner) {
+	this.preconditioner = preconditioner;
+}
+/**
+ * Solves <tt>A*x = b</tt>, starting from <tt>x = 0</tt>.
+ *
+ * @param A a square matrix.
+ * @param b the right hand side.
+ * @return a new dense vector holding the approximate solution.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or <tt>b.size() != A.rows()</tt>.
+ */
+public DoubleMatrix1D solve(DoubleMatrix2D A, DoubleMatrix1D b) {
+	return solve(A, b, new DenseDoubleMatrix1D(b.size()));
+}
+/**
+ * Solves <tt>A*x = b</tt>, starting from the given initial guess.
+ * Whether the solve converged is reported by {@link #getMonitor()}.
+ *
+ * @param A a square matrix.
+ * @param b the right hand side; not modified.
+ * @param x the initial guess on input, the approximate solution on output.
+ * @return <tt>x</tt> (for convenience only).
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or <tt>b</tt> or <tt>x</tt> do not have <tt>A.rows()</tt> cells.
+ */
+public DoubleMatrix1D solve(DoubleMatrix2D A, DoubleMatrix1D b, DoubleMatrix1D x) {
+	checkShape(A, b, x);
+	ForkJoinPool pool = Parallel.pool(A.getPool(), b.size());
+	double normB = norm(pool, b);
+	monitor.start(normB);
+	if (normB == 0) { // the solution is zero
+		x.assign(0);
+		monitor.isDone(0, 0);
+		return x;
+	}
+	iterate(A, b, x, pool);
+	return x;
+}
+/**
+ * Returns <tt>y[i] = function(y[i],x[i])</tt>, concurrently for bands of cells if <tt>y</tt> is dense.
+ */
+private static DoubleMatrix1D update(ForkJoinPool pool, final DoubleMatrix1D x, final DoubleMatrix1D y, final cern.colt.function.DoubleDoubleFunction function) {
+	int size = y.size();
+	if (pool == null || ! (y instanceof DenseDoubleMatrix1D)) return y.assign(x, function);
+	Parallel.run(pool, size, size,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				y.viewPart(from,to-from).assign(x.viewPart(from,to-from), function);
+				return 0;
+			}
+		}
+	);
+	return y;
+}
+/**
+ * Returns <tt>y[i] = function(y[i])</tt>, concurrently for bands of cells if <tt>y</tt> is dense.
+ */
+private static DoubleMatrix1D update(ForkJoinPool pool, final DoubleMatrix1D y, final cern.colt.function.DoubleFunction function) {
+	int size = y.size();
+	if (pool == null || ! (y instanceof DenseDoubleMatrix1D)) return y.assign(function);
+	Parallel.run(pool, size, size,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				y.viewPart(from,to-from).assign(function);
+				return 0;
+			}
+		}
+	);
+	return y;
+}
+/**
+ * Returns <tt>y = x + beta*y</tt>.
+ * @param pool the pool to run on, or <tt>null</tt> to run sequentially.
+ */
+protected static DoubleMatrix1D xpay(ForkJoinPool pool, DoubleMatrix1D x, final double beta, DoubleMatrix1D y) {
+	return update(pool, x, y,
+		new cern.colt.function.DoubleDoubleFunction() {
+			public double apply(double yi, double xi) { return xi + beta*yi; }
+		}
+	);
+}
+}
@@ -0,0 +1,65 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import java.util.concurrent.ForkJoinPool;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.impl.Parallel;
+/**
+The Jacobi (diagonal) preconditioner <tt>M = diag(A)</tt>.
+<p>
+Cheap to set up and to apply, and symmetric positive definite if the diagonal of <tt>A</tt> is positive; often a good first choice for diagonally dominant systems.
+In parallel mode it is applied concurrently on the pool of <tt>A</tt>.
+
+@version 1.0, 10/18/26
+*/
+public class JacobiPreconditioner implements Preconditioner {
+	/** the reciprocals of the diagonal elements. */
+	private final double[] inverseDiagonal;
+
+	/** the pool of the matrix. */
+	private final ForkJoinPool pool;
+/**
+ * Constructs the preconditioner of the given matrix.
+ * @param A a square matrix.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or has a zero on the diagonal.
+ */
+public JacobiPreconditioner(DoubleMatrix2D A) {
+	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrix must be square: "+A.toStringShort());
+	int n = A.rows();
+	inverseDiagonal = new double[n];
+	for (int i = 0; i < n; i++) {
+		double d = A.getQuick(i,i);
+		if (d == 0) throw new IllegalArgumentException("Zero on the diagonal at row "+i);
+		inverseDiagonal[i] = 1 / d;
+	}
+	pool = A.getPool();
+}
+/**
+ * Solves <tt>M*x = b</tt>.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the vectors do not have the size of the matrix.
+ */
+public DoubleMatrix1D apply(final DoubleMatrix1D b, final DoubleMatrix1D x) {
+	int n = inverseDiagonal.length;
+	if (b.size() != n || x.size() != n) throw new IllegalArgumentException("Incompatible sizes: "+n+", "+b.toStringShort()+", "+x.toStringShort());
+	Parallel.run(x instanceof DenseDoubleMatrix1D ? Parallel.pool(pool, n) : null, n, n,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int i = from; i < to; i++) x.setQuick(i, b.getQuick(i) * inverseDiagonal[i]);
+				return 0;
+			}
+		}
+	);
+	return x;
+}
+}
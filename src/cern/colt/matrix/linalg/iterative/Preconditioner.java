@@ -0,0 +1,30 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.matrix.DoubleMatrix1D;
+/**
+A preconditioner <tt>M</tt>, approximating the matrix <tt>A</tt> of a linear system such that systems <tt>M*x = b</tt> are cheap to solve.
+An {@link IterativeSolver} then effectively solves the better conditioned system <tt>inverse(M)*A</tt> (or <tt>A*inverse(M)</tt>) and so converges in fewer iterations.
+<p>
+Preconditioners are set up for a given matrix on construction; they may be reused by any number of solves, also concurrently.
+
+@version 1.0, 10/18/26
+*/
+public interface Preconditioner {
+/**
+ * Solves <tt>M*x = b</tt>; that is, applies the inverse of the preconditioner to <tt>b</tt>.
+ *
+ * @param b the right hand side; not modified.
+ * @param x the vector to hold the result; must not be <tt>b</tt>.
+ * @return <tt>x</tt> (for convenience only).
+ * @throws IllegalArgumentException if the vectors do not have the size of the matrix.
+ */
+public DoubleMatrix1D apply(DoubleMatrix1D b, DoubleMatrix1D x);
+}
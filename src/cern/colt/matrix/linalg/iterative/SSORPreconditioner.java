@@ -0,0 +1,77 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.matrix.DoubleMatrix1D;
+import cern.colt.matrix.DoubleMatrix2D;
+/**
+The symmetric successive over-relaxation (SSOR) preconditioner
+<tt>M = (D/omega + L) * inverse(D/omega) * (D/omega + U) * omega/(2-omega)</tt>,
+where <tt>D</tt>, <tt>L</tt> and <tt>U</tt> are the diagonal, strictly lower and strictly upper triangle of <tt>A</tt>.
+<p>
+Applying it takes a forward and a backward sweep over the nonzeros of <tt>A</tt>, which are inherently sequential.
+Nothing needs to be factored, so setting it up costs only a copy of <tt>A</tt> in compressed row form.
+For symmetric positive definite <tt>A</tt> the preconditioner is symmetric positive definite, too, and may be used with {@link ConjugateGradient}.
+With <tt>omega = 1</tt> it is the symmetric Gauss-Seidel preconditioner.
+
+@version 1.0, 10/18/26
+*/
+public class SSORPreconditioner implements Preconditioner {
+	/** the nonzeros of the matrix. */
+	private final SparseRows rows;
+
+	/** the relaxation parameter. */
+	private final double omega;
+/**
+ * Constructs the symmetric Gauss-Seidel preconditioner of the given matrix, with <tt>omega = 1</tt>.
+ * @param A a square matrix.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or has a zero on the diagonal.
+ */
+public SSORPreconditioner(DoubleMatrix2D A) {
+	this(A, 1);
+}
+/**
+ * Constructs the preconditioner of the given matrix.
+ * @param A a square matrix.
+ * @param omega the relaxation parameter.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or has a zero on the diagonal, or if <tt>omega</tt> is not within <tt>(0,2)</tt>.
+ */
+public SSORPreconditioner(DoubleMatrix2D A, double omega) {
+	if (! (omega > 0 && omega < 2)) throw new IllegalArgumentException("omega must be within (0,2): "+omega);
+	this.omega = omega;
+	this.rows = new SparseRows(A, false);
+}
+/**
+ * Solves <tt>M*x = b</tt>.
+ * @return <tt>x</tt>.
+ * @throws IllegalArgumentException if the vectors do not have the size of the matrix.
+ */
+public DoubleMatrix1D apply(DoubleMatrix1D b, DoubleMatrix1D x) {
+	int n = rows.n;
+	if (b.size() != n || x.size() != n) throw new IllegalArgumentException("Incompatible sizes: "+n+", "+b.toStringShort()+", "+x.toStringShort());
+	int[] starts = rows.starts;
+	int[] columns = rows.columns;
+	double[] values = rows.values;
+	int[] diagonal = rows.diagonal;
+
+	for (int i = 0; i < n; i++) { // (D + omega*L) * y = b
+		double sum = 0;
+		for (int k = starts[i], d = diagonal[i]; k < d; k++) sum += values[k] * x.getQuick(columns[k]);
+		x.setQuick(i, (b.getQuick(i) - omega * sum) / values[diagonal[i]]);
+	}
+	double factor = omega * (2 - omega);
+	for (int i = n; --i >= 0; ) { // (D + omega*U) * x = D*y, scaled
+		double sum = 0;
+		for (int k = diagonal[i]+1, high = starts[i+1]; k < high; k++) sum += values[k] * x.getQuick(columns[k]);
+		x.setQuick(i, x.getQuick(i) - omega * sum / values[diagonal[i]]);
+	}
+	for (int i = n; --i >= 0; ) x.setQuick(i, factor * x.getQuick(i));
+	return x;
+}
+}
@@ -0,0 +1,68 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose
+is hereby granted without fee, provided that the above copyright notice appear in all copies and
+that both that copyright notice and this permission notice appear in supporting documentation.
+CERN makes no representations about the suitability of this software for any purpose.
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.colt.matrix.linalg.iterative;
+
+import cern.colt.list.DoubleArrayList;
+import cern.colt.list.IntArrayList;
+import cern.colt.matrix.DoubleMatrix2D;
+import cern.colt.matrix.impl.CSRDoubleMatrix2D;
+/**
+Row-wise compressed copy of the nonzeros of a square matrix, as needed by the triangular sweeps of preconditioners;
+the nonzeros of row <tt>i</tt> are <tt>starts[i] .. starts[i+1]-1</tt>, with ascending columns, and <tt>diagonal[i]</tt> is the position of the diagonal element.
+
+@version 1.0, 10/18/26
+*/
+class SparseRows {
+	final int n;
+	final int[] starts;
+	final int[] columns;
+	final double[] values;
+	final int[] diagonal;
+/**
+ * Copies the nonzeros of <tt>A</tt>, or, if <tt>lower</tt>, only those of its lower triangle including the diagonal.
+ * @throws IllegalArgumentException if <tt>A</tt> is not square or has a zero on the diagonal.
+ */
+SparseRows(DoubleMatrix2D A, boolean lower) {
+	if (A.rows() != A.columns()) throw new IllegalArgumentException("Matrix must be square: "+A.toStringShort());
+	n = A.rows();
+	CSRDoubleMatrix2D csr = A instanceof CSRDoubleMatrix2D ? (CSRDoubleMatrix2D) A : new CSRDoubleMatrix2D(A);
+	IntArrayList rowList = new IntArrayList();
+	IntArrayList columnList = new IntArrayList();
+	DoubleArrayList valueList = new DoubleArrayList();
+	csr.getNonZeros(rowList, columnList, valueList); // row by row, ascending columns
+
+	int[] rowElements = rowList.elements();
+	int[] columnElements = columnList.elements();
+	double[] valueElements = valueList.elements();
+	int size = rowList.size();
+	int count = 0;
+	for (int k = 0; k < size; k++) {
+		if (! lower || columnElements[k] <= rowElements[k]) count++;
+	}
+	starts = new int[n+1];
+	columns = new int[count];
+	values = new double[count];
+	diagonal = new int[n];
+	java.util.Arrays.fill(diagonal, -1);
+	int pos = 0;
+	for (int k = 0; k < size; k++) {
+		int i = rowElements[k];
+		int j = columnElements[k];
+		if (lower && j > i) continue;
+		if (j == i) diagonal[i] = pos;
+		starts[i+1]++;
+		columns[pos] = j;
+		values[pos++] = valueElements[k];
+	}
+	for (int i = 0; i < n; i++) {
+		starts[i+1] += starts[i];
+		if (diagonal[i] < 0) throw new IllegalArgumentException("Zero on the diagonal at row "+i);
+	}
+}
+}
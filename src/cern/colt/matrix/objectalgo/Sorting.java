@@ -12,6 +12,7 @@ import cern.colt.function.IntComparator;
 import cern.colt.matrix.ObjectMatrix1D;
 import cern.colt.matrix.ObjectMatrix2D;
 import cern.colt.matrix.ObjectMatrix3D;
+import cern.colt.matrix.impl.Parallel;
 /**
 Matrix quicksorts and mergesorts.
 Use idioms like <tt>Sorting.quickSort.sort(...)</tt> and <tt>Sorting.mergeSort.sort(...)</tt>.
@@ -57,6 +58,52 @@ public class Sorting extends cern.colt.PersistentObject {
  * Makes this class non instantiable, but still let's others inherit from it.
  */
 protected Sorting() {}
+/**
+ * Stably sorts <tt>a</tt> by the given comparator, in parallel if <tt>pool != null</tt>.
+ * Contiguous chunks are merge sorted in parallel, then merged pairwise in rounds, the merges of each round running in parallel.
+ */
+private static void parallelMergeSort(int[] a, final IntComparator c, java.util.concurrent.ForkJoinPool pool) {
+	final int size = a.length;
+	if (pool == null) {
+		cern.colt.Sorting.mergeSort(a,0,size,c);
+		return;
+	}
+	final int chunks = (int) Math.max(1, Math.min(4L * pool.getParallelism(), size / Parallel.getThreshold()));
+
+	final int[] chunked = a;
+	Parallel.run(pool, chunks, size,
+		new Parallel.Body() {
+			public double apply(int from, int to) {
+				for (int k=from; k<to; k++) cern.colt.Sorting.mergeSort(chunked, (int) ((long) size*k/chunks), (int) ((long) size*(k+1)/chunks), c);
+				return 0;
+			}
+		}
+	);
+
+	int[] src = a, dst = new int[size];
+	for (int width=1; width<chunks; width *= 2) {
+		final int[] from = src, to = dst;
+		final int w = width;
+		Parallel.run(pool, (chunks + 2*w - 1) / (2*w), size,
+			new Parallel.Body() {
+				public double apply(int first, int last) {
+					for (int pair=first; pair<last; pair++) {
+						int lo = (int) ((long) size * Math.min(2*pair*w, chunks) / chunks);
+						int mid = (int) ((long) size * Math.min(2*pair*w + w, chunks) / chunks);
+						int hi = (int) ((long) size * Math.min(2*pair*w + 2*w, chunks) / chunks);
+						int i = lo, j = mid, k = lo;
+						while (i < mid && j < hi) to[k++] = c.compare(from[j], from[i]) < 0 ? from[j++] : from[i++];
+						while (i < mid) to[k++] = from[i++];
+						while (j < hi) to[k++] = from[j++];
+					}
+					return 0;
+				}
+			}
+		);
+		dst = src; src = to;
+	}
+	if (src != a) System.arraycopy(src,0,a,0,size);
+}
 protected void runSort(int[] a, int fromIndex, int toIndex, IntComparator c) {
 	cern.colt.Sorting.quickSort(a,fromIndex,toIndex,c);
 }
@@ -200,6 +247,79 @@ public ObjectMatrix2D sort(ObjectMatrix2D matrix, int column) {
 	return matrix.viewSelection(rowIndexes,null);
 }
 /**
+Sorts the matrix rows by several columns; rows equal in the first column are ordered by the second column, and so on.
+The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
+To sort ranges use sub-ranging views. To sort columns by rows, use dice views.
+<p>
+The sort is <i>stable</i>: rows equal in all given columns keep their relative order, no matter whether called on <tt>quickSort</tt> or <tt>mergeSort</tt>.
+<p>
+<b>Example:</b>
+<pre>
+// by column 2 descending, then case insensitive by column 0, nulls of column 2 coming first
+view = Sorting.quickSort.sort(matrix, new int[] {2,0}, new java.util.Comparator[] {null,String.CASE_INSENSITIVE_ORDER}, new boolean[] {true,false}, new boolean[] {true,false});
+</pre>
+<p>
+<b>Implementation:</b>
+The cells of the sort columns are first copied into arrays, so that comparisons do not go through the matrix.
+Large matrices are sorted in parallel if parallel mode is switched on, by merge sorting chunks of rows concurrently and merging them pairwise; see {@link Parallel}.
+Comparators must then be thread safe.
+
+@param matrix the matrix to be sorted.
+@param columns the indexes of the columns inducing the order, the most significant first.
+@param comparators the comparator for each column; <tt>null</tt> (or a <tt>null</tt> element) sorts by the <i>natural ordering</i>, the cells being {@link Comparable}.
+@param descending whether each column shall be sorted into descending order; <tt>null</tt> sorts all columns into ascending order.
+@param nullsFirst whether <tt>null</tt> cells of each column shall come before all other values; otherwise they come after all other values, no matter whether the column is sorted ascending or descending.
+	<tt>null</tt> puts the <tt>null</tt> cells of all columns last.
+@return a new matrix view having rows sorted by the given columns.
+		<b>Note that the original matrix is left unaffected.</b>
+@throws IndexOutOfBoundsException if <tt>columns[i] < 0 || columns[i] >= matrix.columns()</tt> for any <tt>i</tt>.
+@throws IllegalArgumentException if <tt>comparators</tt>, <tt>descending</tt> or <tt>nullsFirst</tt> are not <tt>null</tt> and their length differs from <tt>columns.length</tt>.
+*/
+public ObjectMatrix2D sort(ObjectMatrix2D matrix, int[] columns, java.util.Comparator[] comparators, boolean[] descending, boolean[] nullsFirst) {
+	final int keys = columns.length;
+	for (int k=0; k<keys; k++) {
+		if (columns[k] < 0 || columns[k] >= matrix.columns()) throw new IndexOutOfBoundsException("column="+columns[k]+", matrix="+Formatter.shape(matrix));
+	}
+	if ((comparators != null && comparators.length != keys) || (descending != null && descending.length != keys) || (nullsFirst != null && nullsFirst.length != keys)) {
+		throw new IllegalArgumentException("columns, comparators, descending and nullsFirst must have the same length");
+	}
+
+	int rows = matrix.rows();
+	final Object[][] cells = new Object[keys][];
+	final java.util.Comparator[] comps = new java.util.Comparator[keys];
+	final int[] signs = new int[keys];
+	final int[] nullSigns = new int[keys];
+	for (int k=0; k<keys; k++) {
+		cells[k] = matrix.viewColumn(columns[k]).toArray();
+		comps[k] = comparators == null ? null : comparators[k];
+		signs[k] = descending != null && descending[k] ? -1 : 1;
+		nullSigns[k] = nullsFirst != null && nullsFirst[k] ? -1 : 1;
+	}
+
+	IntComparator comp = new IntComparator() {  
+		public int compare(int a, int b) {
+			for (int k=0; k<keys; k++) {
+				Object av = cells[k][a];
+				Object bv = cells[k][b];
+				if (av == bv) continue;
+				if (av == null) return nullSigns[k];
+				if (bv == null) return -nullSigns[k];
+				int r = comps[k] == null ? ((Comparable) av).compareTo(bv) : comps[k].compare(av,bv);
+				if (r != 0) return r < 0 ? -signs[k] : signs[k];
+			}
+			return 0;
+		}
+	};
+
+	int[] rowIndexes = new int[rows]; // row indexes to reorder instead of matrix itself
+	for (int i=rows; --i >= 0; ) rowIndexes[i] = i;
+	parallelMergeSort(rowIndexes, comp, Parallel.pool(matrix.getPool(), rows));
+
+	// view the matrix according to the reordered row indexes
+	// take all columns in the original order
+	return matrix.viewSelection(rowIndexes,null);
+}
+/**
 Sorts the matrix rows according to the order induced by the specified comparator.
 The returned view is backed by this matrix, so changes in the returned view are reflected in this matrix, and vice-versa.
 The algorithm compares two rows (1-d matrices) at a time, determinining whether one is smaller, equal or larger than the other.
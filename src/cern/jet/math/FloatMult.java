@@ -0,0 +1,51 @@
+/*
+Copyright  1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+package cern.jet.math;
+
+/**
+ * Only for performance tuning of compute intensive linear algebraic computations.
+ * Constructs functions that return one of
+ * <ul>
+ * <li><tt>a * constant</tt>
+ * <li><tt>a / constant</tt>
+ * </ul> 
+ * <tt>a</tt> is variable, <tt>constant</tt> is fixed, but for performance reasons publicly accessible.
+ * Intended to be passed to <tt>matrix.assign(function)</tt> methods.
+ */
+public final class FloatMult implements cern.colt.function.FloatFunction {
+	/**
+	 * Public read/write access to avoid frequent object construction.
+	 */
+	public float multiplicator;
+/**
+ * Insert the method's description here.
+ * Creation date: (8/10/99 19:12:09)
+ */
+protected FloatMult(final float multiplicator) {
+	this.multiplicator = multiplicator;
+}
+/**
+ * Returns the result of the function evaluation.
+ */
+public final float apply(float a) {
+	return a * multiplicator;
+}
+/**
+ * <tt>a / constant</tt>.
+ */
+public static FloatMult div(final float constant) {
+	return mult(1/constant);
+}
+/**
+ * <tt>a * constant</tt>.
+ */
+public static FloatMult mult(final float constant) {
+	return new FloatMult(constant);
+}
+}
@@ -0,0 +1,236 @@
+/*
+Copyright � 1999 CERN - European Organization for Nuclear Research.
+Permission to use, copy, modify, distribute and sell this software and its documentation for any purpose 
+is hereby granted without fee, provided that the above copyright notice appear in all copies and 
+that both that copyright notice and this permission notice appear in supporting documentation. 
+CERN makes no representations about the suitability of this software for any purpose. 
+It is provided "as is" without expressed or implied warranty.
+*/
+import java.io.*;
+import java.util.*;
+/**
+Generates the primitive hash maps (including the concurrent ones), sorted maps and sets of <tt>cern.colt.map</tt>, and the procedures they use, from the templates in this directory.
+Run by the Ant target <tt>generate</tt>; the generated sources are checked in, so that a normal build does not need this class.
+<p>
+Usage: <tt>java Generator templateDirectory sourceDirectory</tt>
+<p>
+Templates contain placeholders, replaced by the names of the key and value type:
+<pre>
+$Key$, $Value$             Int, Long, Float, Double or Object - as in IntArrayList, LongProcedure, ...
+$key$, $value$             int, long, float, double or Object - the Java type
+$KEY_NONE$                 the key returned by keyOf(value) if value is not contained, e.g. Integer.MIN_VALUE
+$VALUE_NONE$               the value returned by get(key) if key is not contained, 0 or null
+$VALUE_MULT$               the multiplication function specialized by assign(function), for float and double values
+</pre>
+and lines selecting code for some types only:
+<pre>
+#if KEY_INT | KEY_OBJECT | VALUE_OBJECT | VALUE_REAL      (prefix the condition with ! to negate it)
+#else
+#end
+</pre>
+Consecutive import declarations are sorted, and duplicates removed.
+<p>
+The combinations present in the original distribution (<tt>int/int</tt>, <tt>int/double</tt>, <tt>int/Object</tt>, <tt>long/Object</tt> and <tt>double/int</tt>) are maintained by hand, and not generated.
+
+@version 1.0, 10/18/26
+*/
+public class Generator {
+	/** the (key,value) pairs of the generated maps. */
+	static final String[][] MAPS = {
+		{"Int","Long"}, {"Int","Float"},
+		{"Long","Int"}, {"Long","Long"}, {"Long","Float"}, {"Long","Double"},
+		{"Double","Long"}, {"Double","Float"}, {"Double","Double"}, {"Double","Object"},
+		{"Object","Int"}, {"Object","Long"}, {"Object","Float"}, {"Object","Double"}
+	};
+	/** the (key,value) pairs of the generated procedures; the maps but DoubleDouble, which is part of the original distribution. */
+	static final String[][] PROCEDURES = {
+		{"Int","Long"}, {"Int","Float"},
+		{"Long","Int"}, {"Long","Long"}, {"Long","Float"}, {"Long","Double"},
+		{"Double","Long"}, {"Double","Float"}, {"Double","Object"},
+		{"Object","Int"}, {"Object","Long"}, {"Object","Float"}, {"Object","Double"}
+	};
+	/** the (key,value) pairs of the generated concurrent maps. */
+	static final String[][] CONCURRENT_MAPS = {
+		{"Int","Double"}, {"Int","Int"}, {"Long","Long"}
+	};
+	/** the (key,value) pairs of the generated sorted maps. */
+	static final String[][] SORTED_MAPS = {
+		{"Int","Double"}, {"Int","Object"}, {"Long","Double"}, {"Long","Long"}
+	};
+	/** the element types of the generated sets. */
+	static final String[] SETS = {"Int", "Long", "Double"};
+/**
+ * Makes this class non instantiable.
+ */
+private Generator() {}
+/**
+ * Returns the placeholder values and flags of the given key and value types.
+ */
+static Map bindings(String key, String value) {
+	Map map = new HashMap();
+	map.put("$Key$", key);
+	map.put("$key$", javaType(key));
+	map.put("$KEY_NONE$", none(key));
+	map.put("KEY_OBJECT", Boolean.valueOf(key.equals("Object")));
+	map.put("KEY_INT", Boolean.valueOf(key.equals("Int")));
+	if (value != null) {
+		map.put("$Value$", value);
+		map.put("$value$", javaType(value));
+		map.put("$VALUE_NONE$", value.equals("Object") ? "null" : "0");
+		map.put("$VALUE_MULT$", value.equals("Float") ? "cern.jet.math.FloatMult" : "cern.jet.math.Mult");
+		map.put("VALUE_OBJECT", Boolean.valueOf(value.equals("Object")));
+		map.put("VALUE_REAL", Boolean.valueOf(value.equals("Float") || value.equals("Double")));
+	}
+	return map;
+}
+/**
+ * Expands a template with the given bindings.
+ */
+static String expand(String template, Map bindings) {
+	StringBuffer out = new StringBuffer();
+	Stack active = new Stack(); // whether the enclosing #if branches are taken
+	boolean on = true;
+	List imports = new ArrayList();
+	BufferedReader in = new BufferedReader(new StringReader(template));
+	try {
+		for (String line; (line = in.readLine()) != null; ) {
+			if (line.startsWith("#if ")) {
+				String condition = line.substring(4).trim();
+				boolean negate = condition.startsWith("!");
+				if (negate) condition = condition.substring(1);
+				Boolean flag = (Boolean) bindings.get(condition);
+				if (flag == null) throw new IllegalArgumentException("unknown condition: "+line);
+				active.push(Boolean.valueOf(on));
+				on = on && (flag.booleanValue() != negate);
+				continue;
+			}
+			if (line.startsWith("#else")) {
+				boolean outer = ((Boolean) active.peek()).booleanValue();
+				on = outer && !on;
+				continue;
+			}
+			if (line.startsWith("#end")) {
+				on = ((Boolean) active.pop()).booleanValue();
+				continue;
+			}
+			if (!on) continue;
+			line = replace(line, bindings);
+			if (line.startsWith("import ")) {
+				if (!imports.contains(line)) imports.add(line);
+				continue;
+			}
+			if (imports.size() > 0) { // end of an import block
+				Collections.sort(imports);
+				for (int i=0; i<imports.size(); i++) out.append(imports.get(i)).append('\n');
+				imports.clear();
+			}
+			out.append(line).append('\n');
+		}
+	}
+	catch (IOException exc) {
+		throw new InternalError(exc.toString());
+	}
+	if (!active.isEmpty()) throw new IllegalArgumentException("missing #end");
+	return out.toString();
+}
+/**
+ * Returns the Java type of the given type name.
+ */
+static String javaType(String name) {
+	return name.equals("Object") ? name : name.toLowerCase();
+}
+/**
+ * Generates all sources.
+ */
+public static void main(String[] args) throws IOException {
+	if (args.length != 2) {
+		System.err.println("Usage: java Generator templateDirectory sourceDirectory");
+		System.exit(1);
+	}
+	File templates = new File(args[0]);
+	File map = new File(args[1], "cern/colt/map");
+	File function = new File(args[1], "cern/colt/function");
+	String abstractMap = read(new File(templates, "AbstractKeyValueMap.template"));
+	String openMap = read(new File(templates, "OpenKeyValueHashMap.template"));
+	String abstractSet = read(new File(templates, "AbstractKeySet.template"));
+	String openSet = read(new File(templates, "OpenKeyHashSet.template"));
+	String procedure = read(new File(templates, "KeyValueProcedure.template"));
+	String concurrentMap = read(new File(templates, "ConcurrentOpenKeyValueHashMap.template"));
+	String sortedMap = read(new File(templates, "BTreeKeyValueMap.template"));
+
+	for (int i=0; i<MAPS.length; i++) {
+		String key = MAPS[i][0], value = MAPS[i][1];
+		Map bindings = bindings(key, value);
+		write(new File(map, "Abstract"+key+value+"Map.java"), expand(abstractMap, bindings));
+		write(new File(map, "Open"+key+value+"HashMap.java"), expand(openMap, bindings));
+	}
+	for (int i=0; i<PROCEDURES.length; i++) {
+		String key = PROCEDURES[i][0], value = PROCEDURES[i][1];
+		write(new File(function, key+value+"Procedure.java"), expand(procedure, bindings(key, value)));
+	}
+	for (int i=0; i<CONCURRENT_MAPS.length; i++) {
+		String key = CONCURRENT_MAPS[i][0], value = CONCURRENT_MAPS[i][1];
+		write(new File(map, "ConcurrentOpen"+key+value+"HashMap.java"), expand(concurrentMap, bindings(key, value)));
+	}
+	for (int i=0; i<SORTED_MAPS.length; i++) {
+		String key = SORTED_MAPS[i][0], value = SORTED_MAPS[i][1];
+		write(new File(map, "BTree"+key+value+"Map.java"), expand(sortedMap, bindings(key, value)));
+	}
+	for (int i=0; i<SETS.length; i++) {
+		Map bindings = bindings(SETS[i], null);
+		write(new File(map, "Abstract"+SETS[i]+"Set.java"), expand(abstractSet, bindings));
+		write(new File(map, "Open"+SETS[i]+"HashSet.java"), expand(openSet, bindings));
+	}
+}
+/**
+ * Returns the key returned by <tt>keyOf(value)</tt> if no key is associated with <tt>value</tt>.
+ */
+static String none(String name) {
+	if (name.equals("Int")) return "Integer.MIN_VALUE";
+	if (name.equals("Object")) return "null";
+	return name+(name.equals("Long") ? ".MIN_VALUE" : ".NaN");
+}
+/**
+ * Reads a file (ISO-8859-1, as all sources).
+ */
+static String read(File file) throws IOException {
+	Reader in = new InputStreamReader(new FileInputStream(file), "ISO-8859-1");
+	StringBuffer buf = new StringBuffer();
+	char[] chars = new char[8192];
+	for (int n; (n = in.read(chars)) > 0; ) buf.append(chars, 0, n);
+	in.close();
+	return buf.toString();
+}
+/**
+ * Replaces all placeholders of a line.
+ */
+static String replace(String line, Map bindings) {
+	if (line.indexOf('$') < 0) return line;
+	StringBuffer out = new StringBuffer();
+	int from = 0;
+	for (int i; (i = line.indexOf('$', from)) >= 0; ) {
+		int j = line.indexOf('$', i+1);
+		if (j < 0) break;
+		Object value = bindings.get(line.substring(i, j+1));
+		if (value instanceof String) {
+			out.append(line.substring(from, i)).append(value);
+			from = j+1;
+		}
+		else {
+			out.append(line.substring(from, i+1));
+			from = i+1;
+		}
+	}
+	out.append(line.substring(from));
+	return out.toString();
+}
+/**
+ * Writes a file (ISO-8859-1, as all sources).
+ */
+static void write(File file, String text) throws IOException {
+	Writer out = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+	out.write(text);
+	out.close();
+	System.out.println("generated "+file);
+}
+}